@@ -16,6 +16,8 @@ package WATSSwingApp;
 import javax.swing.*;
 import javax.swing.text.PlainDocument;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * A modal dialog window for adding a new animal record to the Wildlife Animal Tracking System (WATS).
@@ -48,13 +50,13 @@ public class AddAnimalDialog extends JDialog {
     private JTextField txtAge;
 
     /** Combo box for selecting animal gender. */
-    private JComboBox<String> cmbGender;
+    private JComboBox<Gender> cmbGender;
 
     /** Text field for animal weight (decimal only). */
     private JTextField txtWeight;
 
     /** Combo box for selecting health status. */
-    private JComboBox<String> cmbHealthStatus;
+    private JComboBox<HealthStatus> cmbHealthStatus;
 
     /** Button to save the new animal record. */
     private JButton btnSave;
@@ -62,6 +64,9 @@ public class AddAnimalDialog extends JDialog {
     /** Button to cancel and close the dialog. */
     private JButton btnCancel;
 
+    /** Tag ID suggested by the {@link TagIdAllocator} and not yet used, or {@code -1} if there is none. */
+    private int suggestedId = -1;
+
     /**
      * Constructs a new {@code AddAnimalDialog} instance.
      * <p>
@@ -90,6 +95,7 @@ public class AddAnimalDialog extends JDialog {
         PlainDocument idDoc = (PlainDocument) txtId.getDocument();
         idDoc.setDocumentFilter(new NumericDocumentFilter());
         formPanel.add(txtId);
+        suggestTagId();
 
         // Name
         formPanel.add(new JLabel("Name:"));
@@ -100,6 +106,7 @@ public class AddAnimalDialog extends JDialog {
         formPanel.add(new JLabel("Species:"));
         txtSpecies = new JTextField();
         formPanel.add(txtSpecies);
+        SpeciesAutoComplete.install(txtSpecies, dbManager);
 
         // Age
         formPanel.add(new JLabel("Age:"));
@@ -110,7 +117,7 @@ public class AddAnimalDialog extends JDialog {
 
         // Gender
         formPanel.add(new JLabel("Gender:"));
-        cmbGender = new JComboBox<>(new String[] { "Male", "Female", "Unknown" });
+        cmbGender = new JComboBox<>(Gender.values());
         formPanel.add(cmbGender);
 
         // Weight
@@ -122,7 +129,7 @@ public class AddAnimalDialog extends JDialog {
 
         // Health Status
         formPanel.add(new JLabel("Health Status:"));
-        cmbHealthStatus = new JComboBox<>(new String[] { "Healthy", "Injured", "Sick", "Recovering" });
+        cmbHealthStatus = new JComboBox<>(HealthStatus.values());
         formPanel.add(cmbHealthStatus);
 
         // Button panel
@@ -132,24 +139,26 @@ public class AddAnimalDialog extends JDialog {
 
         btnCancel.addActionListener(e -> dispose());
         btnSave.addActionListener(e -> {
-            try {
-                int id = Integer.parseInt(txtId.getText().trim());
-                String name = txtName.getText().trim();
-                String species = txtSpecies.getText().trim();
-                int age = Integer.parseInt(txtAge.getText().trim());
-                String gender = (String) cmbGender.getSelectedItem();
-                double weight = Double.parseDouble(txtWeight.getText().trim());
-                String healthStatus = (String) cmbHealthStatus.getSelectedItem();
-
-                WildAnimal animal = new WildAnimal(id, species, name, age, gender, weight, healthStatus);
-                boolean success = this.dbManager.insertWildAnimal(animal);
-                if (success) {
-                    JOptionPane.showMessageDialog(this, "Animal added successfully!");
-                    dispose();
+            ValidationReport report = new ValidationReport();
+            int id = AnimalValidator.checkTagId(txtId.getText(), -1, report);
+            AnimalValidator.checkText(AnimalValidator.FIELD_SPECIES, txtSpecies.getText(), -1, report);
+            AnimalValidator.checkText(AnimalValidator.FIELD_NAME, txtName.getText(), -1, report);
+            int age = AnimalValidator.checkAge(txtAge.getText(), -1, report);
+            double weight = AnimalValidator.checkWeight(txtWeight.getText(), -1, report);
+            if (!report.isValid()) {
+                JOptionPane.showMessageDialog(this, report.summary(10), "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            WildAnimal animal = new WildAnimal(id, txtSpecies.getText().trim(), txtName.getText().trim(), age,
+                    (Gender) cmbGender.getSelectedItem(), weight, (HealthStatus) cmbHealthStatus.getSelectedItem());
+            boolean success = this.dbManager.insertWildAnimal(animal);
+            if (success) {
+                if (id == suggestedId) {
+                    suggestedId = -1;
                 }
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
-                        "Validation Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, "Animal added successfully!");
+                dispose();
             }
         });
 
@@ -158,5 +167,53 @@ public class AddAnimalDialog extends JDialog {
 
         add(formPanel, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
+
+        // Hand an unused suggestion back, so the next dialog suggests it again
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                if (suggestedId != -1) {
+                    dbManager.getTagIdAllocator().release(suggestedId);
+                    suggestedId = -1;
+                }
+            }
+        });
+    }
+
+    /**
+     * Fills the Tag ID field with the next free Tag ID from the {@link TagIdAllocator}.
+     * <p>
+     * The ID is fetched in the background, as the allocator may have to reserve a new block. If the user has
+     * already typed a Tag ID, or the dialog has been closed, the suggestion is handed back instead. Without a
+     * suggestion the field is simply left empty.
+     * </p>
+     */
+    private void suggestTagId() {
+        if (dbManager == null) {
+            return;
+        }
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return dbManager.getTagIdAllocator().nextId();
+            }
+
+            @Override
+            protected void done() {
+                int id;
+                try {
+                    id = get();
+                } catch (Exception e) {
+                    // Suggestions are optional; the Tag ID is then typed by hand
+                    return;
+                }
+                if (isDisplayable() && txtId.getText().isEmpty()) {
+                    suggestedId = id;
+                    txtId.setText(String.valueOf(id));
+                } else {
+                    dbManager.getTagIdAllocator().release(id);
+                }
+            }
+        }.execute();
     }
 }
@@ -0,0 +1,318 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: AnimalImporter.java
+ *
+ * This class bulk-imports animal records from a CSV file into the open database.
+ * Every row is validated and then sorted into new records, updates of existing records, or
+ * rejects using the in-memory Tag ID index, so no row needs its own query or constraint error.
+ */
+package WATSSwingApp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Imports animal records from CSV files with the columns Tag ID, Species, Name, Age, Gender, Weight, and
+ * Health Status.
+ * <p>
+ * Columns may be quoted as in RFC 4180, so files written by {@link ParallelQueryExecutor#exportCsv} read back
+ * unchanged. A first line whose Tag ID column is not a number is treated as a header. Each row is checked with
+ * {@link AnimalValidator} and then partitioned with the database's {@link TagIdIndex}:
+ * </p>
+ * <ul>
+ *     <li><b>Insert</b> – the Tag ID is not in the database.</li>
+ *     <li><b>Upsert</b> – the Tag ID exists and existing records may be updated.</li>
+ *     <li><b>Reject</b> – the row is invalid, its Tag ID already appeared earlier in the file, or it exists and
+ *     existing records may not be updated.</li>
+ * </ul>
+ *
+ * <p>Inserts and upserts are sent in batches of {@link #BATCH_SIZE} and committed as one transaction on a
+ * {@link PerformanceProfile#BULK_LOAD} connection. If the import fails, nothing is stored.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class AnimalImporter {
+
+    /** Number of rows sent to SQLite per batch. */
+    private static final int BATCH_SIZE = 10_000;
+
+    /** Number of columns in an import row. */
+    private static final int COLUMN_COUNT = 7;
+
+    /** Insert for rows whose Tag ID is not in the index; a row added meanwhile by another writer is skipped. */
+    private static final String INSERT_SQL = "INSERT INTO WildAnimals "
+            + "(id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?) ON CONFLICT(id) DO NOTHING";
+
+    /** Upsert for rows whose Tag ID is already in the index. */
+    private static final String UPSERT_SQL = "INSERT INTO WildAnimals "
+            + "(id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?) ON CONFLICT(id) DO UPDATE SET "
+            + "species = excluded.species, name = excluded.name, age = excluded.age, "
+            + "gender = " + Gender.sqlKeepUnrecognized("gender", "excluded.gender") + ", weight = excluded.weight, "
+            + "healthStatus = " + HealthStatus.sqlKeepUnrecognized("healthStatus", "excluded.healthStatus") + ", "
+            + "version = version + 1, lastModified = excluded.lastModified";
+
+    /** Reference to the database manager of the database receiving the records. */
+    private final DatabaseManager dbManager;
+
+    /**
+     * Constructs a new {@code AnimalImporter} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database receiving the records
+     */
+    public AnimalImporter(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Imports a CSV file.
+     * <p>
+     * This method blocks until the import is complete and should be called off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param file           the CSV file to import
+     * @param updateExisting whether rows with an existing Tag ID update that record instead of being rejected
+     * @return the counts of inserted, updated, and rejected rows with the reasons for each rejection
+     * @throws IOException  if the file cannot be read
+     * @throws SQLException if the records cannot be stored; nothing is stored in that case
+     */
+    public ImportResult importCsv(File file, boolean updateExisting) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        TagIdIndex existing = dbManager.getTagIdIndex();
+        TagIdIndex seen = new TagIdIndex();
+        ValidationReport report = new ValidationReport();
+        int[] bounds = new int[COLUMN_COUNT * 2];
+        long updated = 0;
+        long rejected = 0;
+
+        int pendingInserts = 0;
+        int pendingUpserts = 0;
+        long insertedCount = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+             Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL);
+                 PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL)) {
+
+                long now = System.currentTimeMillis();
+                long row = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    row++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    int columns = split(line, bounds);
+                    String more;
+                    while (columns < 0 && (more = reader.readLine()) != null) {
+                        // A quoted column holding a line break continues on the next line
+                        row++;
+                        line = line + "\n" + more;
+                        columns = split(line, bounds);
+                    }
+                    if (columns != COLUMN_COUNT) {
+                        report.addError(row, "Row", null, "must have " + COLUMN_COUNT + " comma-separated columns");
+                        rejected++;
+                        continue;
+                    }
+
+                    int tagId = AnimalValidator.parseTagId(line, bounds[0], bounds[1]);
+                    if (row == 1 && tagId < 0) {
+                        continue; // Header
+                    }
+                    if (!validate(line, bounds, row, report)) {
+                        rejected++;
+                        continue;
+                    }
+
+                    boolean exists = existing.contains(tagId);
+                    if (!seen.add(tagId)) {
+                        report.addError(row, AnimalValidator.FIELD_TAG_ID, String.valueOf(tagId),
+                                "appears more than once in the file");
+                        rejected++;
+                    } else if (exists && !updateExisting) {
+                        report.addError(row, AnimalValidator.FIELD_TAG_ID, String.valueOf(tagId), "already exists");
+                        rejected++;
+                    } else if (exists) {
+                        bind(upsert, line, bounds, tagId, now);
+                        if (++pendingUpserts == BATCH_SIZE) {
+                            updated += sum(upsert.executeBatch());
+                            pendingUpserts = 0;
+                        }
+                    } else {
+                        bind(insert, line, bounds, tagId, now);
+                        if (++pendingInserts == BATCH_SIZE) {
+                            insertedCount += sum(insert.executeBatch());
+                            pendingInserts = 0;
+                        }
+                    }
+                }
+
+                insertedCount += sum(insert.executeBatch());
+                updated += sum(upsert.executeBatch());
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        dbManager.recordWrites(insertedCount + updated);
+        if (insertedCount + updated > 0) {
+            // Rebuilds the Tag ID and species indexes and reloads the in-memory records, if they are used
+            dbManager.invalidateTagIdIndex();
+        }
+        return new ImportResult(insertedCount, updated, rejected, report, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Checks every column of a row and reports the invalid ones.
+     *
+     * @param line   the row text
+     * @param bounds start and end index of each column
+     * @param row    the row number in the file
+     * @param report the report receiving an error for each invalid column
+     * @return {@code true} if every column is valid
+     */
+    private static boolean validate(String line, int[] bounds, long row, ValidationReport report) {
+        long errorsBefore = report.getErrorCount();
+        // The range parsers allocate nothing; the check methods only run to report a rejected value
+        if (AnimalValidator.parseTagId(line, bounds[0], bounds[1]) < 0) {
+            AnimalValidator.checkTagId(column(line, bounds, 0), row, report);
+        }
+        AnimalValidator.checkText(AnimalValidator.FIELD_SPECIES, column(line, bounds, 1), row, report);
+        AnimalValidator.checkText(AnimalValidator.FIELD_NAME, column(line, bounds, 2), row, report);
+        if (AnimalValidator.parseAge(line, bounds[6], bounds[7]) < 0) {
+            AnimalValidator.checkAge(column(line, bounds, 3), row, report);
+        }
+        if (AnimalValidator.parseGender(line, bounds[8], bounds[9]) == null) {
+            AnimalValidator.checkGender(column(line, bounds, 4), row, report);
+        }
+        if (Double.isNaN(AnimalValidator.parseWeight(line, bounds[10], bounds[11]))) {
+            AnimalValidator.checkWeight(column(line, bounds, 5), row, report);
+        }
+        if (AnimalValidator.parseHealthStatus(line, bounds[12], bounds[13]) == null) {
+            AnimalValidator.checkHealthStatus(column(line, bounds, 6), row, report);
+        }
+        return report.getErrorCount() == errorsBefore;
+    }
+
+    /**
+     * Binds a validated row to an insert or upsert statement and adds it to the batch.
+     *
+     * @param stmt   the insert or upsert statement
+     * @param line   the row text
+     * @param bounds start and end index of each column
+     * @param tagId  the parsed Tag ID
+     * @param now    the modification time stored with the row
+     * @throws SQLException if a parameter cannot be bound
+     */
+    private static void bind(PreparedStatement stmt, String line, int[] bounds, int tagId, long now) throws SQLException {
+        stmt.setInt(1, tagId);
+        stmt.setString(2, SpeciesDictionary.intern(column(line, bounds, 1).trim()));
+        stmt.setString(3, column(line, bounds, 2).trim());
+        stmt.setInt(4, AnimalValidator.parseAge(line, bounds[6], bounds[7]));
+        stmt.setString(5, AnimalValidator.parseGender(line, bounds[8], bounds[9]).getDisplayName());
+        stmt.setDouble(6, AnimalValidator.parseWeight(line, bounds[10], bounds[11]));
+        stmt.setString(7, AnimalValidator.parseHealthStatus(line, bounds[12], bounds[13]).getDisplayName());
+        stmt.setLong(8, now);
+        stmt.addBatch();
+    }
+
+    /**
+     * Finds the columns of a row as written by RFC 4180: a column starting with a double quote runs to the next
+     * double quote that is not doubled, so it may contain commas. The bounds exclude the surrounding quotes.
+     *
+     * @param line   the row text
+     * @param bounds receives the start and end index of each column
+     * @return the number of columns in the row, or {@code -1} if a quoted column is not closed on this line
+     */
+    private static int split(String line, int[] bounds) {
+        int columns = 0;
+        int start = 0;
+        int length = line.length();
+        while (true) {
+            int from = start;
+            int to;
+            int end;
+            if (start < length && line.charAt(start) == '"') {
+                int close = start + 1;
+                while (true) {
+                    close = line.indexOf('"', close);
+                    if (close < 0) {
+                        return -1;
+                    }
+                    if (close + 1 < length && line.charAt(close + 1) == '"') {
+                        close += 2; // Escaped quote
+                    } else {
+                        break;
+                    }
+                }
+                from++;
+                to = close;
+                end = line.indexOf(',', close + 1);
+                if (end < 0) {
+                    end = length;
+                }
+            } else {
+                end = line.indexOf(',', start);
+                if (end < 0) {
+                    end = length;
+                }
+                to = end;
+            }
+            if (columns < COLUMN_COUNT) {
+                bounds[columns * 2] = from;
+                bounds[columns * 2 + 1] = to;
+            }
+            columns++;
+            if (end == length) {
+                return columns;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Extracts the text of a column, turning the doubled quotes of a quoted column back into single ones.
+     *
+     * @param line   the row text
+     * @param bounds start and end index of each column
+     * @param column the column index
+     * @return the column text
+     */
+    private static String column(String line, int[] bounds, int column) {
+        int from = bounds[column * 2];
+        String text = line.substring(from, bounds[column * 2 + 1]);
+        boolean quoted = from > 0 && line.charAt(from - 1) == '"';
+        return quoted && text.indexOf('"') >= 0 ? text.replace("\"\"", "\"") : text;
+    }
+
+    /**
+     * Adds up the update counts returned by a batch.
+     *
+     * @param counts the update counts
+     * @return the total number of affected rows
+     */
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: AnimalRecord.java
+ *
+ * This class is a compact, immutable copy of one row of the WildAnimals table.
+ * It is used where many records are held at once, such as the main table load, and shares
+ * its species, gender, and health status with every other record instead of owning strings.
+ */
+package WATSSwingApp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * An immutable, memory-compact animal record in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * Gender and health status are stored as one-byte codes and the species is the shared instance from
+ * {@link SpeciesDictionary}, so a record costs little more than its name. Records are read with
+ * {@link #SELECT_COLUMNS}, which lets SQLite turn the stored gender and health status text into codes, so
+ * the JDBC layer never creates a string for them.
+ * </p>
+ *
+ * <p>Use {@link #toWildAnimal()} to get a mutable copy for editing.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class AnimalRecord {
+
+    /** Column list of the {@code WildAnimals} table in the order read by {@link #fromResultSet(ResultSet)}. */
+    public static final String SELECT_COLUMNS = "id, species, name, age, " + Gender.sqlCode("gender")
+            + ", weight, " + HealthStatus.sqlCode("healthStatus") + ", version, lastModified";
+
+    /** Unique identifier for the animal. */
+    private final int id;
+
+    /** Shared instance of the species name. */
+    private final String species;
+
+    /** Name assigned to the animal. */
+    private final String name;
+
+    /** Age of the animal in years. */
+    private final int age;
+
+    /** Ordinal of the animal's {@link Gender}. */
+    private final byte genderCode;
+
+    /** Weight of the animal in kilograms. */
+    private final double weight;
+
+    /** Ordinal of the animal's {@link HealthStatus}. */
+    private final byte healthCode;
+
+    /** Row version the record was read at. */
+    private final int version;
+
+    /** Time of the last modification in milliseconds since the epoch. */
+    private final long lastModified;
+
+    /**
+     * Constructs a new {@code AnimalRecord}.
+     *
+     * @param id           unique identifier for the animal
+     * @param species      species of the animal; interned through {@link SpeciesDictionary}
+     * @param name         name assigned to the animal
+     * @param age          age of the animal in years
+     * @param gender       gender of the animal
+     * @param weight       weight of the animal in kilograms
+     * @param healthStatus current health status of the animal
+     * @param version      row version the record was read at
+     * @param lastModified time of the last modification in milliseconds since the epoch
+     */
+    public AnimalRecord(int id, String species, String name, int age, Gender gender, double weight,
+                        HealthStatus healthStatus, int version, long lastModified) {
+        this.id = id;
+        this.species = SpeciesDictionary.intern(species);
+        this.name = name;
+        this.age = age;
+        this.genderCode = (byte) gender.ordinal();
+        this.weight = weight;
+        this.healthCode = (byte) healthStatus.ordinal();
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Reads the current row of a result set selected with {@link #SELECT_COLUMNS}.
+     *
+     * @param rs the result set positioned on the row to read
+     * @return a new record holding the row's values
+     * @throws SQLException if a column cannot be read
+     */
+    public static AnimalRecord fromResultSet(ResultSet rs) throws SQLException {
+        return new AnimalRecord(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                Gender.fromCode(rs.getInt(5)),
+                rs.getDouble(6),
+                HealthStatus.fromCode(rs.getInt(7)),
+                rs.getInt(8),
+                rs.getLong(9)
+        );
+    }
+
+    /**
+     * Creates a compact copy of a mutable animal record.
+     *
+     * @param animal the record to copy
+     * @return a new record holding the same values
+     */
+    public static AnimalRecord of(WildAnimal animal) {
+        return new AnimalRecord(animal.getId(), animal.getSpecies(), animal.getName(), animal.getAge(),
+                animal.getGender(), animal.getWeight(), animal.getHealthStatus(),
+                animal.getVersion(), animal.getLastModified());
+    }
+
+    /**
+     * Creates a mutable copy of this record for editing.
+     *
+     * @return a new {@link WildAnimal} holding the same values
+     */
+    public WildAnimal toWildAnimal() {
+        return new WildAnimal(id, species, name, age, getGender(), weight, getHealthStatus(), version, lastModified);
+    }
+
+    /** @return the unique identifier of the animal */
+    public int getId() { return id; }
+
+    /** @return the shared instance of the species name */
+    public String getSpecies() { return species; }
+
+    /** @return the name of the animal */
+    public String getName() { return name; }
+
+    /** @return the age of the animal in years */
+    public int getAge() { return age; }
+
+    /** @return the gender of the animal */
+    public Gender getGender() { return Gender.fromCode(genderCode); }
+
+    /** @return the weight of the animal in kilograms */
+    public double getWeight() { return weight; }
+
+    /** @return the current health status of the animal */
+    public HealthStatus getHealthStatus() { return HealthStatus.fromCode(healthCode); }
+
+    /** @return the row version the record was read at */
+    public int getVersion() { return version; }
+
+    /** @return the time of the last modification in milliseconds since the epoch */
+    public long getLastModified() { return lastModified; }
+
+    /**
+     * Returns a formatted string representation of the animal's details.
+     *
+     * @return a string containing the animal's ID, species, name, age, gender, weight, and health status
+     */
+    @Override
+    public String toString() {
+        return String.format("ID: %d | Species: %s | Name: %s | Age: %d | Gender: %s | Weight: %.2f | Health: %s",
+                id, species, name, age, getGender(), weight, getHealthStatus());
+    }
+}
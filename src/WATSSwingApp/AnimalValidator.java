@@ -0,0 +1,471 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: AnimalValidator.java
+ *
+ * This class holds the validation rules for animal records in one place.
+ * The same character-level parsers back the text field filters in the dialogs, the dialog
+ * Save buttons, and bulk imports, so a value accepted in one place is accepted everywhere.
+ */
+package WATSSwingApp;
+
+/**
+ * Validation rules and allocation-free parsers for animal record fields.
+ * <p>
+ * The parsers work directly on the characters of a {@link CharSequence}, such as a {@link String}, a
+ * {@link javax.swing.text.Segment}, or a line buffer of an import, without regular expressions, boxing, or
+ * substrings. The {@code parse} methods return a sentinel for invalid input ({@code -1} for whole numbers and
+ * {@link Double#NaN} for weights) so hot loops never throw. The {@code check} methods wrap them and add a
+ * {@link ValidationError} to a {@link ValidationReport} when a value is rejected; nothing is allocated while
+ * values are valid.
+ * </p>
+ *
+ * <p>Rules:</p>
+ * <ul>
+ *     <li><b>Tag ID</b> – a whole number from 1 to {@link Integer#MAX_VALUE}.</li>
+ *     <li><b>Age</b> – a whole number from 0 to {@link #MAX_AGE} years.</li>
+ *     <li><b>Weight</b> – a decimal number from 0 to {@link #MAX_WEIGHT} kg with at most
+ *     {@link #MAX_WEIGHT_DECIMALS} decimal places.</li>
+ *     <li><b>Species and name</b> – not blank and at most {@link #MAX_TEXT_LENGTH} characters.</li>
+ *     <li><b>Gender and health status</b> – one of the {@link Gender} or {@link HealthStatus} display names,
+ *     ignoring case.</li>
+ * </ul>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class AnimalValidator {
+
+    /** Field name used in errors about the Tag ID. */
+    public static final String FIELD_TAG_ID = "Tag ID";
+
+    /** Field name used in errors about the species. */
+    public static final String FIELD_SPECIES = "Species";
+
+    /** Field name used in errors about the name. */
+    public static final String FIELD_NAME = "Name";
+
+    /** Field name used in errors about the age. */
+    public static final String FIELD_AGE = "Age";
+
+    /** Field name used in errors about the gender. */
+    public static final String FIELD_GENDER = "Gender";
+
+    /** Field name used in errors about the weight. */
+    public static final String FIELD_WEIGHT = "Weight";
+
+    /** Field name used in errors about the health status. */
+    public static final String FIELD_HEALTH_STATUS = "Health Status";
+
+    /** Largest accepted age in years. */
+    public static final int MAX_AGE = 250;
+
+    /** Largest accepted weight in kilograms. */
+    public static final double MAX_WEIGHT = 200_000;
+
+    /** Largest number of decimal places accepted in a weight. */
+    public static final int MAX_WEIGHT_DECIMALS = 6;
+
+    /** Largest accepted length of a species or name. */
+    public static final int MAX_TEXT_LENGTH = 100;
+
+    /** Powers of ten used to scale parsed weights; each is exactly representable as a double. */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6 };
+
+    /** All genders, cached because {@link Gender#values()} copies its array on every call. */
+    private static final Gender[] GENDERS = Gender.values();
+
+    /** All health statuses, cached because {@link HealthStatus#values()} copies its array on every call. */
+    private static final HealthStatus[] HEALTH_STATUSES = HealthStatus.values();
+
+    /** Largest mantissa accumulated while parsing a weight, keeping the conversion to double exact. */
+    private static final long MAX_MANTISSA = (1L << 53) - 1;
+
+    /**
+     * Prevents instantiation; all members are static.
+     */
+    private AnimalValidator() {
+    }
+
+    /**
+     * Determines whether every character of a text is an ASCII digit.
+     *
+     * @param text the text to check; may be {@code null}
+     * @return {@code true} if the text is {@code null}, empty, or only digits
+     */
+    public static boolean isDigits(CharSequence text) {
+        if (text == null) {
+            return true;
+        }
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a text consists of digits and decimal points only, and counts the decimal points.
+     *
+     * @param text the text to check; may be {@code null}
+     * @return the number of decimal points, or {@code -1} if the text contains any other character
+     */
+    public static int countDecimalPoints(CharSequence text) {
+        int points = 0;
+        if (text == null) {
+            return 0;
+        }
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                points++;
+            } else if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Parses a Tag ID.
+     *
+     * @param text the text holding the value
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the Tag ID, or {@code -1} if the text is not a valid Tag ID
+     */
+    public static int parseTagId(CharSequence text, int start, int end) {
+        long value = parseWholeNumber(text, start, end, Integer.MAX_VALUE);
+        return value >= 1 ? (int) value : -1;
+    }
+
+    /**
+     * Parses an age in years.
+     *
+     * @param text the text holding the value
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the age, or {@code -1} if the text is not a valid age
+     */
+    public static int parseAge(CharSequence text, int start, int end) {
+        return (int) parseWholeNumber(text, start, end, MAX_AGE);
+    }
+
+    /**
+     * Parses a weight in kilograms.
+     * <p>
+     * Digits before and after the decimal point are accumulated into one integer mantissa and divided once by a
+     * power of ten. Both operands are exact, so the result is the correctly rounded double, the same value
+     * {@link Double#parseDouble(String)} returns.
+     * </p>
+     *
+     * @param text the text holding the value
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the weight, or {@link Double#NaN} if the text is not a valid weight
+     */
+    public static double parseWeight(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (decimals >= 0) {
+                    return Double.NaN;
+                }
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0 && ++decimals > MAX_WEIGHT_DECIMALS || mantissa > MAX_MANTISSA) {
+                    return Double.NaN;
+                }
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        double weight = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+        return weight <= MAX_WEIGHT ? weight : Double.NaN;
+    }
+
+    /**
+     * Looks up a gender by its display name, ignoring case and surrounding spaces.
+     *
+     * @param text the text holding the value
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the matching gender, or {@code null} if the text matches none
+     */
+    public static Gender parseGender(CharSequence text, int start, int end) {
+        for (Gender gender : GENDERS) {
+            if (matchesIgnoreCase(text, start, end, gender.getDisplayName())) {
+                return gender;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a health status by its display name, ignoring case and surrounding spaces.
+     *
+     * @param text the text holding the value
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the matching health status, or {@code null} if the text matches none
+     */
+    public static HealthStatus parseHealthStatus(CharSequence text, int start, int end) {
+        for (HealthStatus status : HEALTH_STATUSES) {
+            if (matchesIgnoreCase(text, start, end, status.getDisplayName())) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates a Tag ID and reports it if invalid.
+     *
+     * @param text   the text holding the value; may be {@code null}
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return the Tag ID, or {@code -1} if invalid
+     */
+    public static int checkTagId(CharSequence text, long row, ValidationReport report) {
+        int tagId = text == null ? -1 : parseTagId(text, 0, text.length());
+        if (tagId < 0) {
+            report.addError(row, FIELD_TAG_ID, text, "must be a whole number greater than zero");
+        }
+        return tagId;
+    }
+
+    /**
+     * Validates an age and reports it if invalid.
+     *
+     * @param text   the text holding the value; may be {@code null}
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return the age, or {@code -1} if invalid
+     */
+    public static int checkAge(CharSequence text, long row, ValidationReport report) {
+        int age = text == null ? -1 : parseAge(text, 0, text.length());
+        if (age < 0) {
+            report.addError(row, FIELD_AGE, text, "must be a whole number from 0 to " + MAX_AGE);
+        }
+        return age;
+    }
+
+    /**
+     * Validates a weight and reports it if invalid.
+     *
+     * @param text   the text holding the value; may be {@code null}
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return the weight, or {@link Double#NaN} if invalid
+     */
+    public static double checkWeight(CharSequence text, long row, ValidationReport report) {
+        double weight = text == null ? Double.NaN : parseWeight(text, 0, text.length());
+        if (Double.isNaN(weight)) {
+            report.addError(row, FIELD_WEIGHT, text, "must be a number from 0 to " + (long) MAX_WEIGHT
+                    + " with at most " + MAX_WEIGHT_DECIMALS + " decimal places");
+        }
+        return weight;
+    }
+
+    /**
+     * Validates a weight that is already a number and reports it if invalid.
+     *
+     * @param weight the weight in kilograms
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return {@code true} if the weight is valid
+     */
+    public static boolean checkWeight(double weight, long row, ValidationReport report) {
+        if (weight >= 0 && weight <= MAX_WEIGHT) {
+            return true;
+        }
+        report.addError(row, FIELD_WEIGHT, String.valueOf(weight), "must be from 0 to " + (long) MAX_WEIGHT);
+        return false;
+    }
+
+    /**
+     * Validates a gender and reports it if invalid.
+     *
+     * @param text   the text holding the value; may be {@code null}
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return the gender, or {@code null} if invalid
+     */
+    public static Gender checkGender(CharSequence text, long row, ValidationReport report) {
+        Gender gender = text == null ? null : parseGender(text, 0, text.length());
+        if (gender == null) {
+            report.addError(row, FIELD_GENDER, text, "must be one of Male, Female or Unknown");
+        }
+        return gender;
+    }
+
+    /**
+     * Validates a health status and reports it if invalid.
+     *
+     * @param text   the text holding the value; may be {@code null}
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return the health status, or {@code null} if invalid
+     */
+    public static HealthStatus checkHealthStatus(CharSequence text, long row, ValidationReport report) {
+        HealthStatus status = text == null ? null : parseHealthStatus(text, 0, text.length());
+        if (status == null) {
+            report.addError(row, FIELD_HEALTH_STATUS, text,
+                    "must be one of Healthy, Injured, Sick, Recovering or Unknown");
+        }
+        return status;
+    }
+
+    /**
+     * Validates a species or name and reports it if invalid.
+     *
+     * @param field  the field name used in the error, such as {@link #FIELD_SPECIES}
+     * @param text   the text holding the value; may be {@code null}
+     * @param row    row number of the value in a batch, or {@code -1} for a dialog
+     * @param report the report receiving an error if the value is invalid
+     * @return {@code true} if the text is valid
+     */
+    public static boolean checkText(String field, CharSequence text, long row, ValidationReport report) {
+        int length = text == null ? 0 : trimmedLength(text);
+        if (length == 0) {
+            report.addError(row, field, null, "is required");
+            return false;
+        }
+        if (length > MAX_TEXT_LENGTH) {
+            report.addError(row, field, null, "must be at most " + MAX_TEXT_LENGTH + " characters");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Validates every field of an animal record given as text, as read from a form or an import file.
+     *
+     * @param tagId        the Tag ID text
+     * @param species      the species text
+     * @param name         the name text
+     * @param age          the age text
+     * @param gender       the gender text
+     * @param weight       the weight text
+     * @param healthStatus the health status text
+     * @param row          row number of the record in a batch, or {@code -1} for a dialog
+     * @param report       the report receiving an error for each invalid field
+     * @return the validated record, or {@code null} if any field is invalid
+     */
+    public static AnimalRecord checkRecord(CharSequence tagId, CharSequence species, CharSequence name,
+                                           CharSequence age, CharSequence gender, CharSequence weight,
+                                           CharSequence healthStatus, long row, ValidationReport report) {
+        long errorsBefore = report.getErrorCount();
+        int parsedTagId = checkTagId(tagId, row, report);
+        checkText(FIELD_SPECIES, species, row, report);
+        checkText(FIELD_NAME, name, row, report);
+        int parsedAge = checkAge(age, row, report);
+        Gender parsedGender = checkGender(gender, row, report);
+        double parsedWeight = checkWeight(weight, row, report);
+        HealthStatus parsedStatus = checkHealthStatus(healthStatus, row, report);
+        if (report.getErrorCount() != errorsBefore) {
+            return null;
+        }
+        return new AnimalRecord(parsedTagId, species.toString().trim(), name.toString().trim(), parsedAge,
+                parsedGender, parsedWeight, parsedStatus, 0, 0L);
+    }
+
+    /**
+     * Parses a whole number without sign, ignoring surrounding spaces.
+     *
+     * @param text  the text holding the value
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @param max   the largest accepted value
+     * @return the value, or {@code -1} if the text is empty, contains a non-digit, or exceeds {@code max}
+     */
+    private static long parseWholeNumber(CharSequence text, int start, int end, long max) {
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (start == end) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+            if (value > max) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Compares a range of characters with an ASCII keyword, ignoring case and surrounding spaces.
+     *
+     * @param text    the text holding the value
+     * @param start   index of the first character
+     * @param end     index after the last character
+     * @param keyword the keyword to compare with
+     * @return {@code true} if the trimmed range equals the keyword ignoring case
+     */
+    private static boolean matchesIgnoreCase(CharSequence text, int start, int end, String keyword) {
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end - start != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if ((text.charAt(start + i) | 0x20) != (keyword.charAt(i) | 0x20)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the characters of a text without leading and trailing whitespace.
+     *
+     * @param text the text to measure
+     * @return the trimmed length
+     */
+    private static int trimmedLength(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return end - start;
+    }
+}
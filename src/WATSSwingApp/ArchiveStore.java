@@ -0,0 +1,612 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ArchiveStore.java
+ *
+ * This class moves animal records that are no longer tracked out of the WildAnimals table into a
+ * compressed, append-only archive database kept next to the main database file. The hot table stays
+ * small, while archived records can still be listed, looked up, or restored when needed.
+ */
+package WATSSwingApp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Cold storage tier for animal records in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * Records whose last modification, last observation and last sighting are all older than a cutoff are moved, in
+ * batches of {@link #BATCH_SIZE}, into the archive database {@code <name>-archive.db}. Each batch is written as a
+ * single deflate-compressed blob in {@code ArchiveBatches}; batches are only ever appended. {@code ArchivedIds}
+ * maps every archived Tag ID to the batch holding its current copy, so restoring a record only removes its
+ * mapping and leaves the batch untouched.
+ * </p>
+ *
+ * <p>A batch is committed to the archive, with full synchronous writes, before its records are deleted from
+ * {@code WildAnimals}, so a crash never loses a record; at worst it exists in both tiers until the next run.
+ * Records modified between selection and deletion stay in the hot table. Observation history and sightings are
+ * kept in the main database. Archiving does not leave sync tombstones, so a sync never deletes the records at
+ * a peer; instead {@link LocalSyncPeer} reports archived records as present, so the peer's copy is not copied
+ * back into the hot table either.</p>
+ *
+ * <p>Archiving and restoring write {@code WildAnimals} on their own connections, so both are refused while an
+ * edit session is open or records are served from memory.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ArchiveStore {
+
+    /** Number of records moved and compressed together. */
+    private static final int BATCH_SIZE = 5_000;
+
+    /** Version of the encoding written into every batch. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Reference to the database manager of the main database. */
+    private final DatabaseManager dbManager;
+
+    /** Database manager of the archive database. */
+    private final DatabaseManager archive;
+
+    /**
+     * Constructs a new {@code ArchiveStore} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the main database
+     */
+    public ArchiveStore(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.archive = new DatabaseManager(archiveFileOf(dbManager.getDbPath()).getPath());
+    }
+
+    /**
+     * Determines the archive file belonging to a database file.
+     *
+     * @param dbPath the path of the main database
+     * @return the database file name without extension, followed by {@code -archive.db}, in the same directory
+     */
+    public static File archiveFileOf(String dbPath) {
+        File file = new File(dbPath).getAbsoluteFile();
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return new File(file.getParentFile(), (dot > 0 ? name.substring(0, dot) : name) + "-archive.db");
+    }
+
+    /** @return the archive database file */
+    public File getArchiveFile() { return new File(archive.getDbPath()); }
+
+    /**
+     * Computes the cutoff for records not observed for a number of months.
+     *
+     * @param months the number of months without activity
+     * @return the cutoff in milliseconds since the epoch
+     */
+    public static long cutoffForMonths(int months) {
+        return ZonedDateTime.now().minusMonths(months).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Counts the records that {@link #archive(long)} would move for a cutoff.
+     *
+     * @param cutoffMillis records with no modification, observation or sighting since this time are inactive
+     * @return the number of inactive records in the main database
+     * @throws SQLException if the main database cannot be read
+     */
+    public long countInactive(long cutoffMillis) throws SQLException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT COUNT(*) FROM WildAnimals w WHERE " + inactiveCondition())) {
+            bindCutoff(stmt, 1, cutoffMillis);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    /**
+     * Moves every inactive record into the archive, one batch per transaction.
+     * <p>
+     * This method blocks until all batches are moved and should be called off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param cutoffMillis records with no modification, observation or sighting since this time are moved
+     * @return the number of records moved
+     * @throws SQLException if either database cannot be read or written, or an edit session or in-memory mode is
+     *                      active (see {@link DatabaseManager#requireDirectTableAccess(String)})
+     */
+    public int archive(long cutoffMillis) throws SQLException {
+        dbManager.requireDirectTableAccess("archiving records");
+        int moved = 0;
+        try (Connection hot = dbManager.connect(PerformanceProfile.BULK_LOAD);
+             Connection cold = connectArchive();
+             PreparedStatement select = hot.prepareStatement("SELECT " + AnimalRecord.SELECT_COLUMNS
+                     + " FROM WildAnimals w WHERE id > ? AND " + inactiveCondition() + " ORDER BY id LIMIT ?");
+             PreparedStatement delete = hot.prepareStatement("DELETE FROM WildAnimals WHERE id = ? AND version = ?");
+             PreparedStatement untomb = hot.prepareStatement("DELETE FROM SyncTombstones WHERE id = ?")) {
+
+            long afterId = Integer.MIN_VALUE;
+            while (true) {
+                List<AnimalRecord> batch = new ArrayList<>();
+                select.setLong(1, afterId);
+                bindCutoff(select, 2, cutoffMillis);
+                select.setInt(5, BATCH_SIZE);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        batch.add(AnimalRecord.fromResultSet(rs));
+                    }
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                long batchId = appendBatch(cold, batch);
+
+                // Only now that the batch is durable in the archive may the records leave the hot table
+                List<Integer> kept = new ArrayList<>();
+                hot.setAutoCommit(false);
+                try {
+                    for (AnimalRecord record : batch) {
+                        delete.setInt(1, record.getId());
+                        delete.setInt(2, record.getVersion());
+                        delete.addBatch();
+                        untomb.setInt(1, record.getId());
+                        untomb.addBatch();
+                    }
+                    int[] counts = delete.executeBatch();
+                    untomb.executeBatch();
+                    hot.commit();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            kept.add(batch.get(i).getId());
+                        }
+                    }
+                } catch (SQLException e) {
+                    hot.rollback();
+                    throw e;
+                } finally {
+                    hot.setAutoCommit(true);
+                }
+
+                // Records changed since they were selected stay hot; forget their archived copy
+                if (!kept.isEmpty()) {
+                    forget(cold, kept, batchId);
+                }
+                List<Integer> movedIds = new ArrayList<>(batch.size() - kept.size());
+                Set<Integer> keptIds = new HashSet<>(kept);
+                for (AnimalRecord record : batch) {
+                    if (!keptIds.contains(record.getId())) {
+                        movedIds.add(record.getId());
+                    }
+                }
+                moved += movedIds.size();
+                dbManager.recordWrites(movedIds);
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } finally {
+            dbManager.invalidateTagIdIndex();
+        }
+        return moved;
+    }
+
+    /**
+     * Counts the records currently held in the archive.
+     *
+     * @return the number of archived records, or zero if there is no archive yet
+     * @throws SQLException if the archive cannot be read
+     */
+    public long countArchived() throws SQLException {
+        if (!getArchiveFile().exists()) {
+            return 0;
+        }
+        try (Connection cold = connectArchive();
+             Statement stmt = cold.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM ArchivedIds")) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    /**
+     * Lists the archived Tag IDs in the given sync buckets, so a sync can treat them as present.
+     *
+     * @param buckets the level {@code 0} sync buckets, see {@link SyncEngine#firstIdOf(long)}
+     * @return the archived Tag IDs in those buckets, or an empty list if there is no archive yet
+     * @throws SQLException if the archive cannot be read
+     */
+    public List<Integer> getArchivedIds(Collection<Long> buckets) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        if (!getArchiveFile().exists()) {
+            return ids;
+        }
+        try (Connection cold = connectArchive();
+             PreparedStatement stmt = cold.prepareStatement("SELECT id FROM ArchivedIds WHERE id BETWEEN ? AND ?")) {
+            for (long bucket : buckets) {
+                long first = SyncEngine.firstIdOf(bucket);
+                stmt.setLong(1, first);
+                stmt.setLong(2, first + SyncEngine.LEAF_SPAN - 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reads every record currently held in the archive.
+     *
+     * @return the archived records in Tag ID order, or an empty list if there is no archive yet
+     * @throws SQLException if the archive cannot be read or a batch is corrupt
+     */
+    public List<AnimalRecord> getArchivedRecords() throws SQLException {
+        List<AnimalRecord> records = new ArrayList<>();
+        if (!getArchiveFile().exists()) {
+            return records;
+        }
+        try (Connection cold = connectArchive();
+             Statement stmt = cold.createStatement();
+             PreparedStatement live = cold.prepareStatement("SELECT id FROM ArchivedIds WHERE batchId = ?");
+             ResultSet rs = stmt.executeQuery("SELECT batchId, data FROM ArchiveBatches ORDER BY batchId")) {
+            while (rs.next()) {
+                Set<Integer> ids = new HashSet<>();
+                live.setLong(1, rs.getLong(1));
+                try (ResultSet idRs = live.executeQuery()) {
+                    while (idRs.next()) {
+                        ids.add(idRs.getInt(1));
+                    }
+                }
+                if (ids.isEmpty()) {
+                    continue;
+                }
+                for (AnimalRecord record : decode(rs.getBytes(2))) {
+                    if (ids.contains(record.getId())) {
+                        records.add(record);
+                    }
+                }
+            }
+        }
+        records.sort(Comparator.comparingInt(AnimalRecord::getId));
+        return records;
+    }
+
+    /**
+     * Looks up one archived record.
+     *
+     * @param id the Tag ID
+     * @return the archived record, or {@code null} if the Tag ID is not archived
+     * @throws SQLException if the archive cannot be read or the batch is corrupt
+     */
+    public AnimalRecord findRecord(int id) throws SQLException {
+        if (!getArchiveFile().exists()) {
+            return null;
+        }
+        try (Connection cold = connectArchive();
+             PreparedStatement stmt = cold.prepareStatement("SELECT b.data FROM ArchivedIds a "
+                     + "JOIN ArchiveBatches b ON b.batchId = a.batchId WHERE a.id = ?")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    for (AnimalRecord record : decode(rs.getBytes(1))) {
+                        if (record.getId() == id) {
+                            return record;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves archived records back into the main database.
+     * <p>
+     * A record whose Tag ID has been reused in the main database in the meantime is left in the archive.
+     * </p>
+     *
+     * @param ids the Tag IDs to restore; IDs that are not archived are ignored
+     * @return the number of records restored
+     * @throws SQLException if either database cannot be read or written, or an edit session or in-memory mode is
+     *                      active (see {@link DatabaseManager#requireDirectTableAccess(String)})
+     */
+    public int restore(Collection<Integer> ids) throws SQLException {
+        dbManager.requireDirectTableAccess("restoring archived records");
+        List<AnimalRecord> records = new ArrayList<>();
+        for (int id : ids) {
+            AnimalRecord record = findRecord(id);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> restored = new ArrayList<>();
+        try (Connection hot = dbManager.connect();
+             PreparedStatement insert = hot.prepareStatement("INSERT INTO WildAnimals "
+                     + "(id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+                     + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT(id) DO NOTHING")) {
+            hot.setAutoCommit(false);
+            try {
+                for (AnimalRecord record : records) {
+                    insert.setInt(1, record.getId());
+                    insert.setString(2, record.getSpecies());
+                    insert.setString(3, record.getName());
+                    insert.setInt(4, record.getAge());
+                    insert.setString(5, record.getGender().getDisplayName());
+                    insert.setDouble(6, record.getWeight());
+                    insert.setString(7, record.getHealthStatus().getDisplayName());
+                    insert.setInt(8, record.getVersion());
+                    insert.setLong(9, record.getLastModified());
+                    if (insert.executeUpdate() > 0) {
+                        restored.add(record.getId());
+                    }
+                }
+                hot.commit();
+            } catch (SQLException e) {
+                hot.rollback();
+                throw e;
+            } finally {
+                hot.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.invalidateTagIdIndex();
+        }
+        dbManager.recordWrites(restored);
+
+        if (!restored.isEmpty()) {
+            try (Connection cold = connectArchive()) {
+                forget(cold, restored, null);
+            }
+        }
+        return restored.size();
+    }
+
+    /**
+     * Opens a connection to the archive database, creating its tables if necessary.
+     * <p>
+     * Archive writes use full synchronous commits: a batch must survive a power failure before its records are
+     * deleted from the main database.
+     * </p>
+     *
+     * @return a connection to the archive database
+     * @throws SQLException if the archive cannot be opened or its tables cannot be created
+     */
+    private Connection connectArchive() throws SQLException {
+        Connection conn = archive.connect(PerformanceProfile.INTERACTIVE);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA synchronous = FULL");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS ArchiveBatches (batchId INTEGER PRIMARY KEY, "
+                    + "archivedAt INTEGER NOT NULL, firstId INTEGER NOT NULL, lastId INTEGER NOT NULL, "
+                    + "recordCount INTEGER NOT NULL, rawBytes INTEGER NOT NULL, data BLOB NOT NULL)");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS ArchivedIds (id INTEGER PRIMARY KEY, batchId INTEGER NOT NULL)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS ArchivedIds_batch ON ArchivedIds (batchId)");
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * Compresses and appends a batch of records to the archive, pointing their Tag IDs at it.
+     *
+     * @param cold    the connection to the archive database
+     * @param records the records, in Tag ID order
+     * @return the ID of the new batch
+     * @throws SQLException if the batch cannot be written
+     */
+    private static long appendBatch(Connection cold, List<AnimalRecord> records) throws SQLException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        byte[] data = encode(records, raw);
+
+        cold.setAutoCommit(false);
+        try (PreparedStatement batch = cold.prepareStatement("INSERT INTO ArchiveBatches "
+                + "(archivedAt, firstId, lastId, recordCount, rawBytes, data) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement ids = cold.prepareStatement(
+                     "INSERT OR REPLACE INTO ArchivedIds (id, batchId) VALUES (?, ?)")) {
+            batch.setLong(1, System.currentTimeMillis());
+            batch.setInt(2, records.get(0).getId());
+            batch.setInt(3, records.get(records.size() - 1).getId());
+            batch.setInt(4, records.size());
+            batch.setInt(5, raw.size());
+            batch.setBytes(6, data);
+            batch.executeUpdate();
+
+            long batchId;
+            try (Statement stmt = cold.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                rs.next();
+                batchId = rs.getLong(1);
+            }
+            for (AnimalRecord record : records) {
+                ids.setInt(1, record.getId());
+                ids.setLong(2, batchId);
+                ids.addBatch();
+            }
+            ids.executeBatch();
+            cold.commit();
+            return batchId;
+        } catch (SQLException e) {
+            cold.rollback();
+            throw e;
+        } finally {
+            cold.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Removes archived Tag IDs from the archive's index, leaving their batches unchanged.
+     *
+     * @param cold    the connection to the archive database
+     * @param ids     the Tag IDs to remove
+     * @param batchId only remove IDs pointing at this batch, or {@code null} for any batch
+     * @throws SQLException if the index cannot be updated
+     */
+    private static void forget(Connection cold, List<Integer> ids, Long batchId) throws SQLException {
+        String sql = "DELETE FROM ArchivedIds WHERE id = ?" + (batchId != null ? " AND batchId = ?" : "");
+        cold.setAutoCommit(false);
+        try (PreparedStatement stmt = cold.prepareStatement(sql)) {
+            for (int id : ids) {
+                stmt.setInt(1, id);
+                if (batchId != null) {
+                    stmt.setLong(2, batchId);
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            cold.commit();
+        } catch (SQLException e) {
+            cold.rollback();
+            throw e;
+        } finally {
+            cold.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Encodes and compresses a batch of records.
+     *
+     * @param records the records to encode
+     * @param raw     receives the uncompressed encoding, so its size can be recorded
+     * @return the compressed encoding
+     * @throws SQLException if the records cannot be encoded
+     */
+    private static byte[] encode(List<AnimalRecord> records, ByteArrayOutputStream raw) throws SQLException {
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(records.size());
+            for (AnimalRecord record : records) {
+                out.writeInt(record.getId());
+                writeNullableString(out, record.getSpecies());
+                writeNullableString(out, record.getName());
+                out.writeInt(record.getAge());
+                out.writeByte(record.getGender().ordinal());
+                out.writeDouble(record.getWeight());
+                out.writeByte(record.getHealthStatus().ordinal());
+                out.writeInt(record.getVersion());
+                out.writeLong(record.getLastModified());
+            }
+        } catch (IOException e) {
+            throw new SQLException("Cannot encode archive batch: " + e.getMessage(), e);
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            raw.writeTo(out);
+        } catch (IOException e) {
+            throw new SQLException("Cannot compress archive batch: " + e.getMessage(), e);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Decompresses and decodes a batch of records.
+     *
+     * @param data the compressed encoding written by {@link #encode(List, ByteArrayOutputStream)}
+     * @return the records of the batch
+     * @throws SQLException if the batch is corrupt or was written in an unknown format
+     */
+    private static List<AnimalRecord> decode(byte[] data) throws SQLException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int format = in.readUnsignedByte();
+            if (format != FORMAT_VERSION) {
+                throw new SQLException("Unknown archive batch format: " + format);
+            }
+            int count = in.readInt();
+            List<AnimalRecord> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(new AnimalRecord(in.readInt(), readNullableString(in), readNullableString(in),
+                        in.readInt(), Gender.fromCode(in.readUnsignedByte()), in.readDouble(),
+                        HealthStatus.fromCode(in.readUnsignedByte()), in.readInt(), in.readLong()));
+            }
+            return records;
+        } catch (IOException e) {
+            throw new SQLException("Corrupt archive batch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a string that may be {@code null}.
+     *
+     * @param out   the stream to write to
+     * @param value the string, or {@code null}
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeNullableString(DataOutputStream, String)}.
+     *
+     * @param in the stream to read from
+     * @return the string, or {@code null}
+     * @throws IOException if the stream cannot be read
+     */
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Builds the condition selecting inactive records from {@code WildAnimals} aliased as {@code w}.
+     * <p>
+     * Records whose gender or health status text matches no constant stay in the main database, since the
+     * archive stores only the constants and restoring them would replace the text with {@code Unknown}.
+     * Records with a modification time of {@code 0} were stored before modification times were kept; their age
+     * is unknown, so they stay too.
+     * </p>
+     *
+     * @return a condition taking the cutoff as three parameters
+     */
+    private static String inactiveCondition() {
+        return "w.lastModified > 0 AND w.lastModified < ? AND " + Gender.sqlRecognized("w.gender") + " AND "
+                + HealthStatus.sqlRecognized("w.healthStatus") + " "
+                + "AND NOT EXISTS (SELECT 1 FROM AnimalObservations o WHERE o.id = w.id AND o.ts >= ?) "
+                + "AND NOT EXISTS (SELECT 1 FROM Sightings s WHERE s.id = w.id AND s.ts >= ?)";
+    }
+
+    /**
+     * Binds the cutoff to the three parameters of {@link #inactiveCondition()}.
+     *
+     * @param stmt         the statement to bind
+     * @param first        the index of the first cutoff parameter
+     * @param cutoffMillis the cutoff in milliseconds since the epoch
+     * @throws SQLException if a parameter cannot be bound
+     */
+    private static void bindCutoff(PreparedStatement stmt, int first, long cutoffMillis) throws SQLException {
+        for (int i = 0; i < 3; i++) {
+            stmt.setLong(first + i, cutoffMillis);
+        }
+    }
+}
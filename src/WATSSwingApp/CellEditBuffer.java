@@ -0,0 +1,226 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: CellEditBuffer.java
+ *
+ * This class collects the cells edited directly in the animal table until they are written to the
+ * database. Several edits of the same record are merged into one change of that record, and all
+ * pending changes are written together in one transaction, so correcting many cells costs a single
+ * commit instead of one dialog, write and table reload per cell.
+ */
+package WATSSwingApp;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Pending cell edits, coalesced per record and written with {@link DatabaseManager#updateCells(Map, Map)}.
+ * <p>
+ * Each pending cell keeps the value it had before its first edit, so the edits can be rolled back with
+ * {@link #discard()} and a cell edited back to that value is no longer pending. Editing the same cell again only
+ * replaces the pending value.
+ * </p>
+ *
+ * <p>{@link #flush(DatabaseManager)} takes the pending edits and writes them on the calling thread. Edits made
+ * while a flush is running are kept for the next one; if the flush fails, the edits it took are put back under
+ * any newer ones, so nothing is lost and the cells stay marked as pending. Flushes run one at a time, so an
+ * older value can never overwrite a newer one. All methods may be called from any thread.</p>
+ *
+ * <p>A record is only written if its edited fields still hold their original values. The edits of a record that
+ * another editor changed meanwhile are set aside as a conflict, to be merged by the user through
+ * {@link #takeConflicts()}, and are not written again by later flushes.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class CellEditBuffer {
+
+    /** Pending values by Tag ID and column name. */
+    private final Map<Integer, Map<String, Object>> edits = new TreeMap<>();
+
+    /** Values before the first edit of each pending cell, by Tag ID and column name. */
+    private final Map<Integer, Map<String, Object>> originals = new TreeMap<>();
+
+    /** Edits not written because another editor changed the record, by Tag ID and column name. */
+    private final Map<Integer, Map<String, Object>> conflicts = new TreeMap<>();
+
+    /** Lock letting only one flush write at a time. */
+    private final Object flushLock = new Object();
+
+    /** Number of pending cells. */
+    private int cellCount;
+
+    /**
+     * Records the edit of a cell, merging it with earlier edits of the same record.
+     *
+     * @param tagId    the Tag ID of the record
+     * @param column   the column name of the cell in the {@code WildAnimals} table
+     * @param original the value shown in the cell before this edit
+     * @param value    the new value
+     * @return {@code true} if the cell is pending afterwards, {@code false} if it was edited back to its stored value
+     */
+    public synchronized boolean edit(int tagId, String column, Object original, Object value) {
+        Map<String, Object> row = edits.computeIfAbsent(tagId, id -> new LinkedHashMap<>());
+        Map<String, Object> rowOriginals = originals.computeIfAbsent(tagId, id -> new LinkedHashMap<>());
+        if (!row.containsKey(column)) {
+            rowOriginals.put(column, original);
+            cellCount++;
+        }
+        if (Objects.equals(rowOriginals.get(column), value)) {
+            row.remove(column);
+            rowOriginals.remove(column);
+            cellCount--;
+            if (row.isEmpty()) {
+                edits.remove(tagId);
+                originals.remove(tagId);
+            }
+            return false;
+        }
+        row.put(column, value);
+        return true;
+    }
+
+    /**
+     * Determines whether a cell has an edit that has not been written yet.
+     *
+     * @param tagId  the Tag ID of the record
+     * @param column the column name of the cell
+     * @return {@code true} if the cell is pending
+     */
+    public synchronized boolean isPending(int tagId, String column) {
+        Map<String, Object> row = edits.get(tagId);
+        return row != null && row.containsKey(column);
+    }
+
+    /**
+     * Returns the pending values of a record.
+     *
+     * @param tagId the Tag ID of the record
+     * @return a copy of the pending values by column name, or {@code null} if the record has no pending edits
+     */
+    public synchronized Map<String, Object> getPendingValues(int tagId) {
+        Map<String, Object> row = edits.get(tagId);
+        return row == null ? null : new LinkedHashMap<>(row);
+    }
+
+    /** @return {@code true} if no edits are pending */
+    public synchronized boolean isEmpty() {
+        return edits.isEmpty();
+    }
+
+    /** @return the number of pending cells */
+    public synchronized int getCellCount() {
+        return cellCount;
+    }
+
+    /** @return the number of records with pending cells */
+    public synchronized int getRecordCount() {
+        return edits.size();
+    }
+
+    /**
+     * Returns and forgets the edits set aside because another editor changed their records meanwhile.
+     *
+     * @return the edited values by Tag ID and column name
+     */
+    public synchronized Map<Integer, Map<String, Object>> takeConflicts() {
+        Map<Integer, Map<String, Object>> taken = new TreeMap<>(conflicts);
+        conflicts.clear();
+        return taken;
+    }
+
+    /**
+     * Drops all pending edits without writing them.
+     *
+     * @return the values the pending cells had before they were edited, by Tag ID and column name
+     */
+    public synchronized Map<Integer, Map<String, Object>> discard() {
+        Map<Integer, Map<String, Object>> restored = new TreeMap<>(originals);
+        edits.clear();
+        originals.clear();
+        cellCount = 0;
+        return restored;
+    }
+
+    /**
+     * Writes the pending edits to a database in one transaction.
+     * <p>
+     * The edits are written on the calling thread, after any flush still running on another thread.
+     * </p>
+     *
+     * @param dbManager the database the edits are written to
+     * @return the number of records updated; the edits of the other records are set aside as conflicts
+     * @throws SQLException if the edits cannot be written; they stay pending
+     */
+    public int flush(DatabaseManager dbManager) throws SQLException {
+        synchronized (flushLock) {
+            Map<Integer, Map<String, Object>> taken;
+            Map<Integer, Map<String, Object>> takenOriginals;
+            synchronized (this) {
+                if (edits.isEmpty()) {
+                    return 0;
+                }
+                taken = new TreeMap<>(edits);
+                takenOriginals = new TreeMap<>(originals);
+                edits.clear();
+                originals.clear();
+                cellCount = 0;
+            }
+
+            boolean written = false;
+            try {
+                Set<Integer> conflicting = dbManager.updateCells(taken, takenOriginals);
+                written = true;
+                synchronized (this) {
+                    for (int tagId : conflicting) {
+                        conflicts.computeIfAbsent(tagId, id -> new LinkedHashMap<>()).putAll(taken.get(tagId));
+                    }
+                }
+                return taken.size() - conflicting.size();
+            } finally {
+                if (!written) {
+                    restore(taken, takenOriginals);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts edits back after a failed flush, under the edits made while it was running.
+     *
+     * @param taken          the edits the flush took
+     * @param takenOriginals the values the taken cells had before they were edited
+     */
+    private synchronized void restore(Map<Integer, Map<String, Object>> taken,
+                                      Map<Integer, Map<String, Object>> takenOriginals) {
+        for (Map.Entry<Integer, Map<String, Object>> entry : taken.entrySet()) {
+            int tagId = entry.getKey();
+            Map<String, Object> row = edits.computeIfAbsent(tagId, id -> new LinkedHashMap<>());
+            Map<String, Object> rowOriginals = originals.computeIfAbsent(tagId, id -> new LinkedHashMap<>());
+            for (Map.Entry<String, Object> cell : entry.getValue().entrySet()) {
+                String column = cell.getKey();
+                if (!row.containsKey(column)) {
+                    row.put(column, cell.getValue());
+                    cellCount++;
+                }
+                // The cell was never written, so its stored value is still the one before the failed flush
+                rowOriginals.put(column, takenOriginals.get(tagId).get(column));
+                if (Objects.equals(rowOriginals.get(column), row.get(column))) {
+                    row.remove(column);
+                    rowOriginals.remove(column);
+                    cellCount--;
+                }
+            }
+            if (row.isEmpty()) {
+                edits.remove(tagId);
+                originals.remove(tagId);
+            }
+        }
+    }
+}
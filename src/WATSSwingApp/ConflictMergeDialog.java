@@ -0,0 +1,180 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ConflictMergeDialog.java
+ *
+ * This is a modal dialog window shown when an animal record could not be saved because another
+ * editor changed it in the meantime. It lists every field that differs between the user's edit and
+ * the version currently stored in the database and lets the user pick which value to keep.
+ * The merged record carries the current row version so it can be saved again.
+ */
+package WATSSwingApp;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A modal dialog window for merging a conflicting edit of an animal record in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * For each field whose value differs between the user's edit ("Mine") and the record currently stored in the
+ * database ("Theirs"), the dialog offers a pair of radio buttons. By default the user's own values are kept.
+ * When the merge is applied, {@link #getMergedAnimal()} returns a record holding the chosen values and the
+ * current row version, ready to be passed to {@link DatabaseManager#updateWildAnimal(WildAnimal)} again.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ConflictMergeDialog extends JDialog {
+
+    /** Field labels shown in the merge table, in display order. */
+    private static final String[] FIELD_LABELS = { "Species", "Name", "Age", "Gender", "Weight (kg)", "Health Status" };
+
+    /** Radio buttons selecting the user's value for each differing field, indexed like {@link #FIELD_LABELS}. */
+    private final JRadioButton[] mineButtons = new JRadioButton[FIELD_LABELS.length];
+
+    /** The record as edited by the user. */
+    private final WildAnimal mine;
+
+    /** The record as currently stored in the database. */
+    private final WildAnimal theirs;
+
+    /** The merged record, or {@code null} if the dialog was cancelled. */
+    private WildAnimal mergedAnimal;
+
+    /**
+     * Constructs a new {@code ConflictMergeDialog} instance.
+     *
+     * @param parent the parent {@link Window} for positioning and modality
+     * @param mine   the record as edited by the user
+     * @param theirs the record as currently stored in the database
+     */
+    public ConflictMergeDialog(Window parent, WildAnimal mine, WildAnimal theirs) {
+        super(parent, "Update Conflict - Tag ID: " + mine.getId(), ModalityType.APPLICATION_MODAL);
+        this.mine = mine;
+        this.theirs = theirs;
+
+        setLayout(new BorderLayout());
+
+        JLabel header = new JLabel("<html>This animal was changed by someone else while you were editing it.<br>"
+                + "Choose which value to keep for each conflicting field.</html>");
+        header.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+
+        Object[] mineValues = fieldValues(mine);
+        Object[] theirValues = fieldValues(theirs);
+
+        List<Integer> differing = new ArrayList<>();
+        for (int i = 0; i < FIELD_LABELS.length; i++) {
+            if (!String.valueOf(mineValues[i]).equals(String.valueOf(theirValues[i]))) {
+                differing.add(i);
+            }
+        }
+
+        JPanel formPanel = new JPanel(new GridLayout(0, 3, 10, 10));
+        formPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        formPanel.add(new JLabel("Field"));
+        formPanel.add(new JLabel("Mine"));
+        formPanel.add(new JLabel("Theirs"));
+
+        for (int i : differing) {
+            JRadioButton mineButton = new JRadioButton(String.valueOf(mineValues[i]), true);
+            JRadioButton theirButton = new JRadioButton(String.valueOf(theirValues[i]));
+            ButtonGroup group = new ButtonGroup();
+            group.add(mineButton);
+            group.add(theirButton);
+            mineButtons[i] = mineButton;
+
+            formPanel.add(new JLabel(FIELD_LABELS[i] + ":"));
+            formPanel.add(mineButton);
+            formPanel.add(theirButton);
+        }
+
+        if (differing.isEmpty()) {
+            formPanel.add(new JLabel("No field values differ; your changes can be saved as they are."));
+        }
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton btnApply = new JButton("Apply Merge");
+        JButton btnCancel = new JButton("Cancel");
+
+        btnApply.addActionListener(e -> {
+            mergedAnimal = merge();
+            dispose();
+        });
+        btnCancel.addActionListener(e -> dispose());
+
+        buttonPanel.add(btnApply);
+        buttonPanel.add(btnCancel);
+
+        add(header, BorderLayout.NORTH);
+        add(formPanel, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        pack();
+        setLocationRelativeTo(parent);
+    }
+
+    /**
+     * Returns the merged record after the dialog has been closed.
+     *
+     * @return the merged {@link WildAnimal} carrying the current row version, or {@code null} if the merge was cancelled
+     */
+    public WildAnimal getMergedAnimal() {
+        return mergedAnimal;
+    }
+
+    /**
+     * Builds the merged record from the user's radio button choices.
+     * <p>
+     * Fields that do not differ, or for which "Mine" is selected, keep the user's value. The merged record
+     * takes the row version of the stored record so a retried update is compared against the latest state.
+     * </p>
+     *
+     * @return the merged {@link WildAnimal}
+     */
+    private WildAnimal merge() {
+        return new WildAnimal(
+                mine.getId(),
+                keepMine(0) ? mine.getSpecies() : theirs.getSpecies(),
+                keepMine(1) ? mine.getName() : theirs.getName(),
+                keepMine(2) ? mine.getAge() : theirs.getAge(),
+                keepMine(3) ? mine.getGender() : theirs.getGender(),
+                keepMine(4) ? mine.getWeight() : theirs.getWeight(),
+                keepMine(5) ? mine.getHealthStatus() : theirs.getHealthStatus(),
+                theirs.getVersion(),
+                theirs.getLastModified()
+        );
+    }
+
+    /**
+     * Determines whether the user's value should be kept for the given field.
+     *
+     * @param field the field index into {@link #FIELD_LABELS}
+     * @return {@code true} if the field did not conflict or "Mine" is selected
+     */
+    private boolean keepMine(int field) {
+        return mineButtons[field] == null || mineButtons[field].isSelected();
+    }
+
+    /**
+     * Extracts the editable field values of a record in the order of {@link #FIELD_LABELS}.
+     *
+     * @param animal the record to read
+     * @return an array of the record's field values
+     */
+    private static Object[] fieldValues(WildAnimal animal) {
+        return new Object[] {
+                animal.getSpecies(),
+                animal.getName(),
+                animal.getAge(),
+                animal.getGender(),
+                animal.getWeight(),
+                animal.getHealthStatus()
+        };
+    }
+}
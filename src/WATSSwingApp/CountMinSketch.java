@@ -0,0 +1,133 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: CountMinSketch.java
+ *
+ * This class estimates how often each species occurs in a stream of records, in a fixed
+ * amount of memory. Estimates never undercount, and sketches from several databases add up
+ * to the sketch of all their records.
+ */
+package WATSSwingApp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Count-Min frequency sketch of {@value #DEPTH} rows of {@value #WIDTH} counters.
+ * <p>
+ * Each row derives its column from the value's {@link SketchHash} with double hashing. An estimate is the
+ * smallest of the value's counters, which exceeds the true count by at most {@code e / }{@value #WIDTH} of the
+ * total count with probability {@code 1 - e^-}{@value #DEPTH}, about 98%.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class CountMinSketch {
+
+    /** Number of hash rows. */
+    public static final int DEPTH = 4;
+
+    /** Number of counters per row. */
+    public static final int WIDTH = 1024;
+
+    /** Counters, row by row. */
+    private final long[] counters;
+
+    /** Sum of all counts added. */
+    private long total;
+
+    /**
+     * Constructs an empty sketch.
+     */
+    public CountMinSketch() {
+        this.counters = new long[DEPTH * WIDTH];
+    }
+
+    /**
+     * Adds occurrences of a value.
+     *
+     * @param value the value
+     * @param count the number of occurrences
+     */
+    public void add(String value, long count) {
+        long hash = SketchHash.hash(value);
+        for (int row = 0; row < DEPTH; row++) {
+            counters[row * WIDTH + column(hash, row)] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * Estimates the number of occurrences of a value.
+     *
+     * @param value the value
+     * @return an estimate that is never below the true count
+     */
+    public long estimate(String value) {
+        long hash = SketchHash.hash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row * WIDTH + column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /** @return the sum of all counts added */
+    public long getTotal() { return total; }
+
+    /**
+     * Adds every count of another sketch to this one.
+     *
+     * @param other the sketch to merge; left unchanged
+     */
+    public void merge(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Selects the counter of a value in one row, combining the two halves of its hash.
+     *
+     * @param hash the value's hash
+     * @param row  the row
+     * @return the column of the counter
+     */
+    private static int column(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return Math.floorMod(combined, WIDTH);
+    }
+
+    /**
+     * Serialises the sketch for storage in a BLOB column.
+     *
+     * @return the encoded sketch
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 8 * counters.length);
+        buffer.putLong(total);
+        for (long counter : counters) {
+            buffer.putLong(counter);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a sketch written by {@link #toBytes()}.
+     *
+     * @param bytes the encoded sketch
+     * @return the sketch
+     */
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        CountMinSketch sketch = new CountMinSketch();
+        sketch.total = buffer.getLong();
+        for (int i = 0; i < sketch.counters.length; i++) {
+            sketch.counters[i] = buffer.getLong();
+        }
+        return sketch;
+    }
+}
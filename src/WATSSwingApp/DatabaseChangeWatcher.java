@@ -0,0 +1,300 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: DatabaseChangeWatcher.java
+ *
+ * This class notices when another process, such as a sync job or an external SQLite tool,
+ * changes the open database file. It watches the database and its WAL and shared-memory files,
+ * confirms each burst of file events with a cheap data_version check, and reports which Tag ID
+ * ranges changed so the application can refresh just those rows.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Detects changes made to a WATS database by other processes.
+ * <p>
+ * Three signals are combined:
+ * </p>
+ * <ol>
+ *     <li>A {@link WatchService} on the database directory reports modifications of the database file and its
+ *     {@code -wal} and {@code -shm} files. A burst of events is debounced into one check, which runs
+ *     {@link #DEBOUNCE_MILLIS} after the last event, or at the latest {@link #MAX_DEBOUNCE_MILLIS} after the first.</li>
+ *     <li>Each check reads {@code PRAGMA data_version} on a connection the watcher keeps open. File events that did
+ *     not change the data, such as readers touching the shared-memory file, end there. A check also runs every
+ *     {@link #POLL_SECONDS} seconds for file systems that do not deliver watch events.</li>
+ *     <li>When the data changed, the per-bucket digests that {@link SyncEngine} keeps in {@code SyncDigests} are
+ *     compared with the previous check, which names the Tag ID buckets whose records changed.</li>
+ * </ol>
+ *
+ * <p>Every changed bucket is reported, together with the Tag IDs written through this application's own
+ * {@link DatabaseManager} since the previous check. A bucket covers many records, so one the application wrote
+ * may also hold changes made by another process; the listener reloads the bucket and leaves only the rows the
+ * application wrote itself, which it already shows, alone.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class DatabaseChangeWatcher {
+
+    /** Quiet period after the last file event before the database is checked, in milliseconds. */
+    private static final long DEBOUNCE_MILLIS = 300;
+
+    /** Longest time a continuous burst of file events can postpone a check, in milliseconds. */
+    private static final long MAX_DEBOUNCE_MILLIS = 2_000;
+
+    /** Interval of the fallback data version check, in seconds. */
+    private static final long POLL_SECONDS = 5;
+
+    /** Reference to the database manager of the watched database. */
+    private final DatabaseManager dbManager;
+
+    /** Receives the changed buckets and the Tag IDs the application wrote itself; called on the watcher's thread. */
+    private final BiConsumer<Set<Long>, Set<Integer>> listener;
+
+    /** Background executor running the checks at low priority. */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wats-change-check");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /** Watch service on the database directory, or {@code null} while stopped or unsupported. */
+    private WatchService watchService;
+
+    /** The pending debounced check, or {@code null}. */
+    private ScheduledFuture<?> pendingCheck;
+
+    /** Time of the first file event of the current burst, or {@code 0} if no burst is pending. */
+    private long burstStartMillis;
+
+    /** Connection kept open for reading {@code PRAGMA data_version}; only used on the executor thread. */
+    private Connection versionConnection;
+
+    /** Data version seen by the last check. */
+    private long lastDataVersion = -1;
+
+    /** Bucket digests seen by the last check. */
+    private Map<Long, RangeDigest> lastDigests;
+
+    /**
+     * Constructs a new {@code DatabaseChangeWatcher} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database to watch
+     * @param listener  receives the changed Tag ID buckets and the Tag IDs written through {@code dbManager}
+     *                  since the previous check; called on a background thread
+     */
+    public DatabaseChangeWatcher(DatabaseManager dbManager, BiConsumer<Set<Long>, Set<Integer>> listener) {
+        this.dbManager = dbManager;
+        this.listener = listener;
+    }
+
+    /**
+     * Records the current state of the database and starts watching it.
+     * <p>
+     * If the file system does not support watching, only the periodic check runs.
+     * </p>
+     */
+    public synchronized void start() {
+        executor.execute(this::check);
+        executor.scheduleWithFixedDelay(this::check, POLL_SECONDS, POLL_SECONDS, TimeUnit.SECONDS);
+
+        File dbFile = new File(dbManager.getDbPath()).getAbsoluteFile();
+        Path directory = dbFile.getParentFile().toPath();
+        String name = dbFile.getName();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService = null;
+            return;
+        }
+
+        WatchService service = watchService;
+        Thread watcherThread = new Thread(() -> watch(service, name), "wats-file-watch");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Waits for file events and schedules a check for those touching the database files.
+     *
+     * @param service the watch service to take events from
+     * @param name    the file name of the database
+     */
+    private void watch(WatchService service, String name) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        relevant = true;
+                    } else if (context instanceof Path) {
+                        String changed = context.toString();
+                        relevant |= changed.equals(name) || changed.equals(name + "-wal") || changed.equals(name + "-shm");
+                    }
+                }
+                if (relevant) {
+                    scheduleCheck();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Debounces a file event: postpones the pending check, unless the burst has already lasted too long.
+     */
+    private synchronized void scheduleCheck() {
+        long now = System.currentTimeMillis();
+        if (burstStartMillis == 0) {
+            burstStartMillis = now;
+        }
+        if (pendingCheck != null) {
+            pendingCheck.cancel(false);
+        }
+        long delay = Math.max(0, Math.min(DEBOUNCE_MILLIS, burstStartMillis + MAX_DEBOUNCE_MILLIS - now));
+        if (!executor.isShutdown()) {
+            pendingCheck = executor.schedule(this::check, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Compares the data version and bucket digests with the previous check and reports external changes.
+     * Runs on the executor thread only.
+     */
+    private void check() {
+        synchronized (this) {
+            burstStartMillis = 0;
+            pendingCheck = null;
+        }
+        if (executor.isShutdown()) {
+            return;
+        }
+        try {
+            // Taken before the digests are read, so a row written meanwhile is reloaded rather than missed
+            Set<Integer> ownIds = dbManager.takeWrittenIds();
+            if (versionConnection == null) {
+                versionConnection = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+            }
+            long dataVersion;
+            try (Statement stmt = versionConnection.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                dataVersion = rs.next() ? rs.getLong(1) : -1;
+            }
+            if (dataVersion == lastDataVersion && lastDigests != null) {
+                return;
+            }
+
+            Map<Long, RangeDigest> digests = readDigests();
+            Set<Long> changed = new TreeSet<>();
+            if (lastDigests != null) {
+                for (Map.Entry<Long, RangeDigest> entry : digests.entrySet()) {
+                    if (!entry.getValue().matches(lastDigests.get(entry.getKey()))) {
+                        changed.add(entry.getKey());
+                    }
+                }
+                for (Long bucket : lastDigests.keySet()) {
+                    if (!digests.containsKey(bucket)) {
+                        changed.add(bucket);
+                    }
+                }
+            }
+            boolean firstCheck = lastDigests == null;
+            lastDataVersion = dataVersion;
+            lastDigests = digests;
+
+            if (!firstCheck && !changed.isEmpty()) {
+                listener.accept(changed, ownIds);
+            }
+        } catch (SQLException e) {
+            // The file may be briefly locked or replaced; the next event or poll tries again
+            closeConnection();
+        }
+    }
+
+    /**
+     * Reads the digest of every non-empty bucket.
+     *
+     * @return the digests keyed by bucket
+     * @throws SQLException if the digests cannot be read
+     */
+    private Map<Long, RangeDigest> readDigests() throws SQLException {
+        Map<Long, RangeDigest> digests = new HashMap<>();
+        try (Statement stmt = versionConnection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT bucket, rowCount, hash1, hash2 FROM SyncDigests")) {
+            while (rs.next()) {
+                long bucket = rs.getLong(1);
+                digests.put(bucket, new RangeDigest(0, bucket, rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Closes the connection used for checks, so the next check opens a fresh one.
+     */
+    private void closeConnection() {
+        if (versionConnection != null) {
+            try {
+                versionConnection.close();
+            } catch (SQLException e) {
+                // Discarded either way
+            }
+            versionConnection = null;
+        }
+    }
+
+    /**
+     * Stops watching and releases the watch service, the background thread, and the connection.
+     * Called when the database is closed or replaced.
+     */
+    public synchronized void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // The watcher thread ends either way
+            }
+            watchService = null;
+        }
+        if (pendingCheck != null) {
+            pendingCheck.cancel(false);
+            pendingCheck = null;
+        }
+        // The connection belongs to the executor thread, so it is closed there after any running check
+        executor.execute(this::closeConnection);
+        executor.shutdown();
+    }
+}
@@ -12,6 +12,8 @@ package WATSSwingApp;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
+import java.util.prefs.Preferences;
 
 
 /**
@@ -20,7 +22,8 @@ import java.awt.*;
  * This class uses a native {@link FileDialog} to allow users to select a database file for use within
  * the Wildlife Animal Tracking System (WATS) application. It ensures that users select a valid file
  * and returns the full path of the chosen file. If no file is selected, a message is displayed and
- * {@code null} is returned.
+ * {@code null} is returned. The most recently opened database is remembered in the user's preferences
+ * so it can be reopened at startup without showing the dialog.
  * </p>
  *
  * @author Felix Guevara
@@ -29,6 +32,9 @@ import java.awt.*;
  */
 public class DatabaseFileChooser {
 
+    /** Preferences key under which the path of the most recently opened database is stored. */
+    private static final String LAST_DATABASE_KEY = "lastDatabasePath";
+
     /**
      * Displays a file chooser dialog for selecting a SQLite database file.
      * <p>
@@ -57,6 +63,23 @@ public class DatabaseFileChooser {
             return null;
         }
     }
-}
 
+    /**
+     * Returns the most recently opened database file, if it still exists.
+     *
+     * @return the absolute path of the last database file, or {@code null} if none is remembered or the file is gone
+     */
+    public static String getLastDatabasePath() {
+        String path = Preferences.userNodeForPackage(DatabaseFileChooser.class).get(LAST_DATABASE_KEY, null);
+        return path != null && new File(path).isFile() ? path : null;
+    }
 
+    /**
+     * Remembers a database file so it can be reopened at the next startup.
+     *
+     * @param path the absolute path of the opened database file
+     */
+    public static void rememberDatabasePath(String path) {
+        Preferences.userNodeForPackage(DatabaseFileChooser.class).put(LAST_DATABASE_KEY, path);
+    }
+}
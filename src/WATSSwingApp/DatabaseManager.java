@@ -13,9 +13,22 @@
 package WATSSwingApp;
 
 import javax.swing.*;
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A utility class responsible for managing SQLite database operations for the Wildlife Animal Tracking System (WATS).
@@ -31,9 +44,55 @@ import java.util.List;
  */
 public class DatabaseManager {
 
+    /** Maximum number of Tag IDs bound into a single {@code IN (...)} list, below SQLite's host parameter limit. */
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    /** Columns of the {@code WildAnimals} table that {@link #updateCells(Map, Map)} may write. */
+    private static final List<String> EDITABLE_COLUMNS =
+            Arrays.asList("species", "name", "age", "gender", "weight", "healthStatus");
+
     /** The file path of the SQLite database. */
     private final String dbPath;
 
+    /** The performance profile applied to connections opened through {@link #connect()}. */
+    private volatile PerformanceProfile performanceProfile = PerformanceProfile.INTERACTIVE;
+
+    /** Number of rows written through this manager since it was created. */
+    private final AtomicLong writeCount = new AtomicLong();
+
+    /** Tag IDs of the records written through this manager since {@link #takeWrittenIds()}. */
+    private final Set<Integer> writtenIds = ConcurrentHashMap.newKeySet();
+
+    /** Time of the last connection opened through this manager, in milliseconds since the epoch. */
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+
+    /** Cache of read-only aggregate and search query results, dropped whenever the database changes. */
+    private final QueryResultCache queryCache = new QueryResultCache(this);
+
+    /** Executor for parallel full-table scans, or {@code null} until it is first needed. */
+    private ParallelQueryExecutor parallelExecutor;
+
+    /** Lock guarding {@link #tagIdIndex} while it is built or updated. */
+    private final Object tagIdLock = new Object();
+
+    /** In-memory index of the stored Tag IDs, or {@code null} until it is first needed. */
+    private TagIdIndex tagIdIndex;
+
+    /** In-memory prefix index of the stored species, or {@code null} until it is first needed. Guarded by {@link #tagIdLock}. */
+    private SpeciesIndex speciesIndex;
+
+    /** Store serving the record operations while in-memory mode is on, or {@code null} when it is off. */
+    private volatile InMemoryAnimalStore memoryStore;
+
+    /** The mapped record snapshot last found to match the database, or {@code null} if none has been. */
+    private RecordSnapshot recordSnapshot;
+
+    /** Allocator handing out new Tag IDs from reserved blocks, or {@code null} until it is first needed. */
+    private TagIdAllocator tagIdAllocator;
+
+    /** The open edit session the record operations run in, or {@code null} when there is none. */
+    private volatile EditSession editSession;
+
     /**
      * Constructs a new {@code DatabaseManager} instance.
      *
@@ -43,41 +102,599 @@ public class DatabaseManager {
         this.dbPath = dbPath;
     }
 
+    /** @return the file path of the SQLite database */
+    public String getDbPath() { return dbPath; }
+
+    /** @return the performance profile applied to connections opened through {@link #connect()} */
+    public PerformanceProfile getPerformanceProfile() { return performanceProfile; }
+
+    /**
+     * Sets the performance profile applied to connections opened through {@link #connect()}.
+     *
+     * @param performanceProfile the new default {@link PerformanceProfile}
+     */
+    public void setPerformanceProfile(PerformanceProfile performanceProfile) {
+        this.performanceProfile = performanceProfile;
+    }
+
+    /** @return the number of rows written through this manager since it was created */
+    public long getWriteCount() { return writeCount.get(); }
+
+    /** @return the time of the last database access through this manager, in milliseconds since the epoch */
+    public long getLastActivityMillis() { return lastActivityMillis; }
+
+    /** @return the cache for read-only aggregate and search query results of this database */
+    public QueryResultCache getQueryCache() { return queryCache; }
+
+    /** @return the store serving the record operations in in-memory mode, or {@code null} when the mode is off */
+    public InMemoryAnimalStore getMemoryStore() { return memoryStore; }
+
+    /** @return the open edit session, or {@code null} when there is none */
+    public EditSession getEditSession() { return editSession; }
+
+    /**
+     * Rejects a writer that changes {@code WildAnimals} on its own connection rather than through the record
+     * operations, such as moving records to and from the archive.
+     * <p>
+     * Such a writer would wait for the write lock of an open edit session, and in in-memory mode the file lags
+     * behind the records in memory, which the next snapshot writes back over its changes.
+     * </p>
+     *
+     * @param action what the writer does, completing "... before {@code action}"
+     * @throws SQLException if an edit session is open or in-memory mode is on
+     */
+    public void requireDirectTableAccess(String action) throws SQLException {
+        if (editSession != null) {
+            throw new SQLException("Commit or roll back the edit session before " + action + ".");
+        }
+        if (memoryStore != null) {
+            throw new SQLException("Turn off in-memory mode before " + action + ".");
+        }
+    }
+
+    /**
+     * Turns in-memory mode on or off.
+     * <p>
+     * Turning it on loads every record into an {@link InMemoryAnimalStore}, to which the record operations of
+     * this manager are then forwarded. Turning it off takes a final snapshot into the SQLite file first. Both
+     * read or write the whole table, so call this off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param enabled {@code true} to serve records from memory, {@code false} to serve them from SQLite again
+     * @throws SQLException if the records cannot be loaded or the final snapshot fails
+     */
+    public synchronized void setInMemoryMode(boolean enabled) throws SQLException {
+        if (enabled && editSession != null) {
+            throw new SQLException("Commit or roll back the edit session before turning on in-memory mode.");
+        }
+        if (enabled && memoryStore == null) {
+            memoryStore = InMemoryAnimalStore.open(this);
+        } else if (!enabled && memoryStore != null) {
+            InMemoryAnimalStore store = memoryStore;
+            memoryStore = null;
+            try {
+                store.close();
+            } finally {
+                invalidateTagIdIndex();
+            }
+        }
+    }
+
     /**
-     * Establishes a connection to the SQLite database.
+     * Returns the mapped record snapshot of this database if it still matches the table.
+     * <p>
+     * The snapshot file is mapped on first use and kept mapped while its fingerprint matches the one read from
+     * the database, which costs one small query per call. In in-memory mode no snapshot is used, since the
+     * records are in memory already and the file may lag behind them.
+     * </p>
+     *
+     * @return the current {@link RecordSnapshot}, or {@code null} if there is none or it is out of date
+     * @throws SQLException if the database fingerprint cannot be read
+     */
+    public synchronized RecordSnapshot getRecordSnapshot() throws SQLException {
+        if (memoryStore != null || editSession != null) {
+            return null;
+        }
+        long[] fingerprint;
+        try (Connection conn = connect(PerformanceProfile.READ_ONLY_ANALYTICS)) {
+            fingerprint = RecordSnapshot.readFingerprint(conn);
+        }
+        if (recordSnapshot == null || !recordSnapshot.matches(fingerprint)) {
+            try {
+                recordSnapshot = RecordSnapshot.open(RecordSnapshot.snapshotFileOf(dbPath));
+            } catch (IOException e) {
+                recordSnapshot = null;
+            }
+        }
+        return recordSnapshot != null && recordSnapshot.matches(fingerprint) ? recordSnapshot : null;
+    }
+
+    /**
+     * Reads the fingerprint that a record snapshot taken now would be validated against.
+     *
+     * @return the current fingerprint of the {@code WildAnimals} table
+     * @throws SQLException if the fingerprint cannot be read
+     */
+    public long[] getRecordFingerprint() throws SQLException {
+        try (Connection conn = connect(PerformanceProfile.READ_ONLY_ANALYTICS)) {
+            return RecordSnapshot.readFingerprint(conn);
+        }
+    }
+
+    /**
+     * Writes the record snapshot of this database from records that were just read in full.
+     * <p>
+     * Nothing is written if the table has fewer than {@link RecordSnapshot#MIN_ROWS} records, or if it changed
+     * after the given fingerprint was read, since the records might then mix states from before and after the
+     * change.
+     * </p>
+     *
+     * @param records     every record of the table, in ascending Tag ID order
+     * @param fingerprint the fingerprint read before the first record was
+     * @return {@code true} if the snapshot was written
+     * @throws SQLException if the fingerprint cannot be read
+     */
+    public synchronized boolean saveRecordSnapshot(List<AnimalRecord> records, long[] fingerprint) throws SQLException {
+        if (memoryStore != null || editSession != null || records.size() < RecordSnapshot.MIN_ROWS
+                || !Arrays.equals(fingerprint, getRecordFingerprint())) {
+            return false;
+        }
+        // Unmapped by the garbage collector; the new file replaces it by rename
+        recordSnapshot = null;
+        try {
+            return RecordSnapshot.write(RecordSnapshot.snapshotFileOf(dbPath), records, fingerprint);
+        } catch (IOException e) {
+            // The snapshot only speeds up the next load; without it the table is read from SQLite
+            return false;
+        }
+    }
+
+    /**
+     * Releases the resources held for this database, such as the query cache's connection.
+     * Called when another database is opened in its place.
+     */
+    public void close() {
+        try {
+            rollbackEditSession();
+        } catch (SQLException e) {
+            // Closing the session's connection discards its transaction anyway
+        }
+        try {
+            setInMemoryMode(false);
+        } catch (SQLException e) {
+            // The mutation log is kept and applied when the database is next opened
+        }
+        queryCache.close();
+        invalidateTagIdIndex();
+        synchronized (this) {
+            if (parallelExecutor != null) {
+                parallelExecutor.shutdown();
+                parallelExecutor = null;
+            }
+            if (tagIdAllocator != null) {
+                try {
+                    tagIdAllocator.close();
+                } catch (SQLException e) {
+                    // The unused Tag IDs stay reserved; they are only skipped, never handed out twice
+                }
+                tagIdAllocator = null;
+            }
+        }
+    }
+
+    /** @return the executor for parallel full-table scans of this database, created on first use */
+    public synchronized ParallelQueryExecutor getParallelExecutor() {
+        if (parallelExecutor == null) {
+            parallelExecutor = new ParallelQueryExecutor(this);
+        }
+        return parallelExecutor;
+    }
+
+    /** @return the allocator handing out new Tag IDs for this database, created on first use */
+    public synchronized TagIdAllocator getTagIdAllocator() {
+        if (tagIdAllocator == null) {
+            tagIdAllocator = new TagIdAllocator(this);
+        }
+        return tagIdAllocator;
+    }
+
+    /**
+     * Records rows written through this manager, so caches and background maintenance can react to changes.
+     *
+     * @param rows the number of rows written
+     */
+    public void recordWrites(long rows) {
+        if (rows > 0) {
+            writeCount.addAndGet(rows);
+        }
+    }
+
+    /**
+     * Records records written through this manager by Tag ID, so the {@link DatabaseChangeWatcher} also knows
+     * which rows the application changed itself.
+     *
+     * @param ids the Tag IDs of the records written
+     */
+    public void recordWrites(Collection<Integer> ids) {
+        writtenIds.addAll(ids);
+        recordWrites(ids.size());
+    }
+
+    /**
+     * Returns and forgets the Tag IDs of the records written since the last call.
+     *
+     * @return the Tag IDs recorded by {@link #recordWrites(Collection)}
+     */
+    public Set<Integer> takeWrittenIds() {
+        Set<Integer> taken = new HashSet<>();
+        for (Iterator<Integer> it = writtenIds.iterator(); it.hasNext(); ) {
+            taken.add(it.next());
+            it.remove();
+        }
+        return taken;
+    }
+
+    /**
+     * Returns the in-memory index of the stored Tag IDs, building it on first use.
+     * <p>
+     * The index is built from one scan of the primary key and then kept up to date by the inserts and deletes
+     * made through this manager. Writers that bypass the manager must call {@link #invalidateTagIdIndex()}.
+     * Building blocks concurrent index updates, so call this off the Event Dispatch Thread the first time.
+     * </p>
+     *
+     * @return the {@link TagIdIndex} of this database
+     * @throws SQLException if the Tag IDs cannot be read
+     */
+    public TagIdIndex getTagIdIndex() throws SQLException {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.getTagIdIndex();
+        }
+        synchronized (tagIdLock) {
+            if (tagIdIndex != null) {
+                return tagIdIndex;
+            }
+        }
+        // Connect before taking the lock: in an edit session, record operations hold the connection while they
+        // update the index
+        try (Connection conn = connectForRecords(PerformanceProfile.READ_ONLY_ANALYTICS);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id FROM WildAnimals ORDER BY id")) {
+            synchronized (tagIdLock) {
+                if (tagIdIndex == null) {
+                    TagIdIndex index = new TagIdIndex();
+                    while (rs.next()) {
+                        index.add(rs.getInt(1));
+                    }
+                    tagIdIndex = index;
+                }
+                return tagIdIndex;
+            }
+        }
+    }
+
+    /**
+     * Returns the prefix index of the stored species, building it on first use.
+     * <p>
+     * The index is built from one {@code GROUP BY species} query and then kept up to date by the writes made
+     * through this manager; bulk species changes and writers that bypass the manager drop it, so it is rebuilt
+     * when next needed. Call this off the Event Dispatch Thread the first time.
+     * </p>
+     *
+     * @return the {@link SpeciesIndex} of this database
+     * @throws SQLException if the species cannot be read
+     */
+    public SpeciesIndex getSpeciesIndex() throws SQLException {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.getSpeciesIndex();
+        }
+        synchronized (tagIdLock) {
+            if (speciesIndex != null) {
+                return speciesIndex;
+            }
+        }
+        try (Connection conn = connectForRecords(PerformanceProfile.READ_ONLY_ANALYTICS);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT species, COUNT(*) FROM WildAnimals GROUP BY species")) {
+            synchronized (tagIdLock) {
+                if (speciesIndex == null) {
+                    SpeciesIndex index = new SpeciesIndex();
+                    while (rs.next()) {
+                        index.add(rs.getString(1), rs.getInt(2));
+                    }
+                    speciesIndex = index;
+                }
+                return speciesIndex;
+            }
+        }
+    }
+
+    /**
+     * Discards the Tag ID and species indexes after writes they could not follow, so they are rebuilt when next
+     * needed.
+     */
+    public void invalidateTagIdIndex() {
+        synchronized (tagIdLock) {
+            tagIdIndex = null;
+            speciesIndex = null;
+        }
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            store.markStale();
+        }
+    }
+
+    /**
+     * Determines whether a Tag ID is known to exist, without querying the database.
+     *
+     * @param id the Tag ID to look up
+     * @return {@code true} if the Tag ID index is built and contains the ID
+     */
+    private boolean isKnownTagId(int id) {
+        synchronized (tagIdLock) {
+            return tagIdIndex != null && tagIdIndex.contains(id);
+        }
+    }
+
+    /**
+     * Moves one record between species in the species index, if it has been built.
+     *
+     * @param oldSpecies the species before the change, or {@code null} for an insert
+     * @param newSpecies the species after the change, or {@code null} for a delete
+     */
+    private void updateSpeciesIndex(String oldSpecies, String newSpecies) {
+        synchronized (tagIdLock) {
+            if (speciesIndex != null) {
+                speciesIndex.replace(oldSpecies, newSpecies);
+            }
+        }
+    }
+
+    /**
+     * Reads the species of a record if the species index has been built and must follow a change to it.
+     *
+     * @param conn the connection the change is made on
+     * @param id   the Tag ID of the record
+     * @return the stored species, or {@code null} if the index is not built or the record does not exist
+     * @throws SQLException if the species cannot be read
+     */
+    private String speciesBeforeChange(Connection conn, int id) throws SQLException {
+        synchronized (tagIdLock) {
+            if (speciesIndex == null) {
+                return null;
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT species FROM WildAnimals WHERE id = ?")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Applies inserted or deleted Tag IDs to the Tag ID index, if it has been built.
+     *
+     * @param ids      the affected Tag IDs
+     * @param inserted {@code true} for inserted IDs, {@code false} for deleted IDs
+     */
+    private void updateTagIdIndex(Collection<Integer> ids, boolean inserted) {
+        synchronized (tagIdLock) {
+            if (tagIdIndex != null) {
+                if (inserted) {
+                    tagIdIndex.addAll(ids);
+                } else {
+                    tagIdIndex.removeAll(ids);
+                }
+            }
+        }
+    }
+
+    /**
+     * Establishes a connection to the SQLite database using the current default performance profile.
      *
      * @return a {@link Connection} object for interacting with the database
      * @throws SQLException if a database access error occurs
      */
     public Connection connect() throws SQLException {
-        return DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        return connect(performanceProfile);
+    }
+
+    /**
+     * Establishes a connection to the SQLite database tuned with the given performance profile.
+     * <p>
+     * Imports and other bulk loads use {@link PerformanceProfile#BULK_LOAD} and scans use
+     * {@link PerformanceProfile#READ_ONLY_ANALYTICS} regardless of the default profile.
+     * </p>
+     *
+     * @param profile the {@link PerformanceProfile} whose PRAGMA settings are applied to the connection
+     * @return a {@link Connection} object for interacting with the database
+     * @throws SQLException if a database access error occurs
+     */
+    public Connection connect(PerformanceProfile profile) throws SQLException {
+        lastActivityMillis = System.currentTimeMillis();
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        try {
+            profile.apply(conn);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * Opens a connection that cannot write to the database file, not even to create it or change its journal mode.
+     * <p>
+     * Used to read database files that belong to someone else, such as files merged into a report. No
+     * performance profile is applied, because switching a file to WAL is itself a write.
+     * </p>
+     *
+     * @return a read-only {@link Connection} to the database
+     * @throws SQLException if the file does not exist or cannot be opened
+     */
+    public Connection connectReadOnly() throws SQLException {
+        lastActivityMillis = System.currentTimeMillis();
+        Properties properties = new Properties();
+        properties.setProperty("open_mode", "1"); // SQLITE_OPEN_READONLY
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath, properties);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + PerformanceProfile.READ_ONLY_ANALYTICS.getBusyTimeoutMillis());
+            stmt.execute("PRAGMA query_only = ON");
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * Connects for a record operation using the current default performance profile.
+     *
+     * @return the edit session's connection while a session is open, otherwise a new connection
+     * @throws SQLException if a database access error occurs
+     * @see #connectForRecords(PerformanceProfile)
+     */
+    private Connection connectForRecords() throws SQLException {
+        return connectForRecords(performanceProfile);
+    }
+
+    /**
+     * Connects for a record operation, which runs in the open edit session if there is one.
+     * <p>
+     * While a session is open its connection is borrowed, so the operation sees and extends the session's
+     * uncommitted changes; closing the borrowed connection hands it back to the session. Otherwise a new
+     * connection tuned with the given profile is opened.
+     * </p>
+     *
+     * @param profile the {@link PerformanceProfile} of a new connection
+     * @return the borrowed session connection or a new connection
+     * @throws SQLException if a database access error occurs
+     */
+    private Connection connectForRecords(PerformanceProfile profile) throws SQLException {
+        EditSession session = editSession;
+        Connection conn = session != null ? session.borrowConnection() : null;
+        return conn != null ? conn : connect(profile);
+    }
+
+    /**
+     * Ensures the {@code WildAnimals} table exists and carries the row version columns required for
+     * optimistic concurrency control.
+     * <p>
+     * Older database files are migrated in place by adding the {@code version} and {@code lastModified}
+     * columns. A trigger is also installed so that updates made outside this application (for example
+     * through an external SQLite tool) still bump the row version and are detected as conflicts. The
+     * species index, the observation history tables of {@link ObservationStore}, and the sighting tables of
+     * {@link SightingStore} are created as well.
+     * </p>
+     *
+     * @return {@code true} if the schema is ready for use; {@code false} otherwise
+     */
+    public boolean ensureSchema() {
+        try {
+            migrateSchema();
+            return true;
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+    }
+
+    /**
+     * Creates or migrates the {@code WildAnimals} schema without any user interaction.
+     * <p>
+     * This is the worker behind {@link #ensureSchema()} for callers that run off the Event Dispatch Thread
+     * (such as application startup) and report errors themselves.
+     * </p>
+     *
+     * @throws SQLException if the schema cannot be created or migrated
+     */
+    public void migrateSchema() throws SQLException {
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement()) {
+
+            // Only takes effect for new databases; existing ones are converted by MaintenanceScheduler
+            stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS WildAnimals ("
+                    + "id INTEGER PRIMARY KEY, species TEXT, name TEXT, age INTEGER, gender TEXT, "
+                    + "weight REAL, healthStatus TEXT, "
+                    + "version INTEGER NOT NULL DEFAULT 0, lastModified INTEGER NOT NULL DEFAULT 0)");
+
+            boolean hasVersion = false;
+            boolean hasLastModified = false;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(WildAnimals)")) {
+                while (rs.next()) {
+                    String column = rs.getString("name");
+                    hasVersion |= "version".equalsIgnoreCase(column);
+                    hasLastModified |= "lastModified".equalsIgnoreCase(column);
+                }
+            }
+            if (!hasVersion) {
+                stmt.executeUpdate("ALTER TABLE WildAnimals ADD COLUMN version INTEGER NOT NULL DEFAULT 0");
+            }
+            if (!hasLastModified) {
+                stmt.executeUpdate("ALTER TABLE WildAnimals ADD COLUMN lastModified INTEGER NOT NULL DEFAULT 0");
+                // Existing records count as modified now, not in 1970, so age-based policies leave them alone
+                stmt.executeUpdate("UPDATE WildAnimals SET lastModified = "
+                        + "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)");
+            }
+
+            // Bump the version for writers that do not maintain it themselves
+            stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_version_bump "
+                    + "AFTER UPDATE ON WildAnimals FOR EACH ROW WHEN NEW.version = OLD.version BEGIN "
+                    + "UPDATE WildAnimals SET version = OLD.version + 1, "
+                    + "lastModified = CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER) "
+                    + "WHERE id = NEW.id; END");
+
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS WildAnimals_species ON WildAnimals (species)");
+            ObservationStore.createSchema(stmt);
+            SightingStore.createSchema(stmt);
+            DatabaseMerger.createSchema(stmt);
+            SyncEngine.createSchema(stmt);
+            SketchStore.createSchema(stmt);
+            TagIdAllocator.createSchema(stmt);
+        }
+
+        // Apply changes left in the mutation log by a crash while in in-memory mode
+        InMemoryAnimalStore.recoverLog(this);
     }
 
     /**
      * Retrieves all wild animal records from the {@code WildAnimals} table.
+     * <p>
+     * The table is read by {@link ParallelQueryExecutor}, one Tag ID range per reader connection.
+     * </p>
      *
-     * @return a {@link List} of {@link WildAnimal} objects representing all records in the database;
-     *         returns an empty list if no records exist
+     * @return a {@link List} of {@link WildAnimal} objects representing all records in the database in Tag ID
+     *         order; returns an empty list if no records exist
      */
     public List<WildAnimal> getAllWildAnimalRecords() {
-        String sql = "SELECT * FROM WildAnimals";
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.getAllWildAnimalRecords();
+        }
         List<WildAnimal> animals = new ArrayList<>();
 
-        try (Connection conn = connect();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                WildAnimal animal = new WildAnimal(
-                        rs.getInt("id"),
-                        rs.getString("species"),
-                        rs.getString("name"),
-                        rs.getInt("age"),
-                        rs.getString("gender"),
-                        rs.getDouble("weight"),
-                        rs.getString("healthStatus")
-                );
-                animals.add(animal);
+        if (editSession != null) {
+            // The parallel readers use their own connections, which cannot see the session's changes
+            try (Connection conn = connectForRecords();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals ORDER BY id")) {
+                while (rs.next()) {
+                    animals.add(mapRow(rs));
+                }
+            } catch (SQLException e) {
+                JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                        "Database Error", JOptionPane.ERROR_MESSAGE);
+            }
+            return animals;
+        }
+
+        try {
+            for (AnimalRecord record : getParallelExecutor().scanRecords()) {
+                animals.add(record.toWildAnimal());
             }
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
@@ -87,6 +704,74 @@ public class DatabaseManager {
         return animals;
     }
 
+    /**
+     * Retrieves one page of compact animal records in Tag ID order using keyset pagination.
+     * <p>
+     * Each page starts after the last Tag ID of the previous page, so fetching a page costs an index seek
+     * regardless of how far into the table it is. This lets the table show the first screen of rows
+     * immediately while the rest loads in the background. Records are returned as {@link AnimalRecord}s, so
+     * large tables hold one shared copy of each species, gender, and health status.
+     * </p>
+     *
+     * @param afterId the Tag ID after which the page starts; use {@link Integer#MIN_VALUE} for the first page
+     * @param limit   the maximum number of records to return
+     * @return the records of the page in ascending Tag ID order; empty once the end of the table is reached
+     * @throws SQLException if a database access error occurs
+     */
+    public List<AnimalRecord> getAnimalRecordPage(int afterId, int limit) throws SQLException {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.getAnimalRecordPage(afterId, limit);
+        }
+        String sql = "SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals WHERE id > ? ORDER BY id LIMIT ?";
+        List<AnimalRecord> animals = new ArrayList<>(limit);
+
+        try (Connection conn = connectForRecords();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    animals.add(AnimalRecord.fromResultSet(rs));
+                }
+            }
+        }
+
+        return animals;
+    }
+
+    /**
+     * Retrieves the compact animal records within a Tag ID range, using a range scan on the primary key.
+     *
+     * @param firstId the lowest Tag ID of the range
+     * @param lastId  the highest Tag ID of the range
+     * @return the records in the range in ascending Tag ID order
+     * @throws SQLException if a database access error occurs
+     */
+    public List<AnimalRecord> getAnimalRecordsBetween(long firstId, long lastId) throws SQLException {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.getAnimalRecordsBetween(firstId, lastId);
+        }
+        String sql = "SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals WHERE id BETWEEN ? AND ? ORDER BY id";
+        List<AnimalRecord> animals = new ArrayList<>();
+
+        try (Connection conn = connectForRecords();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, firstId);
+            stmt.setLong(2, lastId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    animals.add(AnimalRecord.fromResultSet(rs));
+                }
+            }
+        }
+
+        return animals;
+    }
+
     /**
      * Retrieves a wild animal record by its Tag ID.
      *
@@ -94,25 +779,21 @@ public class DatabaseManager {
      * @return a {@link WildAnimal} instance if found; {@code null} otherwise
      */
     public WildAnimal getWildAnimalById(int id) {
-        String sql = "SELECT * FROM WildAnimals WHERE id = ?";
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.getWildAnimalById(id);
+        }
+        String sql = "SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals WHERE id = ?";
         WildAnimal animal = null;
 
-        try (Connection conn = connect();
+        try (Connection conn = connectForRecords();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                animal = new WildAnimal(
-                        rs.getInt("id"),
-                        rs.getString("species"),
-                        rs.getString("name"),
-                        rs.getInt("age"),
-                        rs.getString("gender"),
-                        rs.getDouble("weight"),
-                        rs.getString("healthStatus")
-                );
+                animal = mapRow(rs);
             }
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
@@ -129,20 +810,44 @@ public class DatabaseManager {
      * @return {@code true} if the insertion was successful; {@code false} otherwise
      */
     public boolean insertWildAnimal(WildAnimal animal) {
-        String sql = "INSERT INTO WildAnimals (id, species, name, age, gender, weight, healthStatus) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.insertWildAnimal(animal);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            boolean[] inserted = new boolean[1];
+            runStep(session, "Add Tag ID " + animal.getId(), () -> inserted[0] = insertWildAnimal(animal));
+            return inserted[0];
+        }
+        if (isKnownTagId(animal.getId())) {
+            JOptionPane.showMessageDialog(null, "Error: Tag ID " + animal.getId() + " already exists.",
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
 
-        try (Connection conn = connect();
+        String sql = "INSERT INTO WildAnimals (id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+        long now = System.currentTimeMillis();
+
+        try (Connection conn = connectForRecords();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, animal.getId());
             stmt.setString(2, animal.getSpecies());
             stmt.setString(3, animal.getName());
             stmt.setInt(4, animal.getAge());
-            stmt.setString(5, animal.getGender());
+            stmt.setString(5, animal.getGender().getDisplayName());
             stmt.setDouble(6, animal.getWeight());
-            stmt.setString(7, animal.getHealthStatus());
+            stmt.setString(7, animal.getHealthStatus().getDisplayName());
+            stmt.setLong(8, now);
 
             stmt.executeUpdate();
+            recordWrites(Collections.singletonList(animal.getId()));
+            updateTagIdIndex(Collections.singletonList(animal.getId()), true);
+            updateSpeciesIndex(null, animal.getSpecies());
+            animal.setVersion(0);
+            animal.setLastModified(now);
             return true;
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
@@ -152,31 +857,74 @@ public class DatabaseManager {
     }
 
     /**
-     * Updates an existing wild animal record in the database.
+     * Updates an existing wild animal record in the database using optimistic concurrency control.
+     * <p>
+     * The row is only overwritten if its {@code version} still matches {@link WildAnimal#getVersion()},
+     * i.e. nobody else changed it since it was read. On success the version stored in the database and
+     * in the given object are both incremented. If the versions differ nothing is written and
+     * {@link UpdateResult#CONFLICT} is returned so the caller can merge and retry.
+     * </p>
      *
-     * @param animal the {@link WildAnimal} object containing updated details
-     * @return {@code true} if the update was successful; {@code false} otherwise
+     * @param animal the {@link WildAnimal} object containing updated details and the version it was read at
+     * @return the {@link UpdateResult} describing the outcome of the update
      */
-    public boolean updateWildAnimal(WildAnimal animal) {
-        String sql = "UPDATE WildAnimals SET species = ?, name = ?, age = ?, gender = ?, weight = ?, healthStatus = ? WHERE id = ?";
+    public UpdateResult updateWildAnimal(WildAnimal animal) {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.updateWildAnimal(animal);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            // A redo runs against the version the update was first made at
+            int version = animal.getVersion();
+            UpdateResult[] result = { UpdateResult.FAILED };
+            runStep(session, "Update Tag ID " + animal.getId(), () -> {
+                animal.setVersion(version);
+                result[0] = updateWildAnimal(animal);
+                return result[0] == UpdateResult.UPDATED;
+            });
+            return result[0];
+        }
+        String sql = "UPDATE WildAnimals SET species = ?, name = ?, age = ?, gender = "
+                + Gender.sqlKeepUnrecognized("gender", "?") + ", weight = ?, healthStatus = "
+                + HealthStatus.sqlKeepUnrecognized("healthStatus", "?")
+                + ", version = version + 1, lastModified = ? WHERE id = ? AND version = ?";
+        long now = System.currentTimeMillis();
 
-        try (Connection conn = connect();
+        try (Connection conn = connectForRecords();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+            String oldSpecies = speciesBeforeChange(conn, animal.getId());
             stmt.setString(1, animal.getSpecies());
             stmt.setString(2, animal.getName());
             stmt.setInt(3, animal.getAge());
-            stmt.setString(4, animal.getGender());
+            stmt.setString(4, animal.getGender().getDisplayName());
             stmt.setDouble(5, animal.getWeight());
-            stmt.setString(6, animal.getHealthStatus());
-            stmt.setInt(7, animal.getId());
+            stmt.setString(6, animal.getHealthStatus().getDisplayName());
+            stmt.setLong(7, now);
+            stmt.setInt(8, animal.getId());
+            stmt.setInt(9, animal.getVersion());
 
             int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
+            if (affectedRows > 0) {
+                recordWrites(Collections.singletonList(animal.getId()));
+                updateSpeciesIndex(oldSpecies, animal.getSpecies());
+                animal.setVersion(animal.getVersion() + 1);
+                animal.setLastModified(now);
+                return UpdateResult.UPDATED;
+            }
+
+            // Nothing matched: tell a concurrent modification apart from a deleted record
+            try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM WildAnimals WHERE id = ?")) {
+                check.setInt(1, animal.getId());
+                try (ResultSet rs = check.executeQuery()) {
+                    return rs.next() ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+                }
+            }
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
                     "Database Error", JOptionPane.ERROR_MESSAGE);
-            return false;
+            return UpdateResult.FAILED;
         }
     }
 
@@ -187,13 +935,29 @@ public class DatabaseManager {
      * @return {@code true} if the deletion was successful; {@code false} otherwise
      */
     public boolean deleteWildAnimal(int id) {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.deleteWildAnimal(id);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            boolean[] deleted = new boolean[1];
+            runStep(session, "Delete Tag ID " + id, () -> deleted[0] = deleteWildAnimal(id));
+            return deleted[0];
+        }
         String sql = "DELETE FROM WildAnimals WHERE id = ?";
 
-        try (Connection conn = connect();
+        try (Connection conn = connectForRecords();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+            String oldSpecies = speciesBeforeChange(conn, id);
             stmt.setInt(1, id);
             int affectedRows = stmt.executeUpdate();
+            updateTagIdIndex(Collections.singletonList(id), false);
+            if (affectedRows > 0) {
+                recordWrites(Collections.singletonList(id));
+                updateSpeciesIndex(oldSpecies, null);
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
@@ -201,4 +965,488 @@ public class DatabaseManager {
             return false;
         }
     }
+
+    /**
+     * Deletes a set of wild animal records by their Tag IDs in a single transaction.
+     * <p>
+     * The IDs are bound into set-based {@code DELETE ... WHERE id IN (...)} statements instead of
+     * one statement per record. Either all matching records are deleted or, on error, none are.
+     * </p>
+     *
+     * @param ids the Tag IDs of the animals to delete
+     * @return the number of records deleted; {@code 0} if none matched or the deletion failed
+     */
+    public int deleteWildAnimals(Collection<Integer> ids) {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.deleteWildAnimals(ids);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            List<Integer> tagIds = new ArrayList<>(ids);
+            int[] deleted = new int[1];
+            runStep(session, "Delete " + tagIds.size() + " record(s)", () -> (deleted[0] = deleteWildAnimals(tagIds)) > 0);
+            return deleted[0];
+        }
+        int deleted = executeForIds("DELETE FROM WildAnimals WHERE id IN (%s)", null, ids);
+        if (deleted > 0) {
+            updateTagIdIndex(ids, false);
+            dropSpeciesIndex();
+        }
+        return deleted;
+    }
+
+    /**
+     * Sets the health status of a set of wild animal records in a single transaction.
+     *
+     * @param ids          the Tag IDs of the animals to update
+     * @param healthStatus the new health status
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    public int updateHealthStatus(Collection<Integer> ids, HealthStatus healthStatus) {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.updateHealthStatus(ids, healthStatus);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            List<Integer> tagIds = new ArrayList<>(ids);
+            int[] updated = new int[1];
+            runStep(session, "Set health status of " + tagIds.size() + " record(s)",
+                    () -> (updated[0] = updateHealthStatus(tagIds, healthStatus)) > 0);
+            return updated[0];
+        }
+        return executeForIds("UPDATE WildAnimals SET healthStatus = ?, version = version + 1, lastModified = ? "
+                + "WHERE id IN (%s)", healthStatus.getDisplayName(), ids);
+    }
+
+    /**
+     * Sets the species of a set of wild animal records in a single transaction.
+     *
+     * @param ids     the Tag IDs of the animals to update
+     * @param species the new species
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    public int updateSpecies(Collection<Integer> ids, String species) {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.updateSpecies(ids, species);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            List<Integer> tagIds = new ArrayList<>(ids);
+            int[] updated = new int[1];
+            runStep(session, "Change species of " + tagIds.size() + " record(s)",
+                    () -> (updated[0] = updateSpecies(tagIds, species)) > 0);
+            return updated[0];
+        }
+        int updated = executeForIds("UPDATE WildAnimals SET species = ?, version = version + 1, lastModified = ? "
+                + "WHERE id IN (%s)", species, ids);
+        if (updated > 0) {
+            dropSpeciesIndex();
+        }
+        return updated;
+    }
+
+    /**
+     * Discards the species index after a bulk change, so it is rebuilt with one query when next needed.
+     */
+    private void dropSpeciesIndex() {
+        synchronized (tagIdLock) {
+            speciesIndex = null;
+        }
+    }
+
+    /**
+     * Opens an edit session, in which the record operations become undoable steps of one transaction.
+     * <p>
+     * The session keeps one connection open until {@link #commitEditSession()} writes all steps with a single
+     * commit or {@link #rollbackEditSession()} discards them. Pending changes are visible to the record operations
+     * of this manager only; see {@link EditSession}.
+     * </p>
+     *
+     * @throws SQLException if in-memory mode is on, a session is already open or the connection cannot be opened
+     */
+    public synchronized void beginEditSession() throws SQLException {
+        if (memoryStore != null) {
+            throw new SQLException("Turn off in-memory mode before starting an edit session.");
+        }
+        if (editSession != null) {
+            throw new SQLException("An edit session is already open.");
+        }
+        editSession = new EditSession(connect());
+    }
+
+    /**
+     * Commits every step of the open edit session in one transaction and ends the session.
+     *
+     * @return the number of steps committed; {@code 0} if no session was open
+     * @throws SQLException if the commit fails; the session then stays open
+     */
+    public synchronized int commitEditSession() throws SQLException {
+        EditSession session = editSession;
+        if (session == null) {
+            return 0;
+        }
+        int steps = session.getStepCount();
+        session.commit();
+        editSession = null;
+        return steps;
+    }
+
+    /**
+     * Discards every step of the open edit session and ends the session.
+     *
+     * @throws SQLException if the rollback fails; the session ends regardless
+     */
+    public synchronized void rollbackEditSession() throws SQLException {
+        EditSession session = editSession;
+        if (session == null) {
+            return;
+        }
+        editSession = null;
+        try {
+            session.rollback();
+        } finally {
+            dropSessionState();
+        }
+    }
+
+    /**
+     * Undoes the last step of the open edit session.
+     *
+     * @return the name of the undone step, or {@code null} if there is no session or nothing to undo
+     * @throws SQLException if the step cannot be rolled back
+     */
+    public String undoEditStep() throws SQLException {
+        EditSession session = editSession;
+        String name = session == null ? null : session.undo();
+        if (name != null) {
+            dropSessionState();
+        }
+        return name;
+    }
+
+    /**
+     * Redoes the last undone step of the open edit session.
+     *
+     * @return the name of the redone step, or {@code null} if there is no session or nothing to redo
+     * @throws SQLException if the step cannot be run again
+     */
+    public String redoEditStep() throws SQLException {
+        EditSession session = editSession;
+        return session == null ? null : session.redo();
+    }
+
+    /**
+     * Drops the indexes and cached results after session changes were rolled back, which they could not follow.
+     */
+    private void dropSessionState() {
+        invalidateTagIdIndex();
+        queryCache.clear();
+    }
+
+    /**
+     * Returns the edit session a record operation must run in as a new step.
+     *
+     * @return the open session, or {@code null} if there is none or the operation already runs inside a step
+     */
+    private EditSession sessionToStepInto() {
+        EditSession session = editSession;
+        return session != null && !session.isInStep() ? session : null;
+    }
+
+    /**
+     * Runs a record operation as one step of an edit session, reporting a failure to start or run the step.
+     *
+     * @param session   the session
+     * @param name      the name of the step
+     * @param operation the operation, returning {@code true} if it changed the database
+     */
+    private void runStep(EditSession session, String name, Callable<Boolean> operation) {
+        try {
+            session.run(name, operation);
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Sets the health status of every wild animal record of the given species with one statement.
+     *
+     * @param species      the species whose records are updated
+     * @param healthStatus the new health status
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    public int updateHealthStatusBySpecies(String species, HealthStatus healthStatus) {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.updateHealthStatusBySpecies(species, healthStatus);
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            int[] updated = new int[1];
+            runStep(session, "Set health status of " + species,
+                    () -> (updated[0] = updateHealthStatusBySpecies(species, healthStatus)) > 0);
+            return updated[0];
+        }
+        String sql = "UPDATE WildAnimals SET healthStatus = ?, version = version + 1, lastModified = ? WHERE species = ?";
+
+        try (Connection conn = connectForRecords();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, healthStatus.getDisplayName());
+            stmt.setLong(2, System.currentTimeMillis());
+            stmt.setString(3, species);
+            int affectedRows = stmt.executeUpdate();
+            recordWrites(affectedRows);
+            return affectedRows;
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return 0;
+        }
+    }
+
+    /**
+     * Writes individual fields of a set of records in one transaction, as edited in the animal table.
+     * <p>
+     * Only the given columns are written, so a concurrent change to another field of the same record is kept.
+     * A record is only written if every edited column still holds the value the cell showed before it was
+     * edited; otherwise another editor changed the same field meanwhile, and the record is returned as a conflict
+     * instead of being overwritten. Records with the same set of edited columns share one batched {@code UPDATE}
+     * statement, and each record's version is bumped once.
+     * </p>
+     *
+     * <p>The values must have the types shown in the table: {@code String} for {@code species} and
+     * {@code name}, {@code Integer} for {@code age}, {@link Gender} for {@code gender}, {@code Double} for
+     * {@code weight} and {@link HealthStatus} for {@code healthStatus}.</p>
+     *
+     * @param cells     the new values by Tag ID and column name
+     * @param originals the values the cells showed before they were edited, by Tag ID and column name
+     * @return the Tag IDs of the records not written, because an edited field was changed meanwhile or the
+     *         record no longer exists
+     * @throws SQLException if the values cannot be written; nothing is written then
+     * @throws IllegalArgumentException if a column cannot be edited
+     */
+    public Set<Integer> updateCells(Map<Integer, Map<String, Object>> cells,
+                                    Map<Integer, Map<String, Object>> originals) throws SQLException {
+        InMemoryAnimalStore store = memoryStore;
+        if (store != null) {
+            return store.updateCells(cells, originals);
+        }
+        if (cells.isEmpty()) {
+            return new HashSet<>();
+        }
+        EditSession session = sessionToStepInto();
+        if (session != null) {
+            Set<Integer> conflicts = new HashSet<>();
+            session.run("Edit cells of " + cells.size() + " record(s)", () -> {
+                conflicts.clear();
+                conflicts.addAll(updateCells(cells, originals));
+                return conflicts.size() < cells.size();
+            });
+            return conflicts;
+        }
+
+        // Group the records by the columns they change, so each group is one batched statement
+        Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+        boolean speciesChanged = false;
+        for (Map.Entry<Integer, Map<String, Object>> entry : cells.entrySet()) {
+            List<String> columns = new ArrayList<>(entry.getValue().keySet());
+            for (String column : columns) {
+                if (!EDITABLE_COLUMNS.contains(column)) {
+                    throw new IllegalArgumentException("Column cannot be edited: " + column);
+                }
+            }
+            Collections.sort(columns);
+            speciesChanged |= columns.contains("species");
+            groups.computeIfAbsent(columns, key -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        long now = System.currentTimeMillis();
+        try (Connection conn = connectForRecords()) {
+            conn.setAutoCommit(false);
+            try {
+                Set<Integer> conflicts = new HashSet<>();
+                for (Map.Entry<List<String>, List<Integer>> group : groups.entrySet()) {
+                    List<String> columns = group.getKey();
+                    StringBuilder sql = new StringBuilder("UPDATE WildAnimals SET ");
+                    StringBuilder unchanged = new StringBuilder();
+                    for (String column : columns) {
+                        sql.append(column).append(" = ").append(cellAssignment(column)).append(", ");
+                        unchanged.append(" AND ").append(cellCondition(column));
+                    }
+                    sql.append("version = version + 1, lastModified = ? WHERE id = ?").append(unchanged);
+                    try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                        for (int id : group.getValue()) {
+                            Map<String, Object> values = cells.get(id);
+                            int index = 1;
+                            for (String column : columns) {
+                                bindCell(stmt, index++, values.get(column));
+                            }
+                            stmt.setLong(index++, now);
+                            stmt.setInt(index++, id);
+                            Map<String, Object> before = originals.get(id);
+                            for (String column : columns) {
+                                bindCell(stmt, index++, before.get(column));
+                            }
+                            stmt.addBatch();
+                        }
+                        int[] counts = stmt.executeBatch();
+                        for (int i = 0; i < counts.length; i++) {
+                            if (counts[i] == 0) {
+                                conflicts.add(group.getValue().get(i));
+                            }
+                        }
+                    }
+                }
+                conn.commit();
+                List<Integer> written = new ArrayList<>(cells.keySet());
+                written.removeAll(conflicts);
+                recordWrites(written);
+                if (speciesChanged) {
+                    dropSpeciesIndex();
+                }
+                return conflicts;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Binds the value of a cell edited in the animal table.
+     *
+     * @param stmt  the statement
+     * @param index the parameter index
+     * @param value the cell value; a gender or health status is bound as its display name
+     * @throws SQLException if the parameter cannot be bound
+     */
+    private static void bindCell(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value instanceof Gender) {
+            stmt.setString(index, ((Gender) value).getDisplayName());
+        } else if (value instanceof HealthStatus) {
+            stmt.setString(index, ((HealthStatus) value).getDisplayName());
+        } else {
+            stmt.setObject(index, value);
+        }
+    }
+
+    /**
+     * Builds the condition that an edited column still holds the value its cell showed, bound to one parameter.
+     *
+     * @param column the edited column
+     * @return the condition; gender and health status compare the constant the stored text is read as
+     */
+    private static String cellCondition(String column) {
+        switch (column) {
+            case "gender":
+                return Gender.sqlCode(column) + " = " + Gender.sqlCode("?");
+            case "healthStatus":
+                return HealthStatus.sqlCode(column) + " = " + HealthStatus.sqlCode("?");
+            default:
+                return column + " IS ?";
+        }
+    }
+
+    /**
+     * Builds the expression assigned to an edited column by {@link #updateCells(Map, Map)}, bound to one parameter.
+     *
+     * @param column the edited column
+     * @return {@code ?}, or for gender and health status an expression keeping stored text they cannot represent
+     */
+    private static String cellAssignment(String column) {
+        switch (column) {
+            case "gender":
+                return Gender.sqlKeepUnrecognized(column, "?");
+            case "healthStatus":
+                return HealthStatus.sqlKeepUnrecognized(column, "?");
+            default:
+                return "?";
+        }
+    }
+
+    /**
+     * Executes a set-based statement over a collection of Tag IDs inside one transaction.
+     * <p>
+     * The statement template must contain a single {@code %s} placeholder for the {@code IN} list. If a value
+     * is given, it is bound as the first parameter and the current time as the second (for
+     * {@code lastModified}), followed by the IDs. Large collections are split into chunks of
+     * {@link #MAX_IDS_PER_STATEMENT} IDs, all committed together. The statements are confirmed by the user, so
+     * like single-record writes they use the default profile rather than {@link PerformanceProfile#BULK_LOAD},
+     * whose commits may be lost on power failure.
+     * </p>
+     *
+     * @param sqlTemplate the statement with a {@code %s} placeholder for the ID list
+     * @param value       the value to set, or {@code null} for statements without a value (such as deletes)
+     * @param ids         the Tag IDs the statement applies to
+     * @return the total number of affected rows; {@code 0} if the statement failed and was rolled back
+     */
+    private int executeForIds(String sqlTemplate, String value, Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        try (Connection conn = connectForRecords()) {
+            conn.setAutoCommit(false);
+            try {
+                int affectedRows = 0;
+                Iterator<Integer> it = ids.iterator();
+                while (it.hasNext()) {
+                    List<Integer> chunk = new ArrayList<>(MAX_IDS_PER_STATEMENT);
+                    while (it.hasNext() && chunk.size() < MAX_IDS_PER_STATEMENT) {
+                        chunk.add(it.next());
+                    }
+
+                    String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                    try (PreparedStatement stmt = conn.prepareStatement(String.format(sqlTemplate, placeholders))) {
+                        int index = 1;
+                        if (value != null) {
+                            stmt.setString(index++, value);
+                            stmt.setLong(index++, now);
+                        }
+                        for (int id : chunk) {
+                            stmt.setInt(index++, id);
+                        }
+                        affectedRows += stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                recordWrites(ids);
+                return affectedRows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return 0;
+        }
+    }
+
+    /**
+     * Maps the current row of a {@link ResultSet} selected with {@link AnimalRecord#SELECT_COLUMNS} to a {@link WildAnimal}.
+     *
+     * @param rs the result set positioned on the row to map
+     * @return a new {@link WildAnimal} holding the row's values and version information
+     * @throws SQLException if a column cannot be read
+     */
+    private WildAnimal mapRow(ResultSet rs) throws SQLException {
+        return new WildAnimal(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                Gender.fromCode(rs.getInt(5)),
+                rs.getDouble(6),
+                HealthStatus.fromCode(rs.getInt(7)),
+                rs.getInt(8),
+                rs.getLong(9)
+        );
+    }
 }
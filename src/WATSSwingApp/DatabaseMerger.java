@@ -0,0 +1,269 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: DatabaseMerger.java
+ *
+ * This class merges a database returned by a field station into the open master database.
+ * The station file is attached to the master connection and reconciled with a handful of
+ * set-based statements in one transaction, following a configurable conflict rule.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Merges field-station databases into the master database of the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * The station file is {@code ATTACH}ed as schema {@code station}, so every step is a single statement that
+ * SQLite runs without a round trip per record:
+ * </p>
+ * <ol>
+ *     <li>Records whose Tag ID is new are inserted with {@code INSERT ... SELECT ... ON CONFLICT}.</li>
+ *     <li>Records that differ are resolved by the {@link MergeRule}: replaced if newer with an
+ *     {@code ON CONFLICT DO UPDATE ... WHERE}, kept, or kept and copied to {@code MergeConflicts} for review.</li>
+ *     <li>Observation readings and sightings the master does not have yet are copied over.</li>
+ * </ol>
+ *
+ * <p>Everything runs in one transaction on a {@link PerformanceProfile#BULK_LOAD} connection, so a failed merge
+ * leaves the master unchanged. Station files created before row versions were introduced are accepted; their
+ * records count as modified at merge time.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class DatabaseMerger {
+
+    /** Schema name the field-station database is attached under. */
+    private static final String SOURCE_SCHEMA = "station";
+
+    /** Data columns compared to decide whether two copies of a record differ. */
+    private static final String[] DATA_COLUMNS = { "species", "name", "age", "gender", "weight", "healthStatus" };
+
+    /** Reference to the database manager of the master database. */
+    private final DatabaseManager dbManager;
+
+    /**
+     * Constructs a new {@code DatabaseMerger} for the given master database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the master database
+     */
+    public DatabaseMerger(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Creates the table recording flagged merge conflicts, if it does not exist yet.
+     * <p>
+     * Called from {@link DatabaseManager#migrateSchema()} so every opened database can receive merges.
+     * </p>
+     *
+     * @param stmt a statement on the connection performing the schema migration
+     * @throws SQLException if the schema cannot be created
+     */
+    public static void createSchema(Statement stmt) throws SQLException {
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS MergeConflicts ("
+                + "conflictId INTEGER PRIMARY KEY, id INTEGER NOT NULL, sourcePath TEXT, detectedAt INTEGER NOT NULL, "
+                + "species TEXT, name TEXT, age INTEGER, gender TEXT, weight REAL, healthStatus TEXT, "
+                + "sourceVersion INTEGER, sourceLastModified INTEGER)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS MergeConflicts_id ON MergeConflicts (id)");
+    }
+
+    /**
+     * Merges a field-station database into the master database.
+     * <p>
+     * This method blocks until the merge is complete and should be called off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param source the field-station database file
+     * @param rule   how records that differ between the two databases are resolved
+     * @return a report of what the merge changed
+     * @throws SQLException if the source is not a WATS database or the merge fails; nothing is changed in that case
+     */
+    public MergeReport merge(File source, MergeRule rule) throws SQLException {
+        long start = System.currentTimeMillis();
+        String sourcePath = source.getAbsolutePath();
+        if (new File(dbManager.getDbPath()).getAbsoluteFile().equals(source.getAbsoluteFile())) {
+            throw new SQLException("A database cannot be merged into itself.");
+        }
+
+        try (Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD);
+             Statement stmt = conn.createStatement()) {
+
+            // ATTACH is not allowed inside a transaction, so it comes first
+            try (PreparedStatement attach = conn.prepareStatement("ATTACH DATABASE ? AS " + SOURCE_SCHEMA)) {
+                attach.setString(1, sourcePath);
+                attach.execute();
+            }
+            try {
+                if (!hasTable(stmt, "WildAnimals")) {
+                    throw new SQLException(source.getName() + " does not contain animal records.");
+                }
+                String animals = "(" + sourceSelect(stmt, start) + ")";
+                String differs = differs("s", "m");
+
+                conn.setAutoCommit(false);
+                try {
+                    long sourceRecords = queryLong(stmt, "SELECT COUNT(*) FROM " + SOURCE_SCHEMA + ".WildAnimals");
+                    long inserted = queryLong(stmt, "SELECT COUNT(*) FROM " + animals + " s WHERE NOT EXISTS "
+                            + "(SELECT 1 FROM main.WildAnimals m WHERE m.id = s.id)");
+                    long differing = queryLong(stmt, "SELECT COUNT(*) FROM " + animals + " s "
+                            + "JOIN main.WildAnimals m ON m.id = s.id WHERE " + differs);
+
+                    long updated = 0;
+                    long kept = 0;
+                    long flagged = 0;
+                    String insert = "INSERT INTO main.WildAnimals "
+                            + "(id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+                            + "SELECT * FROM " + animals + " WHERE true ON CONFLICT(id) ";
+                    switch (rule) {
+                        case NEWEST_WINS:
+                            long changes = stmt.executeUpdate(insert + "DO UPDATE SET "
+                                    + "species = excluded.species, name = excluded.name, age = excluded.age, "
+                                    + "gender = excluded.gender, weight = excluded.weight, "
+                                    + "healthStatus = excluded.healthStatus, version = WildAnimals.version + 1, "
+                                    + "lastModified = excluded.lastModified "
+                                    + "WHERE excluded.lastModified > WildAnimals.lastModified AND "
+                                    + differs("excluded", "WildAnimals"));
+                            updated = changes - inserted;
+                            kept = differing - updated;
+                            break;
+                        case FLAG:
+                            flagged = stmt.executeUpdate("INSERT INTO main.MergeConflicts "
+                                    + "(id, sourcePath, detectedAt, species, name, age, gender, weight, healthStatus, "
+                                    + "sourceVersion, sourceLastModified) "
+                                    + "SELECT s.id, " + quote(sourcePath) + ", " + start + ", s.species, s.name, s.age, "
+                                    + "s.gender, s.weight, s.healthStatus, s.version, s.lastModified "
+                                    + "FROM " + animals + " s JOIN main.WildAnimals m ON m.id = s.id WHERE " + differs);
+                            stmt.executeUpdate(insert + "DO NOTHING");
+                            break;
+                        default:
+                            stmt.executeUpdate(insert + "DO NOTHING");
+                            kept = differing;
+                            break;
+                    }
+
+                    long observationsAdded = 0;
+                    if (hasTable(stmt, "AnimalObservations")) {
+                        observationsAdded = stmt.executeUpdate("INSERT OR IGNORE INTO main.AnimalObservations "
+                                + "(id, ts, weight, healthStatus) SELECT id, ts, weight, healthStatus FROM "
+                                + SOURCE_SCHEMA + ".AnimalObservations");
+                    }
+                    long sightingsAdded = 0;
+                    if (hasTable(stmt, "Sightings")) {
+                        sightingsAdded = stmt.executeUpdate("INSERT INTO main.Sightings (id, ts, latitude, longitude) "
+                                + "SELECT s.id, s.ts, s.latitude, s.longitude FROM " + SOURCE_SCHEMA + ".Sightings s "
+                                + "WHERE NOT EXISTS (SELECT 1 FROM main.Sightings m WHERE m.id = s.id AND m.ts = s.ts)");
+                    }
+
+                    conn.commit();
+                    dbManager.recordWrites(inserted + updated + flagged + observationsAdded + sightingsAdded);
+                    if (inserted + updated > 0) {
+                        // Updates can change species too, and the in-memory records must be reloaded either way
+                        dbManager.invalidateTagIdIndex();
+                    }
+                    return new MergeReport(sourcePath, rule, sourceRecords, inserted, updated, kept, flagged,
+                            sourceRecords - inserted - differing, observationsAdded, sightingsAdded,
+                            System.currentTimeMillis() - start);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } finally {
+                stmt.execute("DETACH DATABASE " + SOURCE_SCHEMA);
+            }
+        }
+    }
+
+    /**
+     * Builds the query reading the field station's records in the column order of {@code WildAnimals}.
+     * <p>
+     * Missing {@code version} and {@code lastModified} columns, and unset modification times, are replaced by
+     * {@code 0} and the merge time respectively.
+     * </p>
+     *
+     * @param stmt      a statement on the connection the station is attached to
+     * @param mergeTime the merge time in milliseconds since the epoch
+     * @return the {@code SELECT} statement
+     * @throws SQLException if the station's columns cannot be read
+     */
+    private static String sourceSelect(Statement stmt, long mergeTime) throws SQLException {
+        boolean hasVersion = false;
+        boolean hasLastModified = false;
+        try (ResultSet rs = stmt.executeQuery("PRAGMA " + SOURCE_SCHEMA + ".table_info(WildAnimals)")) {
+            while (rs.next()) {
+                String column = rs.getString("name");
+                hasVersion |= "version".equalsIgnoreCase(column);
+                hasLastModified |= "lastModified".equalsIgnoreCase(column);
+            }
+        }
+        return "SELECT id, species, name, age, gender, weight, healthStatus, "
+                + (hasVersion ? "version" : "0") + " AS version, "
+                + (hasLastModified ? "COALESCE(NULLIF(lastModified, 0), " + mergeTime + ")" : String.valueOf(mergeTime))
+                + " AS lastModified FROM " + SOURCE_SCHEMA + ".WildAnimals";
+    }
+
+    /**
+     * Builds a condition that is true when two copies of a record differ in any data column.
+     *
+     * @param left  the alias of one copy
+     * @param right the alias of the other copy
+     * @return the SQL condition, treating two {@code NULL}s as equal
+     */
+    private static String differs(String left, String right) {
+        StringBuilder sql = new StringBuilder("(");
+        for (int i = 0; i < DATA_COLUMNS.length; i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append(left).append('.').append(DATA_COLUMNS[i])
+                    .append(" IS NOT ").append(right).append('.').append(DATA_COLUMNS[i]);
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * Determines whether the attached station database contains a table.
+     *
+     * @param stmt  a statement on the connection the station is attached to
+     * @param table the table name
+     * @return {@code true} if the table exists
+     * @throws SQLException if the schema cannot be read
+     */
+    private static boolean hasTable(Statement stmt, String table) throws SQLException {
+        return queryLong(stmt, "SELECT COUNT(*) FROM " + SOURCE_SCHEMA + ".sqlite_master "
+                + "WHERE type = 'table' AND name = " + quote(table)) > 0;
+    }
+
+    /**
+     * Quotes a value as an SQL string literal.
+     *
+     * @param value the value
+     * @return the value in single quotes, with embedded quotes doubled
+     */
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * Executes a query returning a single number.
+     *
+     * @param stmt the statement to execute the query with
+     * @param sql  the query
+     * @return the value of the first column of the first row
+     * @throws SQLException if the query fails
+     */
+    private static long queryLong(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+}
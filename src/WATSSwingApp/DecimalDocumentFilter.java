@@ -12,7 +12,9 @@ package WATSSwingApp;
 
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 import javax.swing.text.DocumentFilter;
+import javax.swing.text.Segment;
 
 /**
  * A custom {@link DocumentFilter} that restricts input to decimal numeric values.
@@ -23,14 +25,21 @@ import javax.swing.text.DocumentFilter;
  * data input by allowing only digits and a decimal point.
  * </p>
  *
+ * <p>Edits are checked with {@link AnimalValidator#countDecimalPoints(CharSequence)}, and the existing text is
+ * read through a reused {@link Segment}, so a keystroke allocates nothing. An edit that would leave more than
+ * one decimal point in the field is rejected.</p>
+ *
  * @author Felix Guevara
  * @version 1.0
  * @since 2025-11-10
  */
 public class DecimalDocumentFilter extends DocumentFilter {
 
+    /** Reused view of the document text that is kept by an edit. */
+    private final Segment segment = new Segment();
+
     /**
-     * Inserts text into the document if it matches the decimal numeric pattern.
+     * Inserts text into the document if the result is a decimal number.
      *
      * @param fb     the {@link FilterBypass} to delegate changes
      * @param offset the position in the document to insert the text
@@ -41,13 +50,13 @@ public class DecimalDocumentFilter extends DocumentFilter {
     @Override
     public void insertString(FilterBypass fb, int offset, String string, AttributeSet attr)
             throws BadLocationException {
-        if (string != null && string.matches("[0-9.]*")) {
+        if (string != null && isAllowed(fb.getDocument(), offset, 0, string)) {
             super.insertString(fb, offset, string, attr);
         }
     }
 
     /**
-     * Replaces text in the document if it matches the decimal numeric pattern.
+     * Replaces text in the document if the result is a decimal number.
      *
      * @param fb     the {@link FilterBypass} to delegate changes
      * @param offset the position in the document to replace text
@@ -59,8 +68,34 @@ public class DecimalDocumentFilter extends DocumentFilter {
     @Override
     public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs)
             throws BadLocationException {
-        if (text != null && text.matches("[0-9.]*")) {
+        if (text != null && isAllowed(fb.getDocument(), offset, length, text)) {
             super.replace(fb, offset, length, text, attrs);
         }
     }
+
+    /**
+     * Determines whether an edit leaves the field with only digits and at most one decimal point.
+     *
+     * @param doc    the document being edited
+     * @param offset the position of the edit
+     * @param length the number of characters replaced
+     * @param text   the text inserted
+     * @return {@code true} if the edit is allowed
+     * @throws BadLocationException if the edit lies outside the document
+     */
+    private boolean isAllowed(Document doc, int offset, int length, String text) throws BadLocationException {
+        int points = AnimalValidator.countDecimalPoints(text);
+        if (points < 0 || points > 1) {
+            return false;
+        }
+        if (points == 1) {
+            // Count the points in the text that stays around the replaced range
+            doc.getText(0, offset, segment);
+            points += AnimalValidator.countDecimalPoints(segment);
+            int tail = offset + length;
+            doc.getText(tail, doc.getLength() - tail, segment);
+            points += AnimalValidator.countDecimalPoints(segment);
+        }
+        return points <= 1;
+    }
 }
@@ -0,0 +1,353 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: EditSession.java
+ *
+ * This class keeps one writer connection open in a transaction while a curator reconciles records.
+ * Every add, update or delete made through DatabaseManager during the session becomes an undoable step
+ * marked by a savepoint, and the whole session is committed with one fsync or rolled back at once.
+ */
+package WATSSwingApp;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An explicit edit session over one transaction on one connection, opened with
+ * {@link DatabaseManager#beginEditSession()}.
+ * <p>
+ * While the session is open, the record operations of {@link DatabaseManager} run on its connection, each as one
+ * step started by a nested {@code SAVEPOINT}. A step whose operation changes nothing or fails is rolled back to
+ * its savepoint right away. {@link #undo()} rolls the transaction back to the savepoint of the last step and keeps
+ * the step for {@link #redo()}, which runs its operation again, since SQLite cannot replay a rolled-back
+ * savepoint. A new step clears the steps that could be redone.
+ * </p>
+ *
+ * <p>Nothing is written to the database file until {@link #commit()}, which costs a single fsync however many
+ * steps the session has; {@link #rollback()} discards them all. Other connections, including the reports and
+ * other processes, see the database as it was before the session until then, and writers that bypass the
+ * manager, such as imports and merges, wait for the write lock the session holds after its first step.</p>
+ *
+ * <p>The connection is shared by the threads using the manager: {@link #borrowConnection()} hands it out to one
+ * thread at a time, and a step holds it from its savepoint until it is kept or rolled back.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class EditSession {
+
+    /** The connection holding the session's transaction. */
+    private final Connection conn;
+
+    /** Lock giving one thread at a time the connection. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Savepoints of the steps that can be undone, oldest first. */
+    private final List<Savepoint> savepoints = new ArrayList<>();
+
+    /** Names of the steps that can be undone, parallel to {@link #savepoints}. */
+    private final List<String> stepNames = new ArrayList<>();
+
+    /** Operations of the steps that can be undone, parallel to {@link #savepoints}. */
+    private final List<Callable<Boolean>> stepOperations = new ArrayList<>();
+
+    /** Names of the undone steps that can be redone, most recently undone first. */
+    private final Deque<String> redoNames = new ArrayDeque<>();
+
+    /** Operations of the undone steps, parallel to {@link #redoNames}. */
+    private final Deque<Callable<Boolean>> redoOperations = new ArrayDeque<>();
+
+    /** Number of savepoints created, used to name them. */
+    private int savepointCount;
+
+    /** Whether a step is running on the thread holding {@link #lock}. */
+    private boolean inStep;
+
+    /** Whether the running step is a redo, which must not clear the redo steps. */
+    private boolean redoing;
+
+    /** Whether the session has been committed or rolled back. */
+    private boolean ended;
+
+    /**
+     * Starts a session on a connection, which the session owns from then on.
+     *
+     * @param conn a new connection to the database
+     * @throws SQLException if the transaction cannot be started
+     */
+    public EditSession(Connection conn) throws SQLException {
+        this.conn = conn;
+        conn.setAutoCommit(false);
+    }
+
+    /**
+     * Runs an operation as one step of the session.
+     * <p>
+     * The operation is run again by {@link #redo()}, so it must not depend on state it changes itself.
+     * </p>
+     *
+     * @param name      a short description of the step, shown by the undo and redo menu items
+     * @param operation the operation; returns {@code true} if it changed the database
+     * @return {@code true} if the step was kept, {@code false} if it changed nothing and was rolled back
+     * @throws SQLException if the session has ended, the savepoint cannot be set or the operation failed
+     */
+    public boolean run(String name, Callable<Boolean> operation) throws SQLException {
+        lock.lock();
+        try {
+            checkOpen();
+            Savepoint savepoint = conn.setSavepoint("step" + (++savepointCount));
+            boolean kept = false;
+            inStep = true;
+            try {
+                kept = operation.call();
+            } catch (SQLException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SQLException(e.getMessage(), e);
+            } finally {
+                inStep = false;
+                if (!kept) {
+                    conn.rollback(savepoint);
+                    conn.releaseSavepoint(savepoint);
+                }
+            }
+            if (!kept) {
+                return false;
+            }
+
+            savepoints.add(savepoint);
+            stepNames.add(name);
+            stepOperations.add(operation);
+            if (!redoing) {
+                redoNames.clear();
+                redoOperations.clear();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Determines whether the calling thread is running a step, so operations it calls must not start another.
+     *
+     * @return {@code true} if a step is running on the calling thread
+     */
+    public boolean isInStep() {
+        return lock.isHeldByCurrentThread() && inStep;
+    }
+
+    /**
+     * Undoes the last step by rolling the transaction back to its savepoint.
+     *
+     * @return the name of the undone step, or {@code null} if there was nothing to undo
+     * @throws SQLException if the session has ended or the rollback fails
+     */
+    public String undo() throws SQLException {
+        lock.lock();
+        try {
+            checkOpen();
+            if (savepoints.isEmpty()) {
+                return null;
+            }
+            int last = savepoints.size() - 1;
+            Savepoint savepoint = savepoints.get(last);
+            conn.rollback(savepoint);
+            conn.releaseSavepoint(savepoint);
+            savepoints.remove(last);
+            redoNames.push(stepNames.remove(last));
+            redoOperations.push(stepOperations.remove(last));
+            return redoNames.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Redoes the last undone step by running its operation again as a new step.
+     *
+     * @return the name of the redone step, or {@code null} if there was nothing to redo
+     * @throws SQLException if the session has ended, or if the step no longer applies, in which case it and the
+     *                      other undone steps are dropped
+     */
+    public String redo() throws SQLException {
+        lock.lock();
+        try {
+            checkOpen();
+            if (redoNames.isEmpty()) {
+                return null;
+            }
+            String name = redoNames.pop();
+            Callable<Boolean> operation = redoOperations.pop();
+            boolean kept = false;
+            redoing = true;
+            try {
+                kept = run(name, operation);
+            } finally {
+                redoing = false;
+                if (!kept) {
+                    redoNames.clear();
+                    redoOperations.clear();
+                }
+            }
+            if (!kept) {
+                throw new SQLException("\"" + name + "\" no longer applies and cannot be redone.");
+            }
+            return name;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits every step of the session with one fsync and ends it.
+     *
+     * @throws SQLException if the session has ended or the commit fails; the session is then still open
+     */
+    public void commit() throws SQLException {
+        lock.lock();
+        try {
+            checkOpen();
+            conn.commit();
+            end();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards every step of the session and ends it.
+     *
+     * @throws SQLException if the rollback fails; the session ends regardless, and closing its connection
+     *                      discards the transaction
+     */
+    public void rollback() throws SQLException {
+        lock.lock();
+        try {
+            if (ended) {
+                return;
+            }
+            try {
+                conn.rollback();
+            } finally {
+                end();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands the session's connection to the calling thread until the returned connection is closed.
+     * <p>
+     * The returned connection leaves the transaction to the session: closing it only hands the connection back,
+     * and {@code setAutoCommit}, {@code commit} and {@code rollback()} do nothing, so a failed operation is rolled
+     * back by its step instead. Close it on the thread that borrowed it.
+     * </p>
+     *
+     * @return the borrowed connection, or {@code null} if the session has ended
+     */
+    public Connection borrowConnection() {
+        lock.lock();
+        if (ended) {
+            lock.unlock();
+            return null;
+        }
+        AtomicBoolean returned = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (returned.compareAndSet(false, true)) {
+                                lock.unlock();
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned.get();
+                        case "setAutoCommit":
+                        case "commit":
+                            return null;
+                        case "rollback":
+                            if (args == null) {
+                                return null;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /** @return the number of steps that can be undone */
+    public int getStepCount() {
+        lock.lock();
+        try {
+            return savepoints.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the name of the step {@link #undo()} would undo, or {@code null} if there is none */
+    public String getUndoName() {
+        lock.lock();
+        try {
+            return stepNames.isEmpty() ? null : stepNames.get(stepNames.size() - 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the name of the step {@link #redo()} would redo, or {@code null} if there is none */
+    public String getRedoName() {
+        lock.lock();
+        try {
+            return redoNames.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects work once the session has ended. The caller must hold {@link #lock}.
+     *
+     * @throws SQLException if the session has ended
+     */
+    private void checkOpen() throws SQLException {
+        if (ended) {
+            throw new SQLException("The edit session has ended.");
+        }
+    }
+
+    /**
+     * Marks the session as ended and closes its connection. The caller must hold {@link #lock}.
+     *
+     * @throws SQLException if the connection cannot be closed
+     */
+    private void end() throws SQLException {
+        ended = true;
+        savepoints.clear();
+        stepNames.clear();
+        stepOperations.clear();
+        redoNames.clear();
+        redoOperations.clear();
+        conn.close();
+    }
+}
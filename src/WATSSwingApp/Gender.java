@@ -0,0 +1,136 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: Gender.java
+ *
+ * This enum defines the genders an animal record can have.
+ * Records share these constants instead of holding their own strings, and the database layer
+ * maps the stored text to a constant inside the query so no string is created per row.
+ */
+package WATSSwingApp;
+
+/**
+ * The gender of an animal in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * The display name is the text stored in the {@code gender} column. Stored text that matches no constant,
+ * ignoring case, is read as {@link #UNKNOWN}. Writers that store a record they read back use
+ * {@link #sqlKeepUnrecognized(String, String)}, so such text is kept rather than replaced by {@code Unknown}.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum Gender {
+
+    /** A male animal. */
+    MALE("Male"),
+
+    /** A female animal. */
+    FEMALE("Female"),
+
+    /** The gender is not known. */
+    UNKNOWN("Unknown");
+
+    /** All constants, indexed by ordinal, so codes can be decoded without copying {@link #values()}. */
+    private static final Gender[] BY_CODE = values();
+
+    /** Text stored in the database and shown to the user. */
+    private final String displayName;
+
+    /**
+     * Constructs a gender.
+     *
+     * @param displayName text stored in the database and shown to the user
+     */
+    Gender(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /** @return the text stored in the database and shown to the user */
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Looks up the gender stored as the given text.
+     *
+     * @param text the stored text; may be {@code null}
+     * @return the matching gender, ignoring case and surrounding spaces, or {@link #UNKNOWN}
+     */
+    public static Gender fromString(String text) {
+        if (text != null) {
+            String trimmed = text.trim();
+            for (Gender gender : BY_CODE) {
+                if (gender.displayName.equalsIgnoreCase(trimmed)) {
+                    return gender;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Decodes a code produced by {@link #sqlCode(String)}.
+     *
+     * @param code the ordinal of the gender
+     * @return the gender with that ordinal, or {@link #UNKNOWN} if the code is out of range
+     */
+    public static Gender fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : UNKNOWN;
+    }
+
+    /**
+     * Builds an SQL expression that maps the text in a column to the ordinal of its gender.
+     *
+     * @param column the column holding the gender text
+     * @return a {@code CASE} expression evaluating to the code read by {@link #fromCode(int)}
+     */
+    public static String sqlCode(String column) {
+        StringBuilder sql = new StringBuilder("CASE lower(trim(").append(column).append("))");
+        for (Gender gender : BY_CODE) {
+            sql.append(" WHEN '").append(gender.displayName.toLowerCase()).append("' THEN ").append(gender.ordinal());
+        }
+        return sql.append(" ELSE ").append(UNKNOWN.ordinal()).append(" END").toString();
+    }
+
+    /**
+     * Builds an SQL expression for the new value of a gender column that keeps stored text matching no constant.
+     * <p>
+     * Such text is read as {@link #UNKNOWN}, so writing {@code Unknown} over it would destroy it. The expression
+     * evaluates to the new value, unless that is {@code Unknown} and the stored text also reads as
+     * {@link #UNKNOWN}; the stored text is then kept.
+     * </p>
+     *
+     * @param column the column holding the stored gender text
+     * @param value  the SQL expression of the new text, such as {@code ?} or {@code excluded.gender}
+     * @return the expression to assign to the column
+     */
+    public static String sqlKeepUnrecognized(String column, String value) {
+        return "COALESCE(NULLIF(" + value + ", '" + UNKNOWN.displayName + "'), CASE WHEN " + sqlCode(column)
+                + " = " + UNKNOWN.ordinal() + " THEN " + column + " ELSE '" + UNKNOWN.displayName + "' END)";
+    }
+
+    /**
+     * Builds an SQL condition that holds when the text in a column matches a constant, ignoring case.
+     *
+     * @param column the column holding the gender text
+     * @return the condition, which is false for {@code NULL}
+     */
+    public static String sqlRecognized(String column) {
+        StringBuilder sql = new StringBuilder("lower(trim(").append(column).append(")) IN (");
+        for (Gender gender : BY_CODE) {
+            sql.append(gender.ordinal() == 0 ? "'" : ", '").append(gender.displayName.toLowerCase()).append('\'');
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * Returns the display name, so genders can be listed directly in Swing components.
+     *
+     * @return the text stored in the database and shown to the user
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: HealthStatus.java
+ *
+ * This enum defines the health statuses an animal record can have.
+ * Records share these constants instead of holding their own strings, and the database layer
+ * maps the stored text to a constant inside the query so no string is created per row.
+ */
+package WATSSwingApp;
+
+/**
+ * The health status of an animal in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * The display name is the text stored in the {@code healthStatus} column. Stored text that matches no constant,
+ * ignoring case, is read as {@link #UNKNOWN}. Writers that store a record they read back use
+ * {@link #sqlKeepUnrecognized(String, String)}, so such text is kept rather than replaced by {@code Unknown}.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum HealthStatus {
+
+    /** The animal is in good health. */
+    HEALTHY("Healthy"),
+
+    /** The animal has an injury. */
+    INJURED("Injured"),
+
+    /** The animal is ill. */
+    SICK("Sick"),
+
+    /** The animal is recovering from an injury or illness. */
+    RECOVERING("Recovering"),
+
+    /** The health status is not known. */
+    UNKNOWN("Unknown");
+
+    /** All constants, indexed by ordinal, so codes can be decoded without copying {@link #values()}. */
+    private static final HealthStatus[] BY_CODE = values();
+
+    /** Text stored in the database and shown to the user. */
+    private final String displayName;
+
+    /**
+     * Constructs a health status.
+     *
+     * @param displayName text stored in the database and shown to the user
+     */
+    HealthStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /** @return the text stored in the database and shown to the user */
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Looks up the health status stored as the given text.
+     *
+     * @param text the stored text; may be {@code null}
+     * @return the matching health status, ignoring case and surrounding spaces, or {@link #UNKNOWN}
+     */
+    public static HealthStatus fromString(String text) {
+        if (text != null) {
+            String trimmed = text.trim();
+            for (HealthStatus status : BY_CODE) {
+                if (status.displayName.equalsIgnoreCase(trimmed)) {
+                    return status;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Decodes a code produced by {@link #sqlCode(String)}.
+     *
+     * @param code the ordinal of the health status
+     * @return the health status with that ordinal, or {@link #UNKNOWN} if the code is out of range
+     */
+    public static HealthStatus fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : UNKNOWN;
+    }
+
+    /**
+     * Builds an SQL expression that maps the text in a column to the ordinal of its health status.
+     *
+     * @param column the column holding the health status text
+     * @return a {@code CASE} expression evaluating to the code read by {@link #fromCode(int)}
+     */
+    public static String sqlCode(String column) {
+        StringBuilder sql = new StringBuilder("CASE lower(trim(").append(column).append("))");
+        for (HealthStatus status : BY_CODE) {
+            sql.append(" WHEN '").append(status.displayName.toLowerCase()).append("' THEN ").append(status.ordinal());
+        }
+        return sql.append(" ELSE ").append(UNKNOWN.ordinal()).append(" END").toString();
+    }
+
+    /**
+     * Builds an SQL expression for the new value of a health status column that keeps stored text matching no constant.
+     * <p>
+     * Such text is read as {@link #UNKNOWN}, so writing {@code Unknown} over it would destroy it. The expression
+     * evaluates to the new value, unless that is {@code Unknown} and the stored text also reads as
+     * {@link #UNKNOWN}; the stored text is then kept.
+     * </p>
+     *
+     * @param column the column holding the stored health status text
+     * @param value  the SQL expression of the new text, such as {@code ?} or {@code excluded.healthStatus}
+     * @return the expression to assign to the column
+     */
+    public static String sqlKeepUnrecognized(String column, String value) {
+        return "COALESCE(NULLIF(" + value + ", '" + UNKNOWN.displayName + "'), CASE WHEN " + sqlCode(column)
+                + " = " + UNKNOWN.ordinal() + " THEN " + column + " ELSE '" + UNKNOWN.displayName + "' END)";
+    }
+
+    /**
+     * Builds an SQL condition that holds when the text in a column matches a constant, ignoring case.
+     *
+     * @param column the column holding the health status text
+     * @return the condition, which is false for {@code NULL}
+     */
+    public static String sqlRecognized(String column) {
+        StringBuilder sql = new StringBuilder("lower(trim(").append(column).append(")) IN (");
+        for (HealthStatus status : BY_CODE) {
+            sql.append(status.ordinal() == 0 ? "'" : ", '").append(status.displayName.toLowerCase()).append('\'');
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * Returns the display name, so health statuses can be listed directly in Swing components.
+     *
+     * @return the text stored in the database and shown to the user
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ImportResult.java
+ *
+ * This class summarises the outcome of a bulk import of animal records: how many rows were
+ * inserted, updated, or rejected, why rows were rejected, and how long the import took.
+ */
+package WATSSwingApp;
+
+/**
+ * The outcome of an {@link AnimalImporter} run.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ImportResult {
+
+    /** Number of new records inserted. */
+    private final long inserted;
+
+    /** Number of existing records updated. */
+    private final long updated;
+
+    /** Number of rows rejected because they were invalid or duplicated. */
+    private final long rejected;
+
+    /** Errors describing the rejected rows. */
+    private final ValidationReport report;
+
+    /** Duration of the import in milliseconds. */
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a new {@code ImportResult}.
+     *
+     * @param inserted      number of new records inserted
+     * @param updated       number of existing records updated
+     * @param rejected      number of rows rejected
+     * @param report        errors describing the rejected rows
+     * @param elapsedMillis duration of the import in milliseconds
+     */
+    public ImportResult(long inserted, long updated, long rejected, ValidationReport report, long elapsedMillis) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.rejected = rejected;
+        this.report = report;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** @return the number of new records inserted */
+    public long getInserted() { return inserted; }
+
+    /** @return the number of existing records updated */
+    public long getUpdated() { return updated; }
+
+    /** @return the number of rows rejected because they were invalid or duplicated */
+    public long getRejected() { return rejected; }
+
+    /** @return the errors describing the rejected rows */
+    public ValidationReport getReport() { return report; }
+
+    /** @return the duration of the import in milliseconds */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * Returns a short summary of the import.
+     *
+     * @return the counts and the duration
+     */
+    @Override
+    public String toString() {
+        return String.format("%d inserted, %d updated, %d rejected in %d ms", inserted, updated, rejected, elapsedMillis);
+    }
+}
@@ -0,0 +1,1206 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: InMemoryAnimalStore.java
+ *
+ * This class keeps every animal record of a database in memory and serves the record operations of
+ * DatabaseManager from there while in-memory mode is on. Each change is made durable in an append-only
+ * mutation log and copied into the SQLite file by periodic snapshots, so the SQLite file remains the
+ * system of record and a crash loses nothing that was acknowledged.
+ */
+package WATSSwingApp;
+
+import javax.swing.JOptionPane;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory engine for the animal records of one database, used by {@link DatabaseManager} while in-memory mode
+ * is on.
+ * <p>
+ * Records are stored column by column in primitive arrays indexed by slot, with an open-addressing hash table
+ * from Tag ID to slot and a sorted array of Tag IDs for keyset pages and range scans. Reads never touch SQLite.
+ * The public operations have the same names, signatures and error reporting as those of
+ * {@link DatabaseManager}, which forwards to them.
+ * </p>
+ *
+ * <p>Every change is appended to a {@link MutationLog} and synced before the operation returns, with concurrent
+ * writers sharing one fsync. Every {@link #SNAPSHOT_INTERVAL_SECONDS} seconds, or sooner once the log passes
+ * {@link #MAX_LOG_BYTES}, the records changed since the last snapshot are written to the SQLite file in one
+ * transaction and the log generations they came from are deleted. On open, log generations left by a crash are
+ * replayed over the SQLite contents and snapshotted before anything else happens.</p>
+ *
+ * <p>The SQLite file stays the system of record, but until the next snapshot it lags the memory store by the
+ * changes made since the last one; features that read the file directly (exports, sync, sketches) see it as of
+ * that snapshot. When another writer changes the file, {@link #markStale()} makes the next operation snapshot
+ * the pending changes and reload every record. A record changed both in memory and by the other writer since the
+ * last snapshot keeps the in-memory version.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class InMemoryAnimalStore {
+
+    /** Seconds between scheduled snapshots to the SQLite file. */
+    public static final int SNAPSHOT_INTERVAL_SECONDS = 30;
+
+    /** Size of the current log generation above which a snapshot is taken early. */
+    public static final long MAX_LOG_BYTES = 16L * 1024 * 1024;
+
+    /** Initial capacity of the record columns. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Paths of the databases with an open memory store, whose logs must not be recovered by anyone else. */
+    private static final Set<String> ACTIVE_PATHS = ConcurrentHashMap.newKeySet();
+
+    /** The database manager whose records are kept in memory. */
+    private final DatabaseManager dbManager;
+
+    /** Lock held while a snapshot or reload runs, so they never overlap. Acquired before the store's own lock. */
+    private final Object snapshotLock = new Object();
+
+    /** Tag IDs changed or deleted since the last successful snapshot. */
+    private final Set<Integer> dirty = new HashSet<>();
+
+    /** Tag IDs of the records in memory, for duplicate checks by dialogs and importers. */
+    private volatile TagIdIndex tagIds = new TagIdIndex();
+
+    /** Species of the records in memory, for the species suggestions of the dialogs. */
+    private volatile SpeciesIndex speciesIndex = new SpeciesIndex();
+
+    /** Whether a snapshot has been queued because the log grew too large. */
+    private final AtomicBoolean snapshotQueued = new AtomicBoolean();
+
+    /** Background thread that takes the scheduled snapshots. */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wats-memory-snapshot");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /** The mutation log, or {@code null} until the store has been opened. */
+    private MutationLog log;
+
+    /** Tag ID stored in each slot. */
+    private int[] slotIds = new int[INITIAL_CAPACITY];
+
+    /** Interned species of each slot. */
+    private String[] species = new String[INITIAL_CAPACITY];
+
+    /** Name of each slot. */
+    private String[] names = new String[INITIAL_CAPACITY];
+
+    /** Age of each slot. */
+    private int[] ages = new int[INITIAL_CAPACITY];
+
+    /** Gender code of each slot. */
+    private byte[] genders = new byte[INITIAL_CAPACITY];
+
+    /** Weight of each slot. */
+    private double[] weights = new double[INITIAL_CAPACITY];
+
+    /** Health status code of each slot. */
+    private byte[] healths = new byte[INITIAL_CAPACITY];
+
+    /** Row version of each slot. */
+    private int[] versions = new int[INITIAL_CAPACITY];
+
+    /** Last modification time of each slot. */
+    private long[] modified = new long[INITIAL_CAPACITY];
+
+    /** Number of slots ever used; slots below this are either live or on the free list. */
+    private int slotCount;
+
+    /** Slots freed by deletes, reused before new slots are taken. */
+    private int[] freeSlots = new int[16];
+
+    /** Number of entries on the free list. */
+    private int freeCount;
+
+    /** Open-addressing hash table from Tag ID to slot; each entry holds the slot plus one, or zero when empty. */
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    /** Number of live records. */
+    private int size;
+
+    /** Tag IDs in ascending order; may still contain deleted IDs, which readers skip. */
+    private int[] order = new int[INITIAL_CAPACITY];
+
+    /** Number of entries in {@link #order}. */
+    private int orderCount;
+
+    /** Whether {@link #order} must be rebuilt before the next ordered read. */
+    private boolean orderStale;
+
+    /** Whether the SQLite file was changed by another writer since the records were loaded. */
+    private volatile boolean stale;
+
+    /** Whether the store has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructs an empty store; {@link #open(DatabaseManager)} loads and recovers it.
+     *
+     * @param dbManager the database manager whose records are kept in memory
+     */
+    private InMemoryAnimalStore(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Loads every record of a database into memory, replays any log left by a crash and starts the snapshots.
+     * <p>
+     * Reads the whole table, so call this off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param dbManager the database manager whose records are kept in memory
+     * @return the opened store
+     * @throws SQLException if the records cannot be loaded or the log cannot be replayed or created
+     */
+    public static InMemoryAnimalStore open(DatabaseManager dbManager) throws SQLException {
+        String key = new File(dbManager.getDbPath()).getAbsolutePath();
+        if (!ACTIVE_PATHS.add(key)) {
+            throw new SQLException("In-memory mode is already on for " + dbManager.getDbPath());
+        }
+        InMemoryAnimalStore store = new InMemoryAnimalStore(dbManager);
+        try {
+            store.recover();
+        } catch (SQLException | RuntimeException e) {
+            ACTIVE_PATHS.remove(key);
+            store.executor.shutdownNow();
+            throw e;
+        }
+        store.executor.scheduleWithFixedDelay(store::runScheduledSnapshot,
+                SNAPSHOT_INTERVAL_SECONDS, SNAPSHOT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        return store;
+    }
+
+    /**
+     * Applies a log left behind by a crash while a database was in in-memory mode.
+     * <p>
+     * Called whenever a database is opened. Does nothing if there is no log or the database is currently in
+     * in-memory mode in this application.
+     * </p>
+     *
+     * @param dbManager the database manager of the database
+     * @return {@code true} if a log was found and applied
+     * @throws SQLException if the log cannot be applied
+     */
+    public static boolean recoverLog(DatabaseManager dbManager) throws SQLException {
+        if (MutationLog.generations(dbManager.getDbPath()).length == 0
+                || ACTIVE_PATHS.contains(new File(dbManager.getDbPath()).getAbsolutePath())) {
+            return false;
+        }
+        open(dbManager).close();
+        return true;
+    }
+
+    /**
+     * Loads the records, replays the existing log generations and snapshots the result.
+     *
+     * @throws SQLException if any step fails
+     */
+    private void recover() throws SQLException {
+        String dbPath = dbManager.getDbPath();
+        long[] previous = MutationLog.generations(dbPath);
+        synchronized (snapshotLock) {
+            synchronized (this) {
+                load();
+                try {
+                    for (long generation : previous) {
+                        MutationLog.replay(MutationLog.generationFile(dbPath, generation),
+                                this::replayUpsert, this::replayDelete);
+                    }
+                    log = new MutationLog(dbPath);
+                } catch (IOException e) {
+                    throw new SQLException("Cannot replay the mutation log: " + e.getMessage(), e);
+                }
+            }
+            snapshot();
+            try {
+                // Everything before the current generation is now in the SQLite file, even if nothing changed
+                log.deleteGenerationsBefore(log.getGeneration());
+            } catch (IOException e) {
+                throw new SQLException("Cannot delete the old mutation log: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Takes a final snapshot, stops the background thread and deletes the log.
+     *
+     * @throws SQLException if the final snapshot fails; the log is then kept for recovery
+     */
+    public void close() throws SQLException {
+        executor.shutdownNow();
+        try {
+            synchronized (snapshotLock) {
+                synchronized (this) {
+                    closed = true;
+                }
+                snapshot();
+                try {
+                    log.close();
+                    log.deleteGenerationsBefore(Long.MAX_VALUE);
+                } catch (IOException e) {
+                    throw new SQLException("Cannot close the mutation log: " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            ACTIVE_PATHS.remove(new File(dbManager.getDbPath()).getAbsolutePath());
+        }
+    }
+
+    /**
+     * Marks the records as out of date after another writer changed the SQLite file, so the next operation
+     * snapshots pending changes and reloads every record.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    /** @return the number of records in memory */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** @return the index of the Tag IDs in memory */
+    public TagIdIndex getTagIdIndex() {
+        return tagIds;
+    }
+
+    /** @return the prefix index of the species in memory */
+    public SpeciesIndex getSpeciesIndex() {
+        return speciesIndex;
+    }
+
+    /** @return the number of records changed since the last snapshot */
+    public synchronized int getPendingChanges() {
+        return dirty.size();
+    }
+
+    /**
+     * Writes the records changed since the last snapshot to the SQLite file in one transaction and deletes the
+     * log generations they came from.
+     *
+     * @return the number of records written or deleted
+     * @throws SQLException if the records cannot be written; they are then kept for the next snapshot
+     */
+    public int snapshot() throws SQLException {
+        synchronized (snapshotLock) {
+            Map<Integer, AnimalRecord> changes;
+            long generation;
+            synchronized (this) {
+                if (dirty.isEmpty()) {
+                    return 0;
+                }
+                changes = takeDirty();
+                generation = rotateLog();
+            }
+            persist(changes, generation);
+            return changes.size();
+        }
+    }
+
+    /**
+     * Runs a snapshot on the background thread. Failures keep the changes in the log and in the dirty set, so
+     * the next run retries them.
+     */
+    private void runScheduledSnapshot() {
+        snapshotQueued.set(false);
+        try {
+            snapshot();
+        } catch (SQLException e) {
+            // Retried on the next run; the changes are safe in the log meanwhile
+        }
+    }
+
+    /**
+     * Queues an early snapshot once the current log generation has grown past {@link #MAX_LOG_BYTES}.
+     */
+    private void snapshotIfLogLarge() {
+        if (log.size() > MAX_LOG_BYTES && snapshotQueued.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runScheduledSnapshot);
+            } catch (RuntimeException e) {
+                snapshotQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * Snapshots pending changes and reloads every record if another writer changed the SQLite file.
+     *
+     * @throws SQLException if the changes cannot be written or the records cannot be reloaded
+     */
+    private void reloadIfStale() throws SQLException {
+        if (!stale) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            synchronized (this) {
+                if (!stale) {
+                    return;
+                }
+                if (!dirty.isEmpty()) {
+                    // Held under the store's lock so no change slips in between the write and the reload
+                    persist(takeDirty(), rotateLog());
+                }
+                load();
+                stale = false;
+            }
+        }
+    }
+
+    /**
+     * Removes the pending changes from the dirty set. The caller must hold the store's lock.
+     *
+     * @return the current record of each changed Tag ID, or {@code null} for deleted ones
+     */
+    private Map<Integer, AnimalRecord> takeDirty() {
+        Map<Integer, AnimalRecord> changes = new HashMap<>(dirty.size() * 2);
+        for (int id : dirty) {
+            int slot = find(id);
+            changes.put(id, slot < 0 ? null : record(slot));
+        }
+        dirty.clear();
+        return changes;
+    }
+
+    /**
+     * Starts a new log generation. The caller must hold the store's lock, so the generation boundary matches
+     * the changes just taken from the dirty set.
+     *
+     * @return the new generation
+     * @throws SQLException if the log cannot be rotated
+     */
+    private long rotateLog() throws SQLException {
+        try {
+            return log.rotate();
+        } catch (IOException e) {
+            throw new SQLException("Cannot rotate the mutation log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes changes to the SQLite file and deletes the log generations older than the given one.
+     * <p>
+     * Records whose version in the file already equals the new version are unpinned first, so the version bump
+     * trigger does not mistake the write for an external one. The changes are committed with
+     * {@code synchronous=FULL}, since the log that could replay them is deleted right after the commit.
+     * </p>
+     *
+     * @param changes    the records to upsert, or {@code null} values for records to delete
+     * @param generation the first log generation not covered by the changes
+     * @throws SQLException if the changes cannot be written; they are then returned to the dirty set
+     */
+    private void persist(Map<Integer, AnimalRecord> changes, long generation) throws SQLException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD);
+             PreparedStatement unpin = conn.prepareStatement(
+                     "UPDATE WildAnimals SET version = -1 WHERE id = ? AND version = ?");
+             PreparedStatement upsert = conn.prepareStatement(
+                     "INSERT INTO WildAnimals (id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT(id) DO UPDATE SET "
+                             + "species = excluded.species, name = excluded.name, age = excluded.age, "
+                             + "gender = " + Gender.sqlKeepUnrecognized("gender", "excluded.gender")
+                             + ", weight = excluded.weight, healthStatus = "
+                             + HealthStatus.sqlKeepUnrecognized("healthStatus", "excluded.healthStatus") + ", "
+                             + "version = excluded.version, lastModified = excluded.lastModified");
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM WildAnimals WHERE id = ?")) {
+
+            // The log generations are deleted after the commit, so the commit itself must reach the disk
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA synchronous = FULL");
+            }
+            conn.setAutoCommit(false);
+            try {
+                for (Map.Entry<Integer, AnimalRecord> change : changes.entrySet()) {
+                    AnimalRecord animal = change.getValue();
+                    if (animal == null) {
+                        delete.setInt(1, change.getKey());
+                        delete.executeUpdate();
+                        continue;
+                    }
+                    unpin.setInt(1, animal.getId());
+                    unpin.setInt(2, animal.getVersion());
+                    unpin.executeUpdate();
+
+                    upsert.setInt(1, animal.getId());
+                    upsert.setString(2, animal.getSpecies());
+                    upsert.setString(3, animal.getName());
+                    upsert.setInt(4, animal.getAge());
+                    upsert.setString(5, animal.getGender().getDisplayName());
+                    upsert.setDouble(6, animal.getWeight());
+                    upsert.setString(7, animal.getHealthStatus().getDisplayName());
+                    upsert.setInt(8, animal.getVersion());
+                    upsert.setLong(9, animal.getLastModified());
+                    upsert.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            synchronized (this) {
+                dirty.addAll(changes.keySet());
+            }
+            throw e;
+        }
+        dbManager.recordWrites(changes.keySet());
+
+        try {
+            log.deleteGenerationsBefore(generation);
+        } catch (IOException e) {
+            // Harmless: the old generations are replayed over identical data on the next recovery
+        }
+    }
+
+    /**
+     * Replaces the records in memory with the contents of the SQLite file. The caller must hold the store's lock.
+     *
+     * @throws SQLException if the records cannot be read
+     */
+    private void load() throws SQLException {
+        clear();
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals ORDER BY id")) {
+            while (rs.next()) {
+                put(AnimalRecord.fromResultSet(rs));
+            }
+        }
+    }
+
+    /**
+     * Applies an upsert replayed from the log.
+     *
+     * @param record the record as it was logged
+     */
+    private void replayUpsert(AnimalRecord record) {
+        put(record);
+        dirty.add(record.getId());
+    }
+
+    /**
+     * Applies a delete replayed from the log.
+     *
+     * @param id the deleted Tag ID
+     */
+    private void replayDelete(int id) {
+        remove(id);
+        dirty.add(id);
+    }
+
+    /**
+     * Retrieves all wild animal records held in memory.
+     *
+     * @return a {@link List} of {@link WildAnimal} objects in Tag ID order
+     */
+    public List<WildAnimal> getAllWildAnimalRecords() {
+        List<WildAnimal> animals = new ArrayList<>();
+        try {
+            for (AnimalRecord record : getAnimalRecordPage(Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+                animals.add(record.toWildAnimal());
+            }
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+        }
+        return animals;
+    }
+
+    /**
+     * Retrieves one page of records in Tag ID order, starting after a given Tag ID.
+     *
+     * @param afterId the Tag ID after which the page starts; use {@link Integer#MIN_VALUE} for the first page
+     * @param limit   the maximum number of records to return
+     * @return the records of the page in ascending Tag ID order; empty once the end is reached
+     * @throws SQLException if the records had to be reloaded and could not be
+     */
+    public List<AnimalRecord> getAnimalRecordPage(int afterId, int limit) throws SQLException {
+        reloadIfStale();
+        synchronized (this) {
+            sortOrder();
+            List<AnimalRecord> animals = new ArrayList<>(Math.min(limit, size));
+            for (int i = firstOrderIndexAbove(afterId); i < orderCount && animals.size() < limit; i++) {
+                int slot = find(order[i]);
+                if (slot >= 0) {
+                    animals.add(record(slot));
+                }
+            }
+            return animals;
+        }
+    }
+
+    /**
+     * Retrieves the records within a Tag ID range.
+     *
+     * @param firstId the lowest Tag ID of the range
+     * @param lastId  the highest Tag ID of the range
+     * @return the records in the range in ascending Tag ID order
+     * @throws SQLException if the records had to be reloaded and could not be
+     */
+    public List<AnimalRecord> getAnimalRecordsBetween(long firstId, long lastId) throws SQLException {
+        reloadIfStale();
+        List<AnimalRecord> animals = new ArrayList<>();
+        if (firstId > lastId || lastId < Integer.MIN_VALUE || firstId > Integer.MAX_VALUE) {
+            return animals;
+        }
+        synchronized (this) {
+            sortOrder();
+            int start = firstId <= Integer.MIN_VALUE ? 0 : firstOrderIndexAbove((int) (firstId - 1));
+            for (int i = start; i < orderCount && order[i] <= lastId; i++) {
+                int slot = find(order[i]);
+                if (slot >= 0) {
+                    animals.add(record(slot));
+                }
+            }
+        }
+        return animals;
+    }
+
+    /**
+     * Retrieves a wild animal record by its Tag ID.
+     *
+     * @param id the Tag ID of the animal
+     * @return a {@link WildAnimal} instance if found; {@code null} otherwise
+     */
+    public WildAnimal getWildAnimalById(int id) {
+        try {
+            reloadIfStale();
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+        synchronized (this) {
+            int slot = find(id);
+            return slot < 0 ? null : record(slot).toWildAnimal();
+        }
+    }
+
+    /**
+     * Computes the average weight of the records of a species.
+     *
+     * @param speciesName the species
+     * @return the average weight, or {@code null} if there are no records of the species
+     * @throws SQLException if the records had to be reloaded and could not be
+     */
+    public Double getAverageWeight(String speciesName) throws SQLException {
+        reloadIfStale();
+        synchronized (this) {
+            double sum = 0;
+            int count = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (speciesName.equals(species[slot])) {
+                    sum += weights[slot];
+                    count++;
+                }
+            }
+            return count == 0 ? null : sum / count;
+        }
+    }
+
+    /**
+     * Inserts a new wild animal record.
+     *
+     * @param animal the {@link WildAnimal} object to insert
+     * @return {@code true} if the insertion was successful; {@code false} otherwise
+     */
+    public boolean insertWildAnimal(WildAnimal animal) {
+        long now = System.currentTimeMillis();
+        try {
+            reloadIfStale();
+            long seq;
+            synchronized (this) {
+                checkOpen();
+                if (find(animal.getId()) >= 0) {
+                    throw new SQLException("Tag ID " + animal.getId() + " already exists.");
+                }
+                AnimalRecord record = new AnimalRecord(animal.getId(), animal.getSpecies(), animal.getName(),
+                        animal.getAge(), animal.getGender(), animal.getWeight(), animal.getHealthStatus(), 0, now);
+                seq = log.appendUpsert(record);
+                put(record);
+                dirty.add(record.getId());
+            }
+            log.sync(seq);
+            animal.setVersion(0);
+            animal.setLastModified(now);
+            snapshotIfLogLarge();
+            return true;
+        } catch (SQLException | IOException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+    }
+
+    /**
+     * Updates an existing wild animal record using optimistic concurrency control.
+     * <p>
+     * The record is only overwritten if its version still matches {@link WildAnimal#getVersion()}; on success
+     * the version in memory and in the given object are both incremented.
+     * </p>
+     *
+     * @param animal the {@link WildAnimal} object containing updated details and the version it was read at
+     * @return the {@link UpdateResult} describing the outcome of the update
+     */
+    public UpdateResult updateWildAnimal(WildAnimal animal) {
+        long now = System.currentTimeMillis();
+        try {
+            reloadIfStale();
+            long seq;
+            synchronized (this) {
+                checkOpen();
+                int slot = find(animal.getId());
+                if (slot < 0) {
+                    return UpdateResult.NOT_FOUND;
+                }
+                if (versions[slot] != animal.getVersion()) {
+                    return UpdateResult.CONFLICT;
+                }
+                AnimalRecord record = new AnimalRecord(animal.getId(), animal.getSpecies(), animal.getName(),
+                        animal.getAge(), animal.getGender(), animal.getWeight(), animal.getHealthStatus(),
+                        animal.getVersion() + 1, now);
+                seq = log.appendUpsert(record);
+                speciesIndex.replace(species[slot], record.getSpecies());
+                write(slot, record);
+                dirty.add(record.getId());
+            }
+            log.sync(seq);
+            animal.setVersion(animal.getVersion() + 1);
+            animal.setLastModified(now);
+            snapshotIfLogLarge();
+            return UpdateResult.UPDATED;
+        } catch (SQLException | IOException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return UpdateResult.FAILED;
+        }
+    }
+
+    /**
+     * Deletes a wild animal record by its Tag ID.
+     *
+     * @param id the Tag ID of the animal to delete
+     * @return {@code true} if the deletion was successful; {@code false} otherwise
+     */
+    public boolean deleteWildAnimal(int id) {
+        return deleteWildAnimals(List.of(id)) > 0;
+    }
+
+    /**
+     * Deletes a set of wild animal records by their Tag IDs, with one log sync for all of them.
+     *
+     * @param ids the Tag IDs of the animals to delete
+     * @return the number of records deleted; {@code 0} if none matched or the deletion failed
+     */
+    public int deleteWildAnimals(Collection<Integer> ids) {
+        try {
+            reloadIfStale();
+            long seq = 0;
+            int deleted = 0;
+            synchronized (this) {
+                checkOpen();
+                for (int id : ids) {
+                    if (find(id) >= 0) {
+                        seq = log.appendDelete(id);
+                        remove(id);
+                        dirty.add(id);
+                        deleted++;
+                    }
+                }
+            }
+            if (deleted > 0) {
+                log.sync(seq);
+                snapshotIfLogLarge();
+            }
+            return deleted;
+        } catch (SQLException | IOException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return 0;
+        }
+    }
+
+    /**
+     * Sets the health status of a set of wild animal records.
+     *
+     * @param ids          the Tag IDs of the animals to update
+     * @param healthStatus the new health status
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    public int updateHealthStatus(Collection<Integer> ids, HealthStatus healthStatus) {
+        return updateRecords(ids, null, healthStatus, null);
+    }
+
+    /**
+     * Sets the species of a set of wild animal records.
+     *
+     * @param ids         the Tag IDs of the animals to update
+     * @param speciesName the new species
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    public int updateSpecies(Collection<Integer> ids, String speciesName) {
+        return updateRecords(ids, null, null, speciesName);
+    }
+
+    /**
+     * Sets the health status of every wild animal record of the given species.
+     *
+     * @param speciesName  the species whose records are updated
+     * @param healthStatus the new health status
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    public int updateHealthStatusBySpecies(String speciesName, HealthStatus healthStatus) {
+        return updateRecords(null, speciesName, healthStatus, null);
+    }
+
+    /**
+     * Changes the health status or species of a set of records, bumping their versions, with one log sync.
+     *
+     * @param ids          the Tag IDs to update, or {@code null} to select by species
+     * @param ofSpecies    the species to select when {@code ids} is {@code null}
+     * @param healthStatus the new health status, or {@code null} to keep it
+     * @param newSpecies   the new species, or {@code null} to keep it
+     * @return the number of records updated; {@code 0} if none matched or the update failed
+     */
+    private int updateRecords(Collection<Integer> ids, String ofSpecies, HealthStatus healthStatus, String newSpecies) {
+        long now = System.currentTimeMillis();
+        try {
+            reloadIfStale();
+            long seq = 0;
+            int updated = 0;
+            synchronized (this) {
+                checkOpen();
+                List<Integer> slots = new ArrayList<>();
+                if (ids != null) {
+                    for (int id : ids) {
+                        int slot = find(id);
+                        if (slot >= 0) {
+                            slots.add(slot);
+                        }
+                    }
+                } else {
+                    for (int slot = 0; slot < slotCount; slot++) {
+                        if (ofSpecies.equals(species[slot])) {
+                            slots.add(slot);
+                        }
+                    }
+                }
+                for (int slot : slots) {
+                    AnimalRecord old = record(slot);
+                    AnimalRecord record = new AnimalRecord(old.getId(),
+                            newSpecies != null ? newSpecies : old.getSpecies(), old.getName(), old.getAge(),
+                            old.getGender(), old.getWeight(), healthStatus != null ? healthStatus : old.getHealthStatus(),
+                            old.getVersion() + 1, now);
+                    seq = log.appendUpsert(record);
+                    speciesIndex.replace(old.getSpecies(), record.getSpecies());
+                    write(slot, record);
+                    dirty.add(record.getId());
+                    updated++;
+                }
+            }
+            if (updated > 0) {
+                log.sync(seq);
+                snapshotIfLogLarge();
+            }
+            return updated;
+        } catch (SQLException | IOException e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            return 0;
+        }
+    }
+
+    /**
+     * Sets individual fields of a set of records, bumping each record's version once, with one log sync.
+     *
+     * @param cells     the new values by Tag ID and column name, as described at
+     *                  {@link DatabaseManager#updateCells(Map, Map)}
+     * @param originals the values the cells showed before they were edited, by Tag ID and column name
+     * @return the Tag IDs of the records not written, because an edited field was changed meanwhile or the
+     *         record no longer exists
+     * @throws SQLException if the store is closed, cannot be reloaded or the change log cannot be written
+     */
+    public Set<Integer> updateCells(Map<Integer, Map<String, Object>> cells,
+                                    Map<Integer, Map<String, Object>> originals) throws SQLException {
+        long now = System.currentTimeMillis();
+        try {
+            reloadIfStale();
+            long seq = 0;
+            Set<Integer> conflicts = new HashSet<>();
+            synchronized (this) {
+                checkOpen();
+                for (Map.Entry<Integer, Map<String, Object>> entry : cells.entrySet()) {
+                    int slot = find(entry.getKey());
+                    if (slot < 0 || !matches(record(slot), originals.get(entry.getKey()))) {
+                        conflicts.add(entry.getKey());
+                        continue;
+                    }
+                    AnimalRecord old = record(slot);
+                    String newSpecies = old.getSpecies();
+                    String name = old.getName();
+                    int age = old.getAge();
+                    Gender gender = old.getGender();
+                    double weight = old.getWeight();
+                    HealthStatus healthStatus = old.getHealthStatus();
+                    for (Map.Entry<String, Object> cell : entry.getValue().entrySet()) {
+                        switch (cell.getKey()) {
+                            case "species":
+                                newSpecies = (String) cell.getValue();
+                                break;
+                            case "name":
+                                name = (String) cell.getValue();
+                                break;
+                            case "age":
+                                age = (Integer) cell.getValue();
+                                break;
+                            case "gender":
+                                gender = (Gender) cell.getValue();
+                                break;
+                            case "weight":
+                                weight = (Double) cell.getValue();
+                                break;
+                            case "healthStatus":
+                                healthStatus = (HealthStatus) cell.getValue();
+                                break;
+                            default:
+                                throw new IllegalArgumentException("Column cannot be edited: " + cell.getKey());
+                        }
+                    }
+                    AnimalRecord record = new AnimalRecord(old.getId(), newSpecies, name, age, gender, weight,
+                            healthStatus, old.getVersion() + 1, now);
+                    seq = log.appendUpsert(record);
+                    speciesIndex.replace(old.getSpecies(), record.getSpecies());
+                    write(slot, record);
+                    dirty.add(record.getId());
+                }
+            }
+            if (conflicts.size() < cells.size()) {
+                log.sync(seq);
+                snapshotIfLogLarge();
+            }
+            return conflicts;
+        } catch (IOException e) {
+            throw new SQLException("Cannot write the mutation log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Determines whether a record still holds the values its cells showed before they were edited.
+     *
+     * @param record    the stored record
+     * @param originals the values before the edit by column name
+     * @return {@code true} if every edited field still has its original value
+     */
+    private static boolean matches(AnimalRecord record, Map<String, Object> originals) {
+        for (Map.Entry<String, Object> cell : originals.entrySet()) {
+            Object stored;
+            switch (cell.getKey()) {
+                case "species":
+                    stored = record.getSpecies();
+                    break;
+                case "name":
+                    stored = record.getName();
+                    break;
+                case "age":
+                    stored = record.getAge();
+                    break;
+                case "gender":
+                    stored = record.getGender();
+                    break;
+                case "weight":
+                    stored = record.getWeight();
+                    break;
+                case "healthStatus":
+                    stored = record.getHealthStatus();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Column cannot be edited: " + cell.getKey());
+            }
+            if (!Objects.equals(stored, cell.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rejects changes once the store has been closed. The caller must hold the store's lock.
+     *
+     * @throws SQLException if the store is closed
+     */
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("In-memory mode has been turned off.");
+        }
+    }
+
+    /**
+     * Builds the record stored in a slot.
+     *
+     * @param slot the slot
+     * @return the record
+     */
+    private AnimalRecord record(int slot) {
+        return new AnimalRecord(slotIds[slot], species[slot], names[slot], ages[slot], Gender.fromCode(genders[slot]),
+                weights[slot], HealthStatus.fromCode(healths[slot]), versions[slot], modified[slot]);
+    }
+
+    /**
+     * Stores a record in a slot.
+     *
+     * @param slot   the slot
+     * @param record the record
+     */
+    private void write(int slot, AnimalRecord record) {
+        slotIds[slot] = record.getId();
+        species[slot] = SpeciesDictionary.intern(record.getSpecies());
+        names[slot] = record.getName();
+        ages[slot] = record.getAge();
+        genders[slot] = (byte) record.getGender().ordinal();
+        weights[slot] = record.getWeight();
+        healths[slot] = (byte) record.getHealthStatus().ordinal();
+        versions[slot] = record.getVersion();
+        modified[slot] = record.getLastModified();
+    }
+
+    /**
+     * Inserts or replaces a record.
+     *
+     * @param record the record
+     */
+    private void put(AnimalRecord record) {
+        int id = record.getId();
+        int existing = find(id);
+        if (existing >= 0) {
+            speciesIndex.replace(species[existing], record.getSpecies());
+            write(existing, record);
+            return;
+        }
+
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == slotIds.length) {
+                growColumns(slotIds.length * 2);
+            }
+            slot = slotCount++;
+        }
+        write(slot, record);
+
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        int mask = table.length - 1;
+        int i = hash(id) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+        size++;
+        tagIds.add(id);
+        speciesIndex.add(record.getSpecies(), 1);
+
+        if (!orderStale && (orderCount == 0 || id > order[orderCount - 1])) {
+            if (orderCount == order.length) {
+                order = Arrays.copyOf(order, order.length * 2);
+            }
+            order[orderCount++] = id;
+        } else {
+            orderStale = true;
+        }
+    }
+
+    /**
+     * Removes a record, if present.
+     *
+     * @param id the Tag ID
+     */
+    private void remove(int id) {
+        int mask = table.length - 1;
+        int i = hash(id) & mask;
+        while (table[i] != 0 && slotIds[table[i] - 1] != id) {
+            i = (i + 1) & mask;
+        }
+        if (table[i] == 0) {
+            return;
+        }
+
+        int slot = table[i] - 1;
+        speciesIndex.remove(species[slot]);
+        species[slot] = null;
+        names[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+        tagIds.remove(id);
+        if (orderCount > size * 2 + INITIAL_CAPACITY) {
+            // Mostly deleted IDs left in the order: compact it on the next ordered read
+            orderStale = true;
+        }
+
+        // Backward-shift deletion keeps every probe sequence unbroken without tombstones
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (table[j] == 0) {
+                break;
+            }
+            int home = hash(slotIds[table[j] - 1]) & mask;
+            boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (!stays) {
+                table[hole] = table[j];
+                hole = j;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    /**
+     * Finds the slot of a Tag ID.
+     *
+     * @param id the Tag ID
+     * @return the slot, or {@code -1} if the Tag ID is not present
+     */
+    private int find(int id) {
+        int mask = table.length - 1;
+        int i = hash(id) & mask;
+        while (table[i] != 0) {
+            int slot = table[i] - 1;
+            if (slotIds[slot] == id) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Spreads the bits of a Tag ID, so consecutive IDs do not form long probe runs.
+     *
+     * @param id the Tag ID
+     * @return the hash
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Rebuilds the hash table with a new capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                int i = hash(slotIds[entry - 1]) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = entry;
+            }
+        }
+    }
+
+    /**
+     * Grows the record columns.
+     *
+     * @param capacity the new number of slots
+     */
+    private void growColumns(int capacity) {
+        slotIds = Arrays.copyOf(slotIds, capacity);
+        species = Arrays.copyOf(species, capacity);
+        names = Arrays.copyOf(names, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        genders = Arrays.copyOf(genders, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        healths = Arrays.copyOf(healths, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        modified = Arrays.copyOf(modified, capacity);
+    }
+
+    /**
+     * Rebuilds the sorted Tag ID order from the live records if inserts or deletes left it out of date.
+     */
+    private void sortOrder() {
+        if (!orderStale) {
+            return;
+        }
+        int[] ids = new int[Math.max(size, INITIAL_CAPACITY)];
+        int count = 0;
+        for (int entry : table) {
+            if (entry != 0) {
+                ids[count++] = slotIds[entry - 1];
+            }
+        }
+        Arrays.sort(ids, 0, count);
+        order = ids;
+        orderCount = count;
+        orderStale = false;
+    }
+
+    /**
+     * Finds the first position in the sorted order holding a Tag ID above the given one.
+     *
+     * @param afterId the Tag ID
+     * @return the position, or {@link #orderCount} if every Tag ID is at most {@code afterId}
+     */
+    private int firstOrderIndexAbove(int afterId) {
+        if (afterId == Integer.MAX_VALUE) {
+            return orderCount;
+        }
+        int pos = Arrays.binarySearch(order, 0, orderCount, afterId);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    /**
+     * Discards every record in memory.
+     */
+    private void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(species, 0, slotCount, null);
+        Arrays.fill(names, 0, slotCount, null);
+        slotCount = 0;
+        freeCount = 0;
+        size = 0;
+        orderCount = 0;
+        orderStale = false;
+        tagIds = new TagIdIndex();
+        speciesIndex = new SpeciesIndex();
+    }
+}
@@ -0,0 +1,294 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: KllSketch.java
+ *
+ * This class estimates quantiles, such as the median or 90th percentile weight, from a stream
+ * of values in a small fixed amount of memory. Two sketches can be merged, so percentiles of
+ * several databases together are computed from their stored sketches without reading any rows.
+ */
+package WATSSwingApp;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A KLL quantile sketch.
+ * <p>
+ * Values are kept in a stack of compactors. Level {@code h} holds values that each stand for {@code 2^h} inputs,
+ * and its capacity shrinks geometrically, by a factor of 2/3 per level, below the top. When the sketch is full,
+ * the lowest full level is sorted and every other value, starting at a random offset, moves one level up; the
+ * rest are discarded. With the default {@code k} of {@value #DEFAULT_K}, the rank error of a quantile is
+ * about 1.3% with high probability, while the sketch holds only a few hundred values.
+ * </p>
+ *
+ * <p>The sketch only supports additions. Callers rebuild it when values are changed or removed.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class KllSketch {
+
+    /** Default accuracy parameter: the capacity of the top level. */
+    public static final int DEFAULT_K = 200;
+
+    /** Smallest capacity of any level. */
+    private static final int MIN_LEVEL_CAPACITY = 8;
+
+    /** Fixed seed for the compaction coin, so equal inputs produce equal sketches. */
+    private static final long SEED = 0x5eed_c0ffeeL;
+
+    /** Accuracy parameter: the capacity of the top level. */
+    private final int k;
+
+    /** Retained values per level; only the first {@code sizes[h]} entries of a level are used. */
+    private double[][] levels = { new double[MIN_LEVEL_CAPACITY] };
+
+    /** Number of retained values per level. */
+    private int[] sizes = new int[1];
+
+    /** Number of values added. */
+    private long count;
+
+    /** Smallest value added, or {@code NaN} if empty. */
+    private double min = Double.NaN;
+
+    /** Largest value added, or {@code NaN} if empty. */
+    private double max = Double.NaN;
+
+    /** Coin used to choose which half of a compacted level is kept. */
+    private final Random random = new Random(SEED);
+
+    /**
+     * Constructs an empty sketch with the default accuracy.
+     */
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param k accuracy parameter: larger values are more accurate and use proportionally more memory
+     */
+    public KllSketch(int k) {
+        this.k = Math.max(MIN_LEVEL_CAPACITY, k);
+    }
+
+    /**
+     * Adds a value. {@code NaN} is ignored.
+     *
+     * @param value the value
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        min = Double.isNaN(min) ? value : Math.min(min, value);
+        max = Double.isNaN(max) ? value : Math.max(max, value);
+        append(0, value);
+        compressIfFull();
+    }
+
+    /**
+     * Adds every value of another sketch to this one.
+     *
+     * @param other the sketch to merge; left unchanged
+     */
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        min = Double.isNaN(min) ? other.min : Math.min(min, other.min);
+        max = Double.isNaN(max) ? other.max : Math.max(max, other.max);
+        compressIfFull();
+    }
+
+    /** @return the number of values added */
+    public long getCount() { return count; }
+
+    /** @return {@code true} if no values were added */
+    public boolean isEmpty() { return count == 0; }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param fraction the quantile as a fraction between {@code 0} and {@code 1}, such as {@code 0.5} for the median
+     * @return the estimated value, exact at {@code 0} and {@code 1}, or {@code NaN} if the sketch is empty
+     */
+    public double quantile(double fraction) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction <= 0) {
+            return min;
+        }
+        if (fraction >= 1) {
+            return max;
+        }
+
+        int retained = retained();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        Integer[] order = new Integer[retained];
+        int next = 0;
+        long totalWeight = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[next] = levels[level][i];
+                weights[next] = 1L << level;
+                order[next] = next;
+                totalWeight += weights[next];
+                next++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double target = fraction * totalWeight;
+        long cumulative = 0;
+        for (int index : order) {
+            cumulative += weights[index];
+            if (cumulative >= target) {
+                return values[index];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Appends a value to a level, adding the level and growing its array as needed.
+     *
+     * @param level the level
+     * @param value the value
+     */
+    private void append(int level, double value) {
+        if (level >= levels.length) {
+            levels = Arrays.copyOf(levels, level + 1);
+            sizes = Arrays.copyOf(sizes, level + 1);
+            for (int h = 0; h <= level; h++) {
+                if (levels[h] == null) {
+                    levels[h] = new double[MIN_LEVEL_CAPACITY];
+                }
+            }
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    /**
+     * Compacts full levels until the retained values fit the total capacity.
+     */
+    private void compressIfFull() {
+        while (retained() > totalCapacity()) {
+            for (int level = 0; level < levels.length; level++) {
+                if (sizes[level] >= capacity(level)) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Halves a level: sorts it and moves every other value, from a random offset, one level up.
+     * An odd value out stays behind.
+     *
+     * @param level the level to compact
+     */
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+
+        int start = size % 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        sizes[level] = start;
+    }
+
+    /**
+     * Returns the capacity of a level, which shrinks by a factor of 2/3 per level below the top.
+     *
+     * @param level the level
+     * @return the number of values the level may hold before it is compacted
+     */
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+    }
+
+    /** @return the total capacity of all levels */
+    private int totalCapacity() {
+        int total = 0;
+        for (int level = 0; level < levels.length; level++) {
+            total += capacity(level);
+        }
+        return total;
+    }
+
+    /** @return the number of values retained across all levels */
+    private int retained() {
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        return total;
+    }
+
+    /**
+     * Serialises the sketch for storage in a BLOB column.
+     *
+     * @return the encoded sketch
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + 8 + 8 + 4 + 4 * levels.length + 8 * retained());
+        buffer.putInt(k).putLong(count).putDouble(min).putDouble(max).putInt(levels.length);
+        for (int level = 0; level < levels.length; level++) {
+            buffer.putInt(sizes[level]);
+            for (int i = 0; i < sizes[level]; i++) {
+                buffer.putDouble(levels[level][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a sketch written by {@link #toBytes()}.
+     *
+     * @param bytes the encoded sketch
+     * @return the sketch
+     */
+    public static KllSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        KllSketch sketch = new KllSketch(buffer.getInt());
+        sketch.count = buffer.getLong();
+        sketch.min = buffer.getDouble();
+        sketch.max = buffer.getDouble();
+        int levelCount = buffer.getInt();
+        sketch.levels = new double[levelCount][];
+        sketch.sizes = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            int size = buffer.getInt();
+            sketch.levels[level] = new double[Math.max(MIN_LEVEL_CAPACITY, size)];
+            sketch.sizes[level] = size;
+            for (int i = 0; i < size; i++) {
+                sketch.levels[level][i] = buffer.getDouble();
+            }
+        }
+        return sketch;
+    }
+}
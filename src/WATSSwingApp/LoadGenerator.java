@@ -0,0 +1,838 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: LoadGenerator.java
+ *
+ * This is a command-line load generator and soak-test harness for WATS databases. It fills a
+ * database with realistic synthetic animal records and then lets a number of simulated field
+ * stations work on it concurrently, reporting throughput, latency percentiles and lock contention
+ * at regular intervals for as long as the run lasts.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A command-line load generator for the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * Usage: {@code java WATSSwingApp.LoadGenerator [options] database}. Options:
+ * </p>
+ * <ul>
+ *     <li>{@code --rows N} – synthetic records the database is filled up to before the run (default 100000).</li>
+ *     <li>{@code --stations N} – number of concurrent simulated stations (default 8).</li>
+ *     <li>{@code --minutes N} – length of the run; soak runs use several hours (default 10, {@code 0} only fills
+ *     the database).</li>
+ *     <li>{@code --mix insert=5,update=15,...} – relative weights of the {@link LoadOperation}s; operations left
+ *     out are not run.</li>
+ *     <li>{@code --think N} – pause of each station between operations in milliseconds (default 0).</li>
+ *     <li>{@code --report N} – seconds between interval reports (default 60).</li>
+ *     <li>{@code --profile NAME} – {@link PerformanceProfile} of the station connections (default Interactive).</li>
+ *     <li>{@code --csv FILE} – also append every interval report to a CSV file for charting.</li>
+ *     <li>{@code --seed N} – seed of the synthetic data and operation choices (default 42).</li>
+ * </ul>
+ * <p>
+ * Every station runs on its own thread and opens a connection per operation, as {@link DatabaseManager} does.
+ * Station connections do not use SQLite's busy timeout: a locked database is retried by the generator with
+ * exponential backoff up to the profile's busy timeout, so every lock wait is counted and timed. Reports show,
+ * per operation, the throughput, the 50th, 95th and 99th percentile and maximum latency, errors, misses,
+ * optimistic concurrency conflicts, busy retries, contended operations and total lock wait.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class LoadGenerator {
+
+    /** Number of rows inserted per transaction while filling the database. */
+    private static final int FILL_BATCH_SIZE = 1_000;
+
+    /** Number of records read by a list operation, the size of the table's first page. */
+    private static final int LIST_PAGE_SIZE = 50;
+
+    /** First pause after a busy attempt in milliseconds. */
+    private static final long MIN_BACKOFF_MILLIS = 1;
+
+    /** Longest pause between busy attempts in milliseconds. */
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    /** Outcome of an operation that found its record. */
+    private static final int OK = 0;
+
+    /** Outcome of an operation whose Tag ID did not exist. */
+    private static final int MISS = 1;
+
+    /** Outcome of an update rejected because the record changed since it was read. */
+    private static final int CONFLICT = 2;
+
+    /** Species of synthetic records, most common first. */
+    private static final String[] SPECIES = {
+            "White-tailed Deer", "Wild Turkey", "Raccoon", "Coyote", "Red Fox", "Black Bear", "Gray Wolf", "Bobcat",
+            "Elk", "River Otter", "Bald Eagle", "Mountain Lion", "Pronghorn", "Moose", "Grizzly Bear", "Bison"
+    };
+
+    /** Typical adult weight in kilograms of each species in {@link #SPECIES}. */
+    private static final double[] MEAN_WEIGHTS = {
+            70, 8, 7, 14, 6, 120, 40, 10, 300, 9, 5, 60, 50, 450, 250, 700
+    };
+
+    /** Names given to synthetic records, followed by the Tag ID. */
+    private static final String[] NAMES = { "Ash", "Birch", "Cedar", "Dawn", "Echo", "Flint", "Gale", "Hazel", "Iris", "Juniper" };
+
+    /** Health statuses of synthetic records. */
+    private static final HealthStatus[] HEALTH = {
+            HealthStatus.HEALTHY, HealthStatus.RECOVERING, HealthStatus.INJURED, HealthStatus.SICK, HealthStatus.UNKNOWN
+    };
+
+    /** Cumulative percentages of the statuses in {@link #HEALTH}. */
+    private static final int[] HEALTH_CUMULATIVE = { 80, 88, 94, 98, 100 };
+
+    /** Statement adding a record, identical to {@link DatabaseManager#insertWildAnimal(WildAnimal)}. */
+    private static final String INSERT_SQL = "INSERT INTO WildAnimals "
+            + "(id, species, name, age, gender, weight, healthStatus, version, lastModified) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    /** Reference to the database manager of the database under test. */
+    private final DatabaseManager dbManager;
+
+    /** Performance profile of the station connections. */
+    private final PerformanceProfile profile;
+
+    /** Cumulative weights of the operations, indexed by ordinal. */
+    private final int[] cumulativeWeights;
+
+    /** Seed of the synthetic data and operation choices. */
+    private final long seed;
+
+    /** Cumulative weights for picking a species, most common species first. */
+    private final double[] speciesCumulative = new double[SPECIES.length];
+
+    /** Next Tag ID handed to an insert. */
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    /** Lowest Tag ID present when the run started; lookups, updates and deletes pick IDs from here on. */
+    private volatile int firstId = 1;
+
+    /** Whether the stations keep running. */
+    private volatile boolean running = true;
+
+    /** Measurements of the current reporting interval. */
+    private final AtomicReference<Map<LoadOperation, LoadStatistics>> interval = new AtomicReference<>(newStatistics());
+
+    /** Measurements of the whole run. */
+    private final Map<LoadOperation, LoadStatistics> total = newStatistics();
+
+    /** Error messages already printed, so a recurring error is only reported once. */
+    private final Set<String> reportedErrors = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new {@code LoadGenerator}.
+     *
+     * @param dbManager the database manager of the database under test
+     * @param profile   the performance profile of the station connections
+     * @param weights   the relative weight of each operation, indexed by ordinal
+     * @param seed      the seed of the synthetic data and operation choices
+     */
+    public LoadGenerator(DatabaseManager dbManager, PerformanceProfile profile, int[] weights, long seed) {
+        this.dbManager = dbManager;
+        this.profile = profile;
+        this.seed = seed;
+        this.cumulativeWeights = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulativeWeights[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("The operation mix must contain at least one operation.");
+        }
+
+        // Species frequencies follow Zipf's law, as in typical field surveys
+        double species = 0;
+        for (int i = 0; i < SPECIES.length; i++) {
+            species += 1.0 / (i + 1);
+            speciesCumulative[i] = species;
+        }
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * @param args the options described in the class documentation, followed by the database file
+     * @throws Exception if the database cannot be created or accessed
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = 100_000;
+        int stations = 8;
+        long minutes = 10;
+        int thinkMillis = 0;
+        int reportSeconds = 60;
+        long seed = 42;
+        PerformanceProfile profile = PerformanceProfile.INTERACTIVE;
+        int[] weights = new int[LoadOperation.values().length];
+        for (LoadOperation operation : LoadOperation.values()) {
+            weights[operation.ordinal()] = operation.getDefaultWeight();
+        }
+        File csv = null;
+        File database = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    database = new File(arg);
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--rows":
+                        rows = Integer.parseInt(value);
+                        break;
+                    case "--stations":
+                        stations = Integer.parseInt(value);
+                        break;
+                    case "--minutes":
+                        minutes = Long.parseLong(value);
+                        break;
+                    case "--think":
+                        thinkMillis = Integer.parseInt(value);
+                        break;
+                    case "--report":
+                        reportSeconds = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--csv":
+                        csv = new File(value);
+                        break;
+                    case "--profile":
+                        profile = parseProfile(value);
+                        break;
+                    case "--mix":
+                        weights = parseMix(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (database == null) {
+                throw new IllegalArgumentException("No database file given.");
+            }
+            if (stations <= 0 || reportSeconds <= 0 || rows < 0 || minutes < 0 || thinkMillis < 0) {
+                throw new IllegalArgumentException("Counts and durations must not be negative.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java WATSSwingApp.LoadGenerator [--rows N] [--stations N] [--minutes N] "
+                    + "[--mix insert=5,update=15,delete=2,lookup=50,list=20,aggregate=8] [--think MILLIS] "
+                    + "[--report SECONDS] [--profile NAME] [--csv FILE] [--seed N] database");
+            System.exit(1);
+            return;
+        }
+
+        DatabaseManager dbManager = new DatabaseManager(database.getAbsolutePath());
+        dbManager.migrateSchema();
+        LoadGenerator generator = new LoadGenerator(dbManager, profile, weights, seed);
+        generator.fill(rows);
+        if (minutes > 0) {
+            generator.run(stations, TimeUnit.MINUTES.toMillis(minutes), thinkMillis, reportSeconds, csv);
+        }
+        dbManager.close();
+    }
+
+    /**
+     * Fills the database with synthetic records until it holds at least the given number.
+     *
+     * @param rows the number of records the database should hold
+     * @throws SQLException if the records cannot be inserted
+     */
+    public void fill(int rows) throws SQLException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD);
+             Statement stmt = conn.createStatement()) {
+            long existing;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*), COALESCE(MIN(id), 1), COALESCE(MAX(id), 0) FROM WildAnimals")) {
+                rs.next();
+                existing = rs.getLong(1);
+                firstId = rs.getInt(2);
+                nextId.set(rs.getInt(3) + 1);
+            }
+            if (existing >= rows) {
+                System.out.printf("Database holds %d records.%n", existing);
+                return;
+            }
+
+            Random random = new Random(seed);
+            long start = System.nanoTime();
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+                for (long added = existing; added < rows; added++) {
+                    bindRandomAnimal(insert, nextId.getAndIncrement(), random);
+                    insert.addBatch();
+                    if ((added + 1) % FILL_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        conn.commit();
+                    }
+                }
+                insert.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            dbManager.recordWrites(rows - existing);
+            System.out.printf("Added %d synthetic records in %.1f s; database holds %d records.%n",
+                    rows - existing, (System.nanoTime() - start) / 1e9, rows);
+        }
+    }
+
+    /**
+     * Runs the stations for the given time, printing a report after every interval and a summary at the end.
+     * <p>
+     * Interrupting the process (for example with Ctrl+C) stops the stations early and still prints the summary.
+     * </p>
+     *
+     * @param stations       the number of concurrent stations
+     * @param durationMillis the length of the run in milliseconds
+     * @param thinkMillis    the pause of each station between operations in milliseconds
+     * @param reportSeconds  the time between interval reports in seconds
+     * @param csv            the file interval reports are appended to, or {@code null}
+     * @throws IOException          if the CSV file cannot be written
+     * @throws InterruptedException if the reporting thread is interrupted
+     */
+    public void run(int stations, long durationMillis, int thinkMillis, int reportSeconds, File csv)
+            throws IOException, InterruptedException {
+        System.out.printf("Running %d station(s) for %d minute(s) on %s with the %s profile.%n",
+                stations, TimeUnit.MILLISECONDS.toMinutes(durationMillis), dbManager.getDbPath(), profile.getDisplayName());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i <= stations; i++) {
+            Random random = new Random(seed + i);
+            threads.add(new Thread(() -> runStation(random, thinkMillis), "wats-station-" + i));
+        }
+
+        CountDownLatch finished = new CountDownLatch(1);
+        Thread reporter = Thread.currentThread();
+        Thread hook = new Thread(() -> {
+            running = false;
+            reporter.interrupt();
+            try {
+                finished.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(hook);
+
+        long start = System.nanoTime();
+        long end = System.currentTimeMillis() + durationMillis;
+        try (PrintWriter csvOut = csv != null ? new PrintWriter(new FileWriter(csv, true)) : null) {
+            if (csvOut != null && csv.length() == 0) {
+                csvOut.println("elapsedSeconds,operation,operations,perSecond,p50Ms,p95Ms,p99Ms,maxMs,"
+                        + "errors,misses,conflicts,busyRetries,contended,lockWaitMs");
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+
+            long intervalStart = System.nanoTime();
+            try {
+                while (running && System.currentTimeMillis() < end) {
+                    Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(reportSeconds), Math.max(1, end - System.currentTimeMillis())));
+                    long now = System.nanoTime();
+                    Map<LoadOperation, LoadStatistics> window = interval.getAndSet(newStatistics());
+                    printReport("Interval ending " + elapsed(now - start), window, now - intervalStart);
+                    if (csvOut != null) {
+                        writeCsv(csvOut, (now - start) / 1_000_000_000L, window, now - intervalStart);
+                    }
+                    intervalStart = now;
+                }
+            } catch (InterruptedException e) {
+                // Stopped early; fall through to the summary
+            }
+
+            running = false;
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            printReport("Summary after " + elapsed(System.nanoTime() - start), total, System.nanoTime() - start);
+        } finally {
+            finished.countDown();
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Performs randomly chosen operations until the run ends.
+     *
+     * @param random      the station's random source
+     * @param thinkMillis the pause between operations in milliseconds
+     */
+    private void runStation(Random random, int thinkMillis) {
+        LoadOperation[] operations = LoadOperation.values();
+        int sum = cumulativeWeights[cumulativeWeights.length - 1];
+        while (running) {
+            int pick = random.nextInt(sum);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            perform(operations[index], random);
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs one operation, retrying while the database is locked, and records its measurements.
+     *
+     * @param operation the operation to perform
+     * @param random    the station's random source
+     */
+    private void perform(LoadOperation operation, Random random) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(profile.getBusyTimeoutMillis());
+        long backoff = MIN_BACKOFF_MILLIS;
+        int retries = 0;
+        long waitNanos = 0;
+
+        while (true) {
+            try {
+                int outcome = execute(operation, random);
+                record(operation, System.nanoTime() - start, retries, waitNanos, false, outcome);
+                return;
+            } catch (SQLException e) {
+                if (isBusy(e) && System.nanoTime() < deadline) {
+                    retries++;
+                    long pauseStart = System.nanoTime();
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    waitNanos += System.nanoTime() - pauseStart;
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                    continue;
+                }
+                if (reportedErrors.add(operation.getName() + ": " + e.getMessage())) {
+                    System.err.println("Error in " + operation.getName() + ": " + e.getMessage());
+                }
+                record(operation, System.nanoTime() - start, retries, waitNanos, true, OK);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Executes one attempt of an operation on a new connection.
+     *
+     * @param operation the operation to execute
+     * @param random    the station's random source
+     * @return {@link #OK}, {@link #MISS} or {@link #CONFLICT}
+     * @throws SQLException if the attempt fails, including when the database is locked
+     */
+    private int execute(LoadOperation operation, Random random) throws SQLException {
+        try (Connection conn = dbManager.connect(profile)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = 0");
+            }
+            switch (operation) {
+                case INSERT:
+                    return insert(conn, random);
+                case UPDATE:
+                    return update(conn, random);
+                case DELETE:
+                    return delete(conn, random);
+                case LOOKUP:
+                    return lookup(conn, random);
+                case LIST:
+                    return list(conn, random);
+                default:
+                    return aggregate(conn, random);
+            }
+        }
+    }
+
+    /**
+     * Inserts a synthetic record with a new Tag ID.
+     *
+     * @param conn   the station's connection
+     * @param random the station's random source
+     * @return {@link #OK}
+     * @throws SQLException if the insert fails
+     */
+    private int insert(Connection conn, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            bindRandomAnimal(stmt, nextId.getAndIncrement(), random);
+            stmt.executeUpdate();
+        }
+        dbManager.recordWrites(1);
+        return OK;
+    }
+
+    /**
+     * Reads a record and writes back a new weight if nobody changed it in between, as
+     * {@link DatabaseManager#updateWildAnimal(WildAnimal)} does.
+     *
+     * @param conn   the station's connection
+     * @param random the station's random source
+     * @return {@link #OK}, {@link #MISS} if the record does not exist, or {@link #CONFLICT}
+     * @throws SQLException if the read or the update fails
+     */
+    private int update(Connection conn, Random random) throws SQLException {
+        int id = randomExistingId(random);
+        int version;
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT " + AnimalRecord.SELECT_COLUMNS
+                + " FROM WildAnimals WHERE id = ?")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return MISS;
+                }
+                version = AnimalRecord.fromResultSet(rs).getVersion();
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE WildAnimals SET weight = ?, "
+                + "version = version + 1, lastModified = ? WHERE id = ? AND version = ?")) {
+            stmt.setDouble(1, randomWeight(random, randomSpecies(random)));
+            stmt.setLong(2, System.currentTimeMillis());
+            stmt.setInt(3, id);
+            stmt.setInt(4, version);
+            if (stmt.executeUpdate() == 0) {
+                return CONFLICT;
+            }
+        }
+        dbManager.recordWrites(1);
+        return OK;
+    }
+
+    /**
+     * Deletes a record by Tag ID.
+     *
+     * @param conn   the station's connection
+     * @param random the station's random source
+     * @return {@link #OK}, or {@link #MISS} if the record does not exist
+     * @throws SQLException if the delete fails
+     */
+    private int delete(Connection conn, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM WildAnimals WHERE id = ?")) {
+            stmt.setInt(1, randomExistingId(random));
+            if (stmt.executeUpdate() == 0) {
+                return MISS;
+            }
+        }
+        dbManager.recordWrites(1);
+        return OK;
+    }
+
+    /**
+     * Reads one record by Tag ID.
+     *
+     * @param conn   the station's connection
+     * @param random the station's random source
+     * @return {@link #OK}, or {@link #MISS} if the record does not exist
+     * @throws SQLException if the read fails
+     */
+    private int lookup(Connection conn, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals WHERE id = ?")) {
+            stmt.setInt(1, randomExistingId(random));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return MISS;
+                }
+                AnimalRecord.fromResultSet(rs);
+                return OK;
+            }
+        }
+    }
+
+    /**
+     * Reads one page of the table starting at a random Tag ID, as
+     * {@link DatabaseManager#getAnimalRecordPage(int, int)} does.
+     *
+     * @param conn   the station's connection
+     * @param random the station's random source
+     * @return {@link #OK}, or {@link #MISS} if the page is empty
+     * @throws SQLException if the read fails
+     */
+    private int list(Connection conn, Random random) throws SQLException {
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT " + AnimalRecord.SELECT_COLUMNS
+                + " FROM WildAnimals WHERE id > ? ORDER BY id LIMIT ?")) {
+            stmt.setInt(1, randomExistingId(random) - 1);
+            stmt.setInt(2, LIST_PAGE_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    AnimalRecord.fromResultSet(rs);
+                    rows++;
+                }
+            }
+        }
+        return rows > 0 ? OK : MISS;
+    }
+
+    /**
+     * Computes the average weight of a species, common species more often than rare ones.
+     *
+     * @param conn   the station's connection
+     * @param random the station's random source
+     * @return {@link #OK}, or {@link #MISS} if the species has no records
+     * @throws SQLException if the query fails
+     */
+    private int aggregate(Connection conn, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT AVG(weight) AS avg_weight FROM WildAnimals WHERE species = ?")) {
+            stmt.setString(1, SPECIES[randomSpecies(random)]);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                rs.getDouble(1);
+                return rs.wasNull() ? MISS : OK;
+            }
+        }
+    }
+
+    /**
+     * Records the measurements of a finished operation in the current interval and the run total.
+     *
+     * @param operation    the operation
+     * @param latencyNanos the time from the first attempt until the operation finished
+     * @param retries      the number of attempts that found the database locked
+     * @param waitNanos    the time spent waiting between those attempts
+     * @param failed       whether the operation failed with an error
+     * @param outcome      {@link #OK}, {@link #MISS} or {@link #CONFLICT}
+     */
+    private void record(LoadOperation operation, long latencyNanos, int retries, long waitNanos, boolean failed, int outcome) {
+        for (LoadStatistics stats : new LoadStatistics[] { interval.get().get(operation), total.get(operation) }) {
+            stats.record(latencyNanos, retries, waitNanos, failed);
+            if (outcome == MISS) {
+                stats.recordMiss();
+            } else if (outcome == CONFLICT) {
+                stats.recordConflict();
+            }
+        }
+    }
+
+    /**
+     * Binds a synthetic animal to the parameters of {@link #INSERT_SQL}.
+     *
+     * @param stmt   the insert statement
+     * @param id     the Tag ID of the new record
+     * @param random the random source
+     * @throws SQLException if a parameter cannot be bound
+     */
+    private void bindRandomAnimal(PreparedStatement stmt, int id, Random random) throws SQLException {
+        int species = randomSpecies(random);
+        int genderRoll = random.nextInt(100);
+        int healthRoll = random.nextInt(100);
+        int health = 0;
+        while (HEALTH_CUMULATIVE[health] <= healthRoll) {
+            health++;
+        }
+
+        stmt.setInt(1, id);
+        stmt.setString(2, SPECIES[species]);
+        stmt.setString(3, NAMES[random.nextInt(NAMES.length)] + " " + id);
+        stmt.setInt(4, Math.min(40, (int) Math.abs(random.nextGaussian() * 5)));
+        stmt.setString(5, (genderRoll < 48 ? Gender.MALE : genderRoll < 96 ? Gender.FEMALE : Gender.UNKNOWN).getDisplayName());
+        stmt.setDouble(6, randomWeight(random, species));
+        stmt.setString(7, HEALTH[health].getDisplayName());
+        stmt.setLong(8, System.currentTimeMillis());
+    }
+
+    /**
+     * Picks a species index, common species more often than rare ones.
+     *
+     * @param random the random source
+     * @return an index into {@link #SPECIES}
+     */
+    private int randomSpecies(Random random) {
+        double pick = random.nextDouble() * speciesCumulative[speciesCumulative.length - 1];
+        int index = 0;
+        while (index < speciesCumulative.length - 1 && speciesCumulative[index] <= pick) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Draws a weight around a species' typical weight from a log-normal distribution.
+     *
+     * @param random  the random source
+     * @param species an index into {@link #SPECIES}
+     * @return the weight in kilograms, rounded to two decimal places
+     */
+    private static double randomWeight(Random random, int species) {
+        return Math.round(MEAN_WEIGHTS[species] * Math.exp(random.nextGaussian() * 0.25) * 100) / 100.0;
+    }
+
+    /**
+     * Picks a Tag ID between the lowest ID at the start of the run and the last inserted ID.
+     *
+     * @param random the random source
+     * @return a Tag ID that probably exists
+     */
+    private int randomExistingId(Random random) {
+        int first = firstId;
+        return first + random.nextInt(Math.max(1, nextId.get() - first));
+    }
+
+    /**
+     * Prints a report table with one line per operation.
+     *
+     * @param title       the report title
+     * @param window      the measurements to report
+     * @param windowNanos the length of the measured window in nanoseconds
+     */
+    private static void printReport(String title, Map<LoadOperation, LoadStatistics> window, long windowNanos) {
+        double seconds = Math.max(1e-9, windowNanos / 1e9);
+        long operations = 0;
+        System.out.printf("%n=== %s ===%n", title);
+        System.out.printf("%-10s %10s %9s %9s %9s %9s %7s %7s %9s %8s %9s %11s%n", "Operation", "ops/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "misses", "conflicts", "busy", "contended", "lock ms");
+        for (Map.Entry<LoadOperation, LoadStatistics> entry : window.entrySet()) {
+            LoadStatistics stats = entry.getValue();
+            operations += stats.getOperations();
+            System.out.printf("%-10s %10.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %9d %8d %9d %11.0f%n",
+                    entry.getKey().getName(), stats.getOperations() / seconds,
+                    stats.latencyMillis(0.5), stats.latencyMillis(0.95), stats.latencyMillis(0.99), stats.latencyMillis(1),
+                    stats.getErrors(), stats.getMisses(), stats.getConflicts(),
+                    stats.getBusyRetries(), stats.getContendedOperations(), stats.getLockWaitMillis());
+        }
+        System.out.printf("%-10s %10.1f%n", "all", operations / seconds);
+    }
+
+    /**
+     * Appends one CSV line per operation for an interval.
+     *
+     * @param out            the CSV writer
+     * @param elapsedSeconds the seconds since the run started
+     * @param window         the measurements of the interval
+     * @param windowNanos    the length of the interval in nanoseconds
+     */
+    private static void writeCsv(PrintWriter out, long elapsedSeconds, Map<LoadOperation, LoadStatistics> window, long windowNanos) {
+        double seconds = Math.max(1e-9, windowNanos / 1e9);
+        for (Map.Entry<LoadOperation, LoadStatistics> entry : window.entrySet()) {
+            LoadStatistics stats = entry.getValue();
+            out.printf("%d,%s,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%.1f%n", elapsedSeconds,
+                    entry.getKey().getName(), stats.getOperations(), stats.getOperations() / seconds,
+                    stats.latencyMillis(0.5), stats.latencyMillis(0.95), stats.latencyMillis(0.99), stats.latencyMillis(1),
+                    stats.getErrors(), stats.getMisses(), stats.getConflicts(),
+                    stats.getBusyRetries(), stats.getContendedOperations(), stats.getLockWaitMillis());
+        }
+        out.flush();
+    }
+
+    /**
+     * Determines whether a failure was caused by another connection holding a lock.
+     *
+     * @param e the failure
+     * @return {@code true} for {@code SQLITE_BUSY} and {@code SQLITE_LOCKED}, including their extended codes
+     */
+    private static boolean isBusy(SQLException e) {
+        int primary = e.getErrorCode() & 0xff;
+        String message = e.getMessage() != null ? e.getMessage() : "";
+        return primary == 5 || primary == 6 || message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED");
+    }
+
+    /**
+     * Creates an empty set of measurements for every operation.
+     *
+     * @return the measurements in operation order
+     */
+    private static Map<LoadOperation, LoadStatistics> newStatistics() {
+        Map<LoadOperation, LoadStatistics> stats = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            stats.put(operation, new LoadStatistics());
+        }
+        return stats;
+    }
+
+    /**
+     * Parses an operation mix such as {@code insert=5,lookup=95}.
+     *
+     * @param mix the mix
+     * @return the weight of each operation, indexed by ordinal; operations left out have weight zero
+     * @throws IllegalArgumentException if an entry is malformed, names an unknown operation, or every weight is zero
+     */
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[LoadOperation.values().length];
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix entry: " + entry);
+            }
+            weights[LoadOperation.fromName(parts[0]).ordinal()] = weight;
+        }
+        if (Arrays.stream(weights).sum() == 0) {
+            throw new IllegalArgumentException("The operation mix must contain at least one operation.");
+        }
+        return weights;
+    }
+
+    /**
+     * Looks up a performance profile by its display or constant name.
+     *
+     * @param name the name, ignoring case
+     * @return the matching profile
+     * @throws IllegalArgumentException if no profile has that name
+     */
+    private static PerformanceProfile parseProfile(String name) {
+        for (PerformanceProfile profile : PerformanceProfile.values()) {
+            if (profile.getDisplayName().equalsIgnoreCase(name) || profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown profile: " + name);
+    }
+
+    /**
+     * Formats an elapsed time.
+     *
+     * @param nanos the elapsed time in nanoseconds
+     * @return the time as {@code hh:mm:ss}
+     */
+    private static String elapsed(long nanos) {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(nanos);
+        return String.format("%02d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: LoadOperation.java
+ *
+ * This enum defines the kinds of database operations a simulated field station performs during a
+ * load test, together with their share of the default operation mix.
+ */
+package WATSSwingApp;
+
+/**
+ * An operation driven by {@link LoadGenerator} against a WATS database.
+ * <p>
+ * Each operation issues the same statements as the corresponding application feature, so measured latencies
+ * reflect what a user at a station would experience.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum LoadOperation {
+
+    /** Adds a new animal record, as the Add Animal Record dialog does. */
+    INSERT("insert", 5),
+
+    /** Reads a record and writes it back with a new weight, using optimistic concurrency control. */
+    UPDATE("update", 15),
+
+    /** Deletes a record by Tag ID. */
+    DELETE("delete", 2),
+
+    /** Reads a single record by Tag ID. */
+    LOOKUP("lookup", 50),
+
+    /** Reads one page of the animal table, as the table loader does. */
+    LIST("list", 20),
+
+    /** Computes the average weight of a species, as the Average Weight dialog does. */
+    AGGREGATE("aggregate", 8);
+
+    /** Name used on the command line and in reports. */
+    private final String name;
+
+    /** Relative weight of the operation in the default mix. */
+    private final int defaultWeight;
+
+    /**
+     * Constructs a load operation.
+     *
+     * @param name          name used on the command line and in reports
+     * @param defaultWeight relative weight of the operation in the default mix
+     */
+    LoadOperation(String name, int defaultWeight) {
+        this.name = name;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /** @return the name used on the command line and in reports */
+    public String getName() { return name; }
+
+    /** @return the relative weight of the operation in the default mix */
+    public int getDefaultWeight() { return defaultWeight; }
+
+    /**
+     * Looks up an operation by its command-line name.
+     *
+     * @param name the name, ignoring case and surrounding spaces
+     * @return the matching operation
+     * @throws IllegalArgumentException if no operation has that name
+     */
+    public static LoadOperation fromName(String name) {
+        for (LoadOperation operation : values()) {
+            if (operation.name.equalsIgnoreCase(name.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: LoadStatistics.java
+ *
+ * This class accumulates the measurements of one kind of load test operation over a reporting
+ * window: how many ran, how long they took, and how often they had to wait for a database lock.
+ */
+package WATSSwingApp;
+
+/**
+ * Thread-safe measurements of one {@link LoadOperation} during a window of a {@link LoadGenerator} run.
+ * <p>
+ * Latencies are kept in a {@link KllSketch}, so percentiles stay accurate and memory stays constant however long a
+ * soak run lasts. A latency includes the time spent waiting for locks, which is also reported separately.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class LoadStatistics {
+
+    /** Number of operations that completed, including misses and conflicts. */
+    private long operations;
+
+    /** Number of operations that failed with an error. */
+    private long errors;
+
+    /** Number of operations whose Tag ID did not exist. */
+    private long misses;
+
+    /** Number of updates rejected because the record changed since it was read. */
+    private long conflicts;
+
+    /** Number of attempts that failed with {@code SQLITE_BUSY} or {@code SQLITE_LOCKED} and were retried. */
+    private long busyRetries;
+
+    /** Number of operations that had to wait for a lock at least once. */
+    private long contendedOperations;
+
+    /** Total time spent waiting for locks in nanoseconds. */
+    private long lockWaitNanos;
+
+    /** Latencies of completed and failed operations in milliseconds. */
+    private final KllSketch latencies = new KllSketch();
+
+    /**
+     * Records one finished operation.
+     *
+     * @param latencyNanos  the time from the first attempt until the operation finished
+     * @param retries       the number of attempts that found the database locked
+     * @param waitNanos     the time spent waiting between those attempts
+     * @param failed        whether the operation failed with an error
+     */
+    public synchronized void record(long latencyNanos, int retries, long waitNanos, boolean failed) {
+        if (failed) {
+            errors++;
+        } else {
+            operations++;
+        }
+        if (retries > 0) {
+            busyRetries += retries;
+            contendedOperations++;
+            lockWaitNanos += waitNanos;
+        }
+        latencies.update(latencyNanos / 1e6);
+    }
+
+    /** Records that an operation did not find its Tag ID. */
+    public synchronized void recordMiss() {
+        misses++;
+    }
+
+    /** Records that an update was rejected because the record changed since it was read. */
+    public synchronized void recordConflict() {
+        conflicts++;
+    }
+
+    /** @return the number of operations that completed, including misses and conflicts */
+    public synchronized long getOperations() { return operations; }
+
+    /** @return the number of operations that failed with an error */
+    public synchronized long getErrors() { return errors; }
+
+    /** @return the number of operations whose Tag ID did not exist */
+    public synchronized long getMisses() { return misses; }
+
+    /** @return the number of updates rejected because the record changed since it was read */
+    public synchronized long getConflicts() { return conflicts; }
+
+    /** @return the number of attempts that found the database locked and were retried */
+    public synchronized long getBusyRetries() { return busyRetries; }
+
+    /** @return the number of operations that had to wait for a lock at least once */
+    public synchronized long getContendedOperations() { return contendedOperations; }
+
+    /** @return the total time spent waiting for locks in milliseconds */
+    public synchronized double getLockWaitMillis() { return lockWaitNanos / 1e6; }
+
+    /**
+     * Estimates a latency percentile.
+     *
+     * @param fraction the percentile as a fraction, such as {@code 0.99}
+     * @return the latency in milliseconds, or {@code 0} if nothing was recorded
+     */
+    public synchronized double latencyMillis(double fraction) {
+        return latencies.isEmpty() ? 0 : latencies.quantile(fraction);
+    }
+}
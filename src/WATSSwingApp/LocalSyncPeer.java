@@ -0,0 +1,205 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: LocalSyncPeer.java
+ *
+ * This class is the sync peer for a database file on this machine. It answers digest
+ * requests from the trigger-maintained SyncDigests table and reads and writes records
+ * directly through the file's DatabaseManager. Records in the file's archive tier are
+ * reported as present so a sync does not copy them back.
+ */
+package WATSSwingApp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@link SyncPeer} backed by a local WATS database.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class LocalSyncPeer implements SyncPeer {
+
+    /** Reference to the database manager of the peer's database. */
+    private final DatabaseManager dbManager;
+
+    /** Archive tier of the peer's database. */
+    private final ArchiveStore archiveStore;
+
+    /**
+     * Constructs a new {@code LocalSyncPeer} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database; its schema must have been migrated
+     */
+    public LocalSyncPeer(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.archiveStore = new ArchiveStore(dbManager);
+    }
+
+    /**
+     * Returns the digests of the non-empty children of the given nodes.
+     * <p>
+     * Each parent covers a contiguous run of buckets, so its children are one range scan over the primary key of
+     * {@code SyncDigests}, grouped by child node.
+     * </p>
+     *
+     * @param parentLevel the tree level of the parent nodes
+     * @param parents     the parent nodes
+     * @return the digests of the non-empty child nodes
+     * @throws SQLException if the digests cannot be read
+     */
+    @Override
+    public List<RangeDigest> getChildDigests(int parentLevel, Collection<Long> parents) throws SQLException {
+        int childLevel = Math.max(0, parentLevel - SyncEngine.FANOUT_BITS);
+        List<RangeDigest> digests = new ArrayList<>();
+        String sql = "SELECT bucket >> ? AS node, SUM(rowCount), SUM(hash1), SUM(hash2) FROM SyncDigests "
+                + "WHERE bucket BETWEEN ? AND ? GROUP BY node";
+
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                for (long parent : parents) {
+                    stmt.setInt(1, childLevel);
+                    stmt.setLong(2, parent << parentLevel);
+                    stmt.setLong(3, ((parent + 1) << parentLevel) - 1);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            digests.add(new RangeDigest(childLevel, rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+                        }
+                    }
+                }
+            } finally {
+                conn.rollback();
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Returns the records and deletions in the given leaf buckets, and a marker for every archived record there.
+     * <p>
+     * The markers come first, so a record that is briefly in both tiers after an interrupted archive run is
+     * indexed by its live copy.
+     * </p>
+     *
+     * @param buckets the level {@code 0} nodes whose records are needed
+     * @return the archive markers, records and deletions in those buckets
+     * @throws SQLException if the records or the archive cannot be read
+     */
+    @Override
+    public List<SyncRecord> getRecords(Collection<Long> buckets) throws SQLException {
+        List<SyncRecord> records = new ArrayList<>();
+        for (int id : archiveStore.getArchivedIds(buckets)) {
+            records.add(SyncRecord.archived(id));
+        }
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement animals = conn.prepareStatement(
+                     "SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals WHERE id BETWEEN ? AND ?");
+             PreparedStatement tombstones = conn.prepareStatement(
+                     "SELECT id, deletedAt FROM SyncTombstones WHERE id BETWEEN ? AND ?")) {
+            conn.setAutoCommit(false);
+            try {
+                for (long bucket : buckets) {
+                    long first = SyncEngine.firstIdOf(bucket);
+                    long last = first + SyncEngine.LEAF_SPAN - 1;
+                    animals.setLong(1, first);
+                    animals.setLong(2, last);
+                    try (ResultSet rs = animals.executeQuery()) {
+                        while (rs.next()) {
+                            records.add(new SyncRecord(AnimalRecord.fromResultSet(rs)));
+                        }
+                    }
+                    tombstones.setLong(1, first);
+                    tombstones.setLong(2, last);
+                    try (ResultSet rs = tombstones.executeQuery()) {
+                        while (rs.next()) {
+                            records.add(new SyncRecord(rs.getInt(1), rs.getLong(2)));
+                        }
+                    }
+                }
+            } finally {
+                conn.rollback();
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Stores winning records and deletions exactly as the other side holds them.
+     * <p>
+     * Records keep the other side's version and modification time so the digests of both sides become equal.
+     * When the local row already has the incoming version, its version is first moved aside, because the
+     * {@code WildAnimals_version_bump} trigger would otherwise bump it and make the two sides differ again.
+     * </p>
+     *
+     * @param records the winning records and deletions
+     * @throws SQLException if the records cannot be stored; nothing is stored in that case
+     */
+    @Override
+    public void applyRecords(List<SyncRecord> records) throws SQLException {
+        if (records.isEmpty()) {
+            return;
+        }
+        try (Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD);
+             PreparedStatement unpin = conn.prepareStatement(
+                     "UPDATE WildAnimals SET version = -1 WHERE id = ? AND version = ?");
+             PreparedStatement upsert = conn.prepareStatement(
+                     "INSERT INTO WildAnimals (id, species, name, age, gender, weight, healthStatus, version, lastModified) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT(id) DO UPDATE SET "
+                             + "species = excluded.species, name = excluded.name, age = excluded.age, "
+                             + "gender = " + Gender.sqlKeepUnrecognized("gender", "excluded.gender")
+                             + ", weight = excluded.weight, healthStatus = "
+                             + HealthStatus.sqlKeepUnrecognized("healthStatus", "excluded.healthStatus") + ", "
+                             + "version = excluded.version, lastModified = excluded.lastModified");
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM WildAnimals WHERE id = ?");
+             PreparedStatement tombstone = conn.prepareStatement(
+                     "INSERT OR REPLACE INTO SyncTombstones (id, deletedAt) VALUES (?, ?)")) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (SyncRecord record : records) {
+                    if (record.isDeleted()) {
+                        delete.setInt(1, record.getId());
+                        delete.executeUpdate();
+                        tombstone.setInt(1, record.getId());
+                        tombstone.setLong(2, record.getModifiedAt());
+                        tombstone.executeUpdate();
+                        continue;
+                    }
+                    AnimalRecord animal = record.getRecord();
+                    unpin.setInt(1, animal.getId());
+                    unpin.setInt(2, animal.getVersion());
+                    unpin.executeUpdate();
+
+                    upsert.setInt(1, animal.getId());
+                    upsert.setString(2, animal.getSpecies());
+                    upsert.setString(3, animal.getName());
+                    upsert.setInt(4, animal.getAge());
+                    upsert.setString(5, animal.getGender().getDisplayName());
+                    upsert.setDouble(6, animal.getWeight());
+                    upsert.setString(7, animal.getHealthStatus().getDisplayName());
+                    upsert.setInt(8, animal.getVersion());
+                    upsert.setLong(9, animal.getLastModified());
+                    upsert.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        dbManager.recordWrites(records.size());
+        dbManager.invalidateTagIdIndex();
+    }
+}
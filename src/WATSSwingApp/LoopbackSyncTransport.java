@@ -0,0 +1,312 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: LoopbackSyncTransport.java
+ *
+ * This class stands in for a network link between two sync peers. Every request and reply
+ * is encoded to bytes and decoded again on the other side, exactly as a wire protocol would,
+ * so the sync engine can be exercised and its traffic measured without a server.
+ */
+package WATSSwingApp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@link SyncPeer} that reaches another peer through an in-memory byte stream.
+ * <p>
+ * Requests and replies are serialised with {@link DataOutputStream}, counted, optionally delayed by a fixed
+ * latency to imitate a slow link, and deserialised before they are handed to the target peer or returned to
+ * the caller. The byte counts show how much a real link would carry.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class LoopbackSyncTransport implements SyncPeer {
+
+    /** Wire tag of a live record. */
+    private static final byte KIND_LIVE = 0;
+
+    /** Wire tag of a deletion. */
+    private static final byte KIND_DELETED = 1;
+
+    /** Wire tag of a record held in the archive tier. */
+    private static final byte KIND_ARCHIVED = 2;
+
+    /** The peer on the far side of the link. */
+    private final SyncPeer target;
+
+    /** Simulated latency added to every round trip, in milliseconds. */
+    private final long latencyMillis;
+
+    /** Number of bytes sent to the target. */
+    private long bytesSent;
+
+    /** Number of bytes received from the target. */
+    private long bytesReceived;
+
+    /**
+     * Constructs a new {@code LoopbackSyncTransport}.
+     *
+     * @param target        the peer on the far side of the link
+     * @param latencyMillis simulated latency added to every round trip, in milliseconds
+     */
+    public LoopbackSyncTransport(SyncPeer target, long latencyMillis) {
+        this.target = target;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /** @return the number of bytes sent to the target */
+    public synchronized long getBytesSent() { return bytesSent; }
+
+    /** @return the number of bytes received from the target */
+    public synchronized long getBytesReceived() { return bytesReceived; }
+
+    /**
+     * Requests child digests from the target over the link.
+     *
+     * @param parentLevel the tree level of the parent nodes
+     * @param parents     the parent nodes
+     * @return the digests of the non-empty child nodes
+     * @throws SQLException if the target fails or the link cannot encode the messages
+     */
+    @Override
+    public List<RangeDigest> getChildDigests(int parentLevel, Collection<Long> parents) throws SQLException {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeInt(parentLevel);
+            writeLongs(out, parents);
+            DataInputStream request = send(buffer);
+            List<RangeDigest> digests = target.getChildDigests(request.readInt(), readLongs(request));
+
+            buffer = new ByteArrayOutputStream();
+            out = new DataOutputStream(buffer);
+            out.writeInt(digests.size());
+            for (RangeDigest digest : digests) {
+                out.writeByte(digest.getLevel());
+                out.writeLong(digest.getNode());
+                out.writeLong(digest.getRowCount());
+                out.writeLong(digest.getHash1());
+                out.writeLong(digest.getHash2());
+            }
+            DataInputStream reply = receive(buffer);
+            int count = reply.readInt();
+            List<RangeDigest> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(new RangeDigest(reply.readByte(), reply.readLong(), reply.readLong(), reply.readLong(),
+                        reply.readLong()));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new SQLException("Sync transport failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Requests the records of the given buckets from the target over the link.
+     *
+     * @param buckets the level {@code 0} nodes whose records are needed
+     * @return the records and deletions in those buckets
+     * @throws SQLException if the target fails or the link cannot encode the messages
+     */
+    @Override
+    public List<SyncRecord> getRecords(Collection<Long> buckets) throws SQLException {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writeLongs(new DataOutputStream(buffer), buckets);
+            List<SyncRecord> records = target.getRecords(readLongs(send(buffer)));
+
+            buffer = new ByteArrayOutputStream();
+            writeRecords(new DataOutputStream(buffer), records);
+            return readRecords(receive(buffer));
+        } catch (IOException e) {
+            throw new SQLException("Sync transport failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends winning records to the target over the link.
+     *
+     * @param records the winning records and deletions
+     * @throws SQLException if the target fails or the link cannot encode the messages
+     */
+    @Override
+    public void applyRecords(List<SyncRecord> records) throws SQLException {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writeRecords(new DataOutputStream(buffer), records);
+            target.applyRecords(readRecords(send(buffer)));
+
+            buffer = new ByteArrayOutputStream();
+            new DataOutputStream(buffer).writeBoolean(true);
+            receive(buffer);
+        } catch (IOException e) {
+            throw new SQLException("Sync transport failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delivers an encoded request to the far side.
+     *
+     * @param message the encoded request
+     * @return a stream reading the delivered request
+     */
+    private DataInputStream send(ByteArrayOutputStream message) {
+        byte[] bytes = message.toByteArray();
+        synchronized (this) {
+            bytesSent += bytes.length;
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Delivers an encoded reply back to the caller after the simulated latency.
+     *
+     * @param message the encoded reply
+     * @return a stream reading the delivered reply
+     * @throws IOException if the wait is interrupted
+     */
+    private DataInputStream receive(ByteArrayOutputStream message) throws IOException {
+        byte[] bytes = message.toByteArray();
+        synchronized (this) {
+            bytesReceived += bytes.length;
+        }
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the link.", e);
+            }
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Writes a counted list of numbers.
+     *
+     * @param out    the stream to write to
+     * @param values the numbers
+     * @throws IOException if writing fails
+     */
+    private static void writeLongs(DataOutputStream out, Collection<Long> values) throws IOException {
+        out.writeInt(values.size());
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Reads a counted list of numbers.
+     *
+     * @param in the stream to read from
+     * @return the numbers
+     * @throws IOException if reading fails
+     */
+    private static List<Long> readLongs(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Long> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(in.readLong());
+        }
+        return values;
+    }
+
+    /**
+     * Writes a counted list of records, deletions and archive markers.
+     *
+     * @param out     the stream to write to
+     * @param records the records, deletions and archive markers
+     * @throws IOException if writing fails
+     */
+    private static void writeRecords(DataOutputStream out, List<SyncRecord> records) throws IOException {
+        out.writeInt(records.size());
+        for (SyncRecord record : records) {
+            out.writeInt(record.getId());
+            out.writeByte(record.isArchived() ? KIND_ARCHIVED : record.isDeleted() ? KIND_DELETED : KIND_LIVE);
+            out.writeLong(record.getModifiedAt());
+            if (record.getRecord() == null) {
+                continue;
+            }
+            AnimalRecord animal = record.getRecord();
+            writeString(out, animal.getSpecies());
+            writeString(out, animal.getName());
+            out.writeInt(animal.getAge());
+            out.writeByte(animal.getGender().ordinal());
+            out.writeDouble(animal.getWeight());
+            out.writeByte(animal.getHealthStatus().ordinal());
+            out.writeInt(animal.getVersion());
+        }
+    }
+
+    /**
+     * Reads a counted list of records, deletions and archive markers.
+     *
+     * @param in the stream to read from
+     * @return the records, deletions and archive markers
+     * @throws IOException if reading fails
+     */
+    private static List<SyncRecord> readRecords(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<SyncRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = in.readInt();
+            byte kind = in.readByte();
+            long modifiedAt = in.readLong();
+            if (kind == KIND_DELETED) {
+                records.add(new SyncRecord(id, modifiedAt));
+                continue;
+            }
+            if (kind == KIND_ARCHIVED) {
+                records.add(SyncRecord.archived(id));
+                continue;
+            }
+            String species = readString(in);
+            String name = readString(in);
+            int age = in.readInt();
+            Gender gender = Gender.fromCode(in.readByte());
+            double weight = in.readDouble();
+            HealthStatus healthStatus = HealthStatus.fromCode(in.readByte());
+            int version = in.readInt();
+            records.add(new SyncRecord(new AnimalRecord(id, species, name, age, gender, weight, healthStatus,
+                    version, modifiedAt)));
+        }
+        return records;
+    }
+
+    /**
+     * Writes a string that may be {@code null}.
+     *
+     * @param out   the stream to write to
+     * @param value the string, or {@code null}
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in the stream to read from
+     * @return the string, or {@code null}
+     * @throws IOException if reading fails
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,389 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: MaintenanceScheduler.java
+ *
+ * This class keeps the open database healthy in the background. While the application is idle it
+ * checkpoints a growing WAL file, returns free pages to the file system with incremental vacuum,
+ * refreshes the query planner statistics after enough rows have changed, and keeps the species
+ * sketches up to date. Every action is recorded in a short log that can be shown to the user.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs background maintenance on a WATS database during idle periods.
+ * <p>
+ * Every {@link #CHECK_INTERVAL_SECONDS} seconds the scheduler checks whether the application has left the
+ * database alone for at least {@link #IDLE_MILLIS} milliseconds. If so, it runs only the tasks whose adaptive
+ * triggers have fired:
+ * </p>
+ * <ul>
+ *     <li><b>WAL checkpoint</b> – a passive checkpoint once the {@code -wal} file grows past
+ *     {@link #WAL_CHECKPOINT_BYTES}. Passive checkpoints never wait for readers or writers.</li>
+ *     <li><b>Incremental vacuum</b> – when the free list exceeds {@link #FREE_PAGE_THRESHOLD} pages or
+ *     {@link #FREE_PAGE_RATIO} of the file, up to {@link #MAX_VACUUM_PAGES} pages are released per run so a
+ *     single run stays short.</li>
+ *     <li><b>Statistics</b> – {@code PRAGMA optimize} after {@link #OPTIMIZE_WRITE_THRESHOLD} rows have been
+ *     written through the {@link DatabaseManager}, or at least once a day. A database that has never been
+ *     analyzed gets a full {@code ANALYZE} first.</li>
+ *     <li><b>Sketches</b> – inserts logged since the last run are folded into the stored species sketches, and
+ *     species with updated or deleted records are rebuilt (see {@link SketchStore}).</li>
+ * </ul>
+ *
+ * <p>Databases created before incremental auto-vacuum was enabled are only converted by {@link #compact()},
+ * which the user runs explicitly, because the full {@code VACUUM} blocks every writer until the file has been
+ * rewritten.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class MaintenanceScheduler {
+
+    /** Time between idle checks in seconds. */
+    private static final long CHECK_INTERVAL_SECONDS = 30;
+
+    /** Time without database activity after which the application counts as idle, in milliseconds. */
+    private static final long IDLE_MILLIS = 60_000;
+
+    /** WAL file size above which a passive checkpoint is run, in bytes. */
+    private static final long WAL_CHECKPOINT_BYTES = 16L * 1024 * 1024;
+
+    /** Number of free pages above which an incremental vacuum is run. */
+    private static final long FREE_PAGE_THRESHOLD = 1_000;
+
+    /** Fraction of free pages above which an incremental vacuum is run, regardless of the page count. */
+    private static final double FREE_PAGE_RATIO = 0.10;
+
+    /** Maximum number of pages released by one incremental vacuum. */
+    private static final int MAX_VACUUM_PAGES = 2_000;
+
+    /** Number of rows written since the last optimization after which statistics are refreshed. */
+    private static final long OPTIMIZE_WRITE_THRESHOLD = 1_000;
+
+    /** Longest time between statistics refreshes, in milliseconds. */
+    private static final long OPTIMIZE_INTERVAL_MILLIS = 24L * 60 * 60 * 1000;
+
+    /** Number of rows sampled per index by {@code ANALYZE}, keeping it fast on large tables. */
+    private static final int ANALYSIS_LIMIT = 400;
+
+    /** Maximum number of entries kept in the maintenance log. */
+    private static final int LOG_CAPACITY = 200;
+
+    /** Timestamp pattern used in log entries. */
+    private static final String LOG_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /** Reference to the database manager of the database being maintained. */
+    private final DatabaseManager dbManager;
+
+    /** Background executor running the idle checks at low priority. */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wats-maintenance");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /** Lock held while maintenance runs, so scheduled and manual runs never overlap. */
+    private final Object runLock = new Object();
+
+    /** Most recent maintenance log entries, oldest first. */
+    private final Deque<String> log = new ArrayDeque<>();
+
+    /** The scheduled idle check, or {@code null} if the scheduler is not running. */
+    private ScheduledFuture<?> checkTask;
+
+    /** Activity time left behind by the scheduler's own connections, which does not count as use. */
+    private volatile long ownActivityMillis;
+
+    /** Time of the last database activity not caused by the scheduler. */
+    private long lastUserActivityMillis;
+
+    /** Write count of the {@link DatabaseManager} at the last statistics refresh. */
+    private long writesAtLastOptimize;
+
+    /** Time of the last statistics refresh, or {@code 0} if none has run yet. */
+    private long lastOptimizeMillis;
+
+    /**
+     * Constructs a new {@code MaintenanceScheduler} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database to maintain
+     */
+    public MaintenanceScheduler(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.lastUserActivityMillis = dbManager.getLastActivityMillis();
+        this.writesAtLastOptimize = dbManager.getWriteCount();
+    }
+
+    /**
+     * Starts the periodic idle checks. Calling this method again has no effect.
+     */
+    public synchronized void start() {
+        if (checkTask == null) {
+            checkTask = executor.scheduleWithFixedDelay(this::runIfIdle,
+                    CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic idle checks. A maintenance run already in progress is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (checkTask != null) {
+            checkTask.cancel(false);
+            checkTask = null;
+        }
+    }
+
+    /**
+     * Stops the idle checks and the background thread. Called when the database is closed or replaced.
+     */
+    public void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs every maintenance task immediately, ignoring the idle check and the adaptive thresholds.
+     * <p>
+     * This method blocks until maintenance is complete and should be called off the Event Dispatch Thread.
+     * It never rewrites the whole file; see {@link #compact()}.
+     * </p>
+     *
+     * @return descriptions of the actions taken
+     * @throws SQLException if a maintenance statement fails
+     */
+    public List<String> runNow() throws SQLException {
+        return runMaintenance(true);
+    }
+
+    /**
+     * Rebuilds the database with {@code VACUUM}, switching it to incremental auto-vacuum so later free pages can
+     * be released by idle maintenance.
+     * <p>
+     * This method blocks until the file has been rewritten and should be called off the Event Dispatch Thread.
+     * Other writers wait for the whole rewrite.
+     * </p>
+     *
+     * @return a description of the rebuild
+     * @throws SQLException if the vacuum fails
+     */
+    public String compact() throws SQLException {
+        String action;
+        synchronized (runLock) {
+            try (Connection conn = dbManager.connect(PerformanceProfile.INTERACTIVE);
+                 Statement stmt = conn.createStatement()) {
+                long pageCount = queryLong(stmt, "PRAGMA page_count");
+                long freePages = queryLong(stmt, "PRAGMA freelist_count");
+                // Changing auto_vacuum on an existing database only takes effect after a full VACUUM
+                stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+                stmt.execute("VACUUM");
+                action = String.format("Compacted: rebuilt %d pages, %d were free; incremental auto-vacuum is on",
+                        pageCount, freePages);
+            } finally {
+                ownActivityMillis = dbManager.getLastActivityMillis();
+            }
+        }
+        record(action);
+        return action;
+    }
+
+    /**
+     * @return a copy of the maintenance log, oldest entry first
+     */
+    public List<String> getLog() {
+        synchronized (log) {
+            return new ArrayList<>(log);
+        }
+    }
+
+    /**
+     * Runs maintenance if nobody else has used the database for {@link #IDLE_MILLIS} milliseconds.
+     * <p>
+     * Exceptions are logged rather than thrown, so a failed run does not cancel the schedule.
+     * </p>
+     */
+    private void runIfIdle() {
+        long activity = dbManager.getLastActivityMillis();
+        if (activity != ownActivityMillis) {
+            lastUserActivityMillis = activity;
+        }
+        if (System.currentTimeMillis() - lastUserActivityMillis < IDLE_MILLIS) {
+            return;
+        }
+        try {
+            runMaintenance(false);
+        } catch (SQLException e) {
+            record("Maintenance failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the maintenance tasks whose triggers have fired and records what was done.
+     *
+     * @param force whether to run every task regardless of its threshold
+     * @return descriptions of the actions taken
+     * @throws SQLException if a maintenance statement fails
+     */
+    private List<String> runMaintenance(boolean force) throws SQLException {
+        List<String> actions = new ArrayList<>();
+        synchronized (runLock) {
+            try (Connection conn = dbManager.connect(PerformanceProfile.INTERACTIVE);
+                 Statement stmt = conn.createStatement()) {
+                refreshSketches(actions);
+                checkpoint(stmt, force, actions);
+                vacuum(stmt, force, actions);
+                optimize(stmt, force, actions);
+            } finally {
+                ownActivityMillis = dbManager.getLastActivityMillis();
+            }
+        }
+
+        if (force && actions.isEmpty()) {
+            actions.add("Nothing to do.");
+        }
+        for (String action : actions) {
+            record(action);
+        }
+        return actions;
+    }
+
+    /**
+     * Folds the writes made since the last run into the stored species sketches.
+     *
+     * @param actions receives a description of the refresh
+     * @throws SQLException if the sketches cannot be updated
+     */
+    private void refreshSketches(List<String> actions) throws SQLException {
+        int updated = new SketchStore(dbManager).refresh();
+        if (updated > 0) {
+            actions.add(String.format("Sketches: %d species updated", updated));
+        }
+    }
+
+    /**
+     * Runs a passive WAL checkpoint when the WAL file has grown past its threshold.
+     *
+     * @param stmt    the statement to run the checkpoint with
+     * @param force   whether to checkpoint regardless of the WAL size
+     * @param actions receives a description of the checkpoint
+     * @throws SQLException if the checkpoint fails
+     */
+    private void checkpoint(Statement stmt, boolean force, List<String> actions) throws SQLException {
+        long walBytes = new File(dbManager.getDbPath() + "-wal").length();
+        if (!force && walBytes < WAL_CHECKPOINT_BYTES) {
+            return;
+        }
+        try (ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(PASSIVE)")) {
+            if (rs.next()) {
+                actions.add(String.format("WAL checkpoint (%d KB): %d of %d frames copied%s",
+                        walBytes / 1024, rs.getInt(3), rs.getInt(2), rs.getInt(1) != 0 ? ", readers busy" : ""));
+            }
+        }
+    }
+
+    /**
+     * Releases free pages with incremental vacuum. Databases without incremental auto-vacuum are left to
+     * {@link #compact()}.
+     *
+     * @param stmt    the statement to run the vacuum with
+     * @param force   whether to vacuum regardless of the free page thresholds
+     * @param actions receives a description of the vacuum
+     * @throws SQLException if the vacuum fails
+     */
+    private void vacuum(Statement stmt, boolean force, List<String> actions) throws SQLException {
+        if (queryLong(stmt, "PRAGMA auto_vacuum") != 2) {
+            return;
+        }
+        long pageCount = queryLong(stmt, "PRAGMA page_count");
+        long freePages = queryLong(stmt, "PRAGMA freelist_count");
+        double freeRatio = pageCount == 0 ? 0 : (double) freePages / pageCount;
+        if (freePages == 0 || (!force && freePages < FREE_PAGE_THRESHOLD && freeRatio < FREE_PAGE_RATIO)) {
+            return;
+        }
+        // Each step of the pragma releases one page, so the result set has to be read to the end
+        try (ResultSet rs = stmt.executeQuery("PRAGMA incremental_vacuum(" + MAX_VACUUM_PAGES + ")")) {
+            while (rs.next()) {
+                // Drain
+            }
+        }
+        long remaining = queryLong(stmt, "PRAGMA freelist_count");
+        actions.add(String.format("Incremental vacuum: released %d of %d free pages", freePages - remaining, freePages));
+    }
+
+    /**
+     * Refreshes the query planner statistics when enough rows have changed or a day has passed.
+     *
+     * @param stmt    the statement to run the analysis with
+     * @param force   whether to refresh regardless of the write count and the last refresh time
+     * @param actions receives a description of the refresh
+     * @throws SQLException if the analysis fails
+     */
+    private void optimize(Statement stmt, boolean force, List<String> actions) throws SQLException {
+        long writes = dbManager.getWriteCount();
+        long changed = writes - writesAtLastOptimize;
+        boolean due = System.currentTimeMillis() - lastOptimizeMillis >= OPTIMIZE_INTERVAL_MILLIS;
+        if (!force && !due && changed < OPTIMIZE_WRITE_THRESHOLD) {
+            return;
+        }
+
+        stmt.execute("PRAGMA analysis_limit = " + ANALYSIS_LIMIT);
+        if (queryLong(stmt, "SELECT COUNT(*) FROM sqlite_master WHERE name = 'sqlite_stat1'") == 0) {
+            stmt.execute("ANALYZE");
+            actions.add("ANALYZE: collected statistics for the first time");
+        } else {
+            // 0x10002 checks every table, not only the ones queried on this connection
+            stmt.execute("PRAGMA optimize(0x10002)");
+            actions.add(String.format("PRAGMA optimize: %d row(s) written since the last run", changed));
+        }
+        writesAtLastOptimize = writes;
+        lastOptimizeMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Appends a timestamped entry to the maintenance log, dropping the oldest entry when it is full.
+     *
+     * @param message the entry to append
+     */
+    private void record(String message) {
+        String entry = new SimpleDateFormat(LOG_TIME_PATTERN).format(new Date()) + "  " + message;
+        synchronized (log) {
+            if (log.size() == LOG_CAPACITY) {
+                log.removeFirst();
+            }
+            log.addLast(entry);
+        }
+    }
+
+    /**
+     * Executes a query returning a single number.
+     *
+     * @param stmt the statement to execute the query with
+     * @param sql  the query
+     * @return the value of the first column of the first row
+     * @throws SQLException if the query fails
+     */
+    private static long queryLong(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+}
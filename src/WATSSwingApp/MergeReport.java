@@ -0,0 +1,136 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: MergeReport.java
+ *
+ * This class summarises a merge of a field-station database into the master database:
+ * how many records were added, updated, kept, or flagged, and how much history came along.
+ */
+package WATSSwingApp;
+
+/**
+ * The outcome of a {@link DatabaseMerger} run.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class MergeReport {
+
+    /** The field-station database that was merged. */
+    private final String sourcePath;
+
+    /** The conflict rule applied. */
+    private final MergeRule rule;
+
+    /** Number of animal records in the field-station database. */
+    private final long sourceRecords;
+
+    /** Number of records that only existed in the field-station database and were inserted. */
+    private final long inserted;
+
+    /** Number of differing records whose master copy was replaced by the field-station copy. */
+    private final long updated;
+
+    /** Number of differing records whose master copy was kept. */
+    private final long kept;
+
+    /** Number of differing records recorded in {@code MergeConflicts} for review. */
+    private final long flagged;
+
+    /** Number of records that were identical in both databases. */
+    private final long identical;
+
+    /** Number of observation history readings added. */
+    private final long observationsAdded;
+
+    /** Number of sightings added. */
+    private final long sightingsAdded;
+
+    /** Duration of the merge in milliseconds. */
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a new {@code MergeReport}.
+     *
+     * @param sourcePath        the field-station database that was merged
+     * @param rule              the conflict rule applied
+     * @param sourceRecords     number of animal records in the field-station database
+     * @param inserted          number of records inserted
+     * @param updated           number of differing records replaced by the field-station copy
+     * @param kept              number of differing records whose master copy was kept
+     * @param flagged           number of differing records flagged for review
+     * @param identical         number of identical records
+     * @param observationsAdded number of observation readings added
+     * @param sightingsAdded    number of sightings added
+     * @param elapsedMillis     duration of the merge in milliseconds
+     */
+    public MergeReport(String sourcePath, MergeRule rule, long sourceRecords, long inserted, long updated, long kept,
+                       long flagged, long identical, long observationsAdded, long sightingsAdded, long elapsedMillis) {
+        this.sourcePath = sourcePath;
+        this.rule = rule;
+        this.sourceRecords = sourceRecords;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.kept = kept;
+        this.flagged = flagged;
+        this.identical = identical;
+        this.observationsAdded = observationsAdded;
+        this.sightingsAdded = sightingsAdded;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** @return the field-station database that was merged */
+    public String getSourcePath() { return sourcePath; }
+
+    /** @return the conflict rule applied */
+    public MergeRule getRule() { return rule; }
+
+    /** @return the number of animal records in the field-station database */
+    public long getSourceRecords() { return sourceRecords; }
+
+    /** @return the number of records inserted */
+    public long getInserted() { return inserted; }
+
+    /** @return the number of differing records replaced by the field-station copy */
+    public long getUpdated() { return updated; }
+
+    /** @return the number of differing records whose master copy was kept */
+    public long getKept() { return kept; }
+
+    /** @return the number of differing records flagged for review */
+    public long getFlagged() { return flagged; }
+
+    /** @return the number of records that were identical in both databases */
+    public long getIdentical() { return identical; }
+
+    /** @return the number of observation readings added */
+    public long getObservationsAdded() { return observationsAdded; }
+
+    /** @return the number of sightings added */
+    public long getSightingsAdded() { return sightingsAdded; }
+
+    /** @return the duration of the merge in milliseconds */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * Returns a multi-line summary of the merge, suitable for a dialog.
+     *
+     * @return the counts, the rule, and the duration
+     */
+    @Override
+    public String toString() {
+        return String.format("Merged %s (%s) in %d ms%n"
+                        + "Records in source: %d%n"
+                        + "Inserted: %d%n"
+                        + "Updated: %d%n"
+                        + "Kept master: %d%n"
+                        + "Flagged for review: %d%n"
+                        + "Identical: %d%n"
+                        + "Observation readings added: %d%n"
+                        + "Sightings added: %d",
+                sourcePath, rule, elapsedMillis, sourceRecords, inserted, updated, kept, flagged, identical,
+                observationsAdded, sightingsAdded);
+    }
+}
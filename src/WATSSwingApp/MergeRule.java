@@ -0,0 +1,55 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: MergeRule.java
+ *
+ * This enum defines how a merge resolves a record that exists in both the master database
+ * and a field-station database with different contents.
+ */
+package WATSSwingApp;
+
+/**
+ * Conflict rules for {@link DatabaseMerger}.
+ * <p>
+ * Records that exist only in the field-station database are always inserted, and records that are identical in
+ * both databases are always left alone. A rule only decides what happens to records that differ.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum MergeRule {
+
+    /** The record with the later modification time wins; ties keep the master record. */
+    NEWEST_WINS("Newest wins"),
+
+    /** The master record is always kept. */
+    KEEP_MASTER("Keep master"),
+
+    /** The master record is kept and the field-station version is recorded in {@code MergeConflicts} for review. */
+    FLAG("Flag for review");
+
+    /** Human-readable rule name. */
+    private final String displayName;
+
+    /**
+     * Constructs a merge rule.
+     *
+     * @param displayName human-readable rule name
+     */
+    MergeRule(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the display name, so rules can be listed directly in Swing components.
+     *
+     * @return the human-readable rule name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: MutationLog.java
+ *
+ * This class is the append-only log that makes in-memory record changes durable. Changes are
+ * appended to a buffer and written with one fsync for every group of writers waiting at the same
+ * time. The log is split into numbered generations so that everything already copied into the
+ * SQLite file can be deleted without rewriting the file being appended to.
+ */
+package WATSSwingApp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, group-committed log of record changes for {@link InMemoryAnimalStore}.
+ * <p>
+ * Each entry is a full record (an upsert) or a Tag ID (a delete), so replaying an entry more than once gives the
+ * same result. Entries are framed with their length and a CRC-32; replay stops at the first torn or corrupt entry,
+ * which can only be the tail of the last generation written before a crash.
+ * </p>
+ *
+ * <p>{@link #append} only buffers an entry. {@link #sync(long)} makes it durable: the first waiting writer writes
+ * and fsyncs everything buffered so far while later writers wait for that fsync or join the next one, so many
+ * concurrent changes share a single fsync.</p>
+ *
+ * <p>Generation {@code N} is the file {@code <database>-memlog.N}. {@link #rotate()} starts a new generation;
+ * once a snapshot has copied the older generations into the SQLite file they are deleted with
+ * {@link #deleteGenerationsBefore(long)}.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class MutationLog {
+
+    /** Entry type of a record upsert. */
+    private static final byte UPSERT = 1;
+
+    /** Entry type of a record delete. */
+    private static final byte DELETE = 2;
+
+    /** Path of the database the log belongs to; generation files are named after it. */
+    private final String dbPath;
+
+    /** Guards the buffer, the sequence numbers and the channel. */
+    private final Object lock = new Object();
+
+    /** Entries appended but not yet written. */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    /** Generation currently appended to. */
+    private long generation;
+
+    /** Channel of the current generation file. */
+    private FileChannel channel;
+
+    /** Sequence number of the last appended entry. */
+    private long appendedSeq;
+
+    /** Sequence number of the last entry known to be on disk. */
+    private long durableSeq;
+
+    /** Whether a writer is currently writing and syncing the buffer. */
+    private boolean flushing;
+
+    /** Failure of an earlier write; once set, the log accepts no further changes. */
+    private IOException failure;
+
+    /**
+     * Opens the log of a database and starts a new generation after any existing ones.
+     *
+     * @param dbPath the path of the database
+     * @throws IOException if the new generation file cannot be created
+     */
+    public MutationLog(String dbPath) throws IOException {
+        this.dbPath = dbPath;
+        long[] existing = generations(dbPath);
+        generation = existing.length > 0 ? existing[existing.length - 1] + 1 : 1;
+        channel = openGeneration(generation);
+    }
+
+    /**
+     * Lists the generations present for a database.
+     *
+     * @param dbPath the path of the database
+     * @return the generation numbers in ascending order; empty if there is no log
+     */
+    public static long[] generations(String dbPath) {
+        File file = new File(dbPath).getAbsoluteFile();
+        String prefix = file.getName() + "-memlog.";
+        File[] files = file.getParentFile().listFiles((dir, name) -> name.startsWith(prefix));
+        if (files == null) {
+            return new long[0];
+        }
+        List<Long> numbers = new ArrayList<>();
+        for (File log : files) {
+            try {
+                numbers.add(Long.parseLong(log.getName().substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                // Not a generation file
+            }
+        }
+        return numbers.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Returns the file of a generation.
+     *
+     * @param dbPath     the path of the database
+     * @param generation the generation number
+     * @return the generation file
+     */
+    public static File generationFile(String dbPath, long generation) {
+        return new File(new File(dbPath).getAbsolutePath() + "-memlog." + generation);
+    }
+
+    /**
+     * Replays the entries of one generation file.
+     *
+     * @param file     the generation file
+     * @param upserts  receives every upserted record
+     * @param deletes  receives every deleted Tag ID
+     * @return the number of entries replayed; a torn or corrupt tail is ignored
+     * @throws IOException if the file cannot be read
+     */
+    public static int replay(File file, Consumer<AnimalRecord> upserts, IntConsumer deletes) throws IOException {
+        int entries = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > 1 << 20) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+
+                DataInputStream entry = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = entry.readByte();
+                if (type == UPSERT) {
+                    upserts.accept(new AnimalRecord(entry.readInt(), readNullableString(entry), readNullableString(entry),
+                            entry.readInt(), Gender.fromCode(entry.readUnsignedByte()), entry.readDouble(),
+                            HealthStatus.fromCode(entry.readUnsignedByte()), entry.readInt(), entry.readLong()));
+                } else if (type == DELETE) {
+                    deletes.accept(entry.readInt());
+                } else {
+                    break;
+                }
+                entries++;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Buffers an upsert of a record.
+     *
+     * @param record the record as it now stands
+     * @return the sequence number to pass to {@link #sync(long)}
+     * @throws IOException if the log has failed earlier
+     */
+    public long appendUpsert(AnimalRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(UPSERT);
+        out.writeInt(record.getId());
+        writeNullableString(out, record.getSpecies());
+        writeNullableString(out, record.getName());
+        out.writeInt(record.getAge());
+        out.writeByte(record.getGender().ordinal());
+        out.writeDouble(record.getWeight());
+        out.writeByte(record.getHealthStatus().ordinal());
+        out.writeInt(record.getVersion());
+        out.writeLong(record.getLastModified());
+        return append(bytes.toByteArray());
+    }
+
+    /**
+     * Buffers a delete of a record.
+     *
+     * @param id the Tag ID of the deleted record
+     * @return the sequence number to pass to {@link #sync(long)}
+     * @throws IOException if the log has failed earlier
+     */
+    public long appendDelete(int id) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(5);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(DELETE);
+        out.writeInt(id);
+        return append(bytes.toByteArray());
+    }
+
+    /**
+     * Frames an entry and adds it to the buffer.
+     *
+     * @param payload the encoded entry
+     * @return the sequence number of the entry
+     * @throws IOException if the log has failed earlier
+     */
+    private long append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+            DataOutputStream out = new DataOutputStream(pending);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+            return ++appendedSeq;
+        }
+    }
+
+    /**
+     * Waits until an entry and everything before it are on disk, writing them if no other writer is doing so.
+     *
+     * @param seq the sequence number returned by an append
+     * @throws IOException if the entries cannot be written; the log then rejects further changes
+     */
+    public void sync(long seq) throws IOException {
+        byte[] data;
+        long upTo;
+        FileChannel target;
+        synchronized (lock) {
+            while (flushing && durableSeq < seq && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the mutation log");
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (durableSeq >= seq) {
+                return;
+            }
+            // Become the leader: write everything buffered so far, including entries of writers still waiting
+            flushing = true;
+            data = pending.toByteArray();
+            pending.reset();
+            upTo = appendedSeq;
+            target = channel;
+        }
+
+        IOException error = null;
+        try {
+            writeFully(target, data);
+            target.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        synchronized (lock) {
+            flushing = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                durableSeq = upTo;
+            }
+            lock.notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Writes all buffered entries and starts a new generation file.
+     * <p>
+     * Every entry appended before this call is in an older generation; every entry appended afterwards is in the
+     * new one.
+     * </p>
+     *
+     * @return the new generation number
+     * @throws IOException if the buffer cannot be written or the new file cannot be created
+     */
+    public long rotate() throws IOException {
+        synchronized (lock) {
+            while (flushing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while rotating the mutation log");
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                writeFully(channel, pending.toByteArray());
+                pending.reset();
+                channel.force(false);
+                channel.close();
+                durableSeq = appendedSeq;
+                generation++;
+                channel = openGeneration(generation);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * Deletes the generation files older than a generation.
+     *
+     * @param first the oldest generation to keep
+     * @throws IOException if a file cannot be deleted
+     */
+    public void deleteGenerationsBefore(long first) throws IOException {
+        for (long old : generations(dbPath)) {
+            if (old < first) {
+                Files.deleteIfExists(generationFile(dbPath, old).toPath());
+            }
+        }
+    }
+
+    /** @return the generation currently appended to */
+    public long getGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /** @return the size in bytes of the current generation, including entries not yet written */
+    public long size() {
+        synchronized (lock) {
+            try {
+                return channel.size() + pending.size();
+            } catch (IOException e) {
+                return pending.size();
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered entries and closes the current generation file.
+     *
+     * @throws IOException if the buffer cannot be written
+     */
+    public void close() throws IOException {
+        synchronized (lock) {
+            try {
+                if (failure == null) {
+                    writeFully(channel, pending.toByteArray());
+                    pending.reset();
+                    channel.force(false);
+                    durableSeq = appendedSeq;
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a generation file for appending.
+     *
+     * @param number the generation number
+     * @return the channel of the new file
+     * @throws IOException if the file cannot be created
+     */
+    private FileChannel openGeneration(long number) throws IOException {
+        return FileChannel.open(generationFile(dbPath, number).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Writes a whole byte array to a channel.
+     *
+     * @param target the channel
+     * @param data   the bytes to write
+     * @throws IOException if the bytes cannot be written
+     */
+    private static void writeFully(FileChannel target, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    /**
+     * Writes a string that may be {@code null}.
+     *
+     * @param out   the stream to write to
+     * @param value the string, or {@code null}
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeNullableString(DataOutputStream, String)}.
+     *
+     * @param in the stream to read from
+     * @return the string, or {@code null}
+     * @throws IOException if the stream cannot be read
+     */
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
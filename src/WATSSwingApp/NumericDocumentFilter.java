@@ -21,6 +21,9 @@ import javax.swing.text.*;
  * suitable for fields such as Tag ID or Age in the Wildlife Animal Tracking System (WATS) application.
  * </p>
  *
+ * <p>Each keystroke is checked with {@link AnimalValidator#isDigits(CharSequence)}, a character loop that
+ * allocates nothing, instead of a regular expression.</p>
+ *
  * @author Felix Guevara
  * @version 1.0
  * @since 2025-11-10
@@ -28,7 +31,7 @@ import javax.swing.text.*;
 public class NumericDocumentFilter extends DocumentFilter {
 
     /**
-     * Inserts text into the document if it matches the numeric pattern (digits only).
+     * Inserts text into the document if it contains digits only.
      *
      * @param fb     the {@link FilterBypass} to delegate changes
      * @param offset the position in the document to insert the text
@@ -39,13 +42,13 @@ public class NumericDocumentFilter extends DocumentFilter {
     @Override
     public void insertString(FilterBypass fb, int offset, String string, AttributeSet attr)
             throws BadLocationException {
-        if (string != null && string.matches("\\d+")) {
+        if (string != null && AnimalValidator.isDigits(string)) {
             super.insertString(fb, offset, string, attr);
         }
     }
 
     /**
-     * Replaces text in the document if it matches the numeric pattern (digits only).
+     * Replaces text in the document if it contains digits only.
      *
      * @param fb     the {@link FilterBypass} to delegate changes
      * @param offset the position in the document to replace text
@@ -57,7 +60,7 @@ public class NumericDocumentFilter extends DocumentFilter {
     @Override
     public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs)
             throws BadLocationException {
-        if (text != null && text.matches("\\d+")) {
+        if (text != null && AnimalValidator.isDigits(text)) {
             super.replace(fb, offset, length, text, attrs);
         }
     }
@@ -0,0 +1,64 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: Observation.java
+ *
+ * This class represents a single timestamped reading of an animal's weight and health status.
+ * Observations are appended to the observation history whenever an animal record is created or its
+ * weight or health status changes, and can be ingested in bulk from collar feeds.
+ */
+package WATSSwingApp;
+
+/**
+ * An immutable, timestamped weight and health status reading for one animal.
+ * <p>
+ * Observations are stored append-only in the {@code AnimalObservations} table, clustered by Tag ID and
+ * timestamp, and are managed by {@link ObservationStore}.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class Observation {
+
+    /** Tag ID of the observed animal. */
+    private final int id;
+
+    /** Time of the reading in milliseconds since the epoch. */
+    private final long timestamp;
+
+    /** Measured weight in kilograms. */
+    private final double weight;
+
+    /** Observed health status (e.g., Healthy, Injured). */
+    private final String healthStatus;
+
+    /**
+     * Constructs a new {@code Observation}.
+     *
+     * @param id           Tag ID of the observed animal
+     * @param timestamp    time of the reading in milliseconds since the epoch
+     * @param weight       measured weight in kilograms
+     * @param healthStatus observed health status
+     */
+    public Observation(int id, long timestamp, double weight, String healthStatus) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.weight = weight;
+        this.healthStatus = healthStatus;
+    }
+
+    /** @return the Tag ID of the observed animal */
+    public int getId() { return id; }
+
+    /** @return the time of the reading in milliseconds since the epoch */
+    public long getTimestamp() { return timestamp; }
+
+    /** @return the measured weight in kilograms */
+    public double getWeight() { return weight; }
+
+    /** @return the observed health status */
+    public String getHealthStatus() { return healthStatus; }
+}
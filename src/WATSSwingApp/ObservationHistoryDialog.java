@@ -0,0 +1,154 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ObservationHistoryDialog.java
+ *
+ * This is a modal dialog window that shows the weight and health status history of one animal.
+ * The user can switch between raw readings and daily or weekly rollups and choose the time range,
+ * which is served by range queries on the clustered observation history.
+ */
+package WATSSwingApp;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A modal dialog window for browsing the observation history of an animal in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * The history is read through {@link ObservationStore}. Raw readings list every recorded weight and health
+ * status; daily and weekly views show the downsampled rollups with reading counts and average, minimum, and
+ * maximum weight.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ObservationHistoryDialog extends JDialog {
+
+    /** View option showing every reading. */
+    private static final String VIEW_READINGS = "Readings";
+
+    /** Time range options offered in the dialog. */
+    private static final String[] RANGE_LABELS = { "Last 30 days", "Last 90 days", "Last year", "All time" };
+
+    /** Length in days of each entry in {@link #RANGE_LABELS}; {@code 0} means all time. */
+    private static final int[] RANGE_DAYS = { 30, 90, 365, 0 };
+
+    /** Formatter for reading timestamps. */
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    /** Formatter for rollup bucket dates. */
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.of("UTC"));
+
+    /** Store used to query the observation history. */
+    private final ObservationStore observationStore;
+
+    /** The Tag ID of the animal whose history is shown. */
+    private final int tagId;
+
+    /** Combo box selecting raw readings or a rollup period. */
+    private final JComboBox<Object> cmbView;
+
+    /** Combo box selecting the time range. */
+    private final JComboBox<String> cmbRange;
+
+    /** Table model holding the displayed history. */
+    private final DefaultTableModel historyModel = new DefaultTableModel(0, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false; // History is read-only
+        }
+    };
+
+    /**
+     * Constructs a new {@code ObservationHistoryDialog} instance.
+     *
+     * @param parent    the parent {@link JFrame} for positioning and modality
+     * @param dbManager the {@link DatabaseManager} of the database holding the history
+     * @param tagId     the Tag ID of the animal whose history is shown
+     */
+    public ObservationHistoryDialog(JFrame parent, DatabaseManager dbManager, int tagId) {
+        super(parent, "Observation History - Tag ID: " + tagId, true);
+        this.observationStore = new ObservationStore(dbManager);
+        this.tagId = tagId;
+
+        setSize(650, 450);
+        setLocationRelativeTo(parent);
+        setLayout(new BorderLayout());
+
+        // Filter panel
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        cmbView = new JComboBox<>(new Object[] { VIEW_READINGS, RollupPeriod.DAILY, RollupPeriod.WEEKLY });
+        cmbRange = new JComboBox<>(RANGE_LABELS);
+        cmbRange.setSelectedIndex(1);
+        cmbView.addActionListener(e -> loadHistory());
+        cmbRange.addActionListener(e -> loadHistory());
+        filterPanel.add(new JLabel("View:"));
+        filterPanel.add(cmbView);
+        filterPanel.add(new JLabel("Range:"));
+        filterPanel.add(cmbRange);
+
+        JTable historyTable = new JTable(historyModel);
+        historyTable.setRowHeight(25);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton btnClose = new JButton("Close");
+        btnClose.addActionListener(e -> dispose());
+        buttonPanel.add(btnClose);
+
+        add(filterPanel, BorderLayout.NORTH);
+        add(new JScrollPane(historyTable), BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        loadHistory();
+    }
+
+    /**
+     * Reloads the history table for the selected view and time range.
+     */
+    private void loadHistory() {
+        int days = RANGE_DAYS[cmbRange.getSelectedIndex()];
+        long toTime = System.currentTimeMillis() + RollupPeriod.DAY_MILLIS;
+        long fromTime = days == 0 ? 0L : toTime - days * RollupPeriod.DAY_MILLIS;
+        Object view = cmbView.getSelectedItem();
+
+        try {
+            if (view instanceof RollupPeriod) {
+                historyModel.setDataVector(new Object[0][], new Object[] {
+                        "Period Start", "Readings", "Avg Weight", "Min Weight", "Max Weight", "Latest Health Status" });
+                for (ObservationRollup rollup : observationStore.getRollups(tagId, (RollupPeriod) view, fromTime, toTime)) {
+                    historyModel.addRow(new Object[] {
+                            DATE_FORMAT.format(Instant.ofEpochMilli(rollup.getBucketStart())),
+                            rollup.getReadings(),
+                            String.format("%.2f", rollup.getAverageWeight()),
+                            rollup.getMinWeight(),
+                            rollup.getMaxWeight(),
+                            rollup.getLastHealthStatus()
+                    });
+                }
+            } else {
+                historyModel.setDataVector(new Object[0][], new Object[] { "Time", "Weight", "Health Status" });
+                for (Observation observation : observationStore.getObservations(tagId, fromTime, toTime)) {
+                    historyModel.addRow(new Object[] {
+                            TIME_FORMAT.format(Instant.ofEpochMilli(observation.getTimestamp())),
+                            observation.getWeight(),
+                            observation.getHealthStatus()
+                    });
+                }
+            }
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
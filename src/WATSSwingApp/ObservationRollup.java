@@ -0,0 +1,76 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ObservationRollup.java
+ *
+ * This class represents one downsampled bucket of the observation history: the number of readings,
+ * the average, minimum and maximum weight, and the latest health status within a day or week.
+ */
+package WATSSwingApp;
+
+/**
+ * An immutable daily or weekly summary of observations for one animal or one species.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class ObservationRollup {
+
+    /** Start of the bucket in milliseconds since the epoch. */
+    private final long bucketStart;
+
+    /** Number of readings in the bucket. */
+    private final long readings;
+
+    /** Average weight in kilograms. */
+    private final double averageWeight;
+
+    /** Minimum weight in kilograms. */
+    private final double minWeight;
+
+    /** Maximum weight in kilograms. */
+    private final double maxWeight;
+
+    /** Health status of the latest reading in the bucket. */
+    private final String lastHealthStatus;
+
+    /**
+     * Constructs a new {@code ObservationRollup}.
+     *
+     * @param bucketStart      start of the bucket in milliseconds since the epoch
+     * @param readings         number of readings in the bucket
+     * @param averageWeight    average weight in kilograms
+     * @param minWeight        minimum weight in kilograms
+     * @param maxWeight        maximum weight in kilograms
+     * @param lastHealthStatus health status of the latest reading in the bucket
+     */
+    public ObservationRollup(long bucketStart, long readings, double averageWeight, double minWeight, double maxWeight,
+                             String lastHealthStatus) {
+        this.bucketStart = bucketStart;
+        this.readings = readings;
+        this.averageWeight = averageWeight;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        this.lastHealthStatus = lastHealthStatus;
+    }
+
+    /** @return the start of the bucket in milliseconds since the epoch */
+    public long getBucketStart() { return bucketStart; }
+
+    /** @return the number of readings in the bucket */
+    public long getReadings() { return readings; }
+
+    /** @return the average weight in kilograms */
+    public double getAverageWeight() { return averageWeight; }
+
+    /** @return the minimum weight in kilograms */
+    public double getMinWeight() { return minWeight; }
+
+    /** @return the maximum weight in kilograms */
+    public double getMaxWeight() { return maxWeight; }
+
+    /** @return the health status of the latest reading in the bucket */
+    public String getLastHealthStatus() { return lastHealthStatus; }
+}
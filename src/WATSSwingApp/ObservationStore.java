@@ -0,0 +1,344 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ObservationStore.java
+ *
+ * This class manages the time-series observation history of the Wildlife Animal Tracking System.
+ * It creates the append-only AnimalObservations table, clustered by Tag ID and timestamp, together
+ * with incrementally maintained daily and weekly rollups, and provides batched ingest and
+ * time-range queries per animal and per species.
+ */
+package WATSSwingApp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores and queries the observation history of weight and health status readings.
+ * <p>
+ * Observations live in a {@code WITHOUT ROWID} table whose primary key {@code (id, ts)} is also its
+ * clustering order, so all readings of one animal within a time range are stored contiguously and read
+ * with a single index range scan. Triggers keep the history complete without changing any writer:
+ * inserting an animal or changing its weight or health status appends a reading, timestamped after the
+ * animal's latest reading if the clock has not moved on, and every appended reading is folded into its daily
+ * and weekly bucket in {@code ObservationRollups}. Because the history is
+ * append-only and duplicate readings are ignored, a rollup only ever receives each reading once.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ObservationStore {
+
+    /** Number of readings sent to SQLite per batch during ingest. */
+    private static final int INGEST_BATCH_SIZE = 10_000;
+
+    /** SQL expression for the current time in milliseconds since the epoch. */
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    /** Reference to the database manager providing connections. */
+    private final DatabaseManager dbManager;
+
+    /**
+     * Constructs a new {@code ObservationStore}.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database holding the observation history
+     */
+    public ObservationStore(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Creates the observation tables and the triggers that maintain them, if they do not exist yet.
+     * <p>
+     * Called from {@link DatabaseManager#migrateSchema()} so every opened database carries the history tables.
+     * </p>
+     *
+     * @param stmt a statement on the connection performing the schema migration
+     * @throws SQLException if the schema cannot be created
+     */
+    public static void createSchema(Statement stmt) throws SQLException {
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS AnimalObservations ("
+                + "id INTEGER NOT NULL, ts INTEGER NOT NULL, weight REAL NOT NULL, healthStatus TEXT, "
+                + "PRIMARY KEY (id, ts)) WITHOUT ROWID");
+
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS ObservationRollups ("
+                + "id INTEGER NOT NULL, period TEXT NOT NULL, bucketStart INTEGER NOT NULL, "
+                + "readings INTEGER NOT NULL, weightSum REAL NOT NULL, weightMin REAL NOT NULL, weightMax REAL NOT NULL, "
+                + "lastTs INTEGER NOT NULL, lastHealthStatus TEXT, "
+                + "PRIMARY KEY (id, period, bucketStart)) WITHOUT ROWID");
+
+        // Readings are keyed by a per-animal timestamp that always moves forward, so two changes within the
+        // same millisecond get consecutive timestamps instead of colliding. Older databases had triggers that
+        // used the clock alone and dropped the second reading, so the triggers are always recreated.
+        String nextTs = "MAX(" + NOW_MILLIS + ", COALESCE((SELECT MAX(ts) + 1 FROM AnimalObservations WHERE id = NEW.id), 0))";
+        stmt.executeUpdate("DROP TRIGGER IF EXISTS WildAnimals_observe_insert");
+        stmt.executeUpdate("DROP TRIGGER IF EXISTS WildAnimals_observe_update");
+
+        // Record the initial reading of every new animal
+        stmt.executeUpdate("CREATE TRIGGER WildAnimals_observe_insert AFTER INSERT ON WildAnimals "
+                + "BEGIN INSERT INTO AnimalObservations (id, ts, weight, healthStatus) "
+                + "VALUES (NEW.id, " + nextTs + ", NEW.weight, NEW.healthStatus); END");
+
+        // Record a reading whenever the weight or health status actually changes
+        stmt.executeUpdate("CREATE TRIGGER WildAnimals_observe_update "
+                + "AFTER UPDATE OF weight, healthStatus ON WildAnimals "
+                + "WHEN NEW.weight IS NOT OLD.weight OR NEW.healthStatus IS NOT OLD.healthStatus "
+                + "BEGIN INSERT INTO AnimalObservations (id, ts, weight, healthStatus) "
+                + "VALUES (NEW.id, " + nextTs + ", NEW.weight, NEW.healthStatus); END");
+
+        String dayStart = "(NEW.ts / " + RollupPeriod.DAY_MILLIS + ")";
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS AnimalObservations_rollup AFTER INSERT ON AnimalObservations BEGIN "
+                + rollupUpsert(RollupPeriod.DAILY, dayStart + " * " + RollupPeriod.DAY_MILLIS)
+                + rollupUpsert(RollupPeriod.WEEKLY, "(" + dayStart + " - ((" + dayStart + " + 3) % 7)) * " + RollupPeriod.DAY_MILLIS)
+                + "END");
+    }
+
+    /**
+     * Builds the trigger statement folding the new reading into one rollup bucket.
+     *
+     * @param period      the rollup period
+     * @param bucketStart SQL expression computing the bucket start from {@code NEW.ts}
+     * @return the upsert statement, terminated by a semicolon
+     */
+    private static String rollupUpsert(RollupPeriod period, String bucketStart) {
+        return "INSERT INTO ObservationRollups "
+                + "(id, period, bucketStart, readings, weightSum, weightMin, weightMax, lastTs, lastHealthStatus) "
+                + "VALUES (NEW.id, '" + period.getCode() + "', " + bucketStart + ", 1, NEW.weight, NEW.weight, NEW.weight, "
+                + "NEW.ts, NEW.healthStatus) "
+                + "ON CONFLICT (id, period, bucketStart) DO UPDATE SET "
+                + "readings = readings + 1, weightSum = weightSum + excluded.weightSum, "
+                + "weightMin = MIN(weightMin, excluded.weightMin), weightMax = MAX(weightMax, excluded.weightMax), "
+                + "lastHealthStatus = CASE WHEN excluded.lastTs >= lastTs THEN excluded.lastHealthStatus ELSE lastHealthStatus END, "
+                + "lastTs = MAX(lastTs, excluded.lastTs); ";
+    }
+
+    /**
+     * Appends a batch of readings to the observation history in a single transaction, skipping invalid readings.
+     *
+     * @param observations the readings to append
+     * @return the number of readings stored
+     * @throws SQLException if the ingest fails; no readings of the batch are stored in that case
+     * @see #ingest(List, ValidationReport)
+     */
+    public int ingest(List<Observation> observations) throws SQLException {
+        return ingest(observations, new ValidationReport());
+    }
+
+    /**
+     * Appends a batch of readings to the observation history in a single transaction.
+     * <p>
+     * Readings are sent in batches of {@link #INGEST_BATCH_SIZE} on a {@link PerformanceProfile#BULK_LOAD}
+     * connection. A reading with the same Tag ID and timestamp as an existing one is ignored, so a feed can
+     * safely be re-sent. Rollups are maintained by trigger for every reading that was actually stored.
+     * </p>
+     *
+     * <p>Each reading is checked with the {@link AnimalValidator} rules first. Readings with an invalid Tag ID,
+     * weight, or health status are skipped and reported by their position in the list.</p>
+     *
+     * @param observations the readings to append
+     * @param report       receives an error for every skipped reading
+     * @return the number of readings stored
+     * @throws SQLException if the ingest fails; no readings of the batch are stored in that case
+     */
+    public int ingest(List<Observation> observations, ValidationReport report) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO AnimalObservations (id, ts, weight, healthStatus) VALUES (?, ?, ?, ?)";
+        int stored = 0;
+
+        try (Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int pending = 0;
+                long row = 0;
+                for (Observation observation : observations) {
+                    row++;
+                    String text = observation.getHealthStatus();
+                    HealthStatus status = text == null ? HealthStatus.UNKNOWN
+                            : AnimalValidator.checkHealthStatus(text, row, report);
+                    if (observation.getId() <= 0) {
+                        report.addError(row, AnimalValidator.FIELD_TAG_ID, String.valueOf(observation.getId()),
+                                "must be a whole number greater than zero");
+                        continue;
+                    }
+                    if (!AnimalValidator.checkWeight(observation.getWeight(), row, report) || status == null) {
+                        continue;
+                    }
+
+                    stmt.setInt(1, observation.getId());
+                    stmt.setLong(2, observation.getTimestamp());
+                    stmt.setDouble(3, observation.getWeight());
+                    stmt.setString(4, status.getDisplayName());
+                    stmt.addBatch();
+                    if (++pending == INGEST_BATCH_SIZE) {
+                        stored += sum(stmt.executeBatch());
+                        pending = 0;
+                    }
+                }
+                stored += sum(stmt.executeBatch());
+                conn.commit();
+                dbManager.recordWrites(stored);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Retrieves the readings of one animal within a time range, oldest first.
+     *
+     * @param id       the Tag ID of the animal
+     * @param fromTime inclusive start of the range in milliseconds since the epoch
+     * @param toTime   exclusive end of the range in milliseconds since the epoch
+     * @return the readings in the range
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Observation> getObservations(int id, long fromTime, long toTime) throws SQLException {
+        String sql = "SELECT id, ts, weight, healthStatus FROM AnimalObservations WHERE id = ? AND ts >= ? AND ts < ? ORDER BY ts";
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            stmt.setLong(2, fromTime);
+            stmt.setLong(3, toTime);
+            return readObservations(stmt);
+        }
+    }
+
+    /**
+     * Retrieves the readings of all animals of a species within a time range, ordered by Tag ID and time.
+     * <p>
+     * The species index on {@code WildAnimals} selects the animals, and each animal's readings are read with a
+     * range scan on the clustered {@code (id, ts)} key.
+     * </p>
+     *
+     * @param species  the species name
+     * @param fromTime inclusive start of the range in milliseconds since the epoch
+     * @param toTime   exclusive end of the range in milliseconds since the epoch
+     * @return the readings in the range
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Observation> getObservationsBySpecies(String species, long fromTime, long toTime) throws SQLException {
+        String sql = "SELECT o.id, o.ts, o.weight, o.healthStatus FROM WildAnimals w "
+                + "JOIN AnimalObservations o ON o.id = w.id AND o.ts >= ? AND o.ts < ? "
+                + "WHERE w.species = ? ORDER BY o.id, o.ts";
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, fromTime);
+            stmt.setLong(2, toTime);
+            stmt.setString(3, species);
+            return readObservations(stmt);
+        }
+    }
+
+    /**
+     * Retrieves the daily or weekly rollups of one animal within a time range, oldest first.
+     *
+     * @param id       the Tag ID of the animal
+     * @param period   the rollup period
+     * @param fromTime inclusive start of the range in milliseconds since the epoch
+     * @param toTime   exclusive end of the range in milliseconds since the epoch
+     * @return the rollups of the buckets starting in the range; cached until the next write, so unmodifiable
+     * @throws SQLException if a database access error occurs
+     */
+    public List<ObservationRollup> getRollups(int id, RollupPeriod period, long fromTime, long toTime) throws SQLException {
+        String sql = "SELECT bucketStart, readings, weightSum, weightMin, weightMax, lastHealthStatus "
+                + "FROM ObservationRollups WHERE id = ? AND period = ? AND bucketStart >= ? AND bucketStart < ? "
+                + "ORDER BY bucketStart";
+        return dbManager.getQueryCache().query(sql,
+                new Object[] { id, period.getCode(), period.bucketStart(fromTime), toTime },
+                rs -> Collections.unmodifiableList(readRollups(rs)));
+    }
+
+    /**
+     * Retrieves the daily or weekly rollups of a whole species within a time range, oldest first.
+     * <p>
+     * Per-animal rollups are combined per bucket. The reported health status is that of the animal with the
+     * most recent reading in the bucket.
+     * </p>
+     *
+     * @param species  the species name
+     * @param period   the rollup period
+     * @param fromTime inclusive start of the range in milliseconds since the epoch
+     * @param toTime   exclusive end of the range in milliseconds since the epoch
+     * @return the combined rollups of the buckets starting in the range; cached until the next write, so unmodifiable
+     * @throws SQLException if a database access error occurs
+     */
+    public List<ObservationRollup> getSpeciesRollups(String species, RollupPeriod period, long fromTime, long toTime)
+            throws SQLException {
+        String sql = "SELECT r.bucketStart, SUM(r.readings) AS readings, SUM(r.weightSum) AS weightSum, "
+                + "MIN(r.weightMin) AS weightMin, MAX(r.weightMax) AS weightMax, "
+                + "(SELECT r2.lastHealthStatus FROM ObservationRollups r2 JOIN WildAnimals w2 ON w2.id = r2.id "
+                + " WHERE w2.species = w.species AND r2.period = r.period AND r2.bucketStart = r.bucketStart "
+                + " ORDER BY r2.lastTs DESC LIMIT 1) AS lastHealthStatus "
+                + "FROM WildAnimals w JOIN ObservationRollups r ON r.id = w.id AND r.period = ? "
+                + "AND r.bucketStart >= ? AND r.bucketStart < ? "
+                + "WHERE w.species = ? GROUP BY r.bucketStart ORDER BY r.bucketStart";
+        return dbManager.getQueryCache().query(sql,
+                new Object[] { period.getCode(), period.bucketStart(fromTime), toTime, species },
+                rs -> Collections.unmodifiableList(readRollups(rs)));
+    }
+
+    /**
+     * Executes a query returning {@code id, ts, weight, healthStatus} columns and maps the rows.
+     *
+     * @param stmt the prepared query with all parameters bound
+     * @return the mapped readings
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<Observation> readObservations(PreparedStatement stmt) throws SQLException {
+        List<Observation> observations = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                observations.add(new Observation(rs.getInt(1), rs.getLong(2), rs.getDouble(3), rs.getString(4)));
+            }
+        }
+        return observations;
+    }
+
+    /**
+     * Maps the rows of a result set with rollup columns.
+     *
+     * @param rs the result set
+     * @return the mapped rollups
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<ObservationRollup> readRollups(ResultSet rs) throws SQLException {
+        List<ObservationRollup> rollups = new ArrayList<>();
+        while (rs.next()) {
+            long readings = rs.getLong("readings");
+            rollups.add(new ObservationRollup(
+                    rs.getLong("bucketStart"),
+                    readings,
+                    rs.getDouble("weightSum") / readings,
+                    rs.getDouble("weightMin"),
+                    rs.getDouble("weightMax"),
+                    rs.getString("lastHealthStatus")));
+        }
+        return rollups;
+    }
+
+    /**
+     * Sums the update counts of an executed batch, ignoring entries the driver reports as unknown.
+     *
+     * @param counts the update counts returned by {@link PreparedStatement#executeBatch()}
+     * @return the total number of rows stored
+     */
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
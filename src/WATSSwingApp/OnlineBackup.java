@@ -0,0 +1,277 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: OnlineBackup.java
+ *
+ * This class creates consistent backups of the open database while the application keeps working.
+ * Pages are copied a few at a time from a single read snapshot on a background thread, pausing
+ * between steps so interactive queries are not slowed down. It also takes scheduled snapshots
+ * into a directory and rotates out the oldest ones.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Performs non-blocking online backups and scheduled snapshots of a WATS database.
+ * <p>
+ * A backup opens one read transaction, which in WAL mode pins a consistent snapshot without blocking writers,
+ * and copies the database page by page through SQLite's {@code sqlite_dbpage} virtual table, in steps of
+ * {@link #PAGES_PER_STEP} pages with a short pause between steps. The copy is written to a temporary file and
+ * moved into place only when complete, so a backup file is never torn. If the SQLite build does not provide
+ * {@code sqlite_dbpage}, the backup falls back to {@code VACUUM INTO}, which reads the same kind of snapshot in
+ * a single step.
+ * </p>
+ *
+ * <p>While a backup runs, WAL checkpoints cannot move past its snapshot, so the WAL file may grow until it ends.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class OnlineBackup {
+
+    /** Number of database pages copied per step. */
+    private static final int PAGES_PER_STEP = 256;
+
+    /** Pause between steps in milliseconds, leaving I/O bandwidth for interactive work. */
+    private static final long STEP_PAUSE_MILLIS = 10;
+
+    /** Timestamp pattern used in snapshot file names. */
+    private static final String SNAPSHOT_TIME_PATTERN = "yyyyMMdd-HHmmss";
+
+    /** Reference to the database manager of the database being backed up. */
+    private final DatabaseManager dbManager;
+
+    /** Background executor running backups and scheduled snapshots at low priority. */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wats-backup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /** The currently scheduled snapshot task, or {@code null} if snapshots are not scheduled. */
+    private ScheduledFuture<?> snapshotTask;
+
+    /**
+     * Constructs a new {@code OnlineBackup} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database to back up
+     */
+    public OnlineBackup(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Copies the database to the target file from a consistent snapshot, a few pages per step.
+     * <p>
+     * This method blocks until the backup is complete and should be called off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param target   the backup file to create or replace
+     * @param progress receives the number of pages copied so far and the total number of pages, or {@code null}
+     * @throws SQLException         if the database cannot be read
+     * @throws IOException          if the backup file cannot be written
+     * @throws InterruptedException if the thread is interrupted between steps; the partial copy is discarded
+     */
+    public void backup(File target, BiConsumer<Long, Long> progress) throws SQLException, IOException, InterruptedException {
+        File absoluteTarget = target.getAbsoluteFile();
+        File temp = new File(absoluteTarget.getParentFile(), absoluteTarget.getName() + ".part");
+        Files.deleteIfExists(temp.toPath());
+
+        try {
+            try {
+                copyPages(temp, progress);
+            } catch (SQLException e) {
+                if (e.getMessage() == null || !e.getMessage().contains("sqlite_dbpage")) {
+                    throw e;
+                }
+                Files.deleteIfExists(temp.toPath());
+                vacuumInto(temp);
+            }
+            Files.move(temp.toPath(), absoluteTarget.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * Copies every page of the database into a file within a single read transaction.
+     *
+     * @param temp     the file receiving the pages
+     * @param progress receives the number of pages copied so far and the total number of pages, or {@code null}
+     * @throws SQLException         if the database cannot be read
+     * @throws IOException          if the file cannot be written
+     * @throws InterruptedException if the thread is interrupted between steps
+     */
+    private void copyPages(File temp, BiConsumer<Long, Long> progress) throws SQLException, IOException, InterruptedException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.INTERACTIVE)) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement();
+                 FileChannel out = FileChannel.open(temp.toPath(),
+                         StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 PreparedStatement pages = conn.prepareStatement(
+                         "SELECT pgno, data FROM sqlite_dbpage WHERE pgno BETWEEN ? AND ? ORDER BY pgno")) {
+
+                // The first read pins the snapshot every following step copies from
+                long pageSize = queryLong(stmt, "PRAGMA page_size");
+                long pageCount = queryLong(stmt, "PRAGMA page_count");
+
+                for (long first = 1; first <= pageCount; first += PAGES_PER_STEP) {
+                    pages.setLong(1, first);
+                    pages.setLong(2, Math.min(pageCount, first + PAGES_PER_STEP - 1));
+                    try (ResultSet rs = pages.executeQuery()) {
+                        while (rs.next()) {
+                            out.write(ByteBuffer.wrap(rs.getBytes(2)), (rs.getLong(1) - 1) * pageSize);
+                        }
+                    }
+                    if (progress != null) {
+                        progress.accept(Math.min(pageCount, first + PAGES_PER_STEP - 1), pageCount);
+                    }
+                    Thread.sleep(STEP_PAUSE_MILLIS);
+                }
+                out.force(true);
+            } finally {
+                conn.rollback();
+            }
+        }
+    }
+
+    /**
+     * Writes a compacted copy of the database to a file with {@code VACUUM INTO}.
+     *
+     * @param temp the file to create; it must not exist
+     * @throws SQLException if the copy fails
+     */
+    private void vacuumInto(File temp) throws SQLException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.INTERACTIVE);
+             PreparedStatement stmt = conn.prepareStatement("VACUUM INTO ?")) {
+            stmt.setString(1, temp.getPath());
+            stmt.execute();
+        }
+    }
+
+    /**
+     * Takes one snapshot into a directory and deletes the oldest snapshots beyond the retention count.
+     *
+     * @param directory the directory holding the snapshots
+     * @param keep      the number of snapshots to keep
+     * @return the snapshot file that was written
+     * @throws SQLException         if the database cannot be read
+     * @throws IOException          if the snapshot cannot be written or old snapshots cannot be deleted
+     * @throws InterruptedException if the thread is interrupted while copying
+     */
+    public File takeSnapshot(File directory, int keep) throws SQLException, IOException, InterruptedException {
+        String prefix = snapshotPrefix();
+        File snapshot = new File(directory, prefix + new SimpleDateFormat(SNAPSHOT_TIME_PATTERN).format(new Date()) + ".db");
+        backup(snapshot, null);
+
+        // Timestamped names sort chronologically, so the oldest snapshots come first
+        File[] snapshots = directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".db"));
+        if (snapshots != null && snapshots.length > keep) {
+            Arrays.sort(snapshots, Comparator.comparing(File::getName));
+            for (int i = 0; i < snapshots.length - keep; i++) {
+                Files.deleteIfExists(snapshots[i].toPath());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Starts taking snapshots periodically on the background thread, replacing any existing schedule.
+     *
+     * @param directory       the directory holding the snapshots
+     * @param intervalMinutes the time between snapshots in minutes
+     * @param keep            the number of snapshots to keep
+     * @param listener        receives the written snapshot file, or the exception if a snapshot failed; may be {@code null}
+     */
+    public synchronized void startScheduledSnapshots(File directory, long intervalMinutes, int keep,
+                                                     BiConsumer<File, Exception> listener) {
+        stopScheduledSnapshots();
+        snapshotTask = executor.scheduleWithFixedDelay(() -> {
+            File snapshot = null;
+            Exception error = null;
+            try {
+                snapshot = takeSnapshot(directory, keep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | IOException e) {
+                error = e;
+            }
+            if (listener != null) {
+                listener.accept(snapshot, error);
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops taking scheduled snapshots. A snapshot already in progress is allowed to finish.
+     */
+    public synchronized void stopScheduledSnapshots() {
+        if (snapshotTask != null) {
+            snapshotTask.cancel(false);
+            snapshotTask = null;
+        }
+    }
+
+    /** @return {@code true} if snapshots are currently scheduled */
+    public synchronized boolean isScheduled() {
+        return snapshotTask != null;
+    }
+
+    /**
+     * Stops the schedule and the background thread. Called when the database is closed or replaced.
+     */
+    public void shutdown() {
+        stopScheduledSnapshots();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds the file name prefix shared by all snapshots of this database.
+     *
+     * @return the database file name without extension, followed by {@code -snapshot-}
+     */
+    private String snapshotPrefix() {
+        String name = new File(dbManager.getDbPath()).getName();
+        int dot = name.lastIndexOf('.');
+        return (dot > 0 ? name.substring(0, dot) : name) + "-snapshot-";
+    }
+
+    /**
+     * Executes a query returning a single number.
+     *
+     * @param stmt the statement to execute the query with
+     * @param sql  the query
+     * @return the value of the first column of the first row
+     * @throws SQLException if the query fails
+     */
+    private static long queryLong(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ParallelQueryExecutor.java
+ *
+ * This class runs full-table work on several cores at once. The Tag ID key space is cut into
+ * ranges holding similar numbers of records, each range is scanned on its own WAL reader
+ * connection, and the partial results are combined in Tag ID order.
+ */
+package WATSSwingApp;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Range-sharded parallel scans and aggregation over the {@code WildAnimals} table.
+ * <p>
+ * Ranges are planned from the per-bucket record counts that {@link SyncEngine} keeps in {@code SyncDigests}, so
+ * each range holds roughly the same number of records even when Tag IDs are clustered. The table is cut into
+ * {@link #RANGES_PER_THREAD} ranges per thread, so threads that finish early pick up more work, but never into
+ * ranges smaller than {@link #MIN_RANGE_ROWS} records. Every range runs as a primary-key range scan on its own
+ * {@link PerformanceProfile#READ_ONLY_ANALYTICS} connection; in WAL mode readers do not block each other, so
+ * throughput grows with the number of threads until the disk or the page cache is saturated.
+ * </p>
+ *
+ * <p>Each range reads its own snapshot, so a scan that overlaps a write may see the write in some ranges and not
+ * in others. Because the ranges are disjoint and processed in Tag ID order, ordered results are produced by
+ * concatenating the ranges, without a merge step.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ParallelQueryExecutor {
+
+    /** Number of ranges planned per thread, balancing uneven ranges across threads. */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /** Smallest number of records worth a range of its own. */
+    private static final long MIN_RANGE_ROWS = 5_000;
+
+    /** Reference to the database manager of the scanned database. */
+    private final DatabaseManager dbManager;
+
+    /** Pool running the range scans. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new {@code ParallelQueryExecutor} with one thread per available processor.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database to scan
+     */
+    public ParallelQueryExecutor(DatabaseManager dbManager) {
+        this(dbManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new {@code ParallelQueryExecutor} with the given number of threads.
+     *
+     * @param dbManager   the {@link DatabaseManager} of the database to scan
+     * @param parallelism the number of ranges scanned at the same time
+     */
+    public ParallelQueryExecutor(DatabaseManager dbManager, int parallelism) {
+        this.dbManager = dbManager;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    /** @return the number of ranges scanned at the same time */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Runs a query once per Tag ID range, in parallel, and returns the per-range results in Tag ID order.
+     * <p>
+     * The query must bind the range as its first two parameters, as in {@code WHERE id BETWEEN ? AND ? ...};
+     * the given parameters follow them.
+     * </p>
+     *
+     * @param sql    the read-only query with the range as its first two parameters
+     * @param params the remaining parameters, bound with {@link PreparedStatement#setObject(int, Object)}
+     * @param mapper builds the partial result of one range
+     * @param <R>    the type of the partial results
+     * @return the partial results, one per range, in ascending Tag ID order
+     * @throws SQLException if the ranges cannot be planned or a range query fails
+     */
+    public <R> List<R> queryRanges(String sql, Object[] params, ResultSetMapper<R> mapper) throws SQLException {
+        List<Callable<R>> tasks = new ArrayList<>();
+        for (long[] range : planRanges()) {
+            tasks.add(() -> queryRange(sql, range[0], range[1], params, mapper));
+        }
+        List<R> results = new ArrayList<>(tasks.size());
+        for (Future<R> future : pool.invokeAll(tasks)) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    /**
+     * Reads every animal record with a parallel scan, or from the record snapshot if it is current.
+     *
+     * @return all records in ascending Tag ID order
+     * @throws SQLException if a range cannot be read
+     */
+    public List<AnimalRecord> scanRecords() throws SQLException {
+        RecordSnapshot snapshot = dbManager.getRecordSnapshot();
+        if (snapshot != null) {
+            return snapshot.getRecords();
+        }
+        List<List<AnimalRecord>> parts = queryRanges(
+                "SELECT " + AnimalRecord.SELECT_COLUMNS + " FROM WildAnimals WHERE id BETWEEN ? AND ? ORDER BY id",
+                new Object[0], ParallelQueryExecutor::readRecords);
+
+        int total = 0;
+        for (List<AnimalRecord> part : parts) {
+            total += part.size();
+        }
+        List<AnimalRecord> records = new ArrayList<>(total);
+        for (List<AnimalRecord> part : parts) {
+            records.addAll(part);
+        }
+        return records;
+    }
+
+    /**
+     * Computes the average weight of every species from per-range counts and sums, or from the mapped columns of
+     * the record snapshot if it is current.
+     *
+     * @return the average weight in kilograms per species, sorted by species name
+     * @throws SQLException if a range cannot be read
+     */
+    public Map<String, Double> averageWeightBySpecies() throws SQLException {
+        RecordSnapshot snapshot = dbManager.getRecordSnapshot();
+        if (snapshot != null) {
+            return snapshot.averageWeightBySpecies();
+        }
+        List<Map<String, double[]>> parts = queryRanges(
+                "SELECT species, COUNT(weight), SUM(weight) FROM WildAnimals WHERE id BETWEEN ? AND ? GROUP BY species",
+                new Object[0], rs -> {
+                    Map<String, double[]> partial = new TreeMap<>();
+                    while (rs.next()) {
+                        partial.put(String.valueOf(rs.getString(1)), new double[] { rs.getLong(2), rs.getDouble(3) });
+                    }
+                    return partial;
+                });
+
+        Map<String, double[]> totals = new TreeMap<>();
+        for (Map<String, double[]> part : parts) {
+            for (Map.Entry<String, double[]> entry : part.entrySet()) {
+                double[] total = totals.computeIfAbsent(entry.getKey(), species -> new double[2]);
+                total[0] += entry.getValue()[0];
+                total[1] += entry.getValue()[1];
+            }
+        }
+        Map<String, Double> averages = new TreeMap<>();
+        for (Map.Entry<String, double[]> entry : totals.entrySet()) {
+            if (entry.getValue()[0] > 0) {
+                averages.put(entry.getKey(), entry.getValue()[1] / entry.getValue()[0]);
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * Exports every animal record to a CSV file that {@link AnimalImporter} can read back.
+     * <p>
+     * Ranges are read and formatted in parallel and written in Tag ID order as soon as each range and all ranges
+     * before it are done. Text containing commas, double quotes or line breaks is quoted. Gender and health status
+     * are written as stored, so text that matches no constant is kept rather than replaced with {@code Unknown};
+     * the importer reports such rows instead of overwriting the stored text.
+     * </p>
+     *
+     * @param file the CSV file to create or replace
+     * @return the number of records written
+     * @throws SQLException if a range cannot be read
+     * @throws IOException  if the file cannot be written
+     */
+    public long exportCsv(File file) throws SQLException, IOException {
+        // Gender and health status are read as stored, so text matching no constant is exported unchanged
+        String sql = "SELECT id, species, name, age, gender, weight, healthStatus FROM WildAnimals "
+                + "WHERE id BETWEEN ? AND ? ORDER BY id";
+        AtomicLong exported = new AtomicLong();
+        List<Future<String>> chunks = new ArrayList<>();
+        for (long[] range : planRanges()) {
+            chunks.add(pool.submit(() -> queryRange(sql, range[0], range[1], new Object[0], rs -> {
+                StringBuilder chunk = new StringBuilder();
+                long records = 0;
+                while (rs.next()) {
+                    chunk.append(rs.getInt(1)).append(',')
+                            .append(csv(rs.getString(2))).append(',')
+                            .append(csv(rs.getString(3))).append(',')
+                            .append(rs.getInt(4)).append(',')
+                            .append(csv(rs.getString(5))).append(',')
+                            .append(rs.getDouble(6)).append(',')
+                            .append(csv(rs.getString(7))).append('\n');
+                    records++;
+                }
+                exported.addAndGet(records);
+                return chunk.toString();
+            })));
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            out.write("Tag ID,Species,Name,Age,Gender,Weight,Health Status\n");
+            for (Future<String> chunk : chunks) {
+                out.write(await(chunk));
+            }
+        } finally {
+            for (Future<String> chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+        return exported.get();
+    }
+
+    /**
+     * Stops the pool's threads. Scans already running are allowed to finish.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Cuts the Tag ID key space into ranges holding similar numbers of records.
+     *
+     * @return the inclusive {@code [first, last]} Tag ID ranges in ascending order, covering every Tag ID
+     * @throws SQLException if the bucket counts cannot be read
+     */
+    private List<long[]> planRanges() throws SQLException {
+        List<long[]> buckets = new ArrayList<>();
+        long total = 0;
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT bucket, rowCount FROM SyncDigests ORDER BY bucket")) {
+            while (rs.next()) {
+                buckets.add(new long[] { rs.getLong(1), rs.getLong(2) });
+                total += rs.getLong(2);
+            }
+        }
+
+        long parts = Math.max(1, Math.min(getParallelism() * (long) RANGES_PER_THREAD, total / MIN_RANGE_ROWS));
+        long target = Math.max(1, total / parts);
+        List<long[]> ranges = new ArrayList<>();
+        long first = Integer.MIN_VALUE;
+        long rows = 0;
+        for (long[] bucket : buckets) {
+            rows += bucket[1];
+            if (rows >= target && ranges.size() < parts - 1) {
+                long last = SyncEngine.firstIdOf(bucket[0] + 1) - 1;
+                ranges.add(new long[] { first, last });
+                first = last + 1;
+                rows = 0;
+            }
+        }
+        ranges.add(new long[] { first, Integer.MAX_VALUE });
+        return ranges;
+    }
+
+    /**
+     * Runs a query for one Tag ID range on its own connection.
+     *
+     * @param sql     the query with the range as its first two parameters
+     * @param firstId the lowest Tag ID of the range
+     * @param lastId  the highest Tag ID of the range
+     * @param params  the remaining parameters
+     * @param mapper  builds the partial result
+     * @param <R>     the type of the partial result
+     * @return the partial result of the range
+     * @throws SQLException if the query fails
+     */
+    private <R> R queryRange(String sql, long firstId, long lastId, Object[] params, ResultSetMapper<R> mapper)
+            throws SQLException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, firstId);
+            stmt.setLong(2, lastId);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 3, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return mapper.map(rs);
+            }
+        }
+    }
+
+    /**
+     * Waits for a range and unwraps its failure.
+     *
+     * @param future the range's future
+     * @param <R>    the type of the partial result
+     * @return the partial result
+     * @throws SQLException if the range failed or the wait was interrupted
+     */
+    private static <R> R await(Future<R> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a parallel scan.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Parallel scan failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Maps the rows of a result set with {@link AnimalRecord#SELECT_COLUMNS}.
+     *
+     * @param rs the result set
+     * @return the records
+     * @throws SQLException if a row cannot be read
+     */
+    private static List<AnimalRecord> readRecords(ResultSet rs) throws SQLException {
+        List<AnimalRecord> records = new ArrayList<>();
+        while (rs.next()) {
+            records.add(AnimalRecord.fromResultSet(rs));
+        }
+        return records;
+    }
+
+    /**
+     * Formats a text value as a CSV field, quoting it if it contains a comma, double quote or line break.
+     *
+     * @param value the text, or {@code null}
+     * @return the CSV field
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
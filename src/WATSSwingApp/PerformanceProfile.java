@@ -0,0 +1,123 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: PerformanceProfile.java
+ *
+ * This enum defines named SQLite tuning profiles for the Wildlife Animal Tracking System.
+ * Each profile bundles the connection-level PRAGMA settings (journal mode, synchronous level,
+ * page cache size, memory mapping, temporary storage, and busy timeout) that suit one kind of
+ * workload, and applies them to every connection opened by the DatabaseManager.
+ */
+package WATSSwingApp;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Named SQLite performance profiles applied per connection by {@link DatabaseManager}.
+ * <p>
+ * All profiles use write-ahead logging so readers never block the writer and commits only append to the
+ * WAL file. They differ in durability and memory use:
+ * </p>
+ * <ul>
+ *     <li><b>Interactive</b> – {@code synchronous=NORMAL}, moderate page cache and memory-mapped reads;
+ *         the default for dialogs and table refreshes.</li>
+ *     <li><b>Bulk Load</b> – {@code synchronous=OFF} and a large cache for imports and set-based updates,
+ *         trading durability of the last transactions on power loss for throughput.</li>
+ *     <li><b>Read-Only Analytics</b> – a large cache and memory map with {@code query_only} enabled for
+ *         scans and aggregates.</li>
+ * </ul>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum PerformanceProfile {
+
+    /** Balanced settings for interactive use. */
+    INTERACTIVE("Interactive", "NORMAL", 16 * 1024, 256L * 1024 * 1024, 5_000, false),
+
+    /** Throughput-oriented settings for imports and bulk writes. */
+    BULK_LOAD("Bulk Load", "OFF", 256 * 1024, 256L * 1024 * 1024, 30_000, false),
+
+    /** Read-mostly settings for scans and aggregate queries. */
+    READ_ONLY_ANALYTICS("Read-Only Analytics", "NORMAL", 128 * 1024, 1024L * 1024 * 1024, 5_000, true);
+
+    /** Human-readable profile name shown in menus and benchmark output. */
+    private final String displayName;
+
+    /** Value of {@code PRAGMA synchronous}. */
+    private final String synchronous;
+
+    /** Page cache size in KiB (passed to {@code PRAGMA cache_size} as a negative number). */
+    private final int cacheSizeKib;
+
+    /** Maximum number of bytes of the database file accessed through memory mapping. */
+    private final long mmapSize;
+
+    /** Milliseconds to wait for a lock before failing with {@code SQLITE_BUSY}. */
+    private final int busyTimeoutMillis;
+
+    /** Whether the connection rejects writes. */
+    private final boolean queryOnly;
+
+    /**
+     * Constructs a performance profile.
+     *
+     * @param displayName       human-readable profile name
+     * @param synchronous       value of {@code PRAGMA synchronous}
+     * @param cacheSizeKib      page cache size in KiB
+     * @param mmapSize          memory-mapped I/O size in bytes
+     * @param busyTimeoutMillis busy timeout in milliseconds
+     * @param queryOnly         whether the connection rejects writes
+     */
+    PerformanceProfile(String displayName, String synchronous, int cacheSizeKib, long mmapSize,
+                       int busyTimeoutMillis, boolean queryOnly) {
+        this.displayName = displayName;
+        this.synchronous = synchronous;
+        this.cacheSizeKib = cacheSizeKib;
+        this.mmapSize = mmapSize;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+        this.queryOnly = queryOnly;
+    }
+
+    /** @return the human-readable profile name */
+    public String getDisplayName() { return displayName; }
+
+    /** @return the milliseconds a connection waits for a lock before failing with {@code SQLITE_BUSY} */
+    public int getBusyTimeoutMillis() { return busyTimeoutMillis; }
+
+    /**
+     * Applies this profile's PRAGMA settings to a freshly opened connection.
+     * <p>
+     * The busy timeout is set first so switching the journal mode can wait for other connections.
+     * {@code journal_mode=WAL} is persistent in the database file and is a cheap no-op once set.
+     * </p>
+     *
+     * @param conn the connection to configure
+     * @throws SQLException if a PRAGMA cannot be applied
+     */
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA cache_size = -" + cacheSizeKib);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = MEMORY");
+            stmt.execute("PRAGMA query_only = " + (queryOnly ? "ON" : "OFF"));
+        }
+    }
+
+    /**
+     * Returns the display name, so profiles can be listed directly in Swing components.
+     *
+     * @return the human-readable profile name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ProfileBenchmark.java
+ *
+ * This is a command-line benchmark that measures the effect of each SQLite performance profile
+ * on the WildAnimals workload: batched inserts, single-row committed updates, full table scans,
+ * and point lookups by Tag ID. Each profile runs against its own freshly created database file
+ * so results are not influenced by a warm cache from a previous run.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+/**
+ * A command-line benchmark comparing the {@link PerformanceProfile}s of the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * Usage: {@code java WATSSwingApp.ProfileBenchmark [rows] [directory]}. For each profile a temporary database
+ * is created in the given directory (the system temporary directory by default), filled with {@code rows}
+ * synthetic animal records, and measured. Results are printed as one line per profile in operations per second.
+ * The read-only analytics profile rejects writes, so its database is loaded with the bulk-load profile and only
+ * the read phases are measured with it.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ProfileBenchmark {
+
+    /** Number of rows inserted per transaction during the load phase. */
+    private static final int BATCH_SIZE = 1_000;
+
+    /** Number of individually committed updates measured per profile. */
+    private static final int UPDATE_COUNT = 1_000;
+
+    /** Number of point lookups measured per profile. */
+    private static final int LOOKUP_COUNT = 10_000;
+
+    /** Species values used for synthetic records. */
+    private static final String[] SPECIES = { "Lion", "Tiger", "Elephant", "Wolf", "Bear", "Eagle", "Zebra", "Giraffe" };
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of rows and optional working directory
+     * @throws Exception if the benchmark cannot create or access its database files
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        File directory = new File(args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir"));
+
+        System.out.printf("%-20s %14s %14s %14s %14s%n", "Profile", "insert/s", "commit/s", "scan rows/s", "lookup/s");
+        for (PerformanceProfile profile : PerformanceProfile.values()) {
+            File dbFile = File.createTempFile("wats-bench-", ".db", directory);
+            try {
+                runProfile(profile, new DatabaseManager(dbFile.getAbsolutePath()), rows);
+            } finally {
+                deleteDatabaseFiles(dbFile);
+            }
+        }
+    }
+
+    /**
+     * Measures all benchmark phases for one profile and prints the result line.
+     *
+     * @param profile   the profile under test
+     * @param dbManager the database manager for the profile's fresh database file
+     * @param rows      the number of records to load
+     * @throws SQLException if a database operation fails
+     */
+    private static void runProfile(PerformanceProfile profile, DatabaseManager dbManager, int rows) throws SQLException {
+        dbManager.ensureSchema();
+        boolean writable = profile != PerformanceProfile.READ_ONLY_ANALYTICS;
+        PerformanceProfile writeProfile = writable ? profile : PerformanceProfile.BULK_LOAD;
+
+        long start = System.nanoTime();
+        loadRows(dbManager, writeProfile, rows);
+        double insertRate = rate(rows, start);
+
+        String commitRate = "n/a";
+        if (writable) {
+            start = System.nanoTime();
+            updateRows(dbManager, profile, rows);
+            commitRate = String.format("%.0f", rate(UPDATE_COUNT, start));
+        }
+
+        start = System.nanoTime();
+        long scanned = scanRows(dbManager, profile);
+        double scanRate = rate(scanned, start);
+
+        start = System.nanoTime();
+        lookupRows(dbManager, profile, rows);
+        double lookupRate = rate(LOOKUP_COUNT, start);
+
+        System.out.printf("%-20s %14.0f %14s %14.0f %14.0f%n",
+                profile.getDisplayName(), insertRate, commitRate, scanRate, lookupRate);
+    }
+
+    /**
+     * Inserts synthetic records in batches of {@link #BATCH_SIZE} per transaction.
+     *
+     * @param dbManager the database manager
+     * @param profile   the profile used for the loading connection
+     * @param rows      the number of records to insert
+     * @throws SQLException if the insert fails
+     */
+    private static void loadRows(DatabaseManager dbManager, PerformanceProfile profile, int rows) throws SQLException {
+        Random random = new Random(42);
+        String sql = "INSERT INTO WildAnimals (id, species, name, age, gender, weight, healthStatus) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = dbManager.connect(profile);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            for (int id = 1; id <= rows; id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, SPECIES[random.nextInt(SPECIES.length)]);
+                stmt.setString(3, "Animal " + id);
+                stmt.setInt(4, random.nextInt(30));
+                stmt.setString(5, random.nextBoolean() ? "Male" : "Female");
+                stmt.setDouble(6, 5 + random.nextDouble() * 500);
+                stmt.setString(7, "Healthy");
+                stmt.addBatch();
+                if (id % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+
+    /**
+     * Performs {@link #UPDATE_COUNT} single-row updates, each committed on its own, to expose the cost of a commit.
+     *
+     * @param dbManager the database manager
+     * @param profile   the profile under test
+     * @param rows      the number of records in the table
+     * @throws SQLException if an update fails
+     */
+    private static void updateRows(DatabaseManager dbManager, PerformanceProfile profile, int rows) throws SQLException {
+        Random random = new Random(7);
+        try (Connection conn = dbManager.connect(profile);
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE WildAnimals SET weight = ?, version = version + 1 WHERE id = ?")) {
+            for (int i = 0; i < UPDATE_COUNT; i++) {
+                stmt.setDouble(1, 5 + random.nextDouble() * 500);
+                stmt.setInt(2, 1 + random.nextInt(rows));
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Reads every record of the table through one cursor.
+     *
+     * @param dbManager the database manager
+     * @param profile   the profile under test
+     * @return the number of rows read
+     * @throws SQLException if the scan fails
+     */
+    private static long scanRows(DatabaseManager dbManager, PerformanceProfile profile) throws SQLException {
+        long count = 0;
+        double checksum = 0;
+        try (Connection conn = dbManager.connect(profile);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM WildAnimals")) {
+            while (rs.next()) {
+                checksum += rs.getDouble("weight");
+                count++;
+            }
+        }
+        return checksum >= 0 ? count : 0;
+    }
+
+    /**
+     * Performs {@link #LOOKUP_COUNT} random point lookups by Tag ID on one connection.
+     *
+     * @param dbManager the database manager
+     * @param profile   the profile under test
+     * @param rows      the number of records in the table
+     * @throws SQLException if a lookup fails
+     */
+    private static void lookupRows(DatabaseManager dbManager, PerformanceProfile profile, int rows) throws SQLException {
+        Random random = new Random(11);
+        try (Connection conn = dbManager.connect(profile);
+             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM WildAnimals WHERE id = ?")) {
+            for (int i = 0; i < LOOKUP_COUNT; i++) {
+                stmt.setInt(1, 1 + random.nextInt(rows));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes a rate in operations per second.
+     *
+     * @param operations the number of operations performed
+     * @param startNanos the {@link System#nanoTime()} value when the phase started
+     * @return operations per second
+     */
+    private static double rate(long operations, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? operations / seconds : 0;
+    }
+
+    /**
+     * Deletes a benchmark database together with its WAL and shared-memory files.
+     *
+     * @param dbFile the database file
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteDatabaseFiles(File dbFile) throws IOException {
+        for (String suffix : new String[] { "", "-wal", "-shm" }) {
+            Files.deleteIfExists(new File(dbFile.getPath() + suffix).toPath());
+        }
+    }
+}
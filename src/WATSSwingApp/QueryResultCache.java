@@ -0,0 +1,220 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: QueryResultCache.java
+ *
+ * This class remembers the results of read-only aggregate and search queries until the
+ * database changes. A repeated report or dashboard then costs one cheap version check
+ * instead of a query, and the cache is emptied as soon as anything is written.
+ */
+package WATSSwingApp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of query results for one WATS database.
+ * <p>
+ * Results are keyed by the SQL text and its parameters. Every lookup first checks whether the database has
+ * changed since the cached results were read, using two counters:
+ * </p>
+ * <ul>
+ *     <li>{@code PRAGMA data_version} on a connection the cache keeps open; SQLite changes it whenever any other
+ *     connection, in this or another process, commits a change.</li>
+ *     <li>{@link DatabaseManager#getWriteCount()}, which the application's own writers advance.</li>
+ * </ul>
+ * <p>
+ * If either counter moved, the whole cache is dropped. The counters are read before a query runs, so a write
+ * that lands during the query can only make its result look older than it is, never newer.
+ * </p>
+ *
+ * <p>At most {@link #MAX_ENTRIES} results are kept, and results that are collections of more than
+ * {@link #MAX_CACHED_ROWS} elements are returned without being cached. Cached values are shared between
+ * callers and must not be modified; collection results should be returned unmodifiable by the mapper.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class QueryResultCache {
+
+    /** Maximum number of cached results; the least recently used result is evicted beyond this. */
+    public static final int MAX_ENTRIES = 256;
+
+    /** Largest collection result that is cached. */
+    public static final int MAX_CACHED_ROWS = 10_000;
+
+    /** Reference to the database manager of the cached database. */
+    private final DatabaseManager dbManager;
+
+    /** Cached results keyed by SQL text followed by the parameters, in access order. */
+    private final LinkedHashMap<List<Object>, Object> entries = new LinkedHashMap<List<Object>, Object>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /** Connection kept open for reading {@code PRAGMA data_version}, or {@code null} until first needed. */
+    private Connection versionConnection;
+
+    /** Data version the cached results were read at. */
+    private long cachedDataVersion = -1;
+
+    /** Application write count the cached results were read at. */
+    private long cachedWriteCount = -1;
+
+    /** Number of lookups answered from the cache. */
+    private long hits;
+
+    /** Number of lookups that ran the query. */
+    private long misses;
+
+    /** Number of times the cache was dropped because the database changed. */
+    private long invalidations;
+
+    /**
+     * Constructs a new {@code QueryResultCache} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database whose queries are cached
+     */
+    public QueryResultCache(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Returns the cached result of a read-only query, or runs the query and caches its result.
+     * <p>
+     * The query runs on a {@link PerformanceProfile#READ_ONLY_ANALYTICS} connection outside the cache's lock,
+     * so a slow query does not hold up lookups of other results.
+     * </p>
+     *
+     * @param sql    the read-only query
+     * @param params the parameters bound in order with {@link PreparedStatement#setObject(int, Object)}
+     * @param mapper builds the result from the query's rows
+     * @param <T>    the type of the result
+     * @return the result, possibly shared with other callers
+     * @throws SQLException if the database cannot be checked or the query fails
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T query(String sql, Object[] params, ResultSetMapper<T> mapper) throws SQLException {
+        List<Object> key = new ArrayList<>(params.length + 1);
+        key.add(sql);
+        for (Object param : params) {
+            key.add(param);
+        }
+
+        long dataVersion;
+        long writeCount;
+        synchronized (this) {
+            validate();
+            if (entries.containsKey(key)) {
+                hits++;
+                return (T) entries.get(key);
+            }
+            misses++;
+            dataVersion = cachedDataVersion;
+            writeCount = cachedWriteCount;
+        }
+
+        T result;
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                result = mapper.map(rs);
+            }
+        }
+
+        synchronized (this) {
+            // Only keep the result if nothing was invalidated while the query ran
+            boolean cacheable = !(result instanceof Collection) || ((Collection<?>) result).size() <= MAX_CACHED_ROWS;
+            if (cacheable && dataVersion == cachedDataVersion && writeCount == cachedWriteCount) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops every cached result if the database changed since they were read.
+     *
+     * @throws SQLException if the data version cannot be read
+     */
+    private void validate() throws SQLException {
+        // Read the write count first so a write committing in between is caught on the next lookup
+        long writeCount = dbManager.getWriteCount();
+        if (versionConnection == null) {
+            versionConnection = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+        }
+        long dataVersion;
+        try (Statement stmt = versionConnection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+            dataVersion = rs.next() ? rs.getLong(1) : -1;
+        }
+
+        if (dataVersion != cachedDataVersion || writeCount != cachedWriteCount) {
+            if (!entries.isEmpty()) {
+                invalidations++;
+            }
+            entries.clear();
+            cachedDataVersion = dataVersion;
+            cachedWriteCount = writeCount;
+        }
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /** @return the number of cached results */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** @return the number of lookups answered from the cache */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** @return the number of lookups that ran the query */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** @return the number of times the cache was dropped because the database changed */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Drops every cached result and closes the connection used for version checks.
+     * Called when the database is closed or replaced; a later lookup reopens the connection.
+     */
+    public synchronized void close() {
+        entries.clear();
+        if (versionConnection != null) {
+            try {
+                versionConnection.close();
+            } catch (SQLException e) {
+                // The cache is being discarded; nothing useful can be done about a failing close
+            }
+            versionConnection = null;
+            cachedDataVersion = -1;
+        }
+    }
+}
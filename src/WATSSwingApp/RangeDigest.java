@@ -0,0 +1,83 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: RangeDigest.java
+ *
+ * This class is one node of the Merkle tree the sync engine compares between two databases.
+ * It summarises every animal record whose Tag ID falls in the node's range with a row count
+ * and two independent hash sums, so equal digests mean the range needs no transfer.
+ */
+package WATSSwingApp;
+
+/**
+ * The digest of one Tag ID range in the sync Merkle tree.
+ * <p>
+ * Tag IDs are grouped into leaf buckets of {@link SyncEngine#LEAF_SPAN} consecutive IDs. A node at level
+ * {@code L} covers the {@code 2^L} buckets starting at {@code node << L}; level {@code 0} is a single bucket.
+ * Because the hashes are sums, the digest of a node is the sum of its children's digests.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RangeDigest {
+
+    /** Tree level of the node; level {@code 0} nodes are single buckets. */
+    private final int level;
+
+    /** Index of the node within its level. */
+    private final long node;
+
+    /** Number of records in the range. */
+    private final long rowCount;
+
+    /** Sum of the first row hash over the range. */
+    private final long hash1;
+
+    /** Sum of the second row hash over the range. */
+    private final long hash2;
+
+    /**
+     * Constructs a new {@code RangeDigest}.
+     *
+     * @param level    tree level of the node
+     * @param node     index of the node within its level
+     * @param rowCount number of records in the range
+     * @param hash1    sum of the first row hash over the range
+     * @param hash2    sum of the second row hash over the range
+     */
+    public RangeDigest(int level, long node, long rowCount, long hash1, long hash2) {
+        this.level = level;
+        this.node = node;
+        this.rowCount = rowCount;
+        this.hash1 = hash1;
+        this.hash2 = hash2;
+    }
+
+    /** @return the tree level of the node */
+    public int getLevel() { return level; }
+
+    /** @return the index of the node within its level */
+    public long getNode() { return node; }
+
+    /** @return the number of records in the range */
+    public long getRowCount() { return rowCount; }
+
+    /** @return the sum of the first row hash over the range */
+    public long getHash1() { return hash1; }
+
+    /** @return the sum of the second row hash over the range */
+    public long getHash2() { return hash2; }
+
+    /**
+     * Determines whether another digest summarises the same records.
+     *
+     * @param other the digest to compare with; may be {@code null} for an empty range
+     * @return {@code true} if both digests have the same count and hashes
+     */
+    public boolean matches(RangeDigest other) {
+        return other != null && rowCount == other.rowCount && hash1 == other.hash1 && hash2 == other.hash2;
+    }
+}
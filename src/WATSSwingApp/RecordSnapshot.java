@@ -0,0 +1,438 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: RecordSnapshot.java
+ *
+ * This class reads and writes a compact binary copy of the WildAnimals table kept next to the database
+ * file. The copy stores each column as a fixed-width array and the species as a small dictionary, and
+ * is read through a memory-mapped file, so a reopened database can fill its table and answer full-table
+ * questions without decoding every row through JDBC again.
+ */
+package WATSSwingApp;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Memory-mapped, column-oriented snapshot of the {@code WildAnimals} table, stored as {@code <database>-records.snap}.
+ * <p>
+ * After a 64-byte header the file holds one fixed-width array per column, in Tag ID order: weights and modification
+ * times, then Tag IDs, species codes, ages and versions, then gender, health status and null flags, then the
+ * offsets of each name and species in two UTF-8 blobs. Species are stored once each and referred to by code. Rows
+ * are read straight from the mapped file, so aggregates such as {@link #averageWeightBySpecies()} create no
+ * per-row objects at all.
+ * </p>
+ *
+ * <p>The header records the database fingerprint the snapshot was taken at: the sums of the per-bucket record
+ * counts and hashes that {@link SyncEngine}'s triggers keep in {@code SyncDigests}. The triggers also fire for
+ * writes made by other programs, so a snapshot is only used while {@link #readFingerprint(Connection)} still
+ * returns the same values. Files of another {@link #FORMAT_VERSION}, or of the wrong size, are ignored.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RecordSnapshot {
+
+    /** Version of the file layout; snapshots of other versions are ignored and rewritten. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Smallest table worth a snapshot; smaller tables load quickly enough from SQLite. */
+    public static final int MIN_ROWS = 10_000;
+
+    /** Magic number at the start of every snapshot file, {@code "WATS"}. */
+    private static final int MAGIC = 0x57415453;
+
+    /** Size of the file header in bytes. */
+    private static final int HEADER_BYTES = 64;
+
+    /** Flag set for rows whose name is {@code null}. */
+    private static final byte NULL_NAME = 1;
+
+    /** The mapped file. */
+    private final MappedByteBuffer buffer;
+
+    /** Database fingerprint the snapshot was taken at. */
+    private final long[] fingerprint;
+
+    /** Number of rows. */
+    private final int rowCount;
+
+    /** Species of each code, shared with {@link SpeciesDictionary}. */
+    private final String[] dictionary;
+
+    /** Offset of the weight column. */
+    private final int weightsAt;
+
+    /** Offset of the modification time column. */
+    private final int modifiedAt;
+
+    /** Offset of the Tag ID column. */
+    private final int idsAt;
+
+    /** Offset of the species code column. */
+    private final int speciesAt;
+
+    /** Offset of the age column. */
+    private final int agesAt;
+
+    /** Offset of the version column. */
+    private final int versionsAt;
+
+    /** Offset of the gender column. */
+    private final int gendersAt;
+
+    /** Offset of the health status column. */
+    private final int healthsAt;
+
+    /** Offset of the null flag column. */
+    private final int flagsAt;
+
+    /** Offset of the name offsets. */
+    private final int nameOffsetsAt;
+
+    /** Offset of the name blob. */
+    private final int namesAt;
+
+    /**
+     * Wraps a mapped snapshot file whose header has been checked.
+     *
+     * @param buffer          the mapped file
+     * @param fingerprint     the database fingerprint from the header
+     * @param rowCount        the number of rows
+     * @param dictionaryCount the number of species
+     */
+    private RecordSnapshot(MappedByteBuffer buffer, long[] fingerprint, int rowCount, int dictionaryCount) {
+        this.buffer = buffer;
+        this.fingerprint = fingerprint;
+        this.rowCount = rowCount;
+        weightsAt = HEADER_BYTES;
+        modifiedAt = weightsAt + 8 * rowCount;
+        idsAt = modifiedAt + 8 * rowCount;
+        speciesAt = idsAt + 4 * rowCount;
+        agesAt = speciesAt + 4 * rowCount;
+        versionsAt = agesAt + 4 * rowCount;
+        gendersAt = versionsAt + 4 * rowCount;
+        healthsAt = gendersAt + rowCount;
+        flagsAt = healthsAt + rowCount;
+        nameOffsetsAt = flagsAt + rowCount;
+        int speciesOffsetsAt = nameOffsetsAt + 4 * (rowCount + 1);
+        namesAt = speciesOffsetsAt + 4 * (dictionaryCount + 1);
+
+        int speciesBlobAt = namesAt + buffer.getInt(nameOffsetsAt + 4 * rowCount);
+        dictionary = new String[dictionaryCount];
+        for (int code = 0; code < dictionaryCount; code++) {
+            int start = buffer.getInt(speciesOffsetsAt + 4 * code);
+            int end = buffer.getInt(speciesOffsetsAt + 4 * (code + 1));
+            dictionary[code] = SpeciesDictionary.intern(decode(speciesBlobAt + start, end - start));
+        }
+    }
+
+    /**
+     * Returns the snapshot file of a database.
+     *
+     * @param dbPath the path of the database
+     * @return the snapshot file next to the database
+     */
+    public static File snapshotFileOf(String dbPath) {
+        return new File(new File(dbPath).getAbsolutePath() + "-records.snap");
+    }
+
+    /**
+     * Reads the current fingerprint of the {@code WildAnimals} table from the sync digests.
+     *
+     * @param conn a connection to the database
+     * @return the total record count and the two hash sums
+     * @throws SQLException if the digests cannot be read
+     */
+    public static long[] readFingerprint(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COALESCE(SUM(rowCount), 0), COALESCE(SUM(hash1), 0), COALESCE(SUM(hash2), 0) FROM SyncDigests")) {
+            rs.next();
+            return new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) };
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the snapshot, or {@code null} if the file is missing, of another format version, or damaged
+     * @throws IOException if the file cannot be read
+     */
+    public static RecordSnapshot open(File file) throws IOException {
+        if (!file.isFile() || file.length() < HEADER_BYTES || file.length() > Integer.MAX_VALUE) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            return null;
+        }
+        long[] fingerprint = { buffer.getLong(8), buffer.getLong(16), buffer.getLong(24) };
+        int rowCount = buffer.getInt(32);
+        int dictionaryCount = buffer.getInt(36);
+        long namesLength = buffer.getLong(40);
+        long speciesLength = buffer.getLong(48);
+        if (rowCount < 0 || dictionaryCount < 0
+                || fileSize(rowCount, dictionaryCount, namesLength, speciesLength) != buffer.capacity()) {
+            return null;
+        }
+        return new RecordSnapshot(buffer, fingerprint, rowCount, dictionaryCount);
+    }
+
+    /**
+     * Writes a snapshot file, replacing any previous one only once the new file is complete.
+     *
+     * @param file        the snapshot file
+     * @param records     every record of the table, in ascending Tag ID order
+     * @param fingerprint the database fingerprint the records were read at
+     * @return {@code true} if the file was written; {@code false} if the records are too many for one mapping
+     * @throws IOException if the file cannot be written
+     */
+    public static boolean write(File file, List<AnimalRecord> records, long[] fingerprint) throws IOException {
+        int rowCount = records.size();
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> speciesBytes = new ArrayList<>();
+        int[] speciesCodes = new int[rowCount];
+        byte[][] names = new byte[rowCount][];
+        long namesLength = 0;
+        long speciesLength = 0;
+        for (int row = 0; row < rowCount; row++) {
+            AnimalRecord record = records.get(row);
+            String species = record.getSpecies();
+            if (species == null) {
+                speciesCodes[row] = -1;
+            } else {
+                Integer code = codes.get(species);
+                if (code == null) {
+                    code = speciesBytes.size();
+                    codes.put(species, code);
+                    byte[] bytes = species.getBytes(StandardCharsets.UTF_8);
+                    speciesBytes.add(bytes);
+                    speciesLength += bytes.length;
+                }
+                speciesCodes[row] = code;
+            }
+            if (record.getName() != null) {
+                names[row] = record.getName().getBytes(StandardCharsets.UTF_8);
+                namesLength += names[row].length;
+            }
+        }
+        if (fileSize(rowCount, speciesBytes.size(), namesLength, speciesLength) > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath()), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (long value : fingerprint) {
+                out.writeLong(value);
+            }
+            out.writeInt(rowCount);
+            out.writeInt(speciesBytes.size());
+            out.writeLong(namesLength);
+            out.writeLong(speciesLength);
+            out.write(new byte[HEADER_BYTES - out.size()]);
+
+            for (AnimalRecord record : records) {
+                out.writeDouble(record.getWeight());
+            }
+            for (AnimalRecord record : records) {
+                out.writeLong(record.getLastModified());
+            }
+            for (AnimalRecord record : records) {
+                out.writeInt(record.getId());
+            }
+            for (int code : speciesCodes) {
+                out.writeInt(code);
+            }
+            for (AnimalRecord record : records) {
+                out.writeInt(record.getAge());
+            }
+            for (AnimalRecord record : records) {
+                out.writeInt(record.getVersion());
+            }
+            for (AnimalRecord record : records) {
+                out.writeByte(record.getGender().ordinal());
+            }
+            for (AnimalRecord record : records) {
+                out.writeByte(record.getHealthStatus().ordinal());
+            }
+            for (byte[] name : names) {
+                out.writeByte(name == null ? NULL_NAME : 0);
+            }
+
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] name : names) {
+                offset += name == null ? 0 : name.length;
+                out.writeInt(offset);
+            }
+            offset = 0;
+            out.writeInt(offset);
+            for (byte[] species : speciesBytes) {
+                offset += species.length;
+                out.writeInt(offset);
+            }
+            for (byte[] name : names) {
+                if (name != null) {
+                    out.write(name);
+                }
+            }
+            for (byte[] species : speciesBytes) {
+                out.write(species);
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    /**
+     * Computes the size of a snapshot file.
+     *
+     * @param rowCount        the number of rows
+     * @param dictionaryCount the number of species
+     * @param namesLength     the total length of the encoded names
+     * @param speciesLength   the total length of the encoded species
+     * @return the file size in bytes
+     */
+    private static long fileSize(int rowCount, int dictionaryCount, long namesLength, long speciesLength) {
+        return HEADER_BYTES + 35L * rowCount + 4L * (rowCount + 1) + 4L * (dictionaryCount + 1) + namesLength + speciesLength;
+    }
+
+    /**
+     * Determines whether the snapshot still matches the database.
+     *
+     * @param current the fingerprint returned by {@link #readFingerprint(Connection)}
+     * @return {@code true} if the snapshot was taken at that fingerprint
+     */
+    public boolean matches(long[] current) {
+        return Arrays.equals(fingerprint, current);
+    }
+
+    /** @return the number of records in the snapshot */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the Tag ID of a row.
+     *
+     * @param row the row, from 0 to {@link #size()} - 1
+     * @return the Tag ID
+     */
+    public int getId(int row) {
+        return buffer.getInt(idsAt + 4 * row);
+    }
+
+    /**
+     * Builds the record of a row.
+     *
+     * @param row the row, from 0 to {@link #size()} - 1
+     * @return the record
+     */
+    public AnimalRecord getRecord(int row) {
+        int code = buffer.getInt(speciesAt + 4 * row);
+        String name = null;
+        if ((buffer.get(flagsAt + row) & NULL_NAME) == 0) {
+            int start = buffer.getInt(nameOffsetsAt + 4 * row);
+            name = decode(namesAt + start, buffer.getInt(nameOffsetsAt + 4 * (row + 1)) - start);
+        }
+        return new AnimalRecord(getId(row), code < 0 ? null : dictionary[code], name, buffer.getInt(agesAt + 4 * row),
+                Gender.fromCode(buffer.get(gendersAt + row)), buffer.getDouble(weightsAt + 8 * row),
+                HealthStatus.fromCode(buffer.get(healthsAt + row)), buffer.getInt(versionsAt + 4 * row),
+                buffer.getLong(modifiedAt + 8 * row));
+    }
+
+    /**
+     * Returns one page of records in Tag ID order, found by binary search on the mapped Tag ID column.
+     *
+     * @param afterId the Tag ID after which the page starts; use {@link Integer#MIN_VALUE} for the first page
+     * @param limit   the maximum number of records to return
+     * @return the records of the page; empty once the end is reached
+     */
+    public List<AnimalRecord> getPage(int afterId, int limit) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getId(mid) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = (int) Math.min(rowCount, (long) low + limit);
+        List<AnimalRecord> page = new ArrayList<>(end - low);
+        for (int row = low; row < end; row++) {
+            page.add(getRecord(row));
+        }
+        return page;
+    }
+
+    /** @return every record in ascending Tag ID order */
+    public List<AnimalRecord> getRecords() {
+        return getPage(Integer.MIN_VALUE, rowCount);
+    }
+
+    /**
+     * Computes the average weight of every species straight from the mapped columns.
+     *
+     * @return the average weight in kilograms per species, sorted by species name
+     */
+    public Map<String, Double> averageWeightBySpecies() {
+        // One extra slot for records without a species
+        long[] counts = new long[dictionary.length + 1];
+        double[] sums = new double[dictionary.length + 1];
+        for (int row = 0; row < rowCount; row++) {
+            int code = buffer.getInt(speciesAt + 4 * row);
+            int slot = code < 0 ? dictionary.length : code;
+            counts[slot]++;
+            sums[slot] += buffer.getDouble(weightsAt + 8 * row);
+        }
+        Map<String, Double> averages = new TreeMap<>();
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (counts[slot] > 0) {
+                averages.put(slot < dictionary.length ? dictionary[slot] : "null", sums[slot] / counts[slot]);
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * Decodes a UTF-8 string from the mapped file.
+     *
+     * @param offset the offset of the first byte
+     * @param length the number of bytes
+     * @return the string
+     */
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
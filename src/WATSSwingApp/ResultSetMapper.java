@@ -0,0 +1,33 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ResultSetMapper.java
+ *
+ * This interface turns the rows of a query into the value a caller needs, such as a number
+ * or a list of records. It lets the query result cache run a query once and keep its value.
+ */
+package WATSSwingApp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a complete {@link ResultSet} to a value.
+ *
+ * @param <T> the type of the mapped value
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface ResultSetMapper<T> {
+
+    /**
+     * Reads the rows of a result set and builds a value from them.
+     *
+     * @param rs the result set, positioned before the first row
+     * @return the mapped value; may be {@code null}
+     * @throws SQLException if the rows cannot be read
+     */
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,75 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: RollupPeriod.java
+ *
+ * This enum defines the downsampling periods of the observation history.
+ * Each period knows the code it is stored under in the ObservationRollups table and
+ * how to align a timestamp to the start of its bucket (UTC days, and weeks starting on Monday).
+ */
+package WATSSwingApp;
+
+/**
+ * The downsampling periods for which {@link ObservationStore} maintains observation rollups.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum RollupPeriod {
+
+    /** One bucket per UTC calendar day. */
+    DAILY("D", "Daily"),
+
+    /** One bucket per week, starting Monday 00:00 UTC. */
+    WEEKLY("W", "Weekly");
+
+    /** Milliseconds in one day. */
+    public static final long DAY_MILLIS = 86_400_000L;
+
+    /** Code stored in the {@code period} column of {@code ObservationRollups}. */
+    private final String code;
+
+    /** Human-readable period name. */
+    private final String displayName;
+
+    /**
+     * Constructs a rollup period.
+     *
+     * @param code        code stored in the rollup table
+     * @param displayName human-readable period name
+     */
+    RollupPeriod(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    /** @return the code stored in the {@code period} column of {@code ObservationRollups} */
+    public String getCode() { return code; }
+
+    /**
+     * Aligns a timestamp to the start of the bucket containing it.
+     *
+     * @param timestamp a time in milliseconds since the epoch
+     * @return the start of the bucket in milliseconds since the epoch
+     */
+    public long bucketStart(long timestamp) {
+        long day = Math.floorDiv(timestamp, DAY_MILLIS);
+        if (this == WEEKLY) {
+            // 1970-01-01 was a Thursday, three days after the start of its week
+            day -= Math.floorMod(day + 3, 7);
+        }
+        return day * DAY_MILLIS;
+    }
+
+    /**
+     * Returns the display name, so periods can be listed directly in Swing components.
+     *
+     * @return the human-readable period name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: Sighting.java
+ *
+ * This class represents a single GPS fix of an animal: where it was seen and when.
+ * Sightings are stored in the Sightings table and indexed spatially with an R*Tree
+ * so region and nearest-neighbour queries do not have to scan every fix.
+ */
+package WATSSwingApp;
+
+/**
+ * An immutable, timestamped location of one animal.
+ * <p>
+ * Sightings are managed by {@link SightingStore}. New sightings that have not been stored yet carry
+ * a sighting ID of {@code 0}; the database assigns the ID on insert.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class Sighting {
+
+    /** Unique identifier of the sighting, or {@code 0} if it has not been stored yet. */
+    private final long sightingId;
+
+    /** Tag ID of the sighted animal. */
+    private final int id;
+
+    /** Time of the sighting in milliseconds since the epoch. */
+    private final long timestamp;
+
+    /** Latitude in decimal degrees (WGS 84). */
+    private final double latitude;
+
+    /** Longitude in decimal degrees (WGS 84). */
+    private final double longitude;
+
+    /**
+     * Constructs a new sighting that has not been stored yet.
+     *
+     * @param id        Tag ID of the sighted animal
+     * @param timestamp time of the sighting in milliseconds since the epoch
+     * @param latitude  latitude in decimal degrees
+     * @param longitude longitude in decimal degrees
+     */
+    public Sighting(int id, long timestamp, double latitude, double longitude) {
+        this(0L, id, timestamp, latitude, longitude);
+    }
+
+    /**
+     * Constructs a sighting with a known sighting ID.
+     *
+     * @param sightingId unique identifier of the sighting
+     * @param id         Tag ID of the sighted animal
+     * @param timestamp  time of the sighting in milliseconds since the epoch
+     * @param latitude   latitude in decimal degrees
+     * @param longitude  longitude in decimal degrees
+     */
+    public Sighting(long sightingId, int id, long timestamp, double latitude, double longitude) {
+        this.sightingId = sightingId;
+        this.id = id;
+        this.timestamp = timestamp;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /** @return the unique identifier of the sighting, or {@code 0} if it has not been stored yet */
+    public long getSightingId() { return sightingId; }
+
+    /** @return the Tag ID of the sighted animal */
+    public int getId() { return id; }
+
+    /** @return the time of the sighting in milliseconds since the epoch */
+    public long getTimestamp() { return timestamp; }
+
+    /** @return the latitude in decimal degrees */
+    public double getLatitude() { return latitude; }
+
+    /** @return the longitude in decimal degrees */
+    public double getLongitude() { return longitude; }
+
+    /**
+     * Computes the great-circle distance from this sighting to a location using the haversine formula.
+     *
+     * @param latitude  latitude of the other location in decimal degrees
+     * @param longitude longitude of the other location in decimal degrees
+     * @return the distance in kilometres
+     */
+    public double distanceKm(double latitude, double longitude) {
+        return SightingStore.haversineKm(this.latitude, this.longitude, latitude, longitude);
+    }
+}
@@ -0,0 +1,339 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SightingMapPanel.java
+ *
+ * This is a Swing panel that plots animal sightings on a simple latitude/longitude map.
+ * It shows the recent track of the animals selected in the main table, lets the user drag a
+ * rectangle to run an R*Tree region query, and double-click to find the nearest sightings.
+ */
+package WATSSwingApp;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A map-style plot panel for sightings in the Wildlife Animal Tracking System (WATS).
+ * <p>
+ * Sightings are drawn with an equirectangular projection fitted to the displayed points. Each animal gets its
+ * own colour and its fixes are joined in time order to show its track. Interactions:
+ * </p>
+ * <ul>
+ *     <li><b>Select rows in the table</b> – shows the recent track of the selected animals.</li>
+ *     <li><b>Drag a rectangle</b> – shows every sighting in that region, found through the R*Tree index.</li>
+ *     <li><b>Double-click</b> – highlights the sightings nearest to the clicked location.</li>
+ * </ul>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SightingMapPanel extends JPanel {
+
+    /** Maximum number of recent sightings shown per selected animal. */
+    private static final int TRACK_LIMIT = 500;
+
+    /** Maximum number of sightings drawn for a region query. */
+    private static final int REGION_LIMIT = 20_000;
+
+    /** Number of sightings highlighted by a nearest-neighbour query. */
+    private static final int NEAREST_COUNT = 10;
+
+    /** Diameter in pixels of a plotted sighting. */
+    private static final int POINT_SIZE = 5;
+
+    /** Store used to query sightings, or {@code null} while no database is open. */
+    private SightingStore sightingStore;
+
+    /** Sightings currently plotted. */
+    private List<Sighting> sightings = Collections.emptyList();
+
+    /** Sightings highlighted by the last nearest-neighbour query. */
+    private List<Sighting> highlighted = Collections.emptyList();
+
+    /** Whether the plotted sightings are tracks that should be joined by lines. */
+    private boolean drawTracks;
+
+    /** Southern edge of the visible area in decimal degrees. */
+    private double minLat = -90;
+
+    /** Northern edge of the visible area in decimal degrees. */
+    private double maxLat = 90;
+
+    /** Western edge of the visible area in decimal degrees. */
+    private double minLon = -180;
+
+    /** Eastern edge of the visible area in decimal degrees. */
+    private double maxLon = 180;
+
+    /** Status line drawn at the bottom of the panel. */
+    private String status = "Select animals to show their sightings; drag to query a region.";
+
+    /** Start point of the rectangle being dragged, or {@code null}. */
+    private Point dragStart;
+
+    /** Current end point of the rectangle being dragged, or {@code null}. */
+    private Point dragEnd;
+
+    /**
+     * Constructs a new {@code SightingMapPanel} and installs its mouse handlers.
+     */
+    public SightingMapPanel() {
+        setPreferredSize(new Dimension(350, 400));
+        setBackground(new Color(220, 235, 245));
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+                dragEnd = null;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                dragEnd = e.getPoint();
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (dragStart != null && dragEnd != null
+                        && Math.abs(dragEnd.x - dragStart.x) > 3 && Math.abs(dragEnd.y - dragStart.y) > 3) {
+                    queryRegion(dragStart, dragEnd);
+                }
+                dragStart = null;
+                dragEnd = null;
+                repaint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    queryNearest(e.getPoint());
+                }
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+    }
+
+    /**
+     * Sets the database whose sightings are plotted and clears the current plot.
+     *
+     * @param dbManager the {@link DatabaseManager} of the open database
+     */
+    public void setDatabase(DatabaseManager dbManager) {
+        sightingStore = new SightingStore(dbManager);
+        setSightings(Collections.emptyList(), false);
+    }
+
+    /**
+     * Shows the recent tracks of the given animals.
+     *
+     * @param tagIds the Tag IDs of the animals to show
+     */
+    public void showAnimals(Collection<Integer> tagIds) {
+        if (sightingStore == null) {
+            return;
+        }
+        try {
+            List<Sighting> tracks = sightingStore.getRecentSightings(tagIds, TRACK_LIMIT);
+            setSightings(tracks, true);
+            fitToSightings();
+            status = tracks.size() + " sighting(s) of " + tagIds.size() + " animal(s)";
+        } catch (SQLException e) {
+            status = "Error: " + e.getMessage();
+        }
+        repaint();
+    }
+
+    /**
+     * Runs an R*Tree region query for the rectangle between two panel points.
+     *
+     * @param from one corner of the rectangle
+     * @param to   the opposite corner of the rectangle
+     */
+    private void queryRegion(Point from, Point to) {
+        if (sightingStore == null) {
+            return;
+        }
+        double south = toLatitude(Math.max(from.y, to.y));
+        double north = toLatitude(Math.min(from.y, to.y));
+        double west = toLongitude(Math.min(from.x, to.x));
+        double east = toLongitude(Math.max(from.x, to.x));
+
+        try {
+            long start = System.nanoTime();
+            long total = sightingStore.countInBoundingBox(south, north, west, east);
+            List<Sighting> found = sightingStore.findInBoundingBox(south, north, west, east, REGION_LIMIT);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            setSightings(found, false);
+            minLat = south;
+            maxLat = north;
+            minLon = west;
+            maxLon = east;
+            status = String.format("%d sighting(s) in region, %d shown (%d ms)", total, found.size(), elapsedMillis);
+        } catch (SQLException e) {
+            status = "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Highlights the sightings nearest to a panel point.
+     *
+     * @param point the clicked panel point
+     */
+    private void queryNearest(Point point) {
+        if (sightingStore == null) {
+            return;
+        }
+        double lat = toLatitude(point.y);
+        double lon = toLongitude(point.x);
+        try {
+            highlighted = sightingStore.findNearest(lat, lon, NEAREST_COUNT);
+            if (!highlighted.isEmpty()) {
+                Sighting farthest = highlighted.get(highlighted.size() - 1);
+                status = String.format("%d nearest sighting(s) to %.4f, %.4f within %.2f km",
+                        highlighted.size(), lat, lon, farthest.distanceKm(lat, lon));
+            } else {
+                status = "No sightings recorded.";
+            }
+        } catch (SQLException e) {
+            status = "Error: " + e.getMessage();
+        }
+        repaint();
+    }
+
+    /**
+     * Replaces the plotted sightings and clears any highlight.
+     *
+     * @param newSightings the sightings to plot
+     * @param tracks       whether the sightings should be joined into per-animal tracks
+     */
+    private void setSightings(List<Sighting> newSightings, boolean tracks) {
+        sightings = new ArrayList<>(newSightings);
+        highlighted = Collections.emptyList();
+        drawTracks = tracks;
+        repaint();
+    }
+
+    /**
+     * Fits the visible area to the plotted sightings with a small margin.
+     */
+    private void fitToSightings() {
+        if (sightings.isEmpty()) {
+            return;
+        }
+        double south = 90, north = -90, west = 180, east = -180;
+        for (Sighting sighting : sightings) {
+            south = Math.min(south, sighting.getLatitude());
+            north = Math.max(north, sighting.getLatitude());
+            west = Math.min(west, sighting.getLongitude());
+            east = Math.max(east, sighting.getLongitude());
+        }
+        double latMargin = Math.max(0.01, (north - south) * 0.1);
+        double lonMargin = Math.max(0.01, (east - west) * 0.1);
+        minLat = Math.max(-90, south - latMargin);
+        maxLat = Math.min(90, north + latMargin);
+        minLon = Math.max(-180, west - lonMargin);
+        maxLon = Math.min(180, east + lonMargin);
+    }
+
+    /**
+     * Paints the plotted sightings, the highlight, the drag rectangle, and the status line.
+     *
+     * @param g the graphics context
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        Sighting previous = null;
+        for (Sighting sighting : sightings) {
+            int x = toX(sighting.getLongitude());
+            int y = toY(sighting.getLatitude());
+            g2.setColor(colorFor(sighting.getId()));
+            if (drawTracks && previous != null && previous.getId() == sighting.getId()) {
+                g2.drawLine(toX(previous.getLongitude()), toY(previous.getLatitude()), x, y);
+            }
+            g2.fillOval(x - POINT_SIZE / 2, y - POINT_SIZE / 2, POINT_SIZE, POINT_SIZE);
+            previous = sighting;
+        }
+
+        g2.setColor(Color.RED);
+        for (Sighting sighting : highlighted) {
+            g2.drawOval(toX(sighting.getLongitude()) - POINT_SIZE, toY(sighting.getLatitude()) - POINT_SIZE,
+                    POINT_SIZE * 2, POINT_SIZE * 2);
+        }
+
+        if (dragStart != null && dragEnd != null) {
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawRect(Math.min(dragStart.x, dragEnd.x), Math.min(dragStart.y, dragEnd.y),
+                    Math.abs(dragEnd.x - dragStart.x), Math.abs(dragEnd.y - dragStart.y));
+        }
+
+        g2.setColor(Color.BLACK);
+        g2.drawString(status, 5, getHeight() - 5);
+    }
+
+    /**
+     * Projects a longitude to a panel x coordinate.
+     *
+     * @param longitude the longitude in decimal degrees
+     * @return the x coordinate
+     */
+    private int toX(double longitude) {
+        return (int) Math.round((longitude - minLon) / (maxLon - minLon) * getWidth());
+    }
+
+    /**
+     * Projects a latitude to a panel y coordinate.
+     *
+     * @param latitude the latitude in decimal degrees
+     * @return the y coordinate
+     */
+    private int toY(double latitude) {
+        return (int) Math.round((maxLat - latitude) / (maxLat - minLat) * getHeight());
+    }
+
+    /**
+     * Converts a panel x coordinate back to a longitude.
+     *
+     * @param x the x coordinate
+     * @return the longitude in decimal degrees
+     */
+    private double toLongitude(int x) {
+        return minLon + (double) x / Math.max(1, getWidth()) * (maxLon - minLon);
+    }
+
+    /**
+     * Converts a panel y coordinate back to a latitude.
+     *
+     * @param y the y coordinate
+     * @return the latitude in decimal degrees
+     */
+    private double toLatitude(int y) {
+        return maxLat - (double) y / Math.max(1, getHeight()) * (maxLat - minLat);
+    }
+
+    /**
+     * Picks a stable colour for an animal.
+     *
+     * @param tagId the Tag ID of the animal
+     * @return the colour used for the animal's sightings
+     */
+    private static Color colorFor(int tagId) {
+        return Color.getHSBColor((tagId * 0.618034f) % 1f, 0.8f, 0.75f);
+    }
+}
@@ -0,0 +1,339 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SightingStore.java
+ *
+ * This class manages the spatial sighting data of the Wildlife Animal Tracking System.
+ * It creates the Sightings table together with an R*Tree index over latitude and longitude,
+ * and provides bulk ingest, bounding-box queries, nearest-neighbour queries, and per-animal
+ * track queries that are answered from the index instead of a full table scan.
+ */
+package WATSSwingApp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stores and queries animal sightings using SQLite's R*Tree module.
+ * <p>
+ * Every row of {@code Sightings} has a matching point entry in the {@code SightingIndex} R*Tree, kept in
+ * sync by triggers. Region queries descend the R*Tree and only touch the fixes inside the requested box;
+ * because the R*Tree stores coordinates as 32-bit floats, its candidates are confirmed against the exact
+ * coordinates in {@code Sightings}.
+ * Nearest-neighbour queries search a box around the query point that grows until it is guaranteed to
+ * contain the {@code k} closest fixes, then rank the candidates by great-circle distance.
+ * </p>
+ *
+ * <p>Boxes are not split at the antimeridian; a region crossing ±180° longitude must be queried as two boxes.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SightingStore {
+
+    /** Number of sightings sent to SQLite per batch during ingest. */
+    private static final int INGEST_BATCH_SIZE = 10_000;
+
+    /** Mean Earth radius in kilometres. */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /** Angular radius in degrees of arc of the first search circle used by {@link #findNearest(double, double, int)}. */
+    private static final double INITIAL_SEARCH_DEGREES = 0.05;
+
+    /** Columns selected for every sighting query. */
+    private static final String COLUMNS = "s.sightingId, s.id, s.ts, s.latitude, s.longitude";
+
+    /** Reference to the database manager providing connections. */
+    private final DatabaseManager dbManager;
+
+    /**
+     * Constructs a new {@code SightingStore}.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database holding the sightings
+     */
+    public SightingStore(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Creates the sighting table, its R*Tree index, and the triggers keeping both in sync, if they do not exist yet.
+     * <p>
+     * Called from {@link DatabaseManager#migrateSchema()} so every opened database carries the sighting tables.
+     * </p>
+     *
+     * @param stmt a statement on the connection performing the schema migration
+     * @throws SQLException if the schema cannot be created
+     */
+    public static void createSchema(Statement stmt) throws SQLException {
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS Sightings ("
+                + "sightingId INTEGER PRIMARY KEY, id INTEGER NOT NULL, ts INTEGER NOT NULL, "
+                + "latitude REAL NOT NULL, longitude REAL NOT NULL)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS Sightings_id_ts ON Sightings (id, ts)");
+        stmt.executeUpdate("CREATE VIRTUAL TABLE IF NOT EXISTS SightingIndex "
+                + "USING rtree(sightingId, minLat, maxLat, minLon, maxLon)");
+
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS Sightings_index_insert AFTER INSERT ON Sightings BEGIN "
+                + "INSERT INTO SightingIndex VALUES (NEW.sightingId, NEW.latitude, NEW.latitude, NEW.longitude, NEW.longitude); "
+                + "END");
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS Sightings_index_update AFTER UPDATE OF latitude, longitude ON Sightings BEGIN "
+                + "UPDATE SightingIndex SET minLat = NEW.latitude, maxLat = NEW.latitude, "
+                + "minLon = NEW.longitude, maxLon = NEW.longitude WHERE sightingId = NEW.sightingId; "
+                + "END");
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS Sightings_index_delete AFTER DELETE ON Sightings BEGIN "
+                + "DELETE FROM SightingIndex WHERE sightingId = OLD.sightingId; "
+                + "END");
+    }
+
+    /**
+     * Stores a batch of sightings in a single transaction.
+     * <p>
+     * Sightings are sent in batches of {@link #INGEST_BATCH_SIZE} on a {@link PerformanceProfile#BULK_LOAD}
+     * connection; the R*Tree entries are added by trigger within the same transaction.
+     * </p>
+     *
+     * @param sightings the sightings to store; their sighting IDs are ignored and assigned by the database
+     * @return the number of sightings stored
+     * @throws SQLException if the ingest fails; no sightings of the batch are stored in that case
+     */
+    public int ingest(List<Sighting> sightings) throws SQLException {
+        String sql = "INSERT INTO Sightings (id, ts, latitude, longitude) VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = dbManager.connect(PerformanceProfile.BULK_LOAD)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int pending = 0;
+                for (Sighting sighting : sightings) {
+                    stmt.setInt(1, sighting.getId());
+                    stmt.setLong(2, sighting.getTimestamp());
+                    stmt.setDouble(3, sighting.getLatitude());
+                    stmt.setDouble(4, sighting.getLongitude());
+                    stmt.addBatch();
+                    if (++pending == INGEST_BATCH_SIZE) {
+                        stmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                stmt.executeBatch();
+                conn.commit();
+                dbManager.recordWrites(sightings.size());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return sightings.size();
+    }
+
+    /**
+     * Finds the sightings inside a bounding box using the R*Tree index.
+     * <p>
+     * Repeated queries for the same box are answered from the {@link QueryResultCache} until the next write,
+     * so the returned list is shared and unmodifiable.
+     * </p>
+     *
+     * @param minLat southern edge in decimal degrees
+     * @param maxLat northern edge in decimal degrees
+     * @param minLon western edge in decimal degrees
+     * @param maxLon eastern edge in decimal degrees
+     * @param limit  the maximum number of sightings to return
+     * @return the sightings inside the box, in index order
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Sighting> findInBoundingBox(double minLat, double maxLat, double minLon, double maxLon, int limit)
+            throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM SightingIndex r JOIN Sightings s ON s.sightingId = r.sightingId "
+                + "WHERE r.maxLat >= ? AND r.minLat <= ? AND r.maxLon >= ? AND r.minLon <= ? "
+                + "AND s.latitude BETWEEN ? AND ? AND s.longitude BETWEEN ? AND ? LIMIT ?";
+        return dbManager.getQueryCache().query(sql,
+                new Object[] { minLat, maxLat, minLon, maxLon, minLat, maxLat, minLon, maxLon, limit },
+                rs -> Collections.unmodifiableList(readSightings(rs)));
+    }
+
+    /**
+     * Counts the sightings inside a bounding box using the R*Tree index alone.
+     * <p>
+     * The count is taken at the index's 32-bit float precision, so fixes lying exactly on the box edge may be
+     * counted even if their exact coordinates fall just outside it. Repeated counts are answered from the
+     * {@link QueryResultCache} until the next write.
+     * </p>
+     *
+     * @param minLat southern edge in decimal degrees
+     * @param maxLat northern edge in decimal degrees
+     * @param minLon western edge in decimal degrees
+     * @param maxLon eastern edge in decimal degrees
+     * @return the number of sightings inside the box
+     * @throws SQLException if a database access error occurs
+     */
+    public long countInBoundingBox(double minLat, double maxLat, double minLon, double maxLon) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM SightingIndex WHERE maxLat >= ? AND minLat <= ? AND maxLon >= ? AND minLon <= ?";
+        return dbManager.getQueryCache().query(sql, new Object[] { minLat, maxLat, minLon, maxLon },
+                rs -> rs.next() ? rs.getLong(1) : 0L);
+    }
+
+    /**
+     * Finds the {@code k} sightings closest to a location.
+     * <p>
+     * The search area is a circle around the location. The R*Tree is queried with the smallest box holding the
+     * circle: near a pole the box spans every longitude, and where it crosses the ±180° meridian it is queried
+     * as two boxes, one on each side. The candidates are ranked by haversine distance, and the result is accepted
+     * once the {@code k}-th candidate lies within the circle; otherwise the radius is doubled and the query is run
+     * again. Only the fixes near the location are ever read.
+     * </p>
+     *
+     * @param latitude  latitude of the location in decimal degrees
+     * @param longitude longitude of the location in decimal degrees
+     * @param k         the number of sightings to return
+     * @return up to {@code k} sightings ordered by increasing distance
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Sighting> findNearest(double latitude, double longitude, int k) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM SightingIndex r JOIN Sightings s ON s.sightingId = r.sightingId "
+                + "WHERE r.maxLat >= ? AND r.minLat <= ? AND r.maxLon >= ? AND r.minLon <= ? "
+                + "AND s.latitude BETWEEN ? AND ? AND s.longitude BETWEEN ? AND ?";
+
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            // Angular radius of the search circle, in degrees of arc
+            double radius = INITIAL_SEARCH_DEGREES;
+            while (true) {
+                double minLat = latitude - radius;
+                double maxLat = latitude + radius;
+                List<Sighting> candidates;
+                if (minLat <= -90 || maxLat >= 90) {
+                    // The circle contains a pole, so it reaches every longitude
+                    candidates = readBox(stmt, Math.max(-90, minLat), Math.min(90, maxLat), -180, 180);
+                } else {
+                    // Widest longitude offset of the circle, reached north or south of the location's parallel
+                    double lonRadius = Math.toDegrees(Math.asin(
+                            Math.sin(Math.toRadians(radius)) / Math.cos(Math.toRadians(latitude))));
+                    double minLon = longitude - lonRadius;
+                    double maxLon = longitude + lonRadius;
+                    candidates = readBox(stmt, minLat, maxLat, Math.max(-180, minLon), Math.min(180, maxLon));
+                    if (minLon < -180) {
+                        candidates.addAll(readBox(stmt, minLat, maxLat, minLon + 360, 180));
+                    } else if (maxLon > 180) {
+                        candidates.addAll(readBox(stmt, minLat, maxLat, -180, maxLon - 360));
+                    }
+                }
+                candidates.sort(Comparator.comparingDouble(s -> s.distanceKm(latitude, longitude)));
+
+                if (minLat <= -90 && maxLat >= 90) {
+                    // The box covers the whole world
+                    return new ArrayList<>(candidates.subList(0, Math.min(k, candidates.size())));
+                }
+                double radiusKm = EARTH_RADIUS_KM * Math.toRadians(radius);
+                if (candidates.size() >= k && candidates.get(k - 1).distanceKm(latitude, longitude) <= radiusKm) {
+                    return new ArrayList<>(candidates.subList(0, k));
+                }
+                radius *= 2;
+            }
+        }
+    }
+
+    /**
+     * Runs the bounding box query of {@link #findNearest(double, double, int)} for one box.
+     *
+     * @param stmt   the prepared box query
+     * @param minLat southern edge in decimal degrees
+     * @param maxLat northern edge in decimal degrees
+     * @param minLon western edge in decimal degrees
+     * @param maxLon eastern edge in decimal degrees
+     * @return the sightings inside the box
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<Sighting> readBox(PreparedStatement stmt, double minLat, double maxLat, double minLon,
+                                          double maxLon) throws SQLException {
+        stmt.setDouble(1, minLat);
+        stmt.setDouble(2, maxLat);
+        stmt.setDouble(3, minLon);
+        stmt.setDouble(4, maxLon);
+        stmt.setDouble(5, minLat);
+        stmt.setDouble(6, maxLat);
+        stmt.setDouble(7, minLon);
+        stmt.setDouble(8, maxLon);
+        return readSightings(stmt);
+    }
+
+    /**
+     * Retrieves the most recent sightings of a set of animals, using the {@code (id, ts)} index.
+     *
+     * @param ids   the Tag IDs of the animals
+     * @param limit the maximum number of sightings returned per animal
+     * @return the sightings of the animals, ordered by Tag ID and time
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Sighting> getRecentSightings(Collection<Integer> ids, int limit) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM (SELECT * FROM Sightings WHERE id = ? ORDER BY ts DESC LIMIT ?) s ORDER BY s.ts";
+        List<Sighting> sightings = new ArrayList<>();
+
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int id : ids) {
+                stmt.setInt(1, id);
+                stmt.setInt(2, limit);
+                sightings.addAll(readSightings(stmt));
+            }
+        }
+        return sightings;
+    }
+
+    /**
+     * Computes the great-circle distance between two locations using the haversine formula.
+     *
+     * @param lat1 latitude of the first location in decimal degrees
+     * @param lon1 longitude of the first location in decimal degrees
+     * @param lat2 latitude of the second location in decimal degrees
+     * @param lon2 longitude of the second location in decimal degrees
+     * @return the distance in kilometres
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Executes a query returning sighting columns and maps the rows.
+     *
+     * @param stmt the prepared query with all parameters bound
+     * @return the mapped sightings
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<Sighting> readSightings(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            return readSightings(rs);
+        }
+    }
+
+    /**
+     * Maps the remaining rows of a result set with sighting columns.
+     *
+     * @param rs the result set
+     * @return the mapped sightings
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<Sighting> readSightings(ResultSet rs) throws SQLException {
+        List<Sighting> sightings = new ArrayList<>();
+        while (rs.next()) {
+            sightings.add(new Sighting(rs.getLong(1), rs.getInt(2), rs.getLong(3), rs.getDouble(4), rs.getDouble(5)));
+        }
+        return sightings;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SketchHash.java
+ *
+ * This class provides the 64-bit hash functions shared by the approximate counting sketches.
+ * The hashes only depend on the input value, so sketches built in different database files
+ * hash the same species or Tag ID identically and can be merged.
+ */
+package WATSSwingApp;
+
+/**
+ * Stable 64-bit hashing for {@link HyperLogLog} and {@link CountMinSketch}.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class SketchHash {
+
+    /** FNV-1a 64-bit offset basis. */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    /** FNV-1a 64-bit prime. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Static helper class; not instantiated. */
+    private SketchHash() {
+    }
+
+    /**
+     * Hashes a string: FNV-1a over its characters, followed by {@link #mix(long)} to spread the bits.
+     *
+     * @param value the string; {@code null} hashes like the empty string
+     * @return the 64-bit hash
+     */
+    public static long hash(String value) {
+        long hash = FNV_OFFSET;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= FNV_PRIME;
+            }
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Hashes a number with the MurmurHash3 64-bit finaliser, so that nearby inputs give unrelated outputs.
+     *
+     * @param value the number
+     * @return the 64-bit hash
+     */
+    public static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,426 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SketchStore.java
+ *
+ * This class keeps the approximate statistics of a database up to date and stored in the
+ * database itself. Triggers record every change as it happens; the stored sketches are brought
+ * up to date from that record in small incremental steps, so percentiles and distinct counts
+ * never require sorting the WildAnimals table.
+ */
+package WATSSwingApp;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores per-species and database-wide sketches in a WATS database and maintains them incrementally.
+ * <p>
+ * Sketches live in {@code SpeciesSketches} (one row per species) and {@code SketchGlobals}. Triggers on
+ * {@code WildAnimals}, which also fire for external tools, feed two small tables:
+ * </p>
+ * <ul>
+ *     <li>{@code SketchLog} receives the species, weight, age and Tag ID of every inserted record. These are simply
+ *     added to the species' sketches.</li>
+ *     <li>{@code SketchStale} receives the species of every updated or deleted record. Quantile and distinct count
+ *     sketches cannot remove values, so those species are rebuilt from their rows through the species index.</li>
+ * </ul>
+ * <p>
+ * {@link #refresh()} folds both into the stored sketches in one transaction. It runs during idle maintenance and
+ * before the summary is read, so the summary sees every committed write. {@link #loadSpecies(String)} folds the
+ * pending changes of its one species in memory while reading, so it also sees every committed write but never
+ * writes or waits for a writer.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SketchStore {
+
+    /** Name of the species frequency sketch in {@code SketchGlobals}. */
+    private static final String SPECIES_FREQUENCY = "speciesFrequency";
+
+    /** Name of the distinct species sketch in {@code SketchGlobals}. */
+    private static final String DISTINCT_SPECIES = "distinctSpecies";
+
+    /** Reference to the database manager of the database holding the sketches. */
+    private final DatabaseManager dbManager;
+
+    /**
+     * Constructs a new {@code SketchStore} for the given database.
+     *
+     * @param dbManager the {@link DatabaseManager} of the database
+     */
+    public SketchStore(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Creates the sketch tables and the triggers feeding them, if they do not exist yet.
+     * <p>
+     * Called from {@link DatabaseManager#migrateSchema()}. When the tables are first created, every species
+     * already in the database is marked stale, so the first {@link #refresh()} builds its sketches.
+     * </p>
+     *
+     * @param stmt a statement on the connection performing the schema migration
+     * @throws SQLException if the schema cannot be created
+     */
+    public static void createSchema(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'SpeciesSketches'")) {
+            exists = rs.next();
+        }
+
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SpeciesSketches (species TEXT PRIMARY KEY, "
+                + "recordCount INTEGER NOT NULL, weightSketch BLOB NOT NULL, ageSketch BLOB NOT NULL, tagSketch BLOB NOT NULL)");
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SketchGlobals (name TEXT PRIMARY KEY, sketch BLOB NOT NULL)");
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SketchLog ("
+                + "seq INTEGER PRIMARY KEY, id INTEGER, species TEXT NOT NULL, age INTEGER, weight REAL)");
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SketchStale (species TEXT PRIMARY KEY)");
+        if (!exists) {
+            stmt.executeUpdate("INSERT OR IGNORE INTO SketchStale (species) SELECT DISTINCT COALESCE(species, '') FROM WildAnimals");
+        }
+
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_sketch_insert AFTER INSERT ON WildAnimals BEGIN "
+                + "INSERT INTO SketchLog (id, species, age, weight) "
+                + "VALUES (NEW.id, COALESCE(NEW.species, ''), NEW.age, NEW.weight); END");
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_sketch_update "
+                + "AFTER UPDATE OF id, species, age, weight ON WildAnimals BEGIN "
+                + "INSERT INTO SketchStale (species) VALUES (COALESCE(OLD.species, '')) ON CONFLICT(species) DO NOTHING; "
+                + "INSERT INTO SketchStale (species) VALUES (COALESCE(NEW.species, '')) ON CONFLICT(species) DO NOTHING; END");
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_sketch_delete AFTER DELETE ON WildAnimals BEGIN "
+                + "INSERT INTO SketchStale (species) VALUES (COALESCE(OLD.species, '')) ON CONFLICT(species) DO NOTHING; END");
+    }
+
+    /**
+     * Folds the logged inserts into the stored sketches and rebuilds the sketches of stale species.
+     * <p>
+     * Everything happens in one transaction, so a refresh that collides with a concurrent writer fails as a whole
+     * and can simply be retried.
+     * </p>
+     *
+     * @return the number of species whose sketches changed
+     * @throws SQLException if the sketches cannot be read or written
+     */
+    public int refresh() throws SQLException {
+        // The default profile, not BULK_LOAD: the folds are committed to the primary database
+        try (Connection conn = dbManager.connect();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                long lastSeq = 0;
+                try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM SketchLog")) {
+                    if (rs.next()) {
+                        lastSeq = rs.getLong(1);
+                    }
+                }
+                Set<String> stale = new HashSet<>();
+                try (ResultSet rs = stmt.executeQuery("SELECT species FROM SketchStale")) {
+                    while (rs.next()) {
+                        stale.add(rs.getString(1));
+                    }
+                }
+                byte[] frequencyBytes = loadGlobal(conn, SPECIES_FREQUENCY);
+                byte[] distinctBytes = loadGlobal(conn, DISTINCT_SPECIES);
+                if (lastSeq == 0 && stale.isEmpty() && frequencyBytes != null && distinctBytes != null) {
+                    conn.rollback();
+                    return 0;
+                }
+
+                Map<String, SpeciesSketch> changed = new HashMap<>();
+                for (String species : stale) {
+                    changed.put(species, rebuild(conn, species));
+                }
+
+                // Database-wide sketches are rebuilt from the species index when counts may have gone down
+                boolean rebuildGlobals = !stale.isEmpty() || frequencyBytes == null || distinctBytes == null;
+                CountMinSketch frequency = rebuildGlobals ? new CountMinSketch() : CountMinSketch.fromBytes(frequencyBytes);
+                HyperLogLog distinct = rebuildGlobals ? new HyperLogLog() : HyperLogLog.fromBytes(distinctBytes);
+                if (rebuildGlobals) {
+                    try (ResultSet rs = stmt.executeQuery(
+                            "SELECT COALESCE(species, ''), COUNT(*) FROM WildAnimals GROUP BY 1")) {
+                        while (rs.next()) {
+                            frequency.add(rs.getString(1), rs.getLong(2));
+                            distinct.add(rs.getString(1));
+                        }
+                    }
+                }
+
+                try (PreparedStatement log = conn.prepareStatement(
+                        "SELECT id, species, age, weight FROM SketchLog WHERE seq <= ? ORDER BY seq")) {
+                    log.setLong(1, lastSeq);
+                    try (ResultSet rs = log.executeQuery()) {
+                        while (rs.next()) {
+                            String species = rs.getString(2);
+                            if (stale.contains(species)) {
+                                continue;
+                            }
+                            SpeciesSketch sketch = changed.get(species);
+                            if (sketch == null) {
+                                sketch = load(conn, species);
+                                changed.put(species, sketch);
+                            }
+                            sketch.add(rs.getInt(1), rs.getDouble(4), rs.getInt(3));
+                            if (!rebuildGlobals) {
+                                frequency.add(species, 1);
+                                distinct.add(species);
+                            }
+                        }
+                    }
+                }
+
+                save(conn, changed.values());
+                saveGlobal(conn, SPECIES_FREQUENCY, frequency.toBytes());
+                saveGlobal(conn, DISTINCT_SPECIES, distinct.toBytes());
+                try (PreparedStatement clear = conn.prepareStatement("DELETE FROM SketchLog WHERE seq <= ?")) {
+                    clear.setLong(1, lastSeq);
+                    clear.executeUpdate();
+                }
+                stmt.executeUpdate("DELETE FROM SketchStale");
+                conn.commit();
+                return changed.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Brings the sketches up to date and reads the summary of this database.
+     *
+     * @return the summary of this database
+     * @throws SQLException if the sketches cannot be refreshed or read
+     */
+    public SketchSummary loadSummary() throws SQLException {
+        refresh();
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS)) {
+            return readSummary(conn);
+        }
+    }
+
+    /**
+     * Reads the sketches of one species, including the writes committed since the last {@link #refresh()}.
+     * <p>
+     * The species' logged inserts are added to its stored sketches, or the sketches are rebuilt from its rows if it
+     * is stale, in memory only; the stored sketches are left for the next refresh. Only a read-only connection is
+     * used, so this never waits for a writer.
+     * </p>
+     *
+     * @param species the species name
+     * @return the species' current sketches, or {@code null} if it has no records
+     * @throws SQLException if the sketches cannot be read
+     */
+    public SpeciesSketch loadSpecies(String species) throws SQLException {
+        try (Connection conn = dbManager.connect(PerformanceProfile.READ_ONLY_ANALYTICS)) {
+            // One read transaction, so the stored sketches, the log and the stale marks agree
+            conn.setAutoCommit(false);
+            try {
+                SpeciesSketch sketch;
+                boolean stale;
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM SketchStale WHERE species = ?")) {
+                    stmt.setString(1, species);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        stale = rs.next();
+                    }
+                }
+                if (stale) {
+                    sketch = rebuild(conn, species);
+                } else {
+                    sketch = load(conn, species);
+                    try (PreparedStatement log = conn.prepareStatement(
+                            "SELECT id, age, weight FROM SketchLog WHERE species = ? ORDER BY seq")) {
+                        log.setString(1, species);
+                        try (ResultSet rs = log.executeQuery()) {
+                            while (rs.next()) {
+                                sketch.add(rs.getInt(1), rs.getDouble(3), rs.getInt(2));
+                            }
+                        }
+                    }
+                }
+                return sketch.getRecordCount() > 0 ? sketch : null;
+            } finally {
+                conn.rollback();
+            }
+        }
+    }
+
+    /**
+     * Reads the stored summary of another database file without changing it.
+     * <p>
+     * The file is opened read-only, so files that cannot be written are read too and nothing is migrated,
+     * built or refreshed. The summary reflects the sketches as WATS last maintained them in that file.
+     * </p>
+     *
+     * @param file the database file
+     * @return the summary of that database
+     * @throws SQLException if the file cannot be opened or has no stored sketches
+     */
+    public static SketchSummary loadSummary(File file) throws SQLException {
+        DatabaseManager other = new DatabaseManager(file.getAbsolutePath());
+        try (Connection conn = other.connectReadOnly()) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' "
+                         + "AND name IN ('SpeciesSketches', 'SketchGlobals')")) {
+                if (!rs.next() || rs.getInt(1) < 2) {
+                    throw new SQLException(file.getName() + " has no species sketches yet; open it in WATS once to build them.");
+                }
+            }
+            return readSummary(conn);
+        }
+    }
+
+    /**
+     * Reads the stored species and database-wide sketches.
+     *
+     * @param conn the connection to read with
+     * @return the stored summary
+     * @throws SQLException if the sketches cannot be read
+     */
+    private static SketchSummary readSummary(Connection conn) throws SQLException {
+        List<SpeciesSketch> sketches = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT species, recordCount, weightSketch, ageSketch, tagSketch FROM SpeciesSketches")) {
+            while (rs.next()) {
+                sketches.add(fromRow(rs));
+            }
+        }
+        byte[] frequency = loadGlobal(conn, SPECIES_FREQUENCY);
+        byte[] distinct = loadGlobal(conn, DISTINCT_SPECIES);
+        return new SketchSummary(sketches,
+                frequency != null ? CountMinSketch.fromBytes(frequency) : new CountMinSketch(),
+                distinct != null ? HyperLogLog.fromBytes(distinct) : new HyperLogLog());
+    }
+
+    /**
+     * Builds the sketches of one species from its rows.
+     *
+     * @param conn    the connection to read with
+     * @param species the species name; the empty string stands for records without a species
+     * @return the rebuilt sketches, with a record count of zero if the species no longer has records
+     * @throws SQLException if the rows cannot be read
+     */
+    private static SpeciesSketch rebuild(Connection conn, String species) throws SQLException {
+        String sql = "SELECT id, weight, age FROM WildAnimals WHERE species = ?"
+                + (species.isEmpty() ? " OR species IS NULL" : "");
+        SpeciesSketch sketch = new SpeciesSketch(species);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, species);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sketch.add(rs.getInt(1), rs.getDouble(2), rs.getInt(3));
+                }
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Reads the stored sketches of one species.
+     *
+     * @param conn    the connection to read with
+     * @param species the species name
+     * @return the stored sketches, or empty sketches if none are stored
+     * @throws SQLException if the row cannot be read
+     */
+    private static SpeciesSketch load(Connection conn, String species) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT species, recordCount, weightSketch, ageSketch, tagSketch FROM SpeciesSketches WHERE species = ?")) {
+            stmt.setString(1, species);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? fromRow(rs) : new SpeciesSketch(species);
+            }
+        }
+    }
+
+    /**
+     * Decodes a {@code SpeciesSketches} row.
+     *
+     * @param rs the result set positioned on the row
+     * @return the decoded sketches
+     * @throws SQLException if the row cannot be read
+     */
+    private static SpeciesSketch fromRow(ResultSet rs) throws SQLException {
+        return new SpeciesSketch(SpeciesDictionary.intern(rs.getString(1)), rs.getLong(2),
+                KllSketch.fromBytes(rs.getBytes(3)), KllSketch.fromBytes(rs.getBytes(4)),
+                HyperLogLog.fromBytes(rs.getBytes(5)));
+    }
+
+    /**
+     * Stores changed species sketches, removing species without records.
+     *
+     * @param conn     the connection to write with
+     * @param sketches the changed sketches
+     * @throws SQLException if the sketches cannot be written
+     */
+    private static void save(Connection conn, Iterable<SpeciesSketch> sketches) throws SQLException {
+        try (PreparedStatement upsert = conn.prepareStatement("INSERT OR REPLACE INTO SpeciesSketches "
+                + "(species, recordCount, weightSketch, ageSketch, tagSketch) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM SpeciesSketches WHERE species = ?")) {
+            for (SpeciesSketch sketch : sketches) {
+                if (sketch.getRecordCount() == 0) {
+                    delete.setString(1, sketch.getSpecies());
+                    delete.addBatch();
+                    continue;
+                }
+                upsert.setString(1, sketch.getSpecies());
+                upsert.setLong(2, sketch.getRecordCount());
+                upsert.setBytes(3, sketch.getWeights().toBytes());
+                upsert.setBytes(4, sketch.getAges().toBytes());
+                upsert.setBytes(5, sketch.getTagIds().toBytes());
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+            delete.executeBatch();
+        }
+    }
+
+    /**
+     * Reads a database-wide sketch.
+     *
+     * @param conn the connection to read with
+     * @param name the sketch name
+     * @return the encoded sketch, or {@code null} if it has not been built yet
+     * @throws SQLException if the row cannot be read
+     */
+    private static byte[] loadGlobal(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT sketch FROM SketchGlobals WHERE name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getBytes(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Stores a database-wide sketch.
+     *
+     * @param conn  the connection to write with
+     * @param name  the sketch name
+     * @param bytes the encoded sketch
+     * @throws SQLException if the row cannot be written
+     */
+    private static void saveGlobal(Connection conn, String name, byte[] bytes) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT OR REPLACE INTO SketchGlobals (name, sketch) VALUES (?, ?)")) {
+            stmt.setString(1, name);
+            stmt.setBytes(2, bytes);
+            stmt.executeUpdate();
+        }
+    }
+}
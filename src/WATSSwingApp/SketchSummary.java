@@ -0,0 +1,122 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SketchSummary.java
+ *
+ * This class holds the approximate statistics of one database, or of several databases merged
+ * together: the per-species sketches plus database-wide sketches of species frequency and of
+ * the number of distinct species.
+ */
+package WATSSwingApp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The mergeable sketches of one or more WATS databases.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SketchSummary {
+
+    /** Per-species sketches keyed by species name. */
+    private final Map<String, SpeciesSketch> species = new TreeMap<>();
+
+    /** Frequency sketch of the species of all records. */
+    private final CountMinSketch speciesFrequency;
+
+    /** Distinct count sketch of the species names. */
+    private final HyperLogLog distinctSpecies;
+
+    /** Number of databases merged into this summary. */
+    private int databaseCount = 1;
+
+    /**
+     * Constructs a summary of one database.
+     *
+     * @param speciesSketches  the per-species sketches
+     * @param speciesFrequency frequency sketch of the species of all records
+     * @param distinctSpecies  distinct count sketch of the species names
+     */
+    public SketchSummary(Collection<SpeciesSketch> speciesSketches, CountMinSketch speciesFrequency,
+                         HyperLogLog distinctSpecies) {
+        for (SpeciesSketch sketch : speciesSketches) {
+            species.put(sketch.getSpecies(), sketch);
+        }
+        this.speciesFrequency = speciesFrequency;
+        this.distinctSpecies = distinctSpecies;
+    }
+
+    /**
+     * Adds the statistics of another database to this summary.
+     *
+     * @param other the summary to merge; its sketches may be modified afterwards by this summary
+     */
+    public void merge(SketchSummary other) {
+        for (SpeciesSketch sketch : other.species.values()) {
+            SpeciesSketch existing = species.get(sketch.getSpecies());
+            if (existing == null) {
+                species.put(sketch.getSpecies(), sketch);
+            } else {
+                existing.merge(sketch);
+            }
+        }
+        speciesFrequency.merge(other.speciesFrequency);
+        distinctSpecies.merge(other.distinctSpecies);
+        databaseCount += other.databaseCount;
+    }
+
+    /** @return the number of databases merged into this summary */
+    public int getDatabaseCount() { return databaseCount; }
+
+    /** @return the total number of records summarised */
+    public long getRecordCount() { return speciesFrequency.getTotal(); }
+
+    /** @return the estimated number of distinct species */
+    public long estimateDistinctSpecies() { return distinctSpecies.estimate(); }
+
+    /** @return the per-species sketches in species name order, unmodifiable */
+    public Collection<SpeciesSketch> getSpecies() {
+        return Collections.unmodifiableCollection(species.values());
+    }
+
+    /**
+     * Returns the sketches of one species.
+     *
+     * @param name the species name
+     * @return the sketches, or {@code null} if the species has no records
+     */
+    public SpeciesSketch getSpecies(String name) {
+        return species.get(name);
+    }
+
+    /**
+     * Returns the most frequent species by their Count-Min estimates.
+     *
+     * @param limit the maximum number of species returned
+     * @return the species names, most frequent first
+     */
+    public List<String> topSpecies(int limit) {
+        List<String> names = new ArrayList<>(species.keySet());
+        names.sort(Comparator.comparingLong(speciesFrequency::estimate).reversed());
+        return names.subList(0, Math.min(limit, names.size()));
+    }
+
+    /**
+     * Estimates the number of records of a species from the frequency sketch.
+     *
+     * @param name the species name
+     * @return an estimate that is never below the true count
+     */
+    public long estimateFrequency(String name) {
+        return speciesFrequency.estimate(name);
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SpeciesAutoComplete.java
+ *
+ * This class adds species suggestions to a text field. While the user types, a small popup lists the
+ * species already stored in the database that start with the typed text, most used first, so an
+ * existing species can be picked instead of typed again with a different spelling.
+ */
+package WATSSwingApp;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Species suggestions for a text field, served from the {@link SpeciesIndex} of a database.
+ * <p>
+ * The index is fetched once in the background when the suggestions are installed; after that every keystroke is
+ * answered from memory. The Up and Down keys move through the suggestions, Enter or a click fills the field with
+ * the selected one, and Escape closes the popup. Until the index is ready, or if it cannot be read, the field
+ * simply works without suggestions.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SpeciesAutoComplete {
+
+    /** The text field the suggestions are for. */
+    private final JTextField field;
+
+    /** The suggestions shown in the popup. */
+    private final DefaultListModel<String> suggestions = new DefaultListModel<>();
+
+    /** The list showing the suggestions. */
+    private final JList<String> list = new JList<>(suggestions);
+
+    /** The scroll pane around the list, sized to the suggestions. */
+    private final JScrollPane scrollPane = new JScrollPane(list);
+
+    /** The popup below the field holding the list. */
+    private final JPopupMenu popup = new JPopupMenu();
+
+    /** The species index, or {@code null} until it has been fetched. */
+    private SpeciesIndex index;
+
+    /** Whether the field is being filled with a suggestion, which must not open the popup again. */
+    private boolean accepting;
+
+    /**
+     * Creates the suggestions for a field; {@link #install(JTextField, DatabaseManager)} attaches them.
+     *
+     * @param field the text field
+     */
+    private SpeciesAutoComplete(JTextField field) {
+        this.field = field;
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        popup.setFocusable(false);
+        popup.add(scrollPane);
+    }
+
+    /**
+     * Adds species suggestions to a text field.
+     *
+     * @param field     the species text field
+     * @param dbManager the database whose species are suggested
+     * @return the installed suggestions
+     */
+    public static SpeciesAutoComplete install(JTextField field, DatabaseManager dbManager) {
+        SpeciesAutoComplete autoComplete = new SpeciesAutoComplete(field);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                autoComplete.showSuggestions();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                autoComplete.showSuggestions();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes do not change the text
+            }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                autoComplete.handleKey(e);
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                autoComplete.popup.setVisible(false);
+            }
+        });
+        autoComplete.list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                autoComplete.accept();
+            }
+        });
+
+        if (dbManager != null) {
+            new SwingWorker<SpeciesIndex, Void>() {
+                @Override
+                protected SpeciesIndex doInBackground() throws Exception {
+                    return dbManager.getSpeciesIndex();
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        autoComplete.index = get();
+                    } catch (Exception e) {
+                        // Suggestions are optional; the field keeps working as plain text
+                    }
+                }
+            }.execute();
+        }
+        return autoComplete;
+    }
+
+    /**
+     * Shows the species starting with the text of the field, or hides the popup if there are none.
+     */
+    private void showSuggestions() {
+        if (accepting || index == null || !field.isShowing() || !field.hasFocus()) {
+            return;
+        }
+        String text = field.getText().trim();
+        List<String> matches = index.suggest(text);
+        if (matches.isEmpty() || (matches.size() == 1 && matches.get(0).equals(text))) {
+            popup.setVisible(false);
+            return;
+        }
+
+        suggestions.clear();
+        for (String species : matches) {
+            suggestions.addElement(species);
+        }
+        list.setVisibleRowCount(matches.size());
+        list.setSelectedIndex(0);
+        Insets insets = scrollPane.getInsets();
+        scrollPane.setPreferredSize(new Dimension(field.getWidth(),
+                list.getPreferredScrollableViewportSize().height + insets.top + insets.bottom));
+        if (popup.isVisible()) {
+            popup.pack();
+        } else {
+            popup.show(field, 0, field.getHeight());
+        }
+    }
+
+    /**
+     * Moves through, accepts or dismisses the suggestions while the popup is open.
+     *
+     * @param e the key pressed in the field
+     */
+    private void handleKey(KeyEvent e) {
+        if (!popup.isVisible()) {
+            return;
+        }
+        int selected = list.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN:
+                list.setSelectedIndex(Math.min(selected + 1, suggestions.size() - 1));
+                e.consume();
+                break;
+            case KeyEvent.VK_UP:
+                list.setSelectedIndex(Math.max(selected - 1, 0));
+                e.consume();
+                break;
+            case KeyEvent.VK_ENTER:
+                accept();
+                e.consume();
+                break;
+            case KeyEvent.VK_ESCAPE:
+                popup.setVisible(false);
+                e.consume();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Fills the field with the selected suggestion and closes the popup.
+     */
+    private void accept() {
+        String species = list.getSelectedValue();
+        popup.setVisible(false);
+        if (species != null) {
+            accepting = true;
+            try {
+                field.setText(species);
+            } finally {
+                accepting = false;
+            }
+        }
+    }
+}
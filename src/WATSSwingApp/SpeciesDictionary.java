@@ -0,0 +1,58 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SpeciesDictionary.java
+ *
+ * This class keeps one shared copy of every species name loaded by the application.
+ * A database typically holds a few dozen species across millions of records, so storing a
+ * reference to the shared copy instead of a string per record saves most of that memory.
+ */
+package WATSSwingApp;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A process-wide intern dictionary for species names.
+ * <p>
+ * Every record built by the database layer passes its species through {@link #intern(String)}, so equal
+ * species names are represented by a single {@link String} instance. The string read from a result set for
+ * a species that is already known is garbage right away and never reaches the old generation. The dictionary
+ * is safe for use from the background loaders and the Event Dispatch Thread at the same time.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class SpeciesDictionary {
+
+    /** Canonical instance of each species name, keyed by itself. */
+    private static final ConcurrentMap<String, String> SPECIES = new ConcurrentHashMap<>();
+
+    /**
+     * Prevents instantiation; all members are static.
+     */
+    private SpeciesDictionary() {
+    }
+
+    /**
+     * Returns the shared instance of a species name, adding it to the dictionary if it is new.
+     *
+     * @param species the species name; may be {@code null}
+     * @return the shared instance equal to {@code species}, or {@code null} if {@code species} is {@code null}
+     */
+    public static String intern(String species) {
+        if (species == null) {
+            return null;
+        }
+        String shared = SPECIES.putIfAbsent(species, species);
+        return shared != null ? shared : species;
+    }
+
+    /** @return the number of distinct species names in the dictionary */
+    public static int size() {
+        return SPECIES.size();
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SpeciesIndex.java
+ *
+ * This class is an in-memory prefix index of the species names stored in a database, together with
+ * how many records use each one. The species fields of the add and update dialogs use it to suggest
+ * existing names while the user types, so records are not split across misspelled species.
+ */
+package WATSSwingApp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A frequency-ranked prefix index of species names, kept as a sorted array.
+ * <p>
+ * The names are sorted by their lower-case form, so all names starting with a prefix form one run of the array,
+ * found with a binary search. The run is ranked by record count, most used first, and cut to
+ * {@link #MAX_SUGGESTIONS} entries. A database holds a few dozen to a few hundred species, so a lookup costs
+ * microseconds and never touches the database.
+ * </p>
+ *
+ * <p>Counts change with every insert, update or delete of a record, but the sorted array is only rebuilt when a
+ * species appears or disappears. All methods are synchronized, so the dialogs can read the index while writers
+ * update it.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SpeciesIndex {
+
+    /** Largest number of suggestions returned for a prefix. */
+    public static final int MAX_SUGGESTIONS = 8;
+
+    /** Number of records of each species. */
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /** Lower-case species names, sorted, parallel to {@link #names}. */
+    private String[] keys = new String[0];
+
+    /** Species names in the order of {@link #keys}. */
+    private String[] names = new String[0];
+
+    /** Whether a species was added or removed since the arrays were sorted. */
+    private boolean stale;
+
+    /**
+     * Adds records of a species.
+     *
+     * @param species the species; blank names and {@code null} are ignored
+     * @param records the number of records added
+     */
+    public synchronized void add(String species, int records) {
+        if (species == null || species.trim().isEmpty() || records <= 0) {
+            return;
+        }
+        Integer count = counts.get(species);
+        if (count == null) {
+            stale = true;
+            counts.put(SpeciesDictionary.intern(species), records);
+        } else {
+            counts.put(species, count + records);
+        }
+    }
+
+    /**
+     * Removes one record of a species, dropping the species once it has no records left.
+     *
+     * @param species the species; blank names and {@code null} are ignored
+     */
+    public synchronized void remove(String species) {
+        Integer count = species == null ? null : counts.get(species);
+        if (count == null) {
+            return;
+        }
+        if (count <= 1) {
+            counts.remove(species);
+            stale = true;
+        } else {
+            counts.put(species, count - 1);
+        }
+    }
+
+    /**
+     * Moves one record from one species to another.
+     *
+     * @param oldSpecies the species before the change, or {@code null}
+     * @param newSpecies the species after the change, or {@code null}
+     */
+    public synchronized void replace(String oldSpecies, String newSpecies) {
+        if (oldSpecies != null && oldSpecies.equals(newSpecies)) {
+            return;
+        }
+        remove(oldSpecies);
+        add(newSpecies, 1);
+    }
+
+    /**
+     * Returns the number of records of a species.
+     *
+     * @param species the species
+     * @return the record count; {@code 0} if the species is unknown
+     */
+    public synchronized int count(String species) {
+        Integer count = counts.get(species);
+        return count == null ? 0 : count;
+    }
+
+    /** @return the number of distinct species in the index */
+    public synchronized int size() {
+        return counts.size();
+    }
+
+    /**
+     * Suggests the species starting with a prefix, ignoring case.
+     *
+     * @param prefix the text typed so far; leading and trailing blanks are ignored
+     * @return up to {@link #MAX_SUGGESTIONS} species, most records first and then alphabetically; empty for a
+     *         blank prefix
+     */
+    public synchronized List<String> suggest(String prefix) {
+        String key = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (stale) {
+            sort();
+        }
+
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<String> matches = new ArrayList<>();
+        for (int i = low; i < keys.length && keys[i].startsWith(key); i++) {
+            matches.add(names[i]);
+        }
+        // The run is already alphabetical, so a stable sort by count keeps ties in name order
+        matches.sort((a, b) -> Integer.compare(counts.get(b), counts.get(a)));
+        return matches.size() > MAX_SUGGESTIONS ? new ArrayList<>(matches.subList(0, MAX_SUGGESTIONS)) : matches;
+    }
+
+    /**
+     * Rebuilds the sorted arrays from the species counts.
+     */
+    private void sort() {
+        String[] sorted = counts.keySet().toArray(new String[0]);
+        Arrays.sort(sorted, (a, b) -> {
+            int order = a.toLowerCase(Locale.ROOT).compareTo(b.toLowerCase(Locale.ROOT));
+            return order != 0 ? order : a.compareTo(b);
+        });
+        names = sorted;
+        keys = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].toLowerCase(Locale.ROOT);
+        }
+        stale = false;
+    }
+}
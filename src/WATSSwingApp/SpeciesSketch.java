@@ -0,0 +1,103 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SpeciesSketch.java
+ *
+ * This class bundles the approximate statistics kept for one species: the number of records,
+ * weight and age quantile sketches, and a distinct count of Tag IDs. Bundles for the same
+ * species from different databases merge into the statistics of all of them together.
+ */
+package WATSSwingApp;
+
+/**
+ * The mergeable sketches of one species.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SpeciesSketch {
+
+    /** Species the sketches describe. */
+    private final String species;
+
+    /** Number of records summarised. */
+    private long recordCount;
+
+    /** Quantile sketch of the weights in kilograms. */
+    private final KllSketch weights;
+
+    /** Quantile sketch of the ages in years. */
+    private final KllSketch ages;
+
+    /** Distinct count sketch of the Tag IDs, so animals present in several merged files count once. */
+    private final HyperLogLog tagIds;
+
+    /**
+     * Constructs empty sketches for a species.
+     *
+     * @param species the species
+     */
+    public SpeciesSketch(String species) {
+        this(species, 0, new KllSketch(), new KllSketch(), new HyperLogLog());
+    }
+
+    /**
+     * Constructs the bundle from existing sketches.
+     *
+     * @param species     the species
+     * @param recordCount number of records summarised
+     * @param weights     quantile sketch of the weights
+     * @param ages        quantile sketch of the ages
+     * @param tagIds      distinct count sketch of the Tag IDs
+     */
+    public SpeciesSketch(String species, long recordCount, KllSketch weights, KllSketch ages, HyperLogLog tagIds) {
+        this.species = species;
+        this.recordCount = recordCount;
+        this.weights = weights;
+        this.ages = ages;
+        this.tagIds = tagIds;
+    }
+
+    /**
+     * Adds one record.
+     *
+     * @param id     the Tag ID
+     * @param weight the weight in kilograms
+     * @param age    the age in years
+     */
+    public void add(int id, double weight, int age) {
+        recordCount++;
+        weights.update(weight);
+        ages.update(age);
+        tagIds.add(id);
+    }
+
+    /**
+     * Adds the records summarised by another bundle of the same species.
+     *
+     * @param other the bundle to merge; left unchanged
+     */
+    public void merge(SpeciesSketch other) {
+        recordCount += other.recordCount;
+        weights.merge(other.weights);
+        ages.merge(other.ages);
+        tagIds.merge(other.tagIds);
+    }
+
+    /** @return the species the sketches describe */
+    public String getSpecies() { return species; }
+
+    /** @return the number of records summarised */
+    public long getRecordCount() { return recordCount; }
+
+    /** @return the quantile sketch of the weights */
+    public KllSketch getWeights() { return weights; }
+
+    /** @return the quantile sketch of the ages */
+    public KllSketch getAges() { return ages; }
+
+    /** @return the distinct count sketch of the Tag IDs */
+    public HyperLogLog getTagIds() { return tagIds; }
+}
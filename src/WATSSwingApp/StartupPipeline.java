@@ -0,0 +1,142 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: StartupPipeline.java
+ *
+ * This class orchestrates application startup for the Wildlife Animal Tracking System.
+ * It loads the JDBC driver, warms up a connection to the last used database, and validates
+ * its schema on a background thread while the Swing UI is built on the Event Dispatch Thread.
+ * It records how long each startup phase takes so the time to first row can be measured.
+ */
+package WATSSwingApp;
+
+import javax.swing.*;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the startup pipeline of the Wildlife Animal Tracking System (WATS) and records its phase timings.
+ * <p>
+ * Database preparation and UI construction run in parallel. Once both are done, the remembered database
+ * is opened directly (skipping the file dialog) and the table shows its first page of rows while the rest
+ * loads in the background. If no database is remembered, or preparing it fails, the user is prompted
+ * for a database file as before. When the application is started with {@code -D}{@value #TIMINGS_PROPERTY}
+ * {@code =true}, the phase timings are printed to standard output after all rows are loaded.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class StartupPipeline {
+
+    /** Fully qualified class name of the SQLite JDBC driver. */
+    private static final String JDBC_DRIVER = "org.sqlite.JDBC";
+
+    /** System property that turns on the timing report. */
+    public static final String TIMINGS_PROPERTY = "wats.startupTimings";
+
+    /** {@link System#nanoTime()} value when the pipeline was created. */
+    private final long startNanos = System.nanoTime();
+
+    /** Elapsed milliseconds per completed phase, in completion order. */
+    private final Map<String, Long> phaseTimings = new LinkedHashMap<>();
+
+    /** Whether the timing report has already been printed. */
+    private boolean reported;
+
+    /**
+     * Starts the application.
+     * <p>
+     * The driver is loaded and the last database (if any) is prepared on a background thread while the
+     * main frame is built and shown on the Event Dispatch Thread.
+     * </p>
+     */
+    public void start() {
+        String lastDbPath = DatabaseFileChooser.getLastDatabasePath();
+        CompletableFuture<DatabaseManager> database = CompletableFuture.supplyAsync(() -> prepareDatabase(lastDbPath));
+
+        SwingUtilities.invokeLater(() -> {
+            WATSMainFrame mainFrame = new WATSMainFrame();
+            mark("UI built");
+            mainFrame.setVisible(true);
+            mark("window shown");
+
+            database.whenComplete((dbManager, error) -> SwingUtilities.invokeLater(() -> {
+                if (dbManager != null) {
+                    mainFrame.openDatabase(dbManager, this);
+                } else {
+                    if (error != null) {
+                        JOptionPane.showMessageDialog(mainFrame, "Error: " + error.getCause().getMessage(),
+                                "Database Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                    // Prompt user to select a database file after GUI is visible
+                    mainFrame.promptForDatabase();
+                }
+            }));
+        });
+    }
+
+    /**
+     * Loads the JDBC driver and, if a database was remembered, opens a first connection and validates its schema.
+     *
+     * @param dbPath the remembered database path, or {@code null} if there is none
+     * @return a ready {@link DatabaseManager}, or {@code null} if no database was remembered
+     * @throws IllegalStateException wrapping the {@link SQLException} if the database cannot be prepared
+     */
+    private DatabaseManager prepareDatabase(String dbPath) {
+        try {
+            Class.forName(JDBC_DRIVER);
+            mark("driver loaded");
+        } catch (ClassNotFoundException e) {
+            // DriverManager reports the missing driver when the first connection is opened
+            mark("driver not found");
+        }
+
+        if (dbPath == null) {
+            return null;
+        }
+
+        DatabaseManager dbManager = new DatabaseManager(dbPath);
+        try {
+            dbManager.connect().close();
+            mark("connection warmed");
+            dbManager.migrateSchema();
+            mark("schema validated");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return dbManager;
+    }
+
+    /**
+     * Records the completion of a startup phase.
+     * <p>
+     * Only the first occurrence of each phase is kept, so later table reloads do not overwrite startup timings.
+     * </p>
+     *
+     * @param phase the name of the completed phase
+     */
+    public synchronized void mark(String phase) {
+        phaseTimings.putIfAbsent(phase, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Prints the recorded phase timings to standard output once, if {@value #TIMINGS_PROPERTY} is set.
+     */
+    public synchronized void report() {
+        if (reported || !Boolean.getBoolean(TIMINGS_PROPERTY)) {
+            return;
+        }
+        reported = true;
+
+        StringBuilder sb = new StringBuilder("Startup timings (ms since launch):");
+        for (Map.Entry<String, Long> entry : phaseTimings.entrySet()) {
+            sb.append(System.lineSeparator()).append(String.format("  %-20s %6d", entry.getKey(), entry.getValue()));
+        }
+        System.out.println(sb);
+    }
+}
@@ -0,0 +1,318 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SyncEngine.java
+ *
+ * This class keeps two WATS databases in step, for example a laptop and the central file.
+ * Both sides summarise their records as a Merkle tree of hashed Tag ID ranges; the engine
+ * walks down only the branches whose digests differ and exchanges just the records found there.
+ */
+package WATSSwingApp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Two-way synchronisation of animal records between two {@link SyncPeer}s.
+ * <p>
+ * Tag IDs are grouped into buckets of {@link #LEAF_SPAN} consecutive IDs. Every database keeps one digest per
+ * non-empty bucket in {@code SyncDigests}: the record count and two sums of per-row hashes over the Tag ID,
+ * row version and modification time. Triggers on {@code WildAnimals} adjust the digest of the affected bucket
+ * on every insert, update and delete, so digests are never recomputed from the table. Because the hashes are
+ * sums, the digest of any run of buckets is a {@code SUM} over {@code SyncDigests}, which gives a Merkle tree
+ * with a fan-out of {@code 2^}{@link #FANOUT_BITS} without storing the inner nodes.
+ * </p>
+ *
+ * <p>A sync compares the root digests first and then, level by level, asks both peers only for the children
+ * of nodes that differed. Once the leaves are reached, both peers send the records and deletions of the
+ * differing buckets, and each record is copied to the side whose copy is older (see
+ * {@link SyncRecord#supersedes(SyncRecord)}). The number of round trips is fixed by the tree height and the
+ * amount of data exchanged grows with the number of changed buckets, not with the size of the table.</p>
+ *
+ * <p>Deletions are remembered in {@code SyncTombstones} so a record deleted on one side is deleted on the
+ * other instead of being copied back. Records in a side's archive tier are reported as markers that count as
+ * present, so the other side's copy is neither copied into the hot table nor replaced.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SyncEngine {
+
+    /** Number of bits of the Tag ID range covered by one leaf bucket. */
+    public static final int LEAF_BITS = 10;
+
+    /** Number of consecutive Tag IDs in one leaf bucket. */
+    public static final int LEAF_SPAN = 1 << LEAF_BITS;
+
+    /** Number of tree levels skipped per round trip; each node has {@code 2^FANOUT_BITS} children. */
+    public static final int FANOUT_BITS = 4;
+
+    /** Level of the root node, which covers every bucket of the shifted 32-bit Tag ID range. */
+    public static final int ROOT_LEVEL = 24;
+
+    /** Offset added to Tag IDs so that negative IDs from older files still map to non-negative buckets. */
+    private static final long ID_OFFSET = 1L << 31;
+
+    /** First prime modulus of the row hashes; keeps every hash below {@code 2^32} so sums cannot overflow. */
+    private static final long HASH1_MODULUS = 4294967291L;
+
+    /** Second prime modulus of the row hashes. */
+    private static final long HASH2_MODULUS = 4294967279L;
+
+    /**
+     * Creates the digest and tombstone tables and the triggers maintaining them, if they do not exist yet.
+     * <p>
+     * Called from {@link DatabaseManager#migrateSchema()}. The first time the tables are created, the digests of
+     * the existing records are computed once in a single grouped query.
+     * </p>
+     *
+     * @param stmt a statement on the connection performing the schema migration
+     * @throws SQLException if the schema cannot be created
+     */
+    public static void createSchema(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'SyncDigests'")) {
+            exists = rs.next();
+        }
+
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SyncDigests ("
+                + "bucket INTEGER PRIMARY KEY, rowCount INTEGER NOT NULL, hash1 INTEGER NOT NULL, hash2 INTEGER NOT NULL)");
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SyncTombstones (id INTEGER PRIMARY KEY, deletedAt INTEGER NOT NULL)");
+        if (!exists) {
+            stmt.executeUpdate("INSERT INTO SyncDigests (bucket, rowCount, hash1, hash2) "
+                    + "SELECT " + bucketSql("w") + ", COUNT(*), SUM(" + hash1Sql("w") + "), SUM(" + hash2Sql("w") + ") "
+                    + "FROM WildAnimals w GROUP BY 1");
+        }
+
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_sync_insert AFTER INSERT ON WildAnimals BEGIN "
+                + addDigestSql("NEW")
+                + "DELETE FROM SyncTombstones WHERE id = NEW.id; END");
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_sync_update "
+                + "AFTER UPDATE OF id, version, lastModified ON WildAnimals BEGIN "
+                + subtractDigestSql("OLD") + addDigestSql("NEW") + "END");
+        stmt.executeUpdate("CREATE TRIGGER IF NOT EXISTS WildAnimals_sync_delete AFTER DELETE ON WildAnimals BEGIN "
+                + subtractDigestSql("OLD")
+                + "INSERT OR REPLACE INTO SyncTombstones (id, deletedAt) "
+                + "VALUES (OLD.id, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); END");
+    }
+
+    /**
+     * Builds the SQL expression for the bucket of a row.
+     *
+     * @param row the row alias, such as {@code NEW}
+     * @return the bucket expression
+     */
+    private static String bucketSql(String row) {
+        return "((" + row + ".id + " + ID_OFFSET + ") >> " + LEAF_BITS + ")";
+    }
+
+    /**
+     * Builds the SQL expression for the first hash of a row.
+     * <p>
+     * Every product stays below {@code 2^63}, since SQLite turns overflowing integer arithmetic into floating point.
+     * </p>
+     *
+     * @param row the row alias, such as {@code NEW}
+     * @return the hash expression
+     */
+    private static String hash1Sql(String row) {
+        return "(((" + row + ".id * 2654435761) % " + HASH1_MODULUS + ") * (((" + row + ".lastModified + "
+                + row + ".version) % 65521) + 1) % " + HASH1_MODULUS + ")";
+    }
+
+    /**
+     * Builds the SQL expression for the second hash of a row, mixing the columns differently from the first.
+     *
+     * @param row the row alias, such as {@code NEW}
+     * @return the hash expression
+     */
+    private static String hash2Sql(String row) {
+        return "((((" + row + ".lastModified % " + HASH2_MODULUS + ") * 69069 + " + row + ".version) % "
+                + HASH2_MODULUS + ") * ((" + row + ".id % 65519) + 1) % " + HASH2_MODULUS + ")";
+    }
+
+    /**
+     * Builds the trigger statement adding a row to its bucket digest.
+     *
+     * @param row the row alias, {@code NEW}
+     * @return the statement, terminated by a semicolon
+     */
+    private static String addDigestSql(String row) {
+        return "INSERT INTO SyncDigests (bucket, rowCount, hash1, hash2) VALUES (" + bucketSql(row) + ", 1, "
+                + hash1Sql(row) + ", " + hash2Sql(row) + ") ON CONFLICT(bucket) DO UPDATE SET "
+                + "rowCount = rowCount + 1, hash1 = hash1 + excluded.hash1, hash2 = hash2 + excluded.hash2; ";
+    }
+
+    /**
+     * Builds the trigger statements removing a row from its bucket digest and dropping emptied buckets.
+     *
+     * @param row the row alias, {@code OLD}
+     * @return the statements, each terminated by a semicolon
+     */
+    private static String subtractDigestSql(String row) {
+        return "UPDATE SyncDigests SET rowCount = rowCount - 1, hash1 = hash1 - " + hash1Sql(row) + ", "
+                + "hash2 = hash2 - " + hash2Sql(row) + " WHERE bucket = " + bucketSql(row) + "; "
+                + "DELETE FROM SyncDigests WHERE bucket = " + bucketSql(row) + " AND rowCount = 0; ";
+    }
+
+    /**
+     * Returns the leaf bucket of a Tag ID.
+     *
+     * @param id the Tag ID
+     * @return the bucket containing the Tag ID
+     */
+    public static long bucketOf(long id) {
+        return (id + ID_OFFSET) >> LEAF_BITS;
+    }
+
+    /**
+     * Returns the first Tag ID of a leaf bucket.
+     *
+     * @param bucket the bucket
+     * @return the lowest Tag ID in the bucket
+     */
+    public static long firstIdOf(long bucket) {
+        return (bucket << LEAF_BITS) - ID_OFFSET;
+    }
+
+    /**
+     * Synchronises two peers in both directions.
+     * <p>
+     * This method blocks until the sync is complete and should be called off the Event Dispatch Thread.
+     * </p>
+     *
+     * @param local  the peer for the open database; wins ties
+     * @param remote the other peer
+     * @return a report of what was exchanged
+     * @throws SQLException if either peer fails; each peer applies its changes in one transaction
+     */
+    public SyncReport sync(SyncPeer local, SyncPeer remote) throws SQLException {
+        long start = System.currentTimeMillis();
+        int roundTrips = 0;
+        long digestsCompared = 0;
+
+        // Walk down from the root, keeping only the nodes whose digests differ
+        Collection<Long> differing = Collections.singletonList(0L);
+        int parentLevel = ROOT_LEVEL + FANOUT_BITS;
+        while (parentLevel > 0 && !differing.isEmpty()) {
+            Map<Long, RangeDigest> ours = byNode(local.getChildDigests(parentLevel, differing));
+            Map<Long, RangeDigest> theirs = byNode(remote.getChildDigests(parentLevel, differing));
+            roundTrips++;
+
+            TreeSet<Long> children = new TreeSet<>(ours.keySet());
+            children.addAll(theirs.keySet());
+            digestsCompared += children.size();
+            List<Long> next = new ArrayList<>();
+            for (Long node : children) {
+                RangeDigest digest = ours.get(node);
+                if (digest == null || !digest.matches(theirs.get(node))) {
+                    next.add(node);
+                }
+            }
+            differing = next;
+            parentLevel = Math.max(0, parentLevel - FANOUT_BITS);
+        }
+
+        List<SyncRecord> toRemote = new ArrayList<>();
+        List<SyncRecord> toLocal = new ArrayList<>();
+        if (!differing.isEmpty()) {
+            Map<Integer, SyncRecord> ourRecords = byId(local.getRecords(differing));
+            Map<Integer, SyncRecord> theirRecords = byId(remote.getRecords(differing));
+            roundTrips++;
+
+            for (SyncRecord ours : ourRecords.values()) {
+                SyncRecord theirs = theirRecords.get(ours.getId());
+                if (ours.supersedes(theirs) && !sameState(ours, theirs)) {
+                    toRemote.add(ours);
+                }
+            }
+            for (SyncRecord theirs : theirRecords.values()) {
+                SyncRecord ours = ourRecords.get(theirs.getId());
+                if (theirs.supersedes(ours) && !sameState(theirs, ours)) {
+                    toLocal.add(theirs);
+                }
+            }
+
+            remote.applyRecords(toRemote);
+            local.applyRecords(toLocal);
+            roundTrips++;
+        }
+
+        return new SyncReport(roundTrips, digestsCompared, differing.size(), count(toRemote, false),
+                count(toRemote, true), count(toLocal, false), count(toLocal, true),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes digests by node.
+     *
+     * @param digests the digests
+     * @return the digests keyed by node
+     */
+    private static Map<Long, RangeDigest> byNode(List<RangeDigest> digests) {
+        Map<Long, RangeDigest> map = new HashMap<>(digests.size() * 2);
+        for (RangeDigest digest : digests) {
+            map.put(digest.getNode(), digest);
+        }
+        return map;
+    }
+
+    /**
+     * Indexes records by Tag ID.
+     *
+     * @param records the records
+     * @return the records keyed by Tag ID
+     */
+    private static Map<Integer, SyncRecord> byId(List<SyncRecord> records) {
+        Map<Integer, SyncRecord> map = new HashMap<>(records.size() * 2);
+        for (SyncRecord record : records) {
+            map.put(record.getId(), record);
+        }
+        return map;
+    }
+
+    /**
+     * Determines whether the other side already holds the same state of a record.
+     *
+     * @param winner the winning copy
+     * @param other  the other side's copy, or {@code null}
+     * @return {@code true} if nothing needs to be sent
+     */
+    private static boolean sameState(SyncRecord winner, SyncRecord other) {
+        if (other == null) {
+            return false;
+        }
+        if (winner.isDeleted() || other.isDeleted()) {
+            return winner.isDeleted() && other.isDeleted();
+        }
+        return winner.getVersion() == other.getVersion() && winner.getModifiedAt() == other.getModifiedAt();
+    }
+
+    /**
+     * Counts the live records or the deletions in a list.
+     *
+     * @param records the records
+     * @param deleted {@code true} to count deletions, {@code false} to count live records
+     * @return the count
+     */
+    private static long count(List<SyncRecord> records, boolean deleted) {
+        long count = 0;
+        for (SyncRecord record : records) {
+            if (record.isDeleted() == deleted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
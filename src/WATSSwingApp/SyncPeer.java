@@ -0,0 +1,53 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SyncPeer.java
+ *
+ * This interface is one side of a sync: a database that can report range digests, hand out
+ * the records of chosen ranges, and apply the records that won. The engine only talks to
+ * peers, so a peer may be a local file or a connection to another machine.
+ */
+package WATSSwingApp;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One side of a {@link SyncEngine} sync.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface SyncPeer {
+
+    /**
+     * Returns the digests of the non-empty children of the given Merkle tree nodes.
+     *
+     * @param parentLevel the tree level of the parent nodes
+     * @param parents     the parent nodes
+     * @return the digests of the non-empty child nodes, one level of {@link SyncEngine#FANOUT_BITS} below
+     *         the parents (or level {@code 0})
+     * @throws SQLException if the digests cannot be read
+     */
+    List<RangeDigest> getChildDigests(int parentLevel, Collection<Long> parents) throws SQLException;
+
+    /**
+     * Returns the live records, the deletions and markers for the archived records in the given leaf buckets.
+     *
+     * @param buckets the level {@code 0} nodes whose records are needed
+     * @return the records, deletions and archive markers in those buckets
+     * @throws SQLException if the records cannot be read
+     */
+    List<SyncRecord> getRecords(Collection<Long> buckets) throws SQLException;
+
+    /**
+     * Stores records and deletions that won against this side's copies, in one transaction.
+     *
+     * @param records the winning records and deletions
+     * @throws SQLException if the records cannot be stored; nothing is stored in that case
+     */
+    void applyRecords(List<SyncRecord> records) throws SQLException;
+}
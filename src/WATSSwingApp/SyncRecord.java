@@ -0,0 +1,126 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SyncRecord.java
+ *
+ * This class carries one animal record, or the fact that it was deleted, between the two
+ * sides of a sync. Deletions are sent as tombstones so they win over older copies instead
+ * of being undone by the other side. Records moved to the archive tier are sent as markers
+ * so the other side's copy is not copied back into the hot table.
+ */
+package WATSSwingApp;
+
+/**
+ * A live record or a deletion exchanged by {@link SyncEngine}.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SyncRecord {
+
+    /** Tag ID of the record. */
+    private final int id;
+
+    /** The record's values, or {@code null} if the record was deleted. */
+    private final AnimalRecord record;
+
+    /** Time of the last modification or of the deletion, in milliseconds since the epoch. */
+    private final long modifiedAt;
+
+    /** Whether the record is held in the archive tier of the sending side. */
+    private final boolean archived;
+
+    /**
+     * Constructs a live record.
+     *
+     * @param record the record's values
+     */
+    public SyncRecord(AnimalRecord record) {
+        this.id = record.getId();
+        this.record = record;
+        this.modifiedAt = record.getLastModified();
+        this.archived = false;
+    }
+
+    /**
+     * Constructs a deletion.
+     *
+     * @param id        the Tag ID of the deleted record
+     * @param deletedAt the time of the deletion in milliseconds since the epoch
+     */
+    public SyncRecord(int id, long deletedAt) {
+        this.id = id;
+        this.record = null;
+        this.modifiedAt = deletedAt;
+        this.archived = false;
+    }
+
+    /**
+     * Constructs a marker for a record held in the archive tier, which never wins and is never replaced.
+     *
+     * @param id the Tag ID of the archived record
+     * @return the marker
+     */
+    public static SyncRecord archived(int id) {
+        return new SyncRecord(id);
+    }
+
+    /**
+     * Constructs a marker for an archived record.
+     *
+     * @param id the Tag ID of the archived record
+     */
+    private SyncRecord(int id) {
+        this.id = id;
+        this.record = null;
+        this.modifiedAt = 0L;
+        this.archived = true;
+    }
+
+    /** @return the Tag ID of the record */
+    public int getId() { return id; }
+
+    /** @return the record's values, or {@code null} if the record was deleted */
+    public AnimalRecord getRecord() { return record; }
+
+    /** @return {@code true} if this is a deletion */
+    public boolean isDeleted() { return record == null && !archived; }
+
+    /** @return {@code true} if this marks a record held in the archive tier */
+    public boolean isArchived() { return archived; }
+
+    /** @return the time of the last modification or of the deletion */
+    public long getModifiedAt() { return modifiedAt; }
+
+    /** @return the row version of a live record, or {@code -1} for a deletion */
+    public int getVersion() { return record == null ? -1 : record.getVersion(); }
+
+    /**
+     * Decides whether this copy should replace another copy of the same record.
+     * <p>
+     * The later modification wins. Ties go to the higher row version, then to a live record over a deletion;
+     * a complete tie keeps the other copy. An archived record counts as present on its side: it never wins and
+     * is never replaced, because the archive keeps no tombstones and restoring it brings its own copy back.
+     * </p>
+     *
+     * @param other the other copy, or {@code null} if the other side has never seen the record
+     * @return {@code true} if this copy wins
+     */
+    public boolean supersedes(SyncRecord other) {
+        if (archived || (other != null && other.archived)) {
+            return false;
+        }
+        if (other == null) {
+            return !isDeleted();
+        }
+        if (modifiedAt != other.modifiedAt) {
+            return modifiedAt > other.modifiedAt;
+        }
+        if (getVersion() != other.getVersion()) {
+            return getVersion() > other.getVersion();
+        }
+        return !isDeleted() && other.isDeleted();
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: SyncReport.java
+ *
+ * This class summarises one run of the sync engine: how much of the Merkle tree had to be
+ * compared and how many records and deletions travelled in each direction.
+ */
+package WATSSwingApp;
+
+/**
+ * The outcome of a {@link SyncEngine} run.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SyncReport {
+
+    /** Number of request rounds made to both peers. */
+    private final int roundTrips;
+
+    /** Number of range digests compared. */
+    private final long digestsCompared;
+
+    /** Number of leaf buckets whose digests differed. */
+    private final long bucketsDiffering;
+
+    /** Number of records copied to the remote peer. */
+    private final long recordsSent;
+
+    /** Number of deletions copied to the remote peer. */
+    private final long deletionsSent;
+
+    /** Number of records copied from the remote peer. */
+    private final long recordsReceived;
+
+    /** Number of deletions copied from the remote peer. */
+    private final long deletionsReceived;
+
+    /** Duration of the sync in milliseconds. */
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a new {@code SyncReport}.
+     *
+     * @param roundTrips        number of request rounds made to both peers
+     * @param digestsCompared   number of range digests compared
+     * @param bucketsDiffering  number of leaf buckets whose digests differed
+     * @param recordsSent       number of records copied to the remote peer
+     * @param deletionsSent     number of deletions copied to the remote peer
+     * @param recordsReceived   number of records copied from the remote peer
+     * @param deletionsReceived number of deletions copied from the remote peer
+     * @param elapsedMillis     duration of the sync in milliseconds
+     */
+    public SyncReport(int roundTrips, long digestsCompared, long bucketsDiffering, long recordsSent,
+                      long deletionsSent, long recordsReceived, long deletionsReceived, long elapsedMillis) {
+        this.roundTrips = roundTrips;
+        this.digestsCompared = digestsCompared;
+        this.bucketsDiffering = bucketsDiffering;
+        this.recordsSent = recordsSent;
+        this.deletionsSent = deletionsSent;
+        this.recordsReceived = recordsReceived;
+        this.deletionsReceived = deletionsReceived;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** @return the number of request rounds made to both peers */
+    public int getRoundTrips() { return roundTrips; }
+
+    /** @return the number of range digests compared */
+    public long getDigestsCompared() { return digestsCompared; }
+
+    /** @return the number of leaf buckets whose digests differed */
+    public long getBucketsDiffering() { return bucketsDiffering; }
+
+    /** @return the number of records copied to the remote peer */
+    public long getRecordsSent() { return recordsSent; }
+
+    /** @return the number of deletions copied to the remote peer */
+    public long getDeletionsSent() { return deletionsSent; }
+
+    /** @return the number of records copied from the remote peer */
+    public long getRecordsReceived() { return recordsReceived; }
+
+    /** @return the number of deletions copied from the remote peer */
+    public long getDeletionsReceived() { return deletionsReceived; }
+
+    /** @return the duration of the sync in milliseconds */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /** @return {@code true} if the two databases already held the same records */
+    public boolean wasInSync() {
+        return bucketsDiffering == 0;
+    }
+
+    /**
+     * Returns a multi-line summary of the sync, suitable for a dialog.
+     *
+     * @return the counts and the duration
+     */
+    @Override
+    public String toString() {
+        return String.format("Synced in %d ms with %d round trip(s)%n"
+                        + "Range digests compared: %d%n"
+                        + "Differing ranges: %d%n"
+                        + "Records sent: %d, deletions sent: %d%n"
+                        + "Records received: %d, deletions received: %d",
+                elapsedMillis, roundTrips, digestsCompared, bucketsDiffering, recordsSent, deletionsSent,
+                recordsReceived, deletionsReceived);
+    }
+}
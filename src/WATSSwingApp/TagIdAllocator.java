@@ -0,0 +1,291 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: TagIdAllocator.java
+ *
+ * This class hands out new Tag IDs. It reserves a block of IDs at a time from a sequence stored in
+ * the database, so operators and programs working on the same database at once never pick the same
+ * ID, and hands the IDs of the block out from memory. IDs that were reserved but not used are given
+ * back when the database is closed.
+ */
+package WATSSwingApp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Allocates Tag IDs from blocks reserved in the {@code IdSequences} table.
+ * <p>
+ * {@link #nextId()} hands out the IDs of the current block from memory and only goes to the database once every
+ * {@link #BLOCK_SIZE} IDs. A block is reserved in one short write transaction. Ranges returned by closed
+ * allocators, kept in {@code FreeIdRanges}, are reused first. Otherwise the sequence is advanced past both its
+ * current value and the highest stored Tag ID, so IDs typed by hand are never handed out again. Every ID is also
+ * checked against the {@link TagIdIndex} before it is handed out, which skips IDs that importers or other writers
+ * stored inside a reserved block.
+ * </p>
+ *
+ * <p>An ID that was suggested but not used can be handed back with {@link #release(int)}. {@link #close()}, also
+ * run by a shutdown hook, returns the rest of the block and the released IDs. If the block is still the top of
+ * the sequence, the sequence is wound back instead of leaving a gap.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class TagIdAllocator {
+
+    /** Number of Tag IDs reserved from the database at a time. */
+    public static final int BLOCK_SIZE = 64;
+
+    /** Name of the Tag ID sequence in {@code IdSequences}. */
+    private static final String SEQUENCE = "WildAnimals";
+
+    /** The database manager of the database the IDs are for. */
+    private final DatabaseManager dbManager;
+
+    /** IDs handed back with {@link #release(int)}, handed out again before the block. */
+    private final TreeSet<Integer> released = new TreeSet<>();
+
+    /** Shutdown hook returning the unused IDs if the application exits without closing the database. */
+    private final Thread shutdownHook;
+
+    /** Next unused ID of the current block. */
+    private long next = 1;
+
+    /** Last ID of the current block; the block is empty when {@link #next} is past it. */
+    private long last;
+
+    /** Whether the block was taken from the top of the sequence rather than from a returned range. */
+    private boolean fromSequence;
+
+    /** Whether the allocator has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructs an allocator for a database and registers its shutdown hook.
+     *
+     * @param dbManager the database manager of the database
+     */
+    public TagIdAllocator(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        shutdownHook = new Thread(() -> {
+            try {
+                returnUnused();
+            } catch (SQLException e) {
+                // The unused IDs stay reserved; they are only skipped, never handed out twice
+            }
+        }, "wats-id-release");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Creates the sequence tables, starting the Tag ID sequence after the highest stored Tag ID.
+     * <p>
+     * Called from {@link DatabaseManager#migrateSchema()}.
+     * </p>
+     *
+     * @param stmt a statement on the connection performing the schema migration
+     * @throws SQLException if the schema cannot be created
+     */
+    public static void createSchema(Statement stmt) throws SQLException {
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS IdSequences (name TEXT PRIMARY KEY, nextId INTEGER NOT NULL)");
+        stmt.executeUpdate("CREATE TABLE IF NOT EXISTS FreeIdRanges (firstId INTEGER PRIMARY KEY, lastId INTEGER NOT NULL)");
+        stmt.executeUpdate("INSERT INTO IdSequences (name, nextId) SELECT '" + SEQUENCE + "', COALESCE(MAX(id), 0) + 1 "
+                + "FROM WildAnimals WHERE true ON CONFLICT(name) DO NOTHING");
+    }
+
+    /**
+     * Hands out an unused Tag ID.
+     *
+     * @return a Tag ID that is not stored and not handed out by any other allocator
+     * @throws SQLException if a new block cannot be reserved or the Tag ID index cannot be built
+     */
+    public synchronized int nextId() throws SQLException {
+        if (closed) {
+            throw new SQLException("The Tag ID allocator has been closed.");
+        }
+        TagIdIndex stored = dbManager.getTagIdIndex();
+        while (true) {
+            int id;
+            if (!released.isEmpty()) {
+                id = released.pollFirst();
+            } else {
+                if (next > last) {
+                    reserveBlock();
+                }
+                id = (int) next++;
+            }
+            if (!stored.contains(id)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Hands back a Tag ID from {@link #nextId()} that was not used, so it is handed out again.
+     *
+     * @param id the unused Tag ID
+     */
+    public synchronized void release(int id) {
+        if (!closed) {
+            released.add(id);
+        }
+    }
+
+    /**
+     * Returns the unused IDs to the database and removes the shutdown hook.
+     *
+     * @throws SQLException if the IDs cannot be returned; they are then only skipped, never handed out twice
+     */
+    public void close() throws SQLException {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook returns the IDs
+        }
+        returnUnused();
+    }
+
+    /**
+     * Reserves the next block, preferring the lowest range returned by a closed allocator.
+     *
+     * @throws SQLException if the block cannot be reserved, or an edit session is open
+     */
+    private void reserveBlock() throws SQLException {
+        if (dbManager.getEditSession() != null) {
+            // The reservation must commit on its own, but the session holds the write lock until it ends
+            throw new SQLException("New Tag IDs cannot be reserved while an edit session is open.");
+        }
+        try (Connection conn = dbManager.connect()) {
+            conn.setAutoCommit(false);
+            try {
+                // Write first so the transaction holds the write lock before it reads the ranges
+                try (PreparedStatement lock = conn.prepareStatement("UPDATE IdSequences SET nextId = nextId WHERE name = ?")) {
+                    lock.setString(1, SEQUENCE);
+                    lock.executeUpdate();
+                }
+
+                long first = 0;
+                long end = -1;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT firstId, lastId FROM FreeIdRanges ORDER BY firstId LIMIT 1")) {
+                    if (rs.next()) {
+                        first = rs.getLong(1);
+                        end = rs.getLong(2);
+                    }
+                }
+
+                if (end >= first) {
+                    long blockEnd = Math.min(end, first + BLOCK_SIZE - 1);
+                    try (PreparedStatement take = conn.prepareStatement(blockEnd == end
+                            ? "DELETE FROM FreeIdRanges WHERE firstId = ?"
+                            : "UPDATE FreeIdRanges SET firstId = " + (blockEnd + 1) + " WHERE firstId = ?")) {
+                        take.setLong(1, first);
+                        take.executeUpdate();
+                    }
+                    next = first;
+                    last = blockEnd;
+                    fromSequence = false;
+                } else {
+                    try (PreparedStatement advance = conn.prepareStatement("UPDATE IdSequences SET nextId = "
+                            + "MAX(nextId, (SELECT COALESCE(MAX(id), 0) + 1 FROM WildAnimals)) + ? WHERE name = ?")) {
+                        advance.setInt(1, BLOCK_SIZE);
+                        advance.setString(2, SEQUENCE);
+                        if (advance.executeUpdate() == 0) {
+                            throw new SQLException("The Tag ID sequence is missing.");
+                        }
+                    }
+                    try (PreparedStatement read = conn.prepareStatement("SELECT nextId FROM IdSequences WHERE name = ?")) {
+                        read.setString(1, SEQUENCE);
+                        try (ResultSet rs = read.executeQuery()) {
+                            rs.next();
+                            last = rs.getLong(1) - 1;
+                        }
+                    }
+                    next = last - BLOCK_SIZE + 1;
+                    fromSequence = true;
+                }
+                if (last > Integer.MAX_VALUE) {
+                    throw new SQLException("No Tag IDs are left.");
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                next = 1;
+                last = 0;
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the rest of the block and the released IDs to the database and closes the allocator.
+     *
+     * @throws SQLException if the IDs cannot be returned
+     */
+    private synchronized void returnUnused() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        List<long[]> ranges = new ArrayList<>();
+        for (int id : released) {
+            long[] previous = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (previous != null && previous[1] + 1 == id) {
+                previous[1] = id;
+            } else {
+                ranges.add(new long[] { id, id });
+            }
+        }
+        released.clear();
+        if (ranges.isEmpty() && next > last) {
+            return;
+        }
+
+        try (Connection conn = dbManager.connect()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean wound = false;
+                if (next <= last && fromSequence) {
+                    // Nobody reserved after this block: move the sequence back instead of leaving a range
+                    try (PreparedStatement rewind = conn.prepareStatement(
+                            "UPDATE IdSequences SET nextId = ? WHERE name = ? AND nextId = ?")) {
+                        rewind.setLong(1, next);
+                        rewind.setString(2, SEQUENCE);
+                        rewind.setLong(3, last + 1);
+                        wound = rewind.executeUpdate() > 0;
+                    }
+                }
+                if (next <= last && !wound) {
+                    ranges.add(new long[] { next, last });
+                }
+                try (PreparedStatement insert = conn.prepareStatement(
+                        "INSERT INTO FreeIdRanges (firstId, lastId) VALUES (?, ?) ON CONFLICT(firstId) DO NOTHING")) {
+                    for (long[] range : ranges) {
+                        insert.setLong(1, range[0]);
+                        insert.setLong(2, range[1]);
+                        insert.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        next = 1;
+        last = 0;
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: TagIdIndex.java
+ *
+ * This class is an in-memory set of the Tag IDs stored in a database, kept as a compressed bitmap.
+ * Imports use it to tell new records from existing ones without a query or a constraint error per
+ * row, and the add dialog uses it to reject a duplicate Tag ID before touching the database.
+ */
+package WATSSwingApp;
+
+import java.util.Arrays;
+
+/**
+ * A compressed bitmap of Tag IDs, organised like a Roaring bitmap.
+ * <p>
+ * Each Tag ID is split into its upper and lower 16 bits. The upper half selects a container; the lower half is
+ * stored in it. A container holding up to {@link #ARRAY_CONTAINER_MAX} values is a sorted {@code char[]}
+ * (two bytes per ID); a fuller one is a 65,536-bit {@code long[]} bitmap (8 KB). Dense ranges of Tag IDs therefore
+ * cost about one bit each and sparse ones two bytes each, and a lookup is one binary search over the containers
+ * followed by a binary search or a single bit test.
+ * </p>
+ *
+ * <p>All methods are synchronized, so the index can be read by an import while the dialogs update it.</p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class TagIdIndex {
+
+    /** Largest number of values kept in a sorted array container before it becomes a bitmap. */
+    private static final int ARRAY_CONTAINER_MAX = 4096;
+
+    /** Number of {@code long} words in a bitmap container (65,536 bits). */
+    private static final int BITMAP_WORDS = 1024;
+
+    /** Upper 16 bits of the Tag IDs in each container, sorted ascending. */
+    private char[] keys = new char[4];
+
+    /** Containers parallel to {@link #keys}: a sorted {@code char[]} or a {@code long[]} bitmap. */
+    private Object[] containers = new Object[4];
+
+    /** Number of values in each container, parallel to {@link #keys}. */
+    private int[] cardinalities = new int[4];
+
+    /** Number of containers in use. */
+    private int containerCount;
+
+    /** Total number of Tag IDs in the index. */
+    private long size;
+
+    /**
+     * Adds a Tag ID to the index.
+     *
+     * @param tagId the Tag ID to add
+     * @return {@code true} if the Tag ID was not already present
+     */
+    public synchronized boolean add(int tagId) {
+        char key = (char) (tagId >>> 16);
+        char low = (char) tagId;
+        int index = Arrays.binarySearch(keys, 0, containerCount, key);
+        if (index < 0) {
+            index = insertContainer(-index - 1, key);
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] bitmap = (long[]) container;
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            bitmap[low >>> 6] |= bit;
+        } else {
+            char[] values = (char[]) container;
+            int cardinality = cardinalities[index];
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_CONTAINER_MAX) {
+                long[] bitmap = toBitmap(values, cardinality);
+                bitmap[low >>> 6] |= 1L << low;
+                containers[index] = bitmap;
+            } else {
+                position = -position - 1;
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_CONTAINER_MAX, cardinality * 2));
+                    containers[index] = values;
+                }
+                System.arraycopy(values, position, values, position + 1, cardinality - position);
+                values[position] = low;
+            }
+        }
+        cardinalities[index]++;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a Tag ID from the index.
+     *
+     * @param tagId the Tag ID to remove
+     * @return {@code true} if the Tag ID was present
+     */
+    public synchronized boolean remove(int tagId) {
+        char key = (char) (tagId >>> 16);
+        char low = (char) tagId;
+        int index = Arrays.binarySearch(keys, 0, containerCount, key);
+        if (index < 0) {
+            return false;
+        }
+
+        Object container = containers[index];
+        int cardinality = cardinalities[index];
+        if (container instanceof long[]) {
+            long[] bitmap = (long[]) container;
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            bitmap[low >>> 6] &= ~bit;
+            if (cardinality - 1 <= ARRAY_CONTAINER_MAX) {
+                containers[index] = toArray(bitmap, cardinality - 1);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+        }
+
+        size--;
+        if (--cardinalities[index] == 0) {
+            removeContainer(index);
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a Tag ID is in the index.
+     *
+     * @param tagId the Tag ID to look up
+     * @return {@code true} if the Tag ID is present
+     */
+    public synchronized boolean contains(int tagId) {
+        int index = Arrays.binarySearch(keys, 0, containerCount, (char) (tagId >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) tagId;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+    }
+
+    /**
+     * Adds every Tag ID of a collection to the index.
+     *
+     * @param tagIds the Tag IDs to add
+     */
+    public synchronized void addAll(Iterable<Integer> tagIds) {
+        for (int tagId : tagIds) {
+            add(tagId);
+        }
+    }
+
+    /**
+     * Removes every Tag ID of a collection from the index.
+     *
+     * @param tagIds the Tag IDs to remove
+     */
+    public synchronized void removeAll(Iterable<Integer> tagIds) {
+        for (int tagId : tagIds) {
+            remove(tagId);
+        }
+    }
+
+    /** @return the number of Tag IDs in the index */
+    public synchronized long size() { return size; }
+
+    /**
+     * Estimates the memory held by the containers.
+     *
+     * @return the approximate size of the index in bytes
+     */
+    public synchronized long sizeInBytes() {
+        long bytes = keys.length * 2L + cardinalities.length * 4L + containers.length * 4L;
+        for (int i = 0; i < containerCount; i++) {
+            bytes += containers[i] instanceof long[] ? BITMAP_WORDS * 8L : ((char[]) containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    /**
+     * Inserts an empty array container at a position in the container list.
+     *
+     * @param index the position keeping {@link #keys} sorted
+     * @param key   the upper 16 bits of the container's Tag IDs
+     * @return the position of the new container
+     */
+    private int insertContainer(int index, char key) {
+        if (containerCount == keys.length) {
+            int capacity = containerCount * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, containerCount - index);
+        keys[index] = key;
+        containers[index] = new char[4];
+        cardinalities[index] = 0;
+        containerCount++;
+        return index;
+    }
+
+    /**
+     * Removes an empty container from the container list.
+     *
+     * @param index the position of the container
+     */
+    private void removeContainer(int index) {
+        int moved = containerCount - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(containers, index + 1, containers, index, moved);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, moved);
+        containers[--containerCount] = null;
+    }
+
+    /**
+     * Converts a sorted array container to a bitmap container.
+     *
+     * @param values      the sorted lower 16 bits
+     * @param cardinality the number of values in use
+     * @return a bitmap with the same values set
+     */
+    private static long[] toBitmap(char[] values, int cardinality) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            bitmap[values[i] >>> 6] |= 1L << values[i];
+        }
+        return bitmap;
+    }
+
+    /**
+     * Converts a bitmap container to a sorted array container.
+     *
+     * @param bitmap      the bitmap
+     * @param cardinality the number of bits set
+     * @return a sorted array of the set bit positions
+     */
+    private static char[] toArray(long[] bitmap, int cardinality) {
+        char[] values = new char[Math.max(4, cardinality)];
+        int position = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                values[position++] = (char) (word * 64 + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+}
@@ -41,13 +41,13 @@ public class UpdateAnimalDialog extends JDialog {
     private JTextField txtAge;
 
     /** Combo box for selecting animal gender. */
-    private JComboBox<String> cmbGender;
+    private JComboBox<Gender> cmbGender;
 
     /** Text field for animal weight (decimal only). */
     private JTextField txtWeight;
 
     /** Combo box for selecting health status. */
-    private JComboBox<String> cmbHealthStatus;
+    private JComboBox<HealthStatus> cmbHealthStatus;
 
     /** Button to save the updated animal record. */
     private JButton btnSave;
@@ -61,6 +61,9 @@ public class UpdateAnimalDialog extends JDialog {
     /** The Tag ID of the animal being updated. */
     private final int tagId;
 
+    /** The row version the animal was loaded at; the update only succeeds if it is still current. */
+    private int loadedVersion;
+
     /**
      * Constructs a new {@code UpdateAnimalDialog} instance.
      * <p>
@@ -89,6 +92,7 @@ public class UpdateAnimalDialog extends JDialog {
             dispose();
             return;
         }
+        loadedVersion = animal.getVersion();
 
         // Form panel
         JPanel formPanel = new JPanel(new GridLayout(6, 2, 10, 10));
@@ -98,6 +102,7 @@ public class UpdateAnimalDialog extends JDialog {
         formPanel.add(new JLabel("Species:"));
         txtSpecies = new JTextField(animal.getSpecies());
         formPanel.add(txtSpecies);
+        SpeciesAutoComplete.install(txtSpecies, dbManager);
 
         // Name
         formPanel.add(new JLabel("Name:"));
@@ -113,7 +118,7 @@ public class UpdateAnimalDialog extends JDialog {
 
         // Gender
         formPanel.add(new JLabel("Gender:"));
-        cmbGender = new JComboBox<>(new String[] { "Male", "Female", "Unknown" });
+        cmbGender = new JComboBox<>(Gender.values());
         cmbGender.setSelectedItem(animal.getGender());
         formPanel.add(cmbGender);
 
@@ -126,7 +131,7 @@ public class UpdateAnimalDialog extends JDialog {
 
         // Health Status
         formPanel.add(new JLabel("Health Status:"));
-        cmbHealthStatus = new JComboBox<>(new String[] { "Healthy", "Injured", "Sick", "Recovering" });
+        cmbHealthStatus = new JComboBox<>(HealthStatus.values());
         cmbHealthStatus.setSelectedItem(animal.getHealthStatus());
         formPanel.add(cmbHealthStatus);
 
@@ -137,25 +142,20 @@ public class UpdateAnimalDialog extends JDialog {
 
         btnCancel.addActionListener(e -> dispose());
         btnSave.addActionListener(e -> {
-            try {
-                String species = txtSpecies.getText().trim();
-                String name = txtName.getText().trim();
-                int age = Integer.parseInt(txtAge.getText().trim());
-                String gender = (String) cmbGender.getSelectedItem();
-                double weight = Double.parseDouble(txtWeight.getText().trim());
-                String healthStatus = (String) cmbHealthStatus.getSelectedItem();
-
-                WildAnimal updatedAnimal = new WildAnimal(tagId, species, name, age, gender, weight, healthStatus);
-                boolean success = this.dbManager.updateWildAnimal(updatedAnimal);
-
-                if (success) {
-                    JOptionPane.showMessageDialog(this, "Animal updated successfully!");
-                    dispose();
-                }
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
-                        "Validation Error", JOptionPane.ERROR_MESSAGE);
+            ValidationReport report = new ValidationReport();
+            AnimalValidator.checkText(AnimalValidator.FIELD_SPECIES, txtSpecies.getText(), -1, report);
+            AnimalValidator.checkText(AnimalValidator.FIELD_NAME, txtName.getText(), -1, report);
+            int age = AnimalValidator.checkAge(txtAge.getText(), -1, report);
+            double weight = AnimalValidator.checkWeight(txtWeight.getText(), -1, report);
+            if (!report.isValid()) {
+                JOptionPane.showMessageDialog(this, report.summary(10), "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+
+            WildAnimal updatedAnimal = new WildAnimal(tagId, txtSpecies.getText().trim(), txtName.getText().trim(), age,
+                    (Gender) cmbGender.getSelectedItem(), weight, (HealthStatus) cmbHealthStatus.getSelectedItem(),
+                    loadedVersion, 0L);
+            saveAnimal(updatedAnimal);
         });
 
         buttonPanel.add(btnSave);
@@ -164,4 +164,67 @@ public class UpdateAnimalDialog extends JDialog {
         add(formPanel, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves the edited animal record, handling concurrent modifications by other editors.
+     * <p>
+     * The update is performed as a compare-and-set against the version the record was loaded at. If another
+     * editor changed the record in the meantime, {@link #resolveConflict(WildAnimal)} is invoked so the user
+     * can merge both versions and retry. If the record was deleted, the user is informed and the dialog closes.
+     * </p>
+     *
+     * @param animal the edited {@link WildAnimal} carrying the version it is based on
+     */
+    private void saveAnimal(WildAnimal animal) {
+        UpdateResult result = dbManager.updateWildAnimal(animal);
+
+        if (result == UpdateResult.UPDATED) {
+            JOptionPane.showMessageDialog(this, "Animal updated successfully!");
+            dispose();
+        } else if (result == UpdateResult.CONFLICT) {
+            resolveConflict(animal);
+        } else if (result == UpdateResult.NOT_FOUND) {
+            JOptionPane.showMessageDialog(this, "This animal was deleted by another user.",
+                    "Update Failed", JOptionPane.ERROR_MESSAGE);
+            dispose();
+        }
+    }
+
+    /**
+     * Lets the user merge a conflicting edit with the version currently stored in the database.
+     * <p>
+     * The latest record is reloaded and shown side by side with the user's values in a
+     * {@link ConflictMergeDialog}. The merged values are written back to the form fields and saved again
+     * against the latest row version. If the merge is cancelled, the form keeps the user's edits.
+     * </p>
+     *
+     * @param mine the user's edited {@link WildAnimal} that could not be saved
+     */
+    private void resolveConflict(WildAnimal mine) {
+        WildAnimal theirs = dbManager.getWildAnimalById(tagId);
+        if (theirs == null) {
+            JOptionPane.showMessageDialog(this, "This animal was deleted by another user.",
+                    "Update Failed", JOptionPane.ERROR_MESSAGE);
+            dispose();
+            return;
+        }
+
+        ConflictMergeDialog mergeDialog = new ConflictMergeDialog(this, mine, theirs);
+        mergeDialog.setVisible(true);
+
+        WildAnimal merged = mergeDialog.getMergedAnimal();
+        if (merged == null) {
+            return;
+        }
+
+        loadedVersion = merged.getVersion();
+        txtSpecies.setText(merged.getSpecies());
+        txtName.setText(merged.getName());
+        txtAge.setText(String.valueOf(merged.getAge()));
+        cmbGender.setSelectedItem(merged.getGender());
+        txtWeight.setText(String.valueOf(merged.getWeight()));
+        cmbHealthStatus.setSelectedItem(merged.getHealthStatus());
+
+        saveAnimal(merged);
+    }
+}
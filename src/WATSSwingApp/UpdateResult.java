@@ -0,0 +1,38 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: UpdateResult.java
+ *
+ * This enum describes the outcome of a compare-and-set update of an animal record.
+ * It allows callers to tell a successful update apart from a concurrent modification
+ * by another editor, a record that no longer exists, or a database failure.
+ */
+package WATSSwingApp;
+
+/**
+ * The outcome of an optimistic (compare-and-set) update performed by {@link DatabaseManager}.
+ * <p>
+ * An update only succeeds when the row version stored in the database still matches the version
+ * the record was read at. Otherwise the caller is told whether the row was changed or removed
+ * by someone else so it can offer a merge or retry.
+ * </p>
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum UpdateResult {
+
+    /** The record was updated and its row version incremented. */
+    UPDATED,
+
+    /** The record was changed by another editor after it was read; nothing was written. */
+    CONFLICT,
+
+    /** No record with the given Tag ID exists any more. */
+    NOT_FOUND,
+
+    /** The update failed because of a database error. */
+    FAILED
+}
@@ -0,0 +1,73 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ValidationError.java
+ *
+ * This class describes one rejected field value found by the AnimalValidator.
+ * It records where the value came from, which field it was meant for, and why it was rejected,
+ * so dialogs and imports can report problems the same way.
+ */
+package WATSSwingApp;
+
+/**
+ * A single validation failure reported by {@link AnimalValidator}.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ValidationError {
+
+    /** Row number of the rejected value in a batch, or {@code -1} for values entered in a dialog. */
+    private final long row;
+
+    /** Display name of the field the value was meant for (e.g., Tag ID, Weight). */
+    private final String field;
+
+    /** The rejected text, or {@code null} if the value was missing. */
+    private final String value;
+
+    /** Explanation of why the value was rejected. */
+    private final String message;
+
+    /**
+     * Constructs a new {@code ValidationError}.
+     *
+     * @param row     row number of the value in a batch, or {@code -1} for a dialog
+     * @param field   display name of the field
+     * @param value   the rejected text, or {@code null} if missing
+     * @param message explanation of why the value was rejected
+     */
+    public ValidationError(long row, String field, String value, String message) {
+        this.row = row;
+        this.field = field;
+        this.value = value;
+        this.message = message;
+    }
+
+    /** @return the row number of the rejected value, or {@code -1} for a dialog */
+    public long getRow() { return row; }
+
+    /** @return the display name of the field */
+    public String getField() { return field; }
+
+    /** @return the rejected text, or {@code null} if the value was missing */
+    public String getValue() { return value; }
+
+    /** @return the explanation of why the value was rejected */
+    public String getMessage() { return message; }
+
+    /**
+     * Returns a one-line description of the error.
+     *
+     * @return the row (if any), field, rejected value, and message
+     */
+    @Override
+    public String toString() {
+        String location = row >= 0 ? "Row " + row + ", " + field : field;
+        return value == null || value.isEmpty()
+                ? location + ": " + message
+                : location + ": '" + value + "' " + message;
+    }
+}
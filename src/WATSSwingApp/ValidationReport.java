@@ -0,0 +1,114 @@
+/**
+ * Author: Felix Guevara
+ * Course: [CEN-3024C-13950]
+ * Date: October 19, 2026,
+ * Class: ValidationReport.java
+ *
+ * This class collects the validation errors found while checking one record or a whole batch.
+ * It counts every error but keeps only the first few hundred, so validating millions of bad rows
+ * cannot exhaust memory, and it allocates nothing while no error has been found.
+ */
+package WATSSwingApp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects {@link ValidationError}s reported by {@link AnimalValidator}.
+ *
+ * @author Felix Guevara
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ValidationReport {
+
+    /** Default number of errors kept in detail. */
+    private static final int DEFAULT_MAX_KEPT = 500;
+
+    /** Maximum number of errors kept in detail; later errors are only counted. */
+    private final int maxKept;
+
+    /** Errors kept in detail, created on the first error. */
+    private List<ValidationError> errors;
+
+    /** Total number of errors reported, including those not kept. */
+    private long errorCount;
+
+    /**
+     * Constructs a new {@code ValidationReport} that keeps up to {@value #DEFAULT_MAX_KEPT} errors in detail.
+     */
+    public ValidationReport() {
+        this(DEFAULT_MAX_KEPT);
+    }
+
+    /**
+     * Constructs a new {@code ValidationReport}.
+     *
+     * @param maxKept maximum number of errors kept in detail
+     */
+    public ValidationReport(int maxKept) {
+        this.maxKept = maxKept;
+    }
+
+    /**
+     * Records an error.
+     *
+     * @param row     row number of the value in a batch, or {@code -1} for a dialog
+     * @param field   display name of the field
+     * @param value   the rejected text, or {@code null} if missing
+     * @param message explanation of why the value was rejected
+     */
+    public void addError(long row, String field, CharSequence value, String message) {
+        errorCount++;
+        if (errorCount <= maxKept) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.add(new ValidationError(row, field, value == null ? null : value.toString(), message));
+        }
+    }
+
+    /** @return {@code true} if no error has been reported */
+    public boolean isValid() { return errorCount == 0; }
+
+    /** @return the total number of errors reported, including those not kept in detail */
+    public long getErrorCount() { return errorCount; }
+
+    /** @return the errors kept in detail, in the order they were reported */
+    public List<ValidationError> getErrors() {
+        return errors == null ? Collections.emptyList() : Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Removes all errors so the report can be reused.
+     */
+    public void clear() {
+        errorCount = 0;
+        if (errors != null) {
+            errors.clear();
+        }
+    }
+
+    /**
+     * Builds a message listing the first errors, suitable for a dialog.
+     *
+     * @param maxLines the maximum number of errors listed
+     * @return one error per line, followed by a count of the errors not listed
+     */
+    public String summary(int maxLines) {
+        StringBuilder text = new StringBuilder();
+        List<ValidationError> kept = getErrors();
+        for (int i = 0; i < kept.size() && i < maxLines; i++) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(kept.get(i));
+        }
+        long more = errorCount - Math.min(kept.size(), maxLines);
+        if (more > 0) {
+            text.append("\n... and ").append(more).append(" more error(s)");
+        }
+        return text.toString();
+    }
+}
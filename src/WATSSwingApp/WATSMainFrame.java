@@ -14,11 +14,30 @@
 package WATSSwingApp;
 
 import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.LineBorder;
+import javax.swing.event.MenuEvent;
+import javax.swing.event.MenuListener;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellEditor;
+import javax.swing.text.PlainDocument;
 import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * The main JFrame for the Wildlife Animal Tracking System (WATS) application.
@@ -36,6 +55,49 @@ import java.util.List;
 
 public class WATSMainFrame extends JFrame {
 
+    /** Model column index of the Tag ID. */
+    private static final int COL_ID = 0;
+
+    /** Model column index of the species. */
+    private static final int COL_SPECIES = 1;
+
+    /** Model column index of the age. */
+    private static final int COL_AGE = 3;
+
+    /** Model column index of the gender. */
+    private static final int COL_GENDER = 4;
+
+    /** Model column index of the weight. */
+    private static final int COL_WEIGHT = 5;
+
+    /** Model column index of the health status. */
+    private static final int COL_HEALTH_STATUS = 6;
+
+    /** {@code WildAnimals} column shown in each model column; the Tag ID cannot be edited in the table. */
+    private static final String[] COLUMN_FIELDS = {
+            null, "species", "name", "age", "gender", "weight", "healthStatus"
+    };
+
+    /** Milliseconds without a further cell edit after which the pending edits are written. */
+    private static final int IDLE_FLUSH_MILLIS = 2_000;
+
+    /** Title of the main window. */
+    private static final String TITLE = "Wildlife Animal Tracking System (WATS)";
+
+    /** Background of table cells whose edits have not been written yet. */
+    private static final Color PENDING_EDIT_COLOR = new Color(255, 243, 190);
+
+    /** Number of rows in the first page loaded into the table, enough to fill the visible area. */
+    private static final int FIRST_PAGE_SIZE = 50;
+
+    /** Number of rows per page loaded in the background after the first page. */
+    private static final int PAGE_SIZE = 5_000;
+
+    /** Largest number of externally changed Tag ID buckets merged into the table instead of reloading it. */
+    private static final int MAX_INCREMENTAL_BUCKETS = 256;
+
+    /** Maximum number of selected animals whose tracks are plotted on the sighting map. */
+    private static final int MAP_SELECTION_LIMIT = 50;
 
     /** Manages database operations for animal records. */
     private DatabaseManager dbManager;
@@ -49,6 +111,36 @@ public class WATSMainFrame extends JFrame {
     /** Main content panel for the application. */
     private JPanel mainPanel;
 
+    /** Online backup and snapshot service of the open database, or {@code null} while none is open. */
+    private OnlineBackup onlineBackup;
+
+    /** Background maintenance of the open database, or {@code null} if no database is open. */
+    private MaintenanceScheduler maintenanceScheduler;
+
+    /** Watcher reporting changes made to the open database by other processes, or {@code null}. */
+    private DatabaseChangeWatcher changeWatcher;
+
+    /** Map panel plotting the sightings of the selected animals. */
+    private SightingMapPanel sightingMapPanel;
+
+    /** Performance profile selected in the Database menu, applied to every opened database. */
+    private PerformanceProfile defaultProfile = PerformanceProfile.INTERACTIVE;
+
+    /** Background worker currently loading rows into the table, or {@code null} if none has been started. */
+    private SwingWorker<Void, List<AnimalRecord>> tableLoader;
+
+    /** Whether the table also shows the records held in the archive, selected in the Database menu. */
+    private boolean includeArchive;
+
+    /** Database menu item turning in-memory mode on and off for the open database. */
+    private JCheckBoxMenuItem inMemoryItem;
+
+    /** Cell edits made in the table and not yet written to the database. */
+    private final CellEditBuffer editBuffer = new CellEditBuffer();
+
+    /** Timer writing the pending cell edits once editing has paused for {@link #IDLE_FLUSH_MILLIS}. */
+    private final Timer idleFlushTimer = new Timer(IDLE_FLUSH_MILLIS, e -> savePendingEdits());
+
 
 
     /**
@@ -58,11 +150,20 @@ public class WATSMainFrame extends JFrame {
      * </p>
      */
     public WATSMainFrame() {
-        setTitle("Wildlife Animal Tracking System (WATS)");
+        setTitle(TITLE);
         setSize(1250, 700);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null); // Center the window
 
+        idleFlushTimer.setRepeats(false);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                savePendingEditsNow();
+                finishEditSession();
+            }
+        });
+
         initUI();
     }
 
@@ -80,10 +181,158 @@ public class WATSMainFrame extends JFrame {
         // Create menu bar
         JMenuBar menuBar = new JMenuBar();
         JMenu fileMenu = new JMenu("File");
+        JMenuItem importItem = new JMenuItem("Import CSV...");
+        importItem.addActionListener(e -> handleImportCsv());
+        fileMenu.add(importItem);
+        JMenuItem exportItem = new JMenuItem("Export CSV...");
+        exportItem.addActionListener(e -> handleExportCsv());
+        fileMenu.add(exportItem);
+        JMenuItem mergeItem = new JMenuItem("Merge Field Station Database...");
+        mergeItem.addActionListener(e -> handleMergeDatabase());
+        fileMenu.add(mergeItem);
+        JMenuItem syncItem = new JMenuItem("Sync With Database...");
+        syncItem.addActionListener(e -> handleSyncDatabase());
+        fileMenu.add(syncItem);
+        fileMenu.addSeparator();
         JMenuItem exitItem = new JMenuItem("Exit");
-        exitItem.addActionListener(e -> System.exit(0));
+        exitItem.addActionListener(e -> {
+            savePendingEditsNow();
+            finishEditSession();
+            System.exit(0);
+        });
         fileMenu.add(exitItem);
         menuBar.add(fileMenu);
+
+        JMenu editMenu = new JMenu("Edit");
+        JMenuItem undoItem = new JMenuItem("Undo");
+        undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK));
+        undoItem.addActionListener(e -> handleUndoRedo(true));
+        editMenu.add(undoItem);
+        JMenuItem redoItem = new JMenuItem("Redo");
+        redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK));
+        redoItem.addActionListener(e -> handleUndoRedo(false));
+        editMenu.add(redoItem);
+        editMenu.addSeparator();
+        JMenuItem bulkHealthItem = new JMenuItem("Set Health Status for Selection...");
+        bulkHealthItem.addActionListener(e -> handleBulkHealthStatus());
+        editMenu.add(bulkHealthItem);
+        JMenuItem bulkSpeciesItem = new JMenuItem("Change Species for Selection...");
+        bulkSpeciesItem.addActionListener(e -> handleBulkSpecies());
+        editMenu.add(bulkSpeciesItem);
+        JMenuItem healthBySpeciesItem = new JMenuItem("Set Health Status by Species...");
+        healthBySpeciesItem.addActionListener(e -> handleHealthStatusBySpecies());
+        editMenu.add(healthBySpeciesItem);
+        editMenu.addSeparator();
+        JMenuItem deleteSelectedItem = new JMenuItem("Delete Selected Records");
+        deleteSelectedItem.addActionListener(e -> handleDeleteAnimal());
+        editMenu.add(deleteSelectedItem);
+        JMenuItem restoreItem = new JMenuItem("Restore Selected From Archive");
+        restoreItem.addActionListener(e -> handleRestoreArchived());
+        editMenu.add(restoreItem);
+        editMenu.addSeparator();
+        JMenuItem saveEditsItem = new JMenuItem("Save Pending Edits");
+        saveEditsItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S, InputEvent.CTRL_DOWN_MASK));
+        saveEditsItem.addActionListener(e -> savePendingEdits());
+        editMenu.add(saveEditsItem);
+        JMenuItem discardEditsItem = new JMenuItem("Discard Pending Edits");
+        discardEditsItem.addActionListener(e -> discardPendingEdits());
+        editMenu.add(discardEditsItem);
+        editMenu.addSeparator();
+        JMenuItem beginSessionItem = new JMenuItem("Begin Edit Session");
+        beginSessionItem.addActionListener(e -> handleBeginEditSession());
+        editMenu.add(beginSessionItem);
+        JMenuItem commitSessionItem = new JMenuItem("Commit Edit Session");
+        commitSessionItem.addActionListener(e -> handleCommitEditSession());
+        editMenu.add(commitSessionItem);
+        JMenuItem rollbackSessionItem = new JMenuItem("Roll Back Edit Session");
+        rollbackSessionItem.addActionListener(e -> handleRollbackEditSession());
+        editMenu.add(rollbackSessionItem);
+        // Name the steps undo and redo would apply to, and enable only the session actions that apply
+        editMenu.addMenuListener(new MenuListener() {
+            @Override
+            public void menuSelected(MenuEvent e) {
+                EditSession session = dbManager == null ? null : dbManager.getEditSession();
+                String undoName = session == null ? null : session.getUndoName();
+                String redoName = session == null ? null : session.getRedoName();
+                undoItem.setText(undoName == null ? "Undo" : "Undo " + undoName);
+                undoItem.setEnabled(undoName != null || !editBuffer.isEmpty());
+                redoItem.setText(redoName == null ? "Redo" : "Redo " + redoName);
+                redoItem.setEnabled(redoName != null);
+                beginSessionItem.setEnabled(dbManager != null && session == null);
+                commitSessionItem.setEnabled(session != null);
+                rollbackSessionItem.setEnabled(session != null);
+            }
+
+            @Override
+            public void menuDeselected(MenuEvent e) {
+                // Accelerators still work, so the handlers check the session themselves
+                undoItem.setEnabled(true);
+                redoItem.setEnabled(true);
+            }
+
+            @Override
+            public void menuCanceled(MenuEvent e) {
+                menuDeselected(e);
+            }
+        });
+        menuBar.add(editMenu);
+
+        JMenu databaseMenu = new JMenu("Database");
+        JMenu profileMenu = new JMenu("Performance Profile");
+        ButtonGroup profileGroup = new ButtonGroup();
+        for (PerformanceProfile profile : PerformanceProfile.values()) {
+            JRadioButtonMenuItem profileItem = new JRadioButtonMenuItem(profile.getDisplayName(),
+                    profile == PerformanceProfile.INTERACTIVE);
+            profileItem.addActionListener(e -> {
+                defaultProfile = profile;
+                if (dbManager != null) {
+                    dbManager.setPerformanceProfile(profile);
+                }
+            });
+            profileGroup.add(profileItem);
+            profileMenu.add(profileItem);
+        }
+        databaseMenu.add(profileMenu);
+        databaseMenu.addSeparator();
+        JMenuItem backupItem = new JMenuItem("Back Up Now...");
+        backupItem.addActionListener(e -> handleBackupNow());
+        databaseMenu.add(backupItem);
+        JMenuItem snapshotItem = new JMenuItem("Scheduled Snapshots...");
+        snapshotItem.addActionListener(e -> handleScheduledSnapshots());
+        databaseMenu.add(snapshotItem);
+        databaseMenu.addSeparator();
+        JMenuItem maintenanceItem = new JMenuItem("Run Maintenance Now");
+        maintenanceItem.addActionListener(e -> handleRunMaintenance());
+        databaseMenu.add(maintenanceItem);
+        JMenuItem maintenanceLogItem = new JMenuItem("Maintenance Log...");
+        maintenanceLogItem.addActionListener(e -> showMaintenanceLog());
+        databaseMenu.add(maintenanceLogItem);
+        JMenuItem compactItem = new JMenuItem("Compact Database...");
+        compactItem.addActionListener(e -> handleCompactDatabase());
+        databaseMenu.add(compactItem);
+        databaseMenu.addSeparator();
+        JMenuItem archiveItem = new JMenuItem("Archive Inactive Records...");
+        archiveItem.addActionListener(e -> handleArchiveRecords());
+        databaseMenu.add(archiveItem);
+        JCheckBoxMenuItem includeArchiveItem = new JCheckBoxMenuItem("Include Archived Records");
+        includeArchiveItem.addActionListener(e -> {
+            includeArchive = includeArchiveItem.isSelected();
+            if (dbManager != null) {
+                refreshAnimalTable();
+            }
+        });
+        databaseMenu.add(includeArchiveItem);
+        inMemoryItem = new JCheckBoxMenuItem("In-Memory Mode");
+        inMemoryItem.addActionListener(e -> handleInMemoryMode(inMemoryItem.isSelected()));
+        databaseMenu.add(inMemoryItem);
+        databaseMenu.addSeparator();
+        JMenuItem speciesReportItem = new JMenuItem("Species Weight Report...");
+        speciesReportItem.addActionListener(e -> showSpeciesWeightReport());
+        databaseMenu.add(speciesReportItem);
+        JMenuItem speciesStatisticsItem = new JMenuItem("Species Statistics...");
+        speciesStatisticsItem.addActionListener(e -> showSpeciesStatistics());
+        databaseMenu.add(speciesStatisticsItem);
+        menuBar.add(databaseMenu);
         setJMenuBar(menuBar);
 
         // Create sidebar
@@ -117,6 +366,14 @@ public class WATSMainFrame extends JFrame {
         btnAverageWeight.addActionListener(e -> showAverageWeightDialog());
         sidebar.add(btnAverageWeight);
 
+        JButton btnStatistics = new JButton("Species Statistics");
+        btnStatistics.addActionListener(e -> showSpeciesStatistics());
+        sidebar.add(btnStatistics);
+
+        JButton btnHistory = new JButton("Observation History");
+        btnHistory.addActionListener(e -> openObservationHistory());
+        sidebar.add(btnHistory);
+
         // Create main content panel
         mainPanel = new JPanel(new BorderLayout());
         setupAnimalTable();
@@ -128,33 +385,56 @@ public class WATSMainFrame extends JFrame {
     }
 
     /**
-     * Initializes the animal table with predefined column headers and a read-only table model.
+     * Initializes the animal table with predefined column headers and an editable table model.
      * <p>
-     * This method sets up the {@link JTable} for displaying animal records, applies center alignment
-     * to all columns for better readability, and embeds the table within a scroll pane. It also
+     * This method sets up the {@link JTable} for displaying animal records, enables multi-row selection for
+     * the bulk actions, applies center alignment to all columns for better readability, and embeds the table
+     * within a scroll pane next to the {@link SightingMapPanel}. It also
      * invokes {@link #setupContextMenu()} to configure the table's context menu.
      * </p>
      *
-     * <p>The table uses a custom {@link DefaultTableModel} that overrides
-     * {@link DefaultTableModel#isCellEditable(int, int)} to make all cells read-only.</p>
+     * <p>Every cell except the Tag ID can be edited in place once a database is open. Edits are validated by the
+     * cell editors from {@link #createCellEditor(int)}, collected in the {@link CellEditBuffer} and highlighted
+     * until {@link #savePendingEdits()} writes them.</p>
      */
     private void setupAnimalTable() {
         String[] columnNames = {
-                "Tag ID", "Name", "Species", "Age", "Gender", "Weight", "Health Status"
+                "Tag ID", "Species", "Name", "Age", "Gender", "Weight", "Health Status"
         };
 
-        //Override isCellEditable in the DefaultTableModel for read-only cells
+        //Override isCellEditable in the DefaultTableModel so the Tag ID stays read-only
         tableModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
-                return false; // All cells are read-only
+                return column != COL_ID && dbManager != null;
             }
         };
 
-        animalTable = new JTable(tableModel);
+        // Route the values of the cell editors through the edit buffer; programmatic updates use the model
+        animalTable = new JTable(tableModel) {
+            @Override
+            public void setValueAt(Object value, int row, int column) {
+                handleCellEdit(convertRowIndexToModel(row), convertColumnIndexToModel(column), value);
+            }
+        };
         animalTable.setRowHeight(30);
+        animalTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
 
-        DefaultTableCellRenderer rightRenderer = new DefaultTableCellRenderer();
+        // Highlight the cells whose edits have not been written yet
+        DefaultTableCellRenderer rightRenderer = new DefaultTableCellRenderer() {
+            @Override
+            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                           boolean hasFocus, int row, int column) {
+                Component cell = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+                if (!isSelected) {
+                    int modelColumn = table.convertColumnIndexToModel(column);
+                    boolean pending = modelColumn != COL_ID && !editBuffer.isEmpty()
+                            && editBuffer.isPending(tagIdAt(table.convertRowIndexToModel(row)), COLUMN_FIELDS[modelColumn]);
+                    cell.setBackground(pending ? PENDING_EDIT_COLOR : table.getBackground());
+                }
+                return cell;
+            }
+        };
         rightRenderer.setHorizontalAlignment(SwingConstants.CENTER);
 
         // Apply right alignment to all columns
@@ -163,7 +443,18 @@ public class WATSMainFrame extends JFrame {
         }
 
         JScrollPane scrollPane = new JScrollPane(animalTable);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // Plot the sightings of the selected animals next to the table
+        sightingMapPanel = new SightingMapPanel();
+        animalTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectionOnMap();
+            }
+        });
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, scrollPane, sightingMapPanel);
+        splitPane.setResizeWeight(0.7);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
 
         setupContextMenu();
     }
@@ -175,7 +466,10 @@ public class WATSMainFrame extends JFrame {
      * Each menu item is linked to its respective action handler:
      * <ul>
      *     <li><b>Update Animal</b> → {@link #openEditAnimalDialog()}</li>
-     *     <li><b>Delete Animal</b> → {@link #handleDeleteAnimal()}</li>
+     *     <li><b>Delete Selected</b> → {@link #handleDeleteAnimal()}</li>
+     *     <li><b>Set Health Status...</b> → {@link #handleBulkHealthStatus()}</li>
+     *     <li><b>Change Species...</b> → {@link #handleBulkSpecies()}</li>
+     *     <li><b>View Observation History</b> → {@link #openObservationHistory()}</li>
      * </ul>
      * <p>The context menu is then attached to the {@link JTable} component.</p>
      *
@@ -184,13 +478,24 @@ public class WATSMainFrame extends JFrame {
         JPopupMenu popupMenu = new JPopupMenu();
 
         JMenuItem editItem = new JMenuItem("Update Animal");
-        JMenuItem deleteItem = new JMenuItem("Delete Animal");
+        JMenuItem deleteItem = new JMenuItem("Delete Selected");
+        JMenuItem healthItem = new JMenuItem("Set Health Status...");
+        JMenuItem speciesItem = new JMenuItem("Change Species...");
+        JMenuItem historyItem = new JMenuItem("View Observation History");
 
         editItem.addActionListener(e -> openEditAnimalDialog());
         deleteItem.addActionListener(e -> handleDeleteAnimal());
+        healthItem.addActionListener(e -> handleBulkHealthStatus());
+        speciesItem.addActionListener(e -> handleBulkSpecies());
+        historyItem.addActionListener(e -> openObservationHistory());
 
         popupMenu.add(editItem);
         popupMenu.add(deleteItem);
+        popupMenu.addSeparator();
+        popupMenu.add(healthItem);
+        popupMenu.add(speciesItem);
+        popupMenu.addSeparator();
+        popupMenu.add(historyItem);
 
         animalTable.setComponentPopupMenu(popupMenu);
     }
@@ -199,8 +504,8 @@ public class WATSMainFrame extends JFrame {
      * Opens a file chooser dialog to allow the user to select a SQLite database file containing animal data.
      * <p>
      * This method uses {@link DatabaseFileChooser} to prompt the user for a database file. If a valid file
-     * is selected, a new {@link DatabaseManager} instance is created with the chosen file path, and the
-     * animal table is refreshed to display the imported records.
+     * is selected, a new {@link DatabaseManager} instance is created with the chosen file path, its schema is
+     * brought up to date, and the database is opened through {@link #openDatabase(DatabaseManager, StartupPipeline)}.
      * </p>
      *
      * <p>Displays an error message if no file is selected and continues without database support.</p>
@@ -210,154 +515,1963 @@ public class WATSMainFrame extends JFrame {
         // Pass parent frame
         String dbPath = chooser.chooseDatabaseFile(this);
         if (dbPath != null) {
-            dbManager = new DatabaseManager(dbPath);
-            refreshAnimalTable();
+            DatabaseManager manager = new DatabaseManager(dbPath);
+            if (manager.ensureSchema()) {
+                openDatabase(manager, null);
+            }
+        }
+    }
+
+    /**
+     * Makes a prepared database the active one and loads its records into the table.
+     * <p>
+     * The database path is remembered so the next startup can reopen it without the file dialog. The
+     * selected performance profile is applied to the manager before any rows are loaded.
+     * </p>
+     *
+     * @param manager the {@link DatabaseManager} of a database whose schema has already been validated
+     * @param startup the {@link StartupPipeline} recording startup timings, or {@code null} outside of startup
+     */
+    public void openDatabase(DatabaseManager manager, StartupPipeline startup) {
+        if (dbManager != null && dbManager != manager) {
+            if (!savePendingEditsNow()) {
+                // The edits belong to the old database and must never be written to the new one
+                editBuffer.discard();
+            }
+            finishEditSession();
+            dbManager.close();
+            setTitle(TITLE);
+        }
+        dbManager = manager;
+        installCellEditors();
+        dbManager.setPerformanceProfile(defaultProfile);
+        inMemoryItem.setSelected(manager.getMemoryStore() != null);
+        DatabaseFileChooser.rememberDatabasePath(manager.getDbPath());
+        sightingMapPanel.setDatabase(manager);
+        if (onlineBackup != null) {
+            onlineBackup.shutdown();
         }
+        onlineBackup = new OnlineBackup(manager);
+        if (maintenanceScheduler != null) {
+            maintenanceScheduler.shutdown();
+        }
+        maintenanceScheduler = new MaintenanceScheduler(manager);
+        maintenanceScheduler.start();
+        if (changeWatcher != null) {
+            changeWatcher.shutdown();
+        }
+        changeWatcher = new DatabaseChangeWatcher(manager,
+                (buckets, ownIds) -> SwingUtilities.invokeLater(() -> applyExternalChanges(manager, buckets, ownIds)));
+        changeWatcher.start();
+        loadAnimalTable(startup);
+
+        // Build the Tag ID index off the critical path; imports and the add dialog use it once ready
+        new SwingWorker<TagIdIndex, Void>() {
+            @Override
+            protected TagIdIndex doInBackground() throws Exception {
+                return manager.getTagIdIndex();
+            }
+        }.execute();
     }
 
     /**
      * Refreshes the animal table by clearing existing rows and repopulating it with the latest data
      * retrieved from the database.
      * <p>
-     * This method calls {@link DatabaseManager#getAllWildAnimalRecords()} to fetch all animal records
-     * and updates the {@link JTable} with the new data. Each record is displayed in a row with columns
-     * for Tag ID, Species, Name, Age, Gender, Weight, and Health Status.
+     * Rows are loaded progressively through {@link #loadAnimalTable(StartupPipeline)}, so the first screen of
+     * records appears immediately. Each record is displayed in a row with columns for Tag ID, Species, Name,
+     * Age, Gender, Weight, and Health Status.
      * </p>
      */
     public void refreshAnimalTable() {
+        loadAnimalTable(null);
+    }
 
-        List<WildAnimal> animals = dbManager.getAllWildAnimalRecords();
+    /**
+     * Clears the table and reloads it page by page on a background thread.
+     * <p>
+     * A small first page is fetched and shown as soon as possible, followed by larger pages fetched with
+     * {@link DatabaseManager#getAnimalRecordPage(int, int)} until the table is complete. Starting a new load
+     * cancels any load still in progress so stale rows are never appended.
+     * </p>
+     *
+     * <p>When archived records are included, they are read from the {@link ArchiveStore} first and merged into
+     * the pages, so the table stays in Tag ID order.</p>
+     *
+     * @param startup the {@link StartupPipeline} to report the first and last row timings to, or {@code null}
+     */
+    private void loadAnimalTable(StartupPipeline startup) {
+        if (tableLoader != null) {
+            tableLoader.cancel(false);
+        }
         tableModel.setRowCount(0); // Clear existing rows
 
-        for (WildAnimal animal : animals) {
-            Object[] row = {
-                    animal.getId(),
-                    animal.getSpecies(),
-                    animal.getName(),
-                    animal.getAge(),
-                    animal.getGender(),
-                    animal.getWeight(),
-                    animal.getHealthStatus()
-            };
-            tableModel.addRow(row);
-        }
+        DatabaseManager source = dbManager;
+        boolean withArchive = includeArchive;
+        tableLoader = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                // Write the pending cell edits first, so the reloaded rows include them
+                SQLException flushError = null;
+                try {
+                    editBuffer.flush(source);
+                } catch (SQLException e) {
+                    flushError = e;
+                }
+                List<AnimalRecord> archived = withArchive
+                        ? new ArchiveStore(source).getArchivedRecords() : new ArrayList<>();
+                // Page from the mapped snapshot if it is current; otherwise keep the rows to write a new one
+                RecordSnapshot snapshot = source.getRecordSnapshot();
+                boolean saveSnapshot = snapshot == null && source.getMemoryStore() == null;
+                long[] fingerprint = saveSnapshot ? source.getRecordFingerprint() : null;
+                List<AnimalRecord> loaded = new ArrayList<>();
+                int next = 0;
+                int afterId = Integer.MIN_VALUE;
+                int limit = FIRST_PAGE_SIZE;
+                while (!isCancelled()) {
+                    List<AnimalRecord> page = snapshot != null
+                            ? snapshot.getPage(afterId, limit) : source.getAnimalRecordPage(afterId, limit);
+                    boolean last = page.size() < limit;
+                    if (!page.isEmpty()) {
+                        afterId = page.get(page.size() - 1).getId();
+                    }
+                    if (saveSnapshot) {
+                        loaded.addAll(page);
+                    }
+                    if (next < archived.size()) {
+                        // Interleave the archived records up to the end of this page, or all that remain after the last one
+                        List<AnimalRecord> merged = new ArrayList<>(page.size());
+                        int i = 0;
+                        while (i < page.size() || (next < archived.size() && (last || archived.get(next).getId() <= afterId))) {
+                            if (i < page.size() && (next >= archived.size() || page.get(i).getId() <= archived.get(next).getId())) {
+                                merged.add(page.get(i++));
+                            } else {
+                                merged.add(archived.get(next++));
+                            }
+                        }
+                        page = merged;
+                    }
+                    if (!page.isEmpty()) {
+                        publish(page);
+                    }
+                    if (last) {
+                        if (saveSnapshot) {
+                            source.saveRecordSnapshot(loaded, fingerprint);
+                        }
+                        break;
+                    }
+                    limit = PAGE_SIZE;
+                }
+                if (flushError != null) {
+                    throw flushError;
+                }
+                return null;
+            }
+
+            @Override
+            protected void process(List<List<AnimalRecord>> pages) {
+                if (isCancelled()) {
+                    return;
+                }
+                boolean overlay = !editBuffer.isEmpty();
+                for (List<AnimalRecord> page : pages) {
+                    for (AnimalRecord animal : page) {
+                        tableModel.addRow(overlay ? withPendingEdits(animal) : toRow(animal));
+                    }
+                }
+                if (startup != null) {
+                    startup.mark("first row displayed");
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                resolveCellConflicts(source);
+                if (startup != null) {
+                    startup.mark("all rows loaded");
+                    startup.report();
+                }
+            }
+        };
+        tableLoader.execute();
     }
 
     /**
-     * Opens a dialog window to update the details of a selected animal record.
+     * Brings the table up to date after another process changed the database, reloading only the changed rows.
      * <p>
-     * This method validates that the table contains data and that a row is selected before launching
-     * the {@link UpdateAnimalDialog}. If no records exist or no row is selected, an appropriate warning
-     * message is displayed. After the dialog is closed, the animal table is refreshed to reflect any changes.
+     * The changed Tag ID buckets reported by {@link DatabaseChangeWatcher} are read with range scans on a
+     * background thread and merged into the table, which is kept in Tag ID order: rows still present are updated
+     * in place, so the selection survives, missing rows are removed and new rows are inserted. Rows of records
+     * this application wrote itself since the last check already show its values and are left alone. The Tag ID
+     * index and the query cache are dropped. A full reload is used instead while the table is still loading, when
+     * too many buckets changed, or when archived records are shown.
      * </p>
      *
-     * <p>The selected animal's Tag ID is retrieved from the first column of the selected row.</p>
+     * @param source  the database the changes were detected in
+     * @param buckets the changed Tag ID buckets
+     * @param ownIds  the Tag IDs written through {@code source} since the last check
      */
-    private void openEditAnimalDialog() {
-
-        if (animalTable.getRowCount() == 0) {
-            JOptionPane.showMessageDialog(this, "No animal records available to update.", "Empty Table", JOptionPane.WARNING_MESSAGE);
+    private void applyExternalChanges(DatabaseManager source, Set<Long> buckets, Set<Integer> ownIds) {
+        if (source != dbManager) {
+            return;
+        }
+        source.invalidateTagIdIndex();
+        source.getQueryCache().clear();
+        if (includeArchive || (tableLoader != null && !tableLoader.isDone()) || buckets.size() > MAX_INCREMENTAL_BUCKETS) {
+            refreshAnimalTable();
             return;
         }
 
-        int selectedRow = animalTable.getSelectedRow();
+        new SwingWorker<Map<Long, List<AnimalRecord>>, Void>() {
+            @Override
+            protected Map<Long, List<AnimalRecord>> doInBackground() throws Exception {
+                Map<Long, List<AnimalRecord>> changed = new TreeMap<>();
+                for (long bucket : buckets) {
+                    long firstId = SyncEngine.firstIdOf(bucket);
+                    changed.put(bucket, source.getAnimalRecordsBetween(firstId, firstId + SyncEngine.LEAF_SPAN - 1));
+                }
+                return changed;
+            }
 
-        if (selectedRow == -1) {
-            JOptionPane.showMessageDialog(this, "Please select an animal to update.", "No Selection", JOptionPane.WARNING_MESSAGE);
-            return;
+            @Override
+            protected void done() {
+                if (source != dbManager || (tableLoader != null && !tableLoader.isDone())) {
+                    return;
+                }
+                try {
+                    for (Map.Entry<Long, List<AnimalRecord>> entry : get().entrySet()) {
+                        long firstId = SyncEngine.firstIdOf(entry.getKey());
+                        mergeRows(firstId, firstId + SyncEngine.LEAF_SPAN - 1, entry.getValue(), ownIds);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    refreshAnimalTable();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Replaces the table rows within a Tag ID range with the given records, touching only rows that changed.
+     *
+     * @param firstId the lowest Tag ID of the range
+     * @param lastId  the highest Tag ID of the range
+     * @param records the current records in the range, in ascending Tag ID order
+     * @param skip    Tag IDs whose rows are kept as they are, present or not
+     */
+    private void mergeRows(long firstId, long lastId, List<AnimalRecord> records, Set<Integer> skip) {
+        int row = firstRowAtOrAfter(firstId);
+        for (AnimalRecord animal : records) {
+            row = removeRowsBefore(row, animal.getId(), skip);
+            if (skip.contains(animal.getId())) {
+                if (row < tableModel.getRowCount() && tagIdAt(row) == animal.getId()) {
+                    row++;
+                }
+                continue;
+            }
+            Object[] values = toRow(animal);
+            if (row < tableModel.getRowCount() && tagIdAt(row) == animal.getId()) {
+                for (int column = 1; column < values.length; column++) {
+                    // A pending edit is newer than the stored value and is written over it later
+                    if (!Objects.equals(values[column], tableModel.getValueAt(row, column))
+                            && !editBuffer.isPending(animal.getId(), COLUMN_FIELDS[column])) {
+                        tableModel.setValueAt(values[column], row, column);
+                    }
+                }
+            } else {
+                tableModel.insertRow(row, values);
+            }
+            row++;
         }
+        removeRowsBefore(row, lastId + 1, skip);
+    }
 
-        int tagId = (int) tableModel.getValueAt(selectedRow, 0);
-        UpdateAnimalDialog dialog = new UpdateAnimalDialog(this, dbManager, tagId);
-        dialog.setVisible(true);
-        refreshAnimalTable();
+    /**
+     * Removes the table rows, starting at a given row, whose Tag IDs lie below a bound, except those of skipped Tag IDs.
+     *
+     * @param row   the first row to look at
+     * @param bound the Tag ID at which to stop
+     * @param skip  Tag IDs whose rows are kept
+     * @return the first row at or after the bound
+     */
+    private int removeRowsBefore(int row, long bound, Set<Integer> skip) {
+        while (row < tableModel.getRowCount() && tagIdAt(row) < bound) {
+            if (skip.contains(tagIdAt(row))) {
+                row++;
+            } else {
+                tableModel.removeRow(row);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Finds the first table row whose Tag ID is at least the given value, by binary search over the
+     * Tag ID-ordered table model.
+     *
+     * @param id the Tag ID to search for
+     * @return the row index, or the row count if every row has a smaller Tag ID
+     */
+    private int firstRowAtOrAfter(long id) {
+        int low = 0;
+        int high = tableModel.getRowCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tagIdAt(mid) < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the Tag ID shown in a table model row.
+     *
+     * @param row the model row index
+     * @return the Tag ID of the row
+     */
+    private int tagIdAt(int row) {
+        return (Integer) tableModel.getValueAt(row, 0);
     }
 
     /**
-     * Handles the deletion of a selected animal record from the table.
+     * Converts an animal record into a table row in model column order.
      * <p>
-     * This method validates that the table contains data and that a row is selected before proceeding.
-     * It prompts the user for confirmation and, if confirmed, calls {@link DatabaseManager#deleteWildAnimal(int)}
-     * to delete the record. Displays success or error messages based on the outcome and refreshes the table
-     * after a successful deletion.
+     * The species, gender, and health status cells hold the record's shared instances, so a large table does
+     * not keep a separate string per cell.
      * </p>
      *
-     * <p> The selected animal's Tag ID is retrieved from the first column of the selected row. </p>
+     * @param animal the animal record to convert
+     * @return the row values: Tag ID, Species, Name, Age, Gender, Weight, and Health Status
      */
-    private void handleDeleteAnimal() {
+    private Object[] toRow(AnimalRecord animal) {
+        return new Object[] {
+                animal.getId(),
+                animal.getSpecies(),
+                animal.getName(),
+                animal.getAge(),
+                animal.getGender(),
+                animal.getWeight(),
+                animal.getHealthStatus()
+        };
+    }
 
-        if (animalTable.getRowCount() == 0) {
-            JOptionPane.showMessageDialog(this, "No animal records available to delete.", "Empty Table", JOptionPane.WARNING_MESSAGE);
-            return;
+    /**
+     * Installs the cell editors of the editable columns for the open database.
+     * <p>
+     * Called whenever a database is opened, so the species editor suggests the species of that database.
+     * </p>
+     */
+    private void installCellEditors() {
+        for (int column = 0; column < animalTable.getColumnCount(); column++) {
+            int modelColumn = animalTable.convertColumnIndexToModel(column);
+            if (modelColumn != COL_ID) {
+                animalTable.getColumnModel().getColumn(column).setCellEditor(createCellEditor(modelColumn));
+            }
         }
+    }
 
-        int selectedRow = animalTable.getSelectedRow();
-        if (selectedRow == -1) {
-            JOptionPane.showMessageDialog(this, "Please select a row to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
-            return;
+    /**
+     * Creates the cell editor of a table column, validating the value the same way as the add and update dialogs.
+     * <p>
+     * Gender and health status are picked from a combo box. The other columns are edited as text with the same
+     * input filters as the dialogs; an invalid value keeps the editor open with a red border and the validation
+     * message as its tooltip, and Escape restores the previous value.
+     * </p>
+     *
+     * @param column the model column index
+     * @return the cell editor, whose value has the type shown in the column
+     */
+    private TableCellEditor createCellEditor(int column) {
+        switch (column) {
+            case COL_GENDER:
+                return new DefaultCellEditor(new JComboBox<>(Gender.values()));
+            case COL_HEALTH_STATUS:
+                return new DefaultCellEditor(new JComboBox<>(HealthStatus.values()));
+            default:
+                break;
         }
 
-        int tagId = (int) tableModel.getValueAt(selectedRow, 0);
+        JTextField field = new JTextField();
+        field.setHorizontalAlignment(JTextField.CENTER);
+        if (column == COL_AGE) {
+            ((PlainDocument) field.getDocument()).setDocumentFilter(new NumericDocumentFilter());
+        } else if (column == COL_WEIGHT) {
+            ((PlainDocument) field.getDocument()).setDocumentFilter(new DecimalDocumentFilter());
+        } else if (column == COL_SPECIES) {
+            SpeciesAutoComplete.install(field, dbManager);
+        }
+        Border validBorder = new LineBorder(Color.BLACK);
+        Border invalidBorder = new LineBorder(Color.RED, 2);
+        field.setBorder(validBorder);
 
-        int confirm = JOptionPane.showConfirmDialog(
-                this,
-                "Are you sure you want to delete animal with Tag ID " + tagId + "?",
-                "Confirm Delete",
-                JOptionPane.YES_NO_OPTION
-        );
+        return new DefaultCellEditor(field) {
+            /** The validated value of the field, set when editing stops. */
+            private Object value;
 
+            @Override
+            public Component getTableCellEditorComponent(JTable table, Object cellValue, boolean isSelected,
+                                                         int row, int col) {
+                field.setBorder(validBorder);
+                field.setToolTipText(null);
+                return super.getTableCellEditorComponent(table, cellValue, isSelected, row, col);
+            }
 
-        if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = dbManager.deleteWildAnimal(tagId);
+            @Override
+            public Object getCellEditorValue() {
+                return value;
+            }
 
-            if (success) {
-                JOptionPane.showMessageDialog(this, "Animal deleted successfully.");
-                refreshAnimalTable(); // Reload table from DB
+            @Override
+            public boolean stopCellEditing() {
+                ValidationReport report = new ValidationReport();
+                String text = field.getText();
+                switch (column) {
+                    case COL_AGE:
+                        value = AnimalValidator.checkAge(text, -1, report);
+                        break;
+                    case COL_WEIGHT:
+                        value = AnimalValidator.checkWeight(text, -1, report);
+                        break;
+                    case COL_SPECIES:
+                        AnimalValidator.checkText(AnimalValidator.FIELD_SPECIES, text, -1, report);
+                        value = SpeciesDictionary.intern(text.trim());
+                        break;
+                    default:
+                        AnimalValidator.checkText(AnimalValidator.FIELD_NAME, text, -1, report);
+                        value = text.trim();
+                        break;
+                }
+                if (!report.isValid()) {
+                    field.setBorder(invalidBorder);
+                    field.setToolTipText(report.summary(1));
+                    return false;
+                }
+                return super.stopCellEditing();
             }
-            else {
-                JOptionPane.showMessageDialog(this, "No record found with Tag ID " + tagId, "Delete Failed", JOptionPane.ERROR_MESSAGE);
+        };
+    }
+
+    /**
+     * Applies a value entered in a table cell and queues it for writing.
+     * <p>
+     * The cell shows the new value at once; the {@link CellEditBuffer} merges it with the other edits of the
+     * record, and the idle timer writes all pending edits once editing pauses.
+     * </p>
+     *
+     * @param modelRow the model row index of the cell
+     * @param column   the model column index of the cell
+     * @param value    the validated value from the cell editor
+     */
+    private void handleCellEdit(int modelRow, int column, Object value) {
+        Object original = tableModel.getValueAt(modelRow, column);
+        if (column == COL_ID || Objects.equals(original, value)) {
+            return;
+        }
+        editBuffer.edit(tagIdAt(modelRow), COLUMN_FIELDS[column], original, value);
+        tableModel.setValueAt(value, modelRow, column);
+        idleFlushTimer.restart();
+    }
+
+    /**
+     * Writes the pending cell edits to the open database in one transaction on a background thread.
+     * <p>
+     * Runs when editing has paused for {@link #IDLE_FLUSH_MILLIS} milliseconds or when the user chooses
+     * Edit &gt; Save Pending Edits. If the write fails, the edits stay pending and highlighted, so they can be
+     * saved again or discarded.
+     * </p>
+     */
+    private void savePendingEdits() {
+        idleFlushTimer.stop();
+        if (animalTable.isEditing()) {
+            animalTable.getCellEditor().stopCellEditing();
+        }
+        if (dbManager == null || editBuffer.isEmpty()) {
+            return;
+        }
+
+        DatabaseManager target = dbManager;
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return editBuffer.flush(target);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                resolveCellConflicts(target);
+                animalTable.repaint();
             }
+        }.execute();
+    }
+
+    /**
+     * Writes the pending cell edits on the calling thread, before an action that reads or replaces whole records
+     * or before the database is closed.
+     *
+     * @return {@code true} if nothing is left pending; {@code false} if the edits could not be written
+     */
+    private boolean savePendingEditsNow() {
+        idleFlushTimer.stop();
+        if (animalTable.isEditing()) {
+            animalTable.getCellEditor().stopCellEditing();
+        }
+        if (dbManager == null || editBuffer.isEmpty()) {
+            return true;
+        }
+
+        try {
+            editBuffer.flush(dbManager);
+            resolveCellConflicts(dbManager);
+            return true;
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        } finally {
+            animalTable.repaint();
         }
     }
 
     /**
-     * Prompts the user to enter a species name and calculates the average weight of all animals
-     * belonging to that species using the database.
+     * Lets the user merge the cell edits that were not written because another editor changed the same fields.
      * <p>
-     * This method displays an input dialog for the user to enter a species name. It then executes
-     * an SQL query to compute the average weight of animals matching the specified species. The result
-     * is displayed in an information dialog. If no animals are found or an error occurs, an appropriate
-     * message is shown.
+     * For each such record the stored version is shown next to the user's edits in a {@link ConflictMergeDialog},
+     * and the merged record is saved against the stored row version. The row then shows the stored record again;
+     * edits of a record that was deleted meanwhile, or whose merge was cancelled, are dropped.
      * </p>
      *
-     * <p> Uses {@link DatabaseManager#connect()} to establish a connection and performs the
-     * calculation using {@link PreparedStatement} and {@link ResultSet}.</p>
+     * @param target the database the edits were written to
      */
-    private void showAverageWeightDialog() {
-        String species = JOptionPane.showInputDialog(this, "Enter species name:", "Average Weight", JOptionPane.QUESTION_MESSAGE);
+    private void resolveCellConflicts(DatabaseManager target) {
+        Map<Integer, Map<String, Object>> conflicts = editBuffer.takeConflicts();
+        if (conflicts.isEmpty() || target != dbManager) {
+            return;
+        }
+        for (Map.Entry<Integer, Map<String, Object>> entry : conflicts.entrySet()) {
+            int tagId = entry.getKey();
+            WildAnimal theirs = target.getWildAnimalById(tagId);
+            if (theirs == null) {
+                JOptionPane.showMessageDialog(this, "Tag ID " + tagId + " was deleted by another user; its edits were dropped.",
+                        "Update Failed", JOptionPane.ERROR_MESSAGE);
+            } else {
+                WildAnimal mine = AnimalRecord.of(theirs).toWildAnimal();
+                for (Map.Entry<String, Object> cell : entry.getValue().entrySet()) {
+                    applyCell(mine, cell.getKey(), cell.getValue());
+                }
+                ConflictMergeDialog mergeDialog = new ConflictMergeDialog(this, mine, theirs);
+                mergeDialog.setVisible(true);
+                WildAnimal merged = mergeDialog.getMergedAnimal();
+                if (merged != null && target.updateWildAnimal(merged) == UpdateResult.CONFLICT) {
+                    JOptionPane.showMessageDialog(this, "Tag ID " + tagId + " was changed again while merging; "
+                            + "please edit it again.", "Update Conflict", JOptionPane.WARNING_MESSAGE);
+                }
+            }
+            int row = firstRowAtOrAfter(tagId);
+            if (row < tableModel.getRowCount() && tagIdAt(row) == tagId) {
+                reloadAnimalRow(row, tagId);
+            }
+        }
+    }
 
-        if (species != null && !species.trim().isEmpty()) {
-            String sql = "SELECT AVG(weight) AS avg_weight FROM WildAnimals WHERE species = ?";
+    /**
+     * Sets one field of a record to the value of an edited table cell.
+     *
+     * @param animal the record to change
+     * @param column the column name of the cell, one of {@link #COLUMN_FIELDS}
+     * @param value  the cell value
+     */
+    private static void applyCell(WildAnimal animal, String column, Object value) {
+        switch (column) {
+            case "species":
+                animal.setSpecies((String) value);
+                break;
+            case "name":
+                animal.setName((String) value);
+                break;
+            case "age":
+                animal.setAge((Integer) value);
+                break;
+            case "gender":
+                animal.setGender((Gender) value);
+                break;
+            case "weight":
+                animal.setWeight((Double) value);
+                break;
+            case "healthStatus":
+                animal.setHealthStatus((HealthStatus) value);
+                break;
+            default:
+                throw new IllegalArgumentException("Column cannot be edited: " + column);
+        }
+    }
 
-            try (Connection conn = dbManager.connect();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Drops the pending cell edits after confirmation and shows the stored values again.
+     */
+    private void discardPendingEdits() {
+        if (animalTable.isEditing()) {
+            animalTable.getCellEditor().cancelCellEditing();
+        }
+        if (editBuffer.isEmpty()) {
+            return;
+        }
 
-                stmt.setString(1, species.trim());
-                ResultSet rs = stmt.executeQuery();
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Discard " + editBuffer.getCellCount() + " pending edit(s) in " + editBuffer.getRecordCount() + " record(s)?",
+                "Discard Pending Edits", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
 
-                if (rs.next()) {
-                    double average = rs.getDouble("avg_weight");
-                    if (rs.wasNull()) {
-                        JOptionPane.showMessageDialog(this, "No animals found for species: " + species, "Average Weight", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        String message = String.format("Average weight for species '%s': %.2f kg", species, average);
-                        JOptionPane.showMessageDialog(this, message, "Average Weight", JOptionPane.INFORMATION_MESSAGE);
-                    }
+        idleFlushTimer.stop();
+        List<String> fields = Arrays.asList(COLUMN_FIELDS);
+        for (Map.Entry<Integer, Map<String, Object>> entry : editBuffer.discard().entrySet()) {
+            int row = firstRowAtOrAfter(entry.getKey());
+            if (row < tableModel.getRowCount() && tagIdAt(row) == entry.getKey()) {
+                for (Map.Entry<String, Object> cell : entry.getValue().entrySet()) {
+                    tableModel.setValueAt(cell.getValue(), row, fields.indexOf(cell.getKey()));
                 }
+            }
+        }
+        animalTable.repaint();
+    }
 
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Converts an animal record into a table row showing the edits of the record that are still pending.
+     *
+     * @param animal the animal record to convert
+     * @return the row values, with pending cell edits in place of the stored values
+     */
+    private Object[] withPendingEdits(AnimalRecord animal) {
+        Object[] values = toRow(animal);
+        Map<String, Object> pending = editBuffer.getPendingValues(animal.getId());
+        if (pending != null) {
+            List<String> fields = Arrays.asList(COLUMN_FIELDS);
+            for (Map.Entry<String, Object> cell : pending.entrySet()) {
+                values[fields.indexOf(cell.getKey())] = cell.getValue();
             }
         }
+        return values;
+    }
+
+    /**
+     * Opens a dialog window to update the details of a selected animal record.
+     * <p>
+     * This method validates that the table contains data and that exactly one row is selected before launching
+     * the {@link UpdateAnimalDialog}. If no records exist or no single row is selected, an appropriate warning
+     * message is displayed. After the dialog is closed, only the edited row is reloaded to reflect any changes.
+     * </p>
+     *
+     * <p>The selected animal's Tag ID is retrieved from the first column of the selected row.</p>
+     */
+    private void openEditAnimalDialog() {
+        savePendingEditsNow();
+
+        int[] selectedRows = getSelectedModelRows("update");
+        if (selectedRows == null) {
+            return;
+        }
+
+        if (selectedRows.length > 1) {
+            JOptionPane.showMessageDialog(this,
+                    "Please select a single animal to update, or use the Edit menu to update the whole selection.",
+                    "Multiple Selection", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int modelRow = selectedRows[0];
+        int tagId = (int) tableModel.getValueAt(modelRow, COL_ID);
+        UpdateAnimalDialog dialog = new UpdateAnimalDialog(this, dbManager, tagId);
+        dialog.setVisible(true);
+        reloadAnimalRow(modelRow, tagId);
+    }
+
+    /**
+     * Opens a dialog window showing the weight and health status history of a selected animal.
+     * <p>
+     * This method validates that exactly one row is selected before launching the {@link ObservationHistoryDialog}.
+     * </p>
+     */
+    private void openObservationHistory() {
+
+        int[] selectedRows = getSelectedModelRows("view");
+        if (selectedRows == null) {
+            return;
+        }
+
+        if (selectedRows.length > 1) {
+            JOptionPane.showMessageDialog(this, "Please select a single animal to view its history.",
+                    "Multiple Selection", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int tagId = (int) tableModel.getValueAt(selectedRows[0], COL_ID);
+        ObservationHistoryDialog dialog = new ObservationHistoryDialog(this, dbManager, tagId);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Handles the deletion of the selected animal records from the table.
+     * <p>
+     * This method validates that the table contains data and that at least one row is selected before proceeding.
+     * It prompts the user for confirmation and, if confirmed, calls {@link DatabaseManager#deleteWildAnimals(java.util.Collection)}
+     * to delete all selected records in one transaction. Displays success or error messages based on the outcome
+     * and removes the deleted rows from the table without reloading it. If fewer records were deleted than
+     * selected, the selected rows are reloaded one by one instead, so only the rows of deleted records disappear.
+     * </p>
+     *
+     * <p> The selected animals' Tag IDs are retrieved from the first column of the selected rows. </p>
+     */
+    private void handleDeleteAnimal() {
+
+        int[] selectedRows = getSelectedModelRows("delete");
+        if (selectedRows == null) {
+            return;
+        }
+
+        List<Integer> tagIds = getTagIds(selectedRows);
+        String prompt = tagIds.size() == 1
+                ? "Are you sure you want to delete animal with Tag ID " + tagIds.get(0) + "?"
+                : "Are you sure you want to delete the " + tagIds.size() + " selected animals?";
+
+        int confirm = JOptionPane.showConfirmDialog(
+                this,
+                prompt,
+                "Confirm Delete",
+                JOptionPane.YES_NO_OPTION
+        );
+
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            int deleted = dbManager.deleteWildAnimals(tagIds);
+
+            if (deleted > 0) {
+                // Work from the bottom up so the remaining model indices stay valid
+                for (int i = selectedRows.length - 1; i >= 0; i--) {
+                    if (deleted == tagIds.size()) {
+                        tableModel.removeRow(selectedRows[i]);
+                    } else {
+                        // Only some were deleted: drop the rows whose records are gone and refresh the rest
+                        reloadAnimalRow(selectedRows[i], tagIds.get(i));
+                    }
+                }
+                JOptionPane.showMessageDialog(this, deleted == 1
+                        ? "Animal deleted successfully."
+                        : deleted + " animals deleted successfully.");
+            }
+            else {
+                JOptionPane.showMessageDialog(this, "No records found for the selected Tag IDs.", "Delete Failed", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Sets the health status of all selected animal records at once.
+     * <p>
+     * The user picks a health status, which is written with a single set-based update through
+     * {@link DatabaseManager#updateHealthStatus(java.util.Collection, HealthStatus)}. The affected table cells are
+     * updated in place.
+     * </p>
+     */
+    private void handleBulkHealthStatus() {
+        savePendingEditsNow();
+        int[] selectedRows = getSelectedModelRows("update");
+        if (selectedRows == null) {
+            return;
+        }
+
+        HealthStatus healthStatus = (HealthStatus) JOptionPane.showInputDialog(this,
+                "Set health status for " + selectedRows.length + " selected animal(s):", "Set Health Status",
+                JOptionPane.QUESTION_MESSAGE, null, HealthStatus.values(), HealthStatus.HEALTHY);
+        if (healthStatus == null) {
+            return;
+        }
+
+        if (dbManager.updateHealthStatus(getTagIds(selectedRows), healthStatus) > 0) {
+            setColumnValue(selectedRows, COL_HEALTH_STATUS, healthStatus);
+        }
+    }
+
+    /**
+     * Changes the species of all selected animal records at once.
+     * <p>
+     * The user enters a species name, which is written with a single set-based update through
+     * {@link DatabaseManager#updateSpecies(java.util.Collection, String)}. The affected table cells are
+     * updated in place.
+     * </p>
+     */
+    private void handleBulkSpecies() {
+        savePendingEditsNow();
+        int[] selectedRows = getSelectedModelRows("update");
+        if (selectedRows == null) {
+            return;
+        }
+
+        String species = JOptionPane.showInputDialog(this,
+                "New species for " + selectedRows.length + " selected animal(s):", "Change Species",
+                JOptionPane.QUESTION_MESSAGE);
+        if (species == null || species.trim().isEmpty()) {
+            return;
+        }
+
+        if (dbManager.updateSpecies(getTagIds(selectedRows), species.trim()) > 0) {
+            setColumnValue(selectedRows, COL_SPECIES, SpeciesDictionary.intern(species.trim()));
+        }
+    }
+
+    /**
+     * Sets the health status of every animal record of a given species.
+     * <p>
+     * The user enters a species and picks a health status; all matching records are updated with one statement
+     * through {@link DatabaseManager#updateHealthStatusBySpecies(String, HealthStatus)}. Matching table rows are
+     * updated in place.
+     * </p>
+     */
+    private void handleHealthStatusBySpecies() {
+        if (dbManager == null) {
+            return;
+        }
+        savePendingEditsNow();
+
+        String species = JOptionPane.showInputDialog(this, "Enter species name:", "Set Health Status by Species",
+                JOptionPane.QUESTION_MESSAGE);
+        if (species == null || species.trim().isEmpty()) {
+            return;
+        }
+
+        HealthStatus healthStatus = (HealthStatus) JOptionPane.showInputDialog(this,
+                "Set health status for all animals of species '" + species.trim() + "':", "Set Health Status by Species",
+                JOptionPane.QUESTION_MESSAGE, null, HealthStatus.values(), HealthStatus.HEALTHY);
+        if (healthStatus == null) {
+            return;
+        }
+
+        int updated = dbManager.updateHealthStatusBySpecies(species.trim(), healthStatus);
+        if (updated > 0) {
+            for (int row = 0; row < tableModel.getRowCount(); row++) {
+                if (species.trim().equals(tableModel.getValueAt(row, COL_SPECIES))) {
+                    tableModel.setValueAt(healthStatus, row, COL_HEALTH_STATUS);
+                }
+            }
+        }
+        JOptionPane.showMessageDialog(this, updated + " animal record(s) updated.");
+    }
+
+    /**
+     * Returns the model indices of the selected table rows, warning the user if there is nothing to act on.
+     *
+     * @param action the action verb used in the warning messages (for example "update" or "delete")
+     * @return the selected model row indices in ascending order, or {@code null} if the table is empty or nothing is selected
+     */
+    private int[] getSelectedModelRows(String action) {
+        if (animalTable.getRowCount() == 0) {
+            JOptionPane.showMessageDialog(this, "No animal records available to " + action + ".", "Empty Table", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+
+        int[] viewRows = animalTable.getSelectedRows();
+        if (viewRows.length == 0) {
+            JOptionPane.showMessageDialog(this, "Please select an animal to " + action + ".", "No Selection", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+
+        int[] modelRows = new int[viewRows.length];
+        for (int i = 0; i < viewRows.length; i++) {
+            modelRows[i] = animalTable.convertRowIndexToModel(viewRows[i]);
+        }
+        Arrays.sort(modelRows);
+        return modelRows;
+    }
+
+    /**
+     * Plots the sightings of the currently selected animals on the map panel.
+     * <p>
+     * At most {@link #MAP_SELECTION_LIMIT} animals are plotted so a large selection does not stall the UI.
+     * </p>
+     */
+    private void showSelectionOnMap() {
+        int[] viewRows = animalTable.getSelectedRows();
+        if (dbManager == null || viewRows.length == 0) {
+            return;
+        }
+
+        int count = Math.min(viewRows.length, MAP_SELECTION_LIMIT);
+        int[] modelRows = new int[count];
+        for (int i = 0; i < count; i++) {
+            modelRows[i] = animalTable.convertRowIndexToModel(viewRows[i]);
+        }
+        sightingMapPanel.showAnimals(getTagIds(modelRows));
+    }
+
+    /**
+     * Collects the Tag IDs shown in the given model rows.
+     *
+     * @param modelRows the model row indices
+     * @return the Tag IDs of those rows, in the same order
+     */
+    private List<Integer> getTagIds(int[] modelRows) {
+        List<Integer> tagIds = new ArrayList<>(modelRows.length);
+        for (int row : modelRows) {
+            tagIds.add((Integer) tableModel.getValueAt(row, COL_ID));
+        }
+        return tagIds;
+    }
+
+    /**
+     * Sets one column of the given model rows to the same value without reloading the table.
+     *
+     * @param modelRows the model row indices to update
+     * @param column    the model column index to set
+     * @param value     the new cell value
+     */
+    private void setColumnValue(int[] modelRows, int column, Object value) {
+        for (int row : modelRows) {
+            tableModel.setValueAt(value, row, column);
+        }
+    }
+
+    /**
+     * Reloads a single table row from the database after it may have been edited.
+     * <p>
+     * If the record no longer exists, its row is removed from the table.
+     * </p>
+     *
+     * @param modelRow the model row index showing the record
+     * @param tagId    the Tag ID of the record
+     */
+    private void reloadAnimalRow(int modelRow, int tagId) {
+        WildAnimal animal = dbManager.getWildAnimalById(tagId);
+        if (animal == null) {
+            tableModel.removeRow(modelRow);
+            return;
+        }
+
+        Object[] row = toRow(AnimalRecord.of(animal));
+        for (int column = 0; column < row.length; column++) {
+            tableModel.setValueAt(row[column], modelRow, column);
+        }
+    }
+
+    /**
+     * Imports animal records from a CSV file chosen by the user into the open database.
+     * <p>
+     * The user decides whether rows with an existing Tag ID update that record or are rejected. The import runs
+     * on a background thread through {@link AnimalImporter}; afterwards the counts and the first rejected rows
+     * are shown and the table is reloaded.
+     * </p>
+     */
+    private void handleImportCsv() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        FileDialog fd = new FileDialog(this, "Select CSV File", FileDialog.LOAD);
+        fd.setFile("*.csv");
+        fd.setVisible(true);
+        if (fd.getFile() == null) {
+            return;
+        }
+        File source = new File(fd.getDirectory(), fd.getFile());
+
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Update existing records when a Tag ID is already in the database?\n"
+                        + "Choose No to reject those rows instead.",
+                "Import CSV", JOptionPane.YES_NO_CANCEL_OPTION);
+        if (choice == JOptionPane.CANCEL_OPTION || choice == JOptionPane.CLOSED_OPTION) {
+            return;
+        }
+        boolean updateExisting = choice == JOptionPane.YES_OPTION;
+
+        AnimalImporter importer = new AnimalImporter(dbManager);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<ImportResult, Void>() {
+            @Override
+            protected ImportResult doInBackground() throws Exception {
+                return importer.importCsv(source, updateExisting);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    ImportResult result = get();
+                    String message = "Import complete: " + result;
+                    if (!result.getReport().isValid()) {
+                        message += "\n\n" + result.getReport().summary(15);
+                    }
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, message);
+                    refreshAnimalTable();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Import Failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Exports every record of the open database to a CSV file chosen by the user.
+     * <p>
+     * The table is read in parallel Tag ID ranges by {@link ParallelQueryExecutor#exportCsv(File)}; the file uses
+     * the column layout accepted by Import CSV.
+     * </p>
+     */
+    private void handleExportCsv() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        FileDialog fd = new FileDialog(this, "Export CSV File", FileDialog.SAVE);
+        fd.setFile("animals.csv");
+        fd.setVisible(true);
+        if (fd.getFile() == null) {
+            return;
+        }
+        File target = new File(fd.getDirectory(), fd.getFile());
+
+        ParallelQueryExecutor executor = dbManager.getParallelExecutor();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        long start = System.currentTimeMillis();
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return executor.exportCsv(target);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, String.format(
+                            "Exported %d record(s) to %s in %d ms using %d thread(s).", get(), target.getName(),
+                            System.currentTimeMillis() - start, executor.getParallelism()));
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Export Failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Shows the average weight of every species, aggregated in parallel Tag ID ranges.
+     */
+    private void showSpeciesWeightReport() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        ParallelQueryExecutor executor = dbManager.getParallelExecutor();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Map<String, Double>, Void>() {
+            @Override
+            protected Map<String, Double> doInBackground() throws Exception {
+                return executor.averageWeightBySpecies();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    Map<String, Double> averages = get();
+                    if (averages.isEmpty()) {
+                        JOptionPane.showMessageDialog(WATSMainFrame.this, "No animal records found.",
+                                "Species Weight Report", JOptionPane.INFORMATION_MESSAGE);
+                        return;
+                    }
+                    StringBuilder report = new StringBuilder();
+                    for (Map.Entry<String, Double> entry : averages.entrySet()) {
+                        report.append(String.format("%s: %.2f kg%n", entry.getKey(), entry.getValue()));
+                    }
+                    JTextArea text = new JTextArea(report.toString(), 20, 40);
+                    text.setEditable(false);
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, new JScrollPane(text),
+                            "Species Weight Report", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Shows approximate statistics for every species, optionally combined across several database files.
+     * <p>
+     * The user may pick further database files, such as field-station copies, whose sketches are merged with
+     * those of the open database without copying any records or changing those files. The report lists the
+     * number of distinct species, the most frequent species, and for each species its record count, distinct
+     * Tag IDs, and weight and age percentiles. Every figure comes from the stored {@link SketchStore} sketches, so the report costs the same
+     * however many records the databases hold.
+     * </p>
+     */
+    private void showSpeciesStatistics() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        List<File> others = new ArrayList<>();
+        int choice = JOptionPane.showConfirmDialog(this, "Include other database files in the statistics?",
+                "Species Statistics", JOptionPane.YES_NO_CANCEL_OPTION);
+        if (choice == JOptionPane.CANCEL_OPTION || choice == JOptionPane.CLOSED_OPTION) {
+            return;
+        }
+        if (choice == JOptionPane.YES_OPTION) {
+            FileDialog fd = new FileDialog(this, "Select Databases to Include", FileDialog.LOAD);
+            fd.setFile("*.db");
+            fd.setMultipleMode(true);
+            fd.setVisible(true);
+            File current = new File(dbManager.getDbPath()).getAbsoluteFile();
+            for (File file : fd.getFiles()) {
+                if (!file.getAbsoluteFile().equals(current)) {
+                    others.add(file);
+                }
+            }
+        }
+
+        DatabaseManager manager = dbManager;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<SketchSummary, Void>() {
+            @Override
+            protected SketchSummary doInBackground() throws Exception {
+                SketchSummary summary = new SketchStore(manager).loadSummary();
+                for (File file : others) {
+                    summary.merge(SketchStore.loadSummary(file));
+                }
+                return summary;
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    SketchSummary summary = get();
+                    if (summary.getRecordCount() == 0) {
+                        JOptionPane.showMessageDialog(WATSMainFrame.this, "No animal records found.",
+                                "Species Statistics", JOptionPane.INFORMATION_MESSAGE);
+                        return;
+                    }
+                    StringBuilder report = new StringBuilder();
+                    report.append(String.format("Databases: %d%nRecords: %d%nDistinct species: ~%d%n%nMost frequent species:%n",
+                            summary.getDatabaseCount(), summary.getRecordCount(), summary.estimateDistinctSpecies()));
+                    for (String species : summary.topSpecies(5)) {
+                        report.append(String.format("  %s: ~%d%n", displaySpecies(species), summary.estimateFrequency(species)));
+                    }
+                    report.append(String.format("%n%-20s %8s %8s %8s %8s %8s %6s%n",
+                            "Species", "Records", "Tags", "Wt p10", "Wt p50", "Wt p90", "Age"));
+                    List<SpeciesSketch> sketches = new ArrayList<>(summary.getSpecies());
+                    sketches.sort(Comparator.comparing(SpeciesSketch::getSpecies));
+                    for (SpeciesSketch sketch : sketches) {
+                        report.append(String.format("%-20s %8d %8d %8.2f %8.2f %8.2f %6.1f%n",
+                                displaySpecies(sketch.getSpecies()), sketch.getRecordCount(), sketch.getTagIds().estimate(),
+                                sketch.getWeights().quantile(0.1), sketch.getWeights().quantile(0.5),
+                                sketch.getWeights().quantile(0.9), sketch.getAges().quantile(0.5)));
+                    }
+                    JTextArea text = new JTextArea(report.toString(), 25, 75);
+                    text.setEditable(false);
+                    text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, new JScrollPane(text),
+                            "Species Statistics", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Formats a species name for the statistics report.
+     *
+     * @param species the species name as stored in the sketches
+     * @return the name, or {@code (none)} for records without a species
+     */
+    private static String displaySpecies(String species) {
+        return species.isEmpty() ? "(none)" : species;
+    }
+
+    /**
+     * Merges a field-station database chosen by the user into the open database.
+     * <p>
+     * The user picks the conflict rule for records that differ between the two databases. The merge runs on a
+     * background thread through {@link DatabaseMerger}; afterwards its report is shown and the table is reloaded.
+     * </p>
+     */
+    private void handleMergeDatabase() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        FileDialog fd = new FileDialog(this, "Select Field Station Database", FileDialog.LOAD);
+        fd.setFile("*.db");
+        fd.setVisible(true);
+        if (fd.getFile() == null) {
+            return;
+        }
+        File source = new File(fd.getDirectory(), fd.getFile());
+
+        MergeRule rule = (MergeRule) JOptionPane.showInputDialog(this,
+                "How should records that differ from the master be resolved?", "Merge Field Station Database",
+                JOptionPane.QUESTION_MESSAGE, null, MergeRule.values(), MergeRule.NEWEST_WINS);
+        if (rule == null) {
+            return;
+        }
+
+        DatabaseMerger merger = new DatabaseMerger(dbManager);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<MergeReport, Void>() {
+            @Override
+            protected MergeReport doInBackground() throws Exception {
+                return merger.merge(source, rule);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, get().toString(), "Merge Complete",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    refreshAnimalTable();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Merge Failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Synchronises the open database with another database file chosen by the user, in both directions.
+     * <p>
+     * The other file is reached through a {@link LoopbackSyncTransport}, the same path a remote peer would take,
+     * so the report also shows how many bytes a network link would have carried.
+     * </p>
+     */
+    private void handleSyncDatabase() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        FileDialog fd = new FileDialog(this, "Select Database to Sync With", FileDialog.LOAD);
+        fd.setFile("*.db");
+        fd.setVisible(true);
+        if (fd.getFile() == null) {
+            return;
+        }
+        File other = new File(fd.getDirectory(), fd.getFile());
+        if (new File(dbManager.getDbPath()).getAbsoluteFile().equals(other.getAbsoluteFile())) {
+            JOptionPane.showMessageDialog(this, "A database cannot be synced with itself.", "Sync",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        DatabaseManager otherManager = new DatabaseManager(other.getAbsolutePath());
+        LoopbackSyncTransport transport = new LoopbackSyncTransport(new LocalSyncPeer(otherManager), 0);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<SyncReport, Void>() {
+            @Override
+            protected SyncReport doInBackground() throws Exception {
+                try {
+                    otherManager.migrateSchema();
+                    return new SyncEngine().sync(new LocalSyncPeer(dbManager), transport);
+                } finally {
+                    // Releases what the other file's manager created on demand, such as its query cache connection
+                    otherManager.close();
+                }
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    SyncReport report = get();
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, report + String.format(
+                            "%nBytes sent: %d, bytes received: %d", transport.getBytesSent(), transport.getBytesReceived()),
+                            "Sync Complete", JOptionPane.INFORMATION_MESSAGE);
+                    refreshAnimalTable();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Sync Failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Backs up the open database to a file chosen by the user while the application keeps running.
+     * <p>
+     * The backup runs on a background thread through {@link OnlineBackup#backup(File, java.util.function.BiConsumer)}
+     * and reports its progress in a {@link ProgressMonitor}. Cancelling the monitor aborts the backup and
+     * discards the partial copy.
+     * </p>
+     */
+    private void handleBackupNow() {
+        if (onlineBackup == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        FileDialog fd = new FileDialog(this, "Save Backup As", FileDialog.SAVE);
+        fd.setFile(new File(dbManager.getDbPath()).getName().replaceFirst("(\\.[^.]*)?$", "-backup.db"));
+        fd.setVisible(true);
+        if (fd.getFile() == null) {
+            return;
+        }
+        File target = new File(fd.getDirectory(), fd.getFile());
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Backing up database...", null, 0, 100);
+        OnlineBackup backup = onlineBackup;
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                backup.backup(target, (copied, total) -> {
+                    setProgress((int) (copied * 100 / Math.max(1, total)));
+                    if (monitor.isCanceled()) {
+                        cancel(true);
+                    }
+                });
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Backup written to " + target.getPath());
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Backup Failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                monitor.setProgress((Integer) e.getNewValue());
+            }
+        });
+        worker.execute();
+    }
+
+    /**
+     * Starts or stops periodic snapshots of the open database.
+     * <p>
+     * When snapshots are not running, the user chooses a directory, the interval in minutes, and how many
+     * snapshots to keep. When they are running, the user is asked whether to stop them.
+     * </p>
+     */
+    private void handleScheduledSnapshots() {
+        if (onlineBackup == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        if (onlineBackup.isScheduled()) {
+            int confirm = JOptionPane.showConfirmDialog(this, "Scheduled snapshots are running. Stop them?",
+                    "Scheduled Snapshots", JOptionPane.YES_NO_OPTION);
+            if (confirm == JOptionPane.YES_OPTION) {
+                onlineBackup.stopScheduledSnapshots();
+            }
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser(new File(dbManager.getDbPath()).getAbsoluteFile().getParentFile());
+        chooser.setDialogTitle("Select Snapshot Directory");
+        chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        JTextField txtInterval = new JTextField("60");
+        ((javax.swing.text.PlainDocument) txtInterval.getDocument()).setDocumentFilter(new NumericDocumentFilter());
+        JTextField txtKeep = new JTextField("24");
+        ((javax.swing.text.PlainDocument) txtKeep.getDocument()).setDocumentFilter(new NumericDocumentFilter());
+        JPanel panel = new JPanel(new GridLayout(2, 2, 10, 10));
+        panel.add(new JLabel("Interval (minutes):"));
+        panel.add(txtInterval);
+        panel.add(new JLabel("Snapshots to keep:"));
+        panel.add(txtKeep);
+
+        if (JOptionPane.showConfirmDialog(this, panel, "Scheduled Snapshots", JOptionPane.OK_CANCEL_OPTION)
+                != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        try {
+            long interval = Long.parseLong(txtInterval.getText().trim());
+            int keep = Integer.parseInt(txtKeep.getText().trim());
+            if (interval <= 0 || keep <= 0) {
+                throw new NumberFormatException("Interval and snapshot count must be positive.");
+            }
+            // Snapshots are written silently; only a failure interrupts the user
+            onlineBackup.startScheduledSnapshots(chooser.getSelectedFile(), interval, keep, (snapshot, error) -> {
+                if (error != null) {
+                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "Error: " + error.getMessage(),
+                            "Snapshot Failed", JOptionPane.ERROR_MESSAGE));
+                }
+            });
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Validation Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Runs every database maintenance task immediately on a background thread and reports what was done.
+     * <p>
+     * Maintenance normally runs by itself through {@link MaintenanceScheduler} while the application is idle;
+     * this is for running it right after a large import or delete.
+     * </p>
+     */
+    private void handleRunMaintenance() {
+        if (maintenanceScheduler == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        MaintenanceScheduler scheduler = maintenanceScheduler;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<List<String>, Void>() {
+            @Override
+            protected List<String> doInBackground() throws Exception {
+                return scheduler.runNow();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, String.join("\n", get()),
+                            "Maintenance Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Rebuilds the database file with {@link MaintenanceScheduler#compact()} after the user confirms it.
+     * <p>
+     * The rebuild blocks every writer until it is done, so it only runs on request, never during idle maintenance.
+     * </p>
+     */
+    private void handleCompactDatabase() {
+        if (maintenanceScheduler == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Compacting rewrites the whole database file and switches it to incremental auto-vacuum.\n"
+                        + "Other programs cannot write to the database until it is done. Continue?",
+                "Compact Database", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (choice != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        MaintenanceScheduler scheduler = maintenanceScheduler;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                return scheduler.compact();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, get(),
+                            "Compaction Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Moves records that have not been observed for a number of months into the archive.
+     * <p>
+     * The user picks the number of months and confirms the number of records found by
+     * {@link ArchiveStore#countInactive(long)}. The move runs on a background thread, after which the table is
+     * reloaded.
+     * </p>
+     */
+    private void handleArchiveRecords() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        try {
+            dbManager.requireDirectTableAccess("archiving records");
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Archive", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        String input = JOptionPane.showInputDialog(this,
+                "Archive records with no changes, observations or sightings for how many months?", "12");
+        if (input == null) {
+            return;
+        }
+        int months;
+        try {
+            months = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            months = 0;
+        }
+        if (months <= 0) {
+            JOptionPane.showMessageDialog(this, "Please enter a positive whole number of months.",
+                    "Invalid Input", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        ArchiveStore archiveStore = new ArchiveStore(dbManager);
+        long cutoff = ArchiveStore.cutoffForMonths(months);
+        try {
+            long inactive = archiveStore.countInactive(cutoff);
+            if (inactive == 0) {
+                JOptionPane.showMessageDialog(this, "No records have been inactive for " + months + " month(s).",
+                        "Archive", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            int confirm = JOptionPane.showConfirmDialog(this, "Move " + inactive + " inactive record(s) to "
+                    + archiveStore.getArchiveFile().getName() + "?", "Archive", JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
+            }
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return archiveStore.archive(cutoff);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, get() + " record(s) moved to the archive.",
+                            "Archive Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                refreshAnimalTable();
+            }
+        }.execute();
+    }
+
+    /**
+     * Turns in-memory mode on or off for the open database, then reloads the table.
+     * <p>
+     * Loading every record into memory, or taking the final snapshot when turning the mode off, runs in the
+     * background. If it fails the menu item is reset to the mode actually in effect.
+     * </p>
+     *
+     * @param enabled {@code true} to serve records from memory, {@code false} to serve them from SQLite
+     */
+    private void handleInMemoryMode(boolean enabled) {
+        if (dbManager == null) {
+            inMemoryItem.setSelected(false);
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        DatabaseManager manager = dbManager;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                manager.setInMemoryMode(enabled);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                if (manager == dbManager) {
+                    inMemoryItem.setSelected(manager.getMemoryStore() != null);
+                    refreshAnimalTable();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Opens an edit session on the open database, so the following changes can be undone step by step and are
+     * committed or rolled back together.
+     */
+    private void handleBeginEditSession() {
+        if (dbManager == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        savePendingEditsNow();
+        try {
+            dbManager.beginEditSession();
+            setTitle(TITLE + " - Edit Session");
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Undoes or redoes one step of the open edit session, then reloads the table.
+     * <p>
+     * Pending cell edits are written first, as a step of their own, so undo takes back the latest table edits
+     * before any earlier change. Without a session, undo discards the pending cell edits.
+     * </p>
+     *
+     * @param undo {@code true} to undo the last step, {@code false} to redo the last undone step
+     */
+    private void handleUndoRedo(boolean undo) {
+        DatabaseManager manager = dbManager;
+        if (manager == null) {
+            return;
+        }
+        if (manager.getEditSession() == null) {
+            if (undo) {
+                discardPendingEdits();
+            }
+            return;
+        }
+        if (undo) {
+            savePendingEditsNow();
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                return undo ? manager.undoEditStep() : manager.redoEditStep();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    if (get() == null) {
+                        return;
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                if (manager == dbManager) {
+                    refreshAnimalTable();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Commits every step of the open edit session to the database with a single commit.
+     */
+    private void handleCommitEditSession() {
+        DatabaseManager manager = dbManager;
+        if (manager == null || manager.getEditSession() == null) {
+            JOptionPane.showMessageDialog(this, "No edit session is open.", "No Edit Session", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        savePendingEditsNow();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return manager.commitEditSession();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    int steps = get();
+                    setTitle(TITLE);
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, steps + " step(s) committed.");
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Discards every step of the open edit session after confirmation, together with any pending cell edits,
+     * then reloads the table.
+     */
+    private void handleRollbackEditSession() {
+        DatabaseManager manager = dbManager;
+        EditSession session = manager == null ? null : manager.getEditSession();
+        if (session == null) {
+            JOptionPane.showMessageDialog(this, "No edit session is open.", "No Edit Session", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Discard all " + session.getStepCount() + " step(s) of the edit session?",
+                "Roll Back Edit Session", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        if (animalTable.isEditing()) {
+            animalTable.getCellEditor().cancelCellEditing();
+        }
+        idleFlushTimer.stop();
+        editBuffer.discard();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                manager.rollbackEditSession();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                setTitle(TITLE);
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                if (manager == dbManager) {
+                    refreshAnimalTable();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Asks whether to commit or roll back the open edit session before the database is closed or the application
+     * exits, and does so on the calling thread.
+     */
+    private void finishEditSession() {
+        EditSession session = dbManager == null ? null : dbManager.getEditSession();
+        if (session == null) {
+            return;
+        }
+
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Commit the " + session.getStepCount() + " step(s) of the open edit session?\n"
+                        + "Choosing No rolls them back.",
+                "Edit Session", JOptionPane.YES_NO_OPTION);
+        try {
+            if (confirm == JOptionPane.YES_OPTION) {
+                dbManager.commitEditSession();
+            } else {
+                dbManager.rollbackEditSession();
+            }
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Moves the selected records back from the archive into the main database.
+     * <p>
+     * Selected records that are not archived are ignored, so the whole table may be selected while archived
+     * records are shown.
+     * </p>
+     */
+    private void handleRestoreArchived() {
+        int[] selectedRows = getSelectedModelRows("restore");
+        if (selectedRows == null) {
+            return;
+        }
+
+        try {
+            dbManager.requireDirectTableAccess("restoring archived records");
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Restore", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        List<Integer> tagIds = getTagIds(selectedRows);
+        ArchiveStore archiveStore = new ArchiveStore(dbManager);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return archiveStore.restore(tagIds);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    int restored = get();
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, restored == 0
+                                    ? "None of the selected records are archived."
+                                    : restored + " record(s) restored from the archive.",
+                            "Restore", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                            "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+                refreshAnimalTable();
+            }
+        }.execute();
+    }
+
+    /**
+     * Shows the recent entries of the background maintenance log.
+     */
+    private void showMaintenanceLog() {
+        if (maintenanceScheduler == null) {
+            JOptionPane.showMessageDialog(this, "Please open a database first.", "No Database", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        List<String> entries = maintenanceScheduler.getLog();
+        JTextArea logArea = new JTextArea(entries.isEmpty()
+                ? "No maintenance has been needed yet." : String.join("\n", entries), 15, 70);
+        logArea.setEditable(false);
+        logArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(logArea), "Maintenance Log", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    /**
+     * Prompts the user to enter a species name and calculates the average weight of all animals
+     * belonging to that species using the database.
+     * <p>
+     * This method displays an input dialog for the user to enter a species name. It then executes
+     * an SQL query to compute the average weight of animals matching the specified species. The result
+     * is displayed in an information dialog. If no animals are found or an error occurs, an appropriate
+     * message is shown.
+     * </p>
+     *
+     * <p> The query runs through the database's {@link QueryResultCache}, so asking again for the same species
+     * costs nothing until the next write.</p>
+     *
+     * <p>The exact average is followed by approximate weight and age percentiles and the number of distinct Tag IDs,
+     * read from the species' {@link SketchStore} sketches together with the writes logged since idle maintenance
+     * last stored them. Both are read on a background thread, and if the sketches cannot be read the average is
+     * shown without them.</p>
+     */
+    private void showAverageWeightDialog() {
+        String species = JOptionPane.showInputDialog(this, "Enter species name:", "Average Weight", JOptionPane.QUESTION_MESSAGE);
+
+        if (species != null && !species.trim().isEmpty()) {
+            String sql = "SELECT AVG(weight) AS avg_weight FROM WildAnimals WHERE species = ?";
+            String name = species.trim();
+            DatabaseManager manager = dbManager;
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            new SwingWorker<String, Void>() {
+                @Override
+                protected String doInBackground() throws Exception {
+                    // In-memory mode averages the records in memory, since the file may lag behind; otherwise
+                    // repeated requests are answered from the cache until the next write
+                    InMemoryAnimalStore memoryStore = manager.getMemoryStore();
+                    Double average = memoryStore != null ? memoryStore.getAverageWeight(name)
+                            : manager.getQueryCache().query(sql, new Object[] { name }, rs -> {
+                        if (rs.next()) {
+                            double value = rs.getDouble("avg_weight");
+                            return rs.wasNull() ? null : value;
+                        }
+                        return null;
+                    });
+                    if (average == null) {
+                        return null;
+                    }
+
+                    String message = String.format("Average weight for species '%s': %.2f kg", species, average);
+                    try {
+                        SpeciesSketch sketch = new SketchStore(manager).loadSpecies(name);
+                        if (sketch != null) {
+                            message += String.format("%n%nApproximate weight: p10 %.2f kg, median %.2f kg, p90 %.2f kg"
+                                            + "%nApproximate age: p10 %.0f, median %.0f, p90 %.0f%nDistinct Tag IDs: ~%d",
+                                    sketch.getWeights().quantile(0.1), sketch.getWeights().quantile(0.5), sketch.getWeights().quantile(0.9),
+                                    sketch.getAges().quantile(0.1), sketch.getAges().quantile(0.5), sketch.getAges().quantile(0.9),
+                                    sketch.getTagIds().estimate());
+                        }
+                    } catch (SQLException e) {
+                        // The average is exact without the sketches; only the approximate figures are left out
+                        message += String.format("%n%nApproximate figures are unavailable: %s", e.getMessage());
+                    }
+                    return message;
+                }
+
+                @Override
+                protected void done() {
+                    setCursor(Cursor.getDefaultCursor());
+                    try {
+                        String message = get();
+                        if (message == null) {
+                            JOptionPane.showMessageDialog(WATSMainFrame.this, "No animals found for species: " + species,
+                                    "Average Weight", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(WATSMainFrame.this, message, "Average Weight",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    } catch (InterruptedException | ExecutionException e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        JOptionPane.showMessageDialog(WATSMainFrame.this, "Error: " + cause.getMessage(),
+                                "Database Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            }.execute();
+        }
     }
 }
@@ -11,9 +11,6 @@
  */
 package WATSSwingApp;
 
-import javax.swing.*;
-
-
 /**
  * The main entry point for the Wildlife Animal Tracking System (WATS) application.
  * <p>
@@ -31,20 +28,15 @@ public class WATSSwingApp {
     /**
      * Launches the WATS application.
      * <p>
-     * This method serves as the entry point of the program. It uses {@link SwingUtilities#invokeLater(Runnable)}
-     * to ensure that the GUI is created and updated on the Event Dispatch Thread (EDT).
-     * After the main frame is displayed, the user is prompted to select a database file.
+     * This method serves as the entry point of the program. It hands control to a {@link StartupPipeline},
+     * which builds the GUI on the Event Dispatch Thread (EDT) while the JDBC driver is loaded and the last used
+     * database is prepared in the background. If no database is remembered, the user is prompted to select a
+     * database file after the main frame is displayed.
      * </p>
      *
      * @param args command-line arguments (not used)
      */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            WATSMainFrame mainFrame = new WATSMainFrame();
-            mainFrame.setVisible(true);
-
-            // Prompt user to select a database file after GUI is visible
-            mainFrame.promptForDatabase();
-        });
+        new StartupPipeline().start();
     }
 }
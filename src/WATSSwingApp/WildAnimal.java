@@ -19,6 +19,9 @@ package WATSSwingApp;
  * to manage animal records.
  * </p>
  *
+ * <p>Gender and health status are shared {@link Gender} and {@link HealthStatus} constants, and the species
+ * name is interned through {@link SpeciesDictionary}. For read-only bulk data, see {@link AnimalRecord}.</p>
+ *
  * @author Felix Guevara
  * @version 1.0
  * @since 2025-11-10
@@ -37,14 +40,20 @@ public class WildAnimal {
     /** Age of the animal in years. */
     private int age;
 
-    /** Gender of the animal (e.g., Male, Female). */
-    private String gender;
+    /** Gender of the animal. */
+    private Gender gender;
 
     /** Weight of the animal in kilograms. */
     private double weight;
 
-    /** Current health status of the animal (e.g., Healthy, Injured). */
-    private String healthStatus;
+    /** Current health status of the animal. */
+    private HealthStatus healthStatus;
+
+    /** Row version used for optimistic concurrency control; incremented on every update. */
+    private int version;
+
+    /** Time of the last modification in milliseconds since the epoch. */
+    private long lastModified;
 
     /**
      * Constructs a new {@code WildAnimal} with the specified details.
@@ -57,9 +66,9 @@ public class WildAnimal {
      * @param weight      weight of the animal in kilograms
      * @param healthStatus current health status of the animal
      */
-    public WildAnimal(int id, String species, String name, int age, String gender, double weight, String healthStatus) {
+    public WildAnimal(int id, String species, String name, int age, Gender gender, double weight, HealthStatus healthStatus) {
         this.id = id;
-        this.species = species;
+        this.species = SpeciesDictionary.intern(species);
         this.name = name;
         this.age = age;
         this.gender = gender;
@@ -67,6 +76,26 @@ public class WildAnimal {
         this.healthStatus = healthStatus;
     }
 
+    /**
+     * Constructs a new {@code WildAnimal} with the specified details and row version information.
+     *
+     * @param id           unique identifier for the animal
+     * @param species      species of the animal
+     * @param name         name assigned to the animal
+     * @param age          age of the animal in years
+     * @param gender       gender of the animal
+     * @param weight       weight of the animal in kilograms
+     * @param healthStatus current health status of the animal
+     * @param version      row version the record was read at
+     * @param lastModified time of the last modification in milliseconds since the epoch
+     */
+    public WildAnimal(int id, String species, String name, int age, Gender gender, double weight, HealthStatus healthStatus,
+                      int version, long lastModified) {
+        this(id, species, name, age, gender, weight, healthStatus);
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
     /** @return the unique identifier of the animal */
     public int getId() { return id; }
 
@@ -80,20 +109,26 @@ public class WildAnimal {
     public int getAge() { return age; }
 
     /** @return the gender of the animal */
-    public String getGender() { return gender; }
+    public Gender getGender() { return gender; }
 
     /** @return the weight of the animal in kilograms */
     public double getWeight() { return weight; }
 
     /** @return the current health status of the animal */
-    public String getHealthStatus() { return healthStatus; }
+    public HealthStatus getHealthStatus() { return healthStatus; }
+
+    /** @return the row version the record was read at */
+    public int getVersion() { return version; }
+
+    /** @return the time of the last modification in milliseconds since the epoch */
+    public long getLastModified() { return lastModified; }
 
     /**
      * Updates the species of the animal.
      *
      * @param species new species value
      */
-    public void setSpecies(String species) { this.species = species; }
+    public void setSpecies(String species) { this.species = SpeciesDictionary.intern(species); }
 
     /**
      * Updates the name of the animal.
@@ -114,7 +149,7 @@ public class WildAnimal {
      *
      * @param gender new gender value
      */
-    public void setGender(String gender) { this.gender = gender; }
+    public void setGender(Gender gender) { this.gender = gender; }
 
     /**
      * Updates the weight of the animal.
@@ -128,7 +163,21 @@ public class WildAnimal {
      *
      * @param healthStatus new health status value
      */
-    public void setHealthStatus(String healthStatus) { this.healthStatus = healthStatus; }
+    public void setHealthStatus(HealthStatus healthStatus) { this.healthStatus = healthStatus; }
+
+    /**
+     * Updates the row version of the animal record.
+     *
+     * @param version new row version value
+     */
+    public void setVersion(int version) { this.version = version; }
+
+    /**
+     * Updates the last modification time of the animal record.
+     *
+     * @param lastModified new modification time in milliseconds since the epoch
+     */
+    public void setLastModified(long lastModified) { this.lastModified = lastModified; }
 
     /**
      * Returns a formatted string representation of the animal's details.